@@ -1,5 +1,9 @@
 package com.tinkerpop.gremlin.process.computer;
 
+import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Set;
+
 /**
  * The {@link Messenger} serves as the routing system for messages between vertices. For distributed systems,
  * the messenger can implement a "message passing" engine (distributed memory). For single machine systems, the
@@ -19,6 +23,18 @@ public interface Messenger<M> {
      */
     public Iterable<M> receiveMessages(final MessageScope messageScope);
 
+    /**
+     * The currently executing vertex can receive the messages of all the provided {@link MessageScope}s at once.
+     * A messenger that does not keep track of the scope a message was sent with should override this method so
+     * that each message is only received once.
+     *
+     * @param messageScopes the message scopes of the messages to receive
+     * @return the messages for that vertex
+     */
+    public default Iterable<M> receiveMessages(final Set<MessageScope> messageScopes) {
+        return () -> IteratorUtils.flatMap(messageScopes.iterator(), messageScope -> this.receiveMessages(messageScope).iterator());
+    }
+
     /**
      * The currently executing vertex can send a message with provided {@link MessageScope}.
      *
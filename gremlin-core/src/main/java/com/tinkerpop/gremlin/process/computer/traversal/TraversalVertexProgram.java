@@ -16,6 +16,9 @@ import com.tinkerpop.gremlin.process.computer.traversal.step.sideEffect.mapreduc
 import com.tinkerpop.gremlin.process.computer.util.AbstractVertexProgramBuilder;
 import com.tinkerpop.gremlin.process.computer.util.LambdaHolder;
 import com.tinkerpop.gremlin.process.graph.marker.MapReducer;
+import com.tinkerpop.gremlin.process.graph.marker.TraversalHolder;
+import com.tinkerpop.gremlin.process.graph.step.map.LocalStep;
+import com.tinkerpop.gremlin.process.graph.step.map.VertexStep;
 import com.tinkerpop.gremlin.process.graph.step.sideEffect.GraphStep;
 import com.tinkerpop.gremlin.process.graph.step.sideEffect.SideEffectCapStep;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
@@ -30,12 +33,17 @@ import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.commons.configuration.Configuration;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 
+import static com.tinkerpop.gremlin.process.graph.AnonymousGraphTraversal.Tokens.__;
+
 
 /**
  * TraversalVertexProgram enables the evaluation of a {@link Traversal} on a {@link com.tinkerpop.gremlin.process.computer.GraphComputer}.
@@ -52,15 +60,19 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
 
     public static final String HALTED_TRAVERSERS = "gremlin.traversalVertexProgram.haltedTraversers";
     private static final String VOTE_TO_HALT = "gremlin.traversalVertexProgram.voteToHalt";
+    static final String LOCAL_MESSAGES_SENT = "gremlin.traversalVertexProgram.localMessagesSent";
+    private static final String LOCAL_MESSAGES = "gremlin.traversalVertexProgram.localMessages";
     public static final String TRAVERSAL_SUPPLIER = "gremlin.traversalVertexProgram.traversalSupplier";
 
-    // TODO: if not an adjacent traversal, use Local message scope -- a dual messaging system.
-    private static final Set<MessageScope> MESSAGE_SCOPES = new HashSet<>(Arrays.asList(MessageScope.Global.instance()));
     private static final Set<String> ELEMENT_COMPUTE_KEYS = new HashSet<>(Arrays.asList(HALTED_TRAVERSERS, TraversalSideEffects.SIDE_EFFECTS));
-    private static final Set<String> MEMORY_COMPUTE_KEYS = new HashSet<>(Arrays.asList(VOTE_TO_HALT));
+    private static final Set<String> MEMORY_COMPUTE_KEYS = new HashSet<>(Arrays.asList(VOTE_TO_HALT, LOCAL_MESSAGES_SENT, LOCAL_MESSAGES));
+    private static final Set<MessageScope> GLOBAL_MESSAGE_SCOPES = Collections.singleton(MessageScope.Global.instance());
 
     private LambdaHolder<Supplier<Traversal>> traversalSupplier;
     private Traversal<?, ?> traversal;
+    private Map<String, Step<?, ?>> steps;
+    private Map<String, MessageScope.Local<TraverserSet<?>>> localMessageScopes;
+    private Set<MessageScope> messageScopes;
 
     private final Set<MapReduce> mapReducers = new HashSet<>();
 
@@ -89,6 +101,7 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
             throw new IllegalArgumentException("The configuration does not have a traversal supplier");
         }
         this.traversal = this.traversalSupplier.get().get();
+        this.indexSteps();
         for (final Step<?, ?> mapReducer : TraversalHelper.getStepsOfAssignableClassRecurssively(MapReducer.class, this.traversal)) {
             this.mapReducers.add(((MapReducer) mapReducer).getMapReduce());
         }
@@ -105,11 +118,13 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
     @Override
     public void setup(final Memory memory) {
         memory.set(VOTE_TO_HALT, true);
+        memory.set(LOCAL_MESSAGES_SENT, false);
+        memory.set(LOCAL_MESSAGES, false);
     }
 
     @Override
     public Set<MessageScope> getMessageScopes(final Memory memory) {
-        return MESSAGE_SCOPES;
+        return this.messageScopes;
     }
 
     @Override
@@ -143,7 +158,9 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
             }
             memory.and(VOTE_TO_HALT, voteToHalt);
         } else {
-            memory.and(VOTE_TO_HALT, TraverserExecutor.execute(vertex, messenger, this.traversal));
+            // the incident edges are only walked for local messages when some were sent in the previous iteration
+            final Set<MessageScope> messageScopes = memory.<Boolean>get(LOCAL_MESSAGES) ? this.messageScopes : GLOBAL_MESSAGE_SCOPES;
+            memory.and(VOTE_TO_HALT, TraverserExecutor.execute(vertex, messenger, memory, this.traversal, this.steps, messageScopes, this.localMessageScopes));
         }
     }
 
@@ -154,6 +171,8 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
             return true;
         } else {
             memory.set(VOTE_TO_HALT, true);
+            memory.set(LOCAL_MESSAGES, memory.<Boolean>get(LOCAL_MESSAGES_SENT));
+            memory.set(LOCAL_MESSAGES_SENT, false);
             return false;
         }
     }
@@ -182,9 +201,47 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
     public TraversalVertexProgram clone() throws CloneNotSupportedException {
         final TraversalVertexProgram clone = (TraversalVertexProgram) super.clone();
         clone.traversal = this.traversal.clone();
+        clone.indexSteps();
         return clone;
     }
 
+    /**
+     * Index the steps of the traversal and of its nested traversals by id so that a traverser is routed to its next
+     * step without searching the traversal.  The traversal of a {@link LocalStep} is evaluated within that step and
+     * only has its strategies applied on first use, so its steps are not indexed.  Every {@link VertexStep} to
+     * adjacent vertices gets a {@link MessageScope.Local} along its incident edges.  A traverser at such a step
+     * is sent once to that scope instead of once to each adjacent vertex, and the adjacent vertices take the step
+     * themselves as the message crosses the edge.
+     */
+    private void indexSteps() {
+        this.steps = new HashMap<>();
+        TraversalVertexProgram.indexSteps(this.traversal, this.steps);
+        this.localMessageScopes = new HashMap<>();
+        for (final Step<?, ?> step : this.steps.values()) {
+            if (step instanceof VertexStep && Vertex.class.isAssignableFrom(((VertexStep<?>) step).getReturnClass())) {
+                final VertexStep<Vertex> vertexStep = (VertexStep<Vertex>) step;
+                final Direction direction = vertexStep.getDirection();
+                final String[] edgeLabels = vertexStep.getEdgeLabels();
+                this.localMessageScopes.put(step.getId(), MessageScope.Local.of(
+                        () -> __.<Vertex>toE(direction, edgeLabels),
+                        (traverserSet, edge) -> TraverserExecutor.crossEdge(traverserSet, edge, vertexStep)));
+            }
+        }
+        this.messageScopes = new HashSet<>(this.localMessageScopes.values());
+        this.messageScopes.add(MessageScope.Global.instance());
+    }
+
+    private static void indexSteps(final Traversal<?, ?> traversal, final Map<String, Step<?, ?>> steps) {
+        for (final Step<?, ?> step : traversal.asAdmin().getSteps()) {
+            steps.putIfAbsent(step.getId(), step);
+            if (step instanceof TraversalHolder && !(step instanceof LocalStep)) {
+                for (final Traversal<?, ?> nested : ((TraversalHolder<?, ?>) step).getTraversals()) {
+                    TraversalVertexProgram.indexSteps(nested, steps);
+                }
+            }
+        }
+    }
+
     @Override
     public String toString() {
         final String traversalString = this.traversal.toString().substring(1);
@@ -199,6 +256,11 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
                 return true;
             }
 
+            @Override
+            public boolean requiresLocalMessageScopes() {
+                return true;
+            }
+
             @Override
             public boolean requiresVertexPropertyAddition() {
                 return true;
@@ -3,8 +3,10 @@ package com.tinkerpop.gremlin.process.computer.traversal;
 import com.tinkerpop.gremlin.process.Step;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
+import com.tinkerpop.gremlin.process.computer.Memory;
 import com.tinkerpop.gremlin.process.computer.MessageScope;
 import com.tinkerpop.gremlin.process.computer.Messenger;
+import com.tinkerpop.gremlin.process.graph.step.map.VertexStep;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 import com.tinkerpop.gremlin.process.util.TraverserSet;
 import com.tinkerpop.gremlin.structure.Direction;
@@ -12,8 +14,13 @@ import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.util.ElementHelper;
 import com.tinkerpop.gremlin.structure.util.detached.DetachedElement;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -21,24 +28,41 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public final class TraverserExecutor {
 
-    public static boolean execute(final Vertex vertex, final Messenger<TraverserSet<?>> messenger, final Traversal traversal) {
+    /**
+     * Process the traversers received by the vertex until they halt or leave the vertex.  The steps are resolved
+     * through the step lookup table of the {@link TraversalVertexProgram} and any step missing from it is added to it.
+     * Local traversers bound for the same step are added to it in one batch and traversers leaving for the same
+     * vertex are sent in one message.  Traversers bound for a step with a {@link MessageScope.Local} are sent to
+     * that scope in one message and take the step as they cross the incident edges.  Such a message is recorded in
+     * the {@link Memory} so that the next iteration only receives local messages when there are any.
+     *
+     * @return whether the vertex votes to halt
+     */
+    public static boolean execute(final Vertex vertex, final Messenger<TraverserSet<?>> messenger, final Memory memory, final Traversal traversal, final Map<String, Step<?, ?>> steps,
+                                  final Set<MessageScope> messageScopes, final Map<String, MessageScope.Local<TraverserSet<?>>> localMessageScopes) {
 
         final TraverserSet<Object> haltedTraversers = vertex.value(TraversalVertexProgram.HALTED_TRAVERSERS);
         final AtomicBoolean voteToHalt = new AtomicBoolean(true);
 
         final TraverserSet<Object> aliveTraversers = new TraverserSet<>();
         // gather incoming traversers into a traverser set and gain the 'weighted-set' optimization
-        messenger.receiveMessages(MessageScope.Global.instance()).forEach(traverserSet -> {
+        messenger.receiveMessages(messageScopes).forEach(traverserSet -> {
             traverserSet.forEach(traverser -> {
                 traverser.setSideEffects(traversal.asAdmin().getSideEffects());
-                traverser.attach(vertex);
-                aliveTraversers.add((Traverser.Admin) traverser);
+                if (traverser.isHalted())   // a traverser that crossed an edge with the last step of the traversal
+                    haltedTraversers.add((Traverser.Admin) traverser);
+                else {
+                    traverser.attach(vertex);
+                    aliveTraversers.add((Traverser.Admin) traverser);
+                }
             });
         });
 
+        final Map<Step<?, ?>, TraverserSet<Object>> toProcessTraversers = new LinkedHashMap<>();
+        final Map<Vertex, TraverserSet<Object>> toSendTraversers = new LinkedHashMap<>();
+        final Map<MessageScope.Local<TraverserSet<?>>, TraverserSet<Object>> toBroadcastTraversers = new LinkedHashMap<>();
         // while there are still local traversers, process them until they leave the vertex or halt (i.e. isHalted()).
         while (!aliveTraversers.isEmpty()) {
-            final TraverserSet<Object> toProcessTraversers = new TraverserSet<>();
             // process all the local objects and send messages or store locally again
             aliveTraversers.forEach(traverser -> {
                 if (traverser.get() instanceof Element || traverser.get() instanceof Property) {      // GRAPH OBJECT
@@ -47,18 +71,21 @@ public final class TraverserExecutor {
                     if (!vertex.equals(hostingVertex) || traverser.get() instanceof DetachedElement) { // TODO: why is the DetachedElement instanceof needed?
                         voteToHalt.set(false);
                         traverser.detach();
-                        messenger.sendMessage(MessageScope.Global.of(hostingVertex), new TraverserSet<>(traverser));
+                        toSendTraversers.computeIfAbsent(hostingVertex, v -> new TraverserSet<>()).add(traverser);
+                    } else if (localMessageScopes.containsKey(traverser.getFutureId())) {
+                        voteToHalt.set(false);
+                        traverser.detach();
+                        toBroadcastTraversers.computeIfAbsent(localMessageScopes.get(traverser.getFutureId()), m -> new TraverserSet<>()).add(traverser);
                     } else
-                        toProcessTraversers.add(traverser);
+                        toProcessTraversers.computeIfAbsent(TraverserExecutor.getStep(traverser.getFutureId(), traversal, steps), s -> new TraverserSet<>()).add(traverser);
                 } else                                                                              // STANDARD OBJECT
-                    toProcessTraversers.add(traverser);
+                    toProcessTraversers.computeIfAbsent(TraverserExecutor.getStep(traverser.getFutureId(), traversal, steps), s -> new TraverserSet<>()).add(traverser);
             });
 
             // process local traversers and if alive, repeat, else halt.
             aliveTraversers.clear();
-            toProcessTraversers.forEach(start -> {
-                final Step<?, ?> step = TraversalHelper.getStepByIdRecurssively(start.getFutureId(), traversal).get();
-                step.addStart((Traverser.Admin) start);
+            toProcessTraversers.forEach((step, starts) -> {
+                step.addStarts((Iterator) starts.iterator());
                 step.forEachRemaining(end -> {
                     if (end.asAdmin().isHalted()) {
                         end.asAdmin().detach();
@@ -67,10 +94,44 @@ public final class TraverserExecutor {
                         aliveTraversers.add((Traverser.Admin) end);
                 });
             });
+            toProcessTraversers.clear();
+        }
+        toSendTraversers.forEach((hostingVertex, traversers) -> messenger.sendMessage(MessageScope.Global.of(hostingVertex), traversers));
+        if (!toBroadcastTraversers.isEmpty()) {
+            memory.or(TraversalVertexProgram.LOCAL_MESSAGES_SENT, true);
+            toBroadcastTraversers.forEach(messenger::sendMessage);
         }
         return voteToHalt.get();
     }
 
+    /**
+     * The edge function of the {@link MessageScope.Local} of a {@link VertexStep}: the traversers at the sending
+     * vertex that are bound for the step move to the vertex at the other end of the edge as if they had taken the
+     * step.  Other traversers held by the sending vertex are bound for other steps and are left out.
+     */
+    static TraverserSet<?> crossEdge(final TraverserSet<?> traverserSet, final Edge edge, final VertexStep<Vertex> vertexStep) {
+        final TraverserSet<Object> crossed = new TraverserSet<>();
+        for (final Traverser.Admin<?> traverser : traverserSet) {
+            if (vertexStep.getId().equals(traverser.getFutureId())) {
+                final Traverser.Admin<Vertex> split = ((Traverser.Admin<Vertex>) traverser).split(ElementHelper.getAdjacentVertex(edge, (Vertex) traverser.get(), vertexStep.getDirection()), vertexStep);
+                split.setFutureId(vertexStep.getNextStep().getId());
+                vertexStep.getLabel().ifPresent(label -> split.path().addLabel(label));
+                split.detach();
+                crossed.add((Traverser.Admin) split);
+            }
+        }
+        return crossed;
+    }
+
+    static Step<?, ?> getStep(final String id, final Traversal traversal, final Map<String, Step<?, ?>> steps) {
+        Step<?, ?> step = steps.get(id);
+        if (null == step) {
+            step = TraversalHelper.getStepByIdRecurssively(id, traversal).get();
+            steps.put(id, step);
+        }
+        return step;
+    }
+
     private final static Vertex getHostingVertex(final Object object) {
         if (object instanceof Vertex)
             return (Vertex) object;
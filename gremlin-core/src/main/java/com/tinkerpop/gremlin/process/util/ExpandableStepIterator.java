@@ -20,7 +20,7 @@ public class ExpandableStepIterator<E> implements Iterator<Traverser.Admin<E>> {
 
     @Override
     public boolean hasNext() {
-        return !this.traverserSet.isEmpty() || this.hostStep.getPreviousStep().hasNext();
+        return !this.traverserSet.isEmpty() || this.traverserIterators.hasNext() || this.hostStep.getPreviousStep().hasNext();
     }
 
     @Override
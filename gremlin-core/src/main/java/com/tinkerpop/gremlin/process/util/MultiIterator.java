@@ -33,11 +33,16 @@ public class MultiIterator<T> implements Iterator<T> {
                 currentIterator = iterators.get(this.current);
             }
         }
+        // all iterators are exhausted so release them rather than holding them until the next clear()
+        this.clear();
         return false;
     }
 
     @Override
     public T next() {
+        if (this.current >= this.iterators.size())
+            throw FastNoSuchElementException.instance();
+
         Iterator<T> currentIterator = iterators.get(this.current);
         while (true) {
             if (currentIterator.hasNext()) {
@@ -0,0 +1,30 @@
+package com.tinkerpop.gremlin.structure;
+
+import java.util.function.BiPredicate;
+
+/**
+ * {@link Text} is a {@link java.util.function.BiPredicate} that evaluates string based relations between the first
+ * argument and the second argument. For example:
+ * <p/>
+ * <pre>
+ * gremlin Text.prefix gre == true
+ * gremlin Text.prefix rex == false
+ * </pre>
+ *
+ * @author agent (agent@local)
+ */
+public enum Text implements BiPredicate<Object, Object> {
+
+    prefix {
+        @Override
+        public boolean test(final Object first, final Object second) {
+            return first instanceof String && second instanceof String && ((String) first).startsWith((String) second);
+        }
+    };
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public abstract boolean test(final Object first, final Object second);
+}
@@ -1,6 +1,7 @@
 package com.tinkerpop.gremlin.structure.util;
 
 import com.tinkerpop.gremlin.process.T;
+import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Graph;
@@ -64,6 +65,24 @@ public class ElementHelper {
         return iterator.hasNext() ? iterator.next() : graph.addVertex(T.id, id, T.label, label);
     }
 
+    /**
+     * Gets the vertex at the other end of an edge when it is traversed from a vertex in a direction.  The direction is
+     * the one of the {@code outE()}, {@code inE()} or {@code bothE()} step that reached the edge from the vertex: an
+     * {@link Direction#OUT} edge leads to its in-vertex, an {@link Direction#IN} edge leads to its out-vertex and a
+     * {@link Direction#BOTH} edge leads to whichever end is not the vertex.
+     *
+     * @param edge      the edge to traverse
+     * @param vertex    the vertex the edge is traversed from
+     * @param direction the direction the edge is traversed in from the vertex
+     * @return the adjacent vertex
+     */
+    public static Vertex getAdjacentVertex(final Edge edge, final Vertex vertex, final Direction direction) {
+        if (Direction.BOTH != direction)
+            return edge.iterators().vertexIterator(direction.opposite()).next();
+        final Vertex outVertex = edge.iterators().vertexIterator(Direction.OUT).next();
+        return outVertex.id().equals(vertex.id()) ? edge.iterators().vertexIterator(Direction.IN).next() : outVertex;
+    }
+
     /**
      * Determines whether the property key/value for the specified thing can be legally set. This is typically used as
      * a pre-condition check prior to setting a property.
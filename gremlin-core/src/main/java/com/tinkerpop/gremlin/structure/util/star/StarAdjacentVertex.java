@@ -0,0 +1,65 @@
+package com.tinkerpop.gremlin.structure.util.star;
+
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.VertexProperty;
+import com.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * The vertex at the other end of a {@link StarEdge}.  Only its id and label are known, so it has no properties and
+ * its edges can not be accessed.
+ *
+ * @author agent (agent@local)
+ */
+public class StarAdjacentVertex extends StarElement implements Vertex, Vertex.Iterators {
+
+    public StarAdjacentVertex(final Object id, final String label) {
+        super(id, label);
+    }
+
+    @Override
+    public <V> VertexProperty<V> property(final String key, final V value) {
+        throw new UnsupportedOperationException("Adjacent vertices of a star vertex are readonly: " + this);
+    }
+
+    @Override
+    public Edge addEdge(final String label, final Vertex inVertex, final Object... keyValues) {
+        throw new UnsupportedOperationException("Adjacent vertices of a star vertex are readonly: " + this);
+    }
+
+    @Override
+    public void remove() {
+        throw Vertex.Exceptions.vertexRemovalNotSupported();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.vertexString(this);
+    }
+
+    //////////////////////////////////////////////
+
+    @Override
+    public Vertex.Iterators iterators() {
+        return this;
+    }
+
+    @Override
+    public <V> Iterator<VertexProperty<V>> propertyIterator(final String... propertyKeys) {
+        return Collections.emptyIterator();
+    }
+
+    @Override
+    public Iterator<Edge> edgeIterator(final Direction direction, final String... edgeLabels) {
+        throw new UnsupportedOperationException("The edges of an adjacent vertex of a star vertex can not be accessed");
+    }
+
+    @Override
+    public Iterator<Vertex> vertexIterator(final Direction direction, final String... edgeLabels) {
+        throw new UnsupportedOperationException("The edges of an adjacent vertex of a star vertex can not be accessed and thus, adjacent vertices can not be accessed");
+    }
+}
@@ -0,0 +1,74 @@
+package com.tinkerpop.gremlin.structure.util.star;
+
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.util.ElementHelper;
+import com.tinkerpop.gremlin.structure.util.StringFactory;
+import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Iterator;
+
+/**
+ * An {@link Edge} incident to a {@link StarVertex}.  The vertex at the other end of the edge is a
+ * {@link StarAdjacentVertex}, unless the edge is a self-loop.
+ *
+ * @author agent (agent@local)
+ */
+public class StarEdge extends StarElement implements Edge, Edge.Iterators {
+
+    protected final Vertex outVertex;
+    protected final Vertex inVertex;
+
+    public StarEdge(final Object id, final String label, final Vertex outVertex, final Vertex inVertex) {
+        super(id, label);
+        this.outVertex = outVertex;
+        this.inVertex = inVertex;
+    }
+
+    @Override
+    public <V> Property<V> property(final String key, final V value) {
+        ElementHelper.validateProperty(key, value);
+        final Property<V> property = new StarProperty<>(this, key, value);
+        this.setProperty(property);
+        return property;
+    }
+
+    @Override
+    public void remove() {
+        if (this.outVertex instanceof StarVertex)
+            ((StarVertex) this.outVertex).removeEdge(Direction.OUT, this);
+        if (this.inVertex instanceof StarVertex)
+            ((StarVertex) this.inVertex).removeEdge(Direction.IN, this);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.edgeString(this);
+    }
+
+    //////////////////////////////////////////////
+
+    @Override
+    public Edge.Iterators iterators() {
+        return this;
+    }
+
+    @Override
+    public Iterator<Vertex> vertexIterator(final Direction direction) {
+        switch (direction) {
+            case OUT:
+                return IteratorUtils.of(this.outVertex);
+            case IN:
+                return IteratorUtils.of(this.inVertex);
+            default:
+                return IteratorUtils.of(this.outVertex, this.inVertex);
+        }
+    }
+
+    @Override
+    public <V> Iterator<Property<V>> propertyIterator(final String... propertyKeys) {
+        return (Iterator) super.propertyIterator(propertyKeys);
+    }
+}
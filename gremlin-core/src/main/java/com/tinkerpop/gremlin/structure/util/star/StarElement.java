@@ -0,0 +1,75 @@
+package com.tinkerpop.gremlin.structure.util.star;
+
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.util.ElementHelper;
+import com.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * @author agent (agent@local)
+ */
+public abstract class StarElement implements Element, Element.Iterators {
+
+    protected final Object id;
+    protected final String label;
+    protected Map<String, List<Property>> properties = null;
+
+    protected StarElement(final Object id, final String label) {
+        this.id = id;
+        this.label = label;
+    }
+
+    @Override
+    public Object id() {
+        return this.id;
+    }
+
+    @Override
+    public String label() {
+        return this.label;
+    }
+
+    /**
+     * A star element is not backed by a graph, so the empty graph is returned.
+     */
+    @Override
+    public Graph graph() {
+        return EmptyGraph.instance();
+    }
+
+    @Override
+    public int hashCode() {
+        return ElementHelper.hashCode(this);
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object object) {
+        return ElementHelper.areEqual(this, object);
+    }
+
+    //////////////////////////////////////////////
+
+    @Override
+    public <V> Iterator<? extends Property<V>> propertyIterator(final String... propertyKeys) {
+        if (null == this.properties) return Collections.emptyIterator();
+        return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).flatMap(entry -> entry.getValue().stream()).collect(Collectors.toList()).iterator();
+    }
+
+    protected void setProperty(final Property property) {
+        if (null == this.properties) this.properties = new HashMap<>();
+        this.properties.put(property.key(), Collections.singletonList(property));
+    }
+
+    protected void removeProperty(final Property property) {
+        if (null != this.properties) this.properties.remove(property.key());
+    }
+}
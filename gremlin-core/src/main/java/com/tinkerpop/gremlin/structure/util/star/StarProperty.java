@@ -0,0 +1,65 @@
+package com.tinkerpop.gremlin.structure.util.star;
+
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.util.ElementHelper;
+import com.tinkerpop.gremlin.structure.util.StringFactory;
+
+/**
+ * A {@link Property} of a {@link StarEdge} or a {@link StarVertexProperty}.
+ *
+ * @author agent (agent@local)
+ */
+public class StarProperty<V> implements Property<V> {
+
+    private final StarElement element;
+    private final String key;
+    private final V value;
+
+    public StarProperty(final StarElement element, final String key, final V value) {
+        this.element = element;
+        this.key = key;
+        this.value = value;
+    }
+
+    @Override
+    public Element element() {
+        return this.element;
+    }
+
+    @Override
+    public String key() {
+        return this.key;
+    }
+
+    @Override
+    public V value() {
+        return this.value;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return null != this.value;
+    }
+
+    @Override
+    public void remove() {
+        this.element.removeProperty(this);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.propertyString(this);
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object object) {
+        return ElementHelper.areEqual(this, object);
+    }
+
+    @Override
+    public int hashCode() {
+        return ElementHelper.hashCode(this);
+    }
+}
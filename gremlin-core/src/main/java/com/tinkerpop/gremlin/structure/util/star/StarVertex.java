@@ -0,0 +1,255 @@
+package com.tinkerpop.gremlin.structure.util.star;
+
+import com.tinkerpop.gremlin.process.T;
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.VertexProperty;
+import com.tinkerpop.gremlin.structure.util.ElementHelper;
+import com.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link Vertex} that holds its properties and its incident edges without a {@link Graph}, where the vertices at
+ * the other ends of its edges are only known by their id and label (see {@link StarAdjacentVertex}).  It is meant
+ * for processing a graph one vertex at a time (e.g. in a {@code GraphComputer} over Hadoop), where building a graph
+ * to hold a single vertex costs more than the vertex itself.
+ * <br/>
+ * The properties and edges of the vertex can be changed, but like any other element of a {@code StarVertex}, the
+ * changes are only seen through this vertex.
+ *
+ * @author agent (agent@local)
+ */
+public class StarVertex extends StarElement implements Vertex, Vertex.Iterators {
+
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
+    // created on first use as many vertices do not have edges in both directions
+    protected Map<String, List<Edge>> outEdges = null;
+    protected Map<String, List<Edge>> inEdges = null;
+    private long nextId = 0l;
+
+    public StarVertex(final Object id, final String label) {
+        super(id, label);
+    }
+
+    /**
+     * Creates a {@code StarVertex} with the id, label and properties of a vertex, but none of its edges.
+     */
+    public static StarVertex of(final Vertex vertex) {
+        final StarVertex starVertex = new StarVertex(vertex.id(), vertex.label());
+        vertex.iterators().propertyIterator().forEachRemaining(vertexProperty -> {
+            final VertexProperty<Object> starVertexProperty = starVertex.property(vertexProperty.key(), vertexProperty.value(), T.id, vertexProperty.id());
+            vertexProperty.iterators().propertyIterator().forEachRemaining(property -> starVertexProperty.property(property.key(), property.value()));
+        });
+        return starVertex;
+    }
+
+    /**
+     * Creates a {@code StarVertex} with the id, label and properties of a vertex and the edges incident to it in
+     * the given direction.  A {@code StarVertex} is returned as is.
+     */
+    public static StarVertex of(final Vertex vertex, final Direction direction) {
+        if (vertex instanceof StarVertex) return (StarVertex) vertex;
+        final StarVertex starVertex = StarVertex.of(vertex);
+        vertex.iterators().edgeIterator(direction).forEachRemaining(starVertex::copyEdge);
+        return starVertex;
+    }
+
+    /**
+     * Adds a copy of an edge that is incident to this vertex, with its id, label and properties.  A self-loop is
+     * only added once, no matter how many times it is copied.
+     *
+     * @throws IllegalArgumentException if neither end of the edge is this vertex
+     */
+    public Edge copyEdge(final Edge edge) {
+        final Vertex outVertex = edge.iterators().vertexIterator(Direction.OUT).next();
+        final Vertex inVertex = edge.iterators().vertexIterator(Direction.IN).next();
+        final boolean out = this.id.equals(outVertex.id());
+        final boolean in = this.id.equals(inVertex.id());
+
+        final StarEdge starEdge;
+        if (out && in) {
+            final Iterator<Edge> existing = this.edgeIterator(Direction.OUT, edge.label());
+            while (existing.hasNext()) {
+                final Edge e = existing.next();
+                if (e.id().equals(edge.id())) return e;
+            }
+            starEdge = new StarEdge(edge.id(), edge.label(), this, this);
+            this.addEdge(Direction.OUT, starEdge);
+            this.addEdge(Direction.IN, starEdge);
+        } else if (out) {
+            starEdge = new StarEdge(edge.id(), edge.label(), this, new StarAdjacentVertex(inVertex.id(), inVertex.label()));
+            this.addEdge(Direction.OUT, starEdge);
+        } else if (in) {
+            starEdge = new StarEdge(edge.id(), edge.label(), new StarAdjacentVertex(outVertex.id(), outVertex.label()), this);
+            this.addEdge(Direction.IN, starEdge);
+        } else
+            throw new IllegalArgumentException("The edge is not incident to the vertex: " + edge + " " + this);
+
+        edge.iterators().propertyIterator().forEachRemaining(property -> starEdge.property(property.key(), property.value()));
+        return starEdge;
+    }
+
+    @Override
+    public <V> VertexProperty<V> property(final String key, final V value) {
+        return this.property(key, value, EMPTY_ARGS);
+    }
+
+    @Override
+    public <V> VertexProperty<V> property(final String key, final V value, final Object... keyValues) {
+        ElementHelper.validateProperty(key, value);
+        ElementHelper.legalPropertyKeyValueArray(keyValues);
+        final StarVertexProperty<V> vertexProperty = new StarVertexProperty<>(ElementHelper.getIdValue(keyValues).orElseGet(this::nextId), this, key, value);
+        ElementHelper.attachProperties(vertexProperty, keyValues);
+        if (null == this.properties) this.properties = new HashMap<>();
+        this.properties.computeIfAbsent(key, k -> new ArrayList<>()).add(vertexProperty);
+        return vertexProperty;
+    }
+
+    @Override
+    public Edge addEdge(final String label, final Vertex inVertex, final Object... keyValues) {
+        if (null == inVertex) throw Graph.Exceptions.argumentCanNotBeNull("vertex");
+        ElementHelper.validateLabel(label);
+        ElementHelper.legalPropertyKeyValueArray(keyValues);
+        final Object id = ElementHelper.getIdValue(keyValues).orElseGet(this::nextId);
+
+        final StarEdge edge;
+        if (this.id.equals(inVertex.id())) {
+            edge = new StarEdge(id, label, this, this);
+            this.addEdge(Direction.IN, edge);
+        } else
+            edge = new StarEdge(id, label, this, new StarAdjacentVertex(inVertex.id(), inVertex.label()));
+        this.addEdge(Direction.OUT, edge);
+
+        ElementHelper.attachProperties(edge, keyValues);
+        return edge;
+    }
+
+    @Override
+    public void remove() {
+        throw Vertex.Exceptions.vertexRemovalNotSupported();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.vertexString(this);
+    }
+
+    /**
+     * Generates an id for a property or edge added without one.  The ids are counted per vertex and any id already
+     * held by the vertex, its properties or its edges is skipped, so a generated id never clashes with an id copied
+     * from the graph.
+     */
+    protected Object nextId() {
+        Long id;
+        do {
+            id = this.nextId++;
+        } while (this.hasId(id));
+        return id;
+    }
+
+    private boolean hasId(final Object id) {
+        if (this.id.equals(id)) return true;
+        if (null != this.properties) {
+            for (final List<Property> vertexProperties : this.properties.values()) {
+                for (final Property vertexProperty : vertexProperties) {
+                    if (((VertexProperty) vertexProperty).id().equals(id)) return true;
+                }
+            }
+        }
+        return StarVertex.hasEdgeId(this.outEdges, id) || StarVertex.hasEdgeId(this.inEdges, id);
+    }
+
+    private static boolean hasEdgeId(final Map<String, List<Edge>> edges, final Object id) {
+        if (null == edges) return false;
+        for (final List<Edge> labeled : edges.values()) {
+            for (final Edge edge : labeled) {
+                if (edge.id().equals(id)) return true;
+            }
+        }
+        return false;
+    }
+
+    protected void addEdge(final Direction direction, final Edge edge) {
+        if (Direction.OUT == direction) {
+            if (null == this.outEdges) this.outEdges = new HashMap<>();
+            this.outEdges.computeIfAbsent(edge.label(), k -> new ArrayList<>(1)).add(edge);
+        } else {
+            if (null == this.inEdges) this.inEdges = new HashMap<>();
+            this.inEdges.computeIfAbsent(edge.label(), k -> new ArrayList<>(1)).add(edge);
+        }
+    }
+
+    protected void removeEdge(final Direction direction, final Edge edge) {
+        final Map<String, List<Edge>> edges = Direction.OUT == direction ? this.outEdges : this.inEdges;
+        if (null != edges && edges.containsKey(edge.label())) {
+            edges.get(edge.label()).remove(edge);
+            if (edges.get(edge.label()).isEmpty())
+                edges.remove(edge.label());
+        }
+    }
+
+    protected void removeVertexProperty(final VertexProperty vertexProperty) {
+        if (null != this.properties && this.properties.containsKey(vertexProperty.key())) {
+            this.properties.get(vertexProperty.key()).remove(vertexProperty);
+            if (this.properties.get(vertexProperty.key()).isEmpty())
+                this.properties.remove(vertexProperty.key());
+        }
+    }
+
+    //////////////////////////////////////////////
+
+    @Override
+    public Vertex.Iterators iterators() {
+        return this;
+    }
+
+    @Override
+    public <V> Iterator<VertexProperty<V>> propertyIterator(final String... propertyKeys) {
+        return (Iterator) super.propertyIterator(propertyKeys);
+    }
+
+    @Override
+    public Iterator<Edge> edgeIterator(final Direction direction, final String... edgeLabels) {
+        final List<Edge> edges = new ArrayList<>();
+        if (Direction.IN != direction) StarVertex.collectEdges(this.outEdges, edges, edgeLabels);
+        if (Direction.OUT != direction) StarVertex.collectEdges(this.inEdges, edges, edgeLabels);
+        return edges.iterator();
+    }
+
+    @Override
+    public Iterator<Vertex> vertexIterator(final Direction direction, final String... edgeLabels) {
+        final List<Vertex> vertices = new ArrayList<>();
+        if (Direction.IN != direction) {
+            final List<Edge> edges = new ArrayList<>();
+            StarVertex.collectEdges(this.outEdges, edges, edgeLabels);
+            edges.forEach(edge -> vertices.add(((StarEdge) edge).inVertex));
+        }
+        if (Direction.OUT != direction) {
+            final List<Edge> edges = new ArrayList<>();
+            StarVertex.collectEdges(this.inEdges, edges, edgeLabels);
+            edges.forEach(edge -> vertices.add(((StarEdge) edge).outVertex));
+        }
+        return vertices.iterator();
+    }
+
+    private static void collectEdges(final Map<String, List<Edge>> edges, final List<Edge> collected, final String... edgeLabels) {
+        if (null == edges) return;
+        if (edgeLabels.length == 0)
+            edges.values().forEach(collected::addAll);
+        else {
+            for (final String edgeLabel : edgeLabels) {
+                final List<Edge> labeled = edges.get(edgeLabel);
+                if (null != labeled) collected.addAll(labeled);
+            }
+        }
+    }
+}
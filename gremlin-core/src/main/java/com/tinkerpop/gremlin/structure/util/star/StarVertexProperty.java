@@ -0,0 +1,76 @@
+package com.tinkerpop.gremlin.structure.util.star;
+
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.VertexProperty;
+import com.tinkerpop.gremlin.structure.util.ElementHelper;
+import com.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Iterator;
+
+/**
+ * A {@link VertexProperty} of a {@link StarVertex}.
+ *
+ * @author agent (agent@local)
+ */
+public class StarVertexProperty<V> extends StarElement implements VertexProperty<V>, VertexProperty.Iterators {
+
+    private final StarVertex vertex;
+    private final V value;
+
+    public StarVertexProperty(final Object id, final StarVertex vertex, final String key, final V value) {
+        super(id, key);
+        this.vertex = vertex;
+        this.value = value;
+    }
+
+    @Override
+    public String key() {
+        return this.label;
+    }
+
+    @Override
+    public V value() {
+        return this.value;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return true;
+    }
+
+    @Override
+    public Vertex element() {
+        return this.vertex;
+    }
+
+    @Override
+    public <U> Property<U> property(final String key, final U value) {
+        ElementHelper.validateProperty(key, value);
+        final Property<U> property = new StarProperty<>(this, key, value);
+        this.setProperty(property);
+        return property;
+    }
+
+    @Override
+    public void remove() {
+        this.vertex.removeVertexProperty(this);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.propertyString(this);
+    }
+
+    //////////////////////////////////////////////
+
+    @Override
+    public VertexProperty.Iterators iterators() {
+        return this;
+    }
+
+    @Override
+    public <U> Iterator<Property<U>> propertyIterator(final String... propertyKeys) {
+        return (Iterator) super.propertyIterator(propertyKeys);
+    }
+}
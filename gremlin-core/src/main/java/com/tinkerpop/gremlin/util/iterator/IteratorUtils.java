@@ -5,6 +5,7 @@ import com.tinkerpop.gremlin.process.util.MultiIterator;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -116,6 +117,32 @@ public class IteratorUtils {
         };
     }
 
+    public static final <S, E> Iterator<E> flatMap(final Iterator<S> iterator, final Function<S, Iterator<E>> function) {
+        return new Iterator<E>() {
+            private Iterator<E> currentIterator = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                if (this.currentIterator.hasNext())
+                    return true;
+                while (iterator.hasNext()) {
+                    this.currentIterator = function.apply(iterator.next());
+                    if (this.currentIterator.hasNext())
+                        return true;
+                }
+                return false;
+            }
+
+            @Override
+            public E next() {
+                if (this.hasNext())
+                    return this.currentIterator.next();
+                else
+                    throw FastNoSuchElementException.instance();
+            }
+        };
+    }
+
     ///////////////
 
     public static final <S> Iterator<S> filter(final Iterator<S> iterator, final Predicate<S> predicate) {
@@ -0,0 +1,49 @@
+package com.tinkerpop.gremlin.process.computer.traversal;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.graph.marker.TraversalHolder;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.tinkerpop.gremlin.process.graph.AnonymousGraphTraversal.Tokens.__;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author agent (agent@local)
+ */
+public class TraverserExecutorTest {
+
+    @Test
+    public void shouldResolveStepsFromTheStepTable() {
+        final Traversal<?, ?> traversal = __.out().in();
+        final Step<?, ?> step = traversal.asAdmin().getSteps().get(1);
+        step.setId("in");
+        final Map<String, Step<?, ?>> steps = new HashMap<>();
+        steps.put("in", step);
+        assertSame(step, TraverserExecutor.getStep("in", traversal, steps));
+        assertEquals(1, steps.size());
+    }
+
+    @Test
+    public void shouldResolveAndCacheNestedStepsMissingFromTheStepTable() {
+        final Traversal<?, ?> traversal = __.out().local(__.in().out());
+        final Step<?, ?> localStep = traversal.asAdmin().getSteps().get(1);
+        final Step<?, ?> nestedStep = ((TraversalHolder<?, ?>) localStep).getTraversals().get(0).asAdmin().getSteps().get(1);
+        localStep.setId("local");
+        nestedStep.setId("local.out");
+        final Map<String, Step<?, ?>> steps = new HashMap<>();
+        steps.put("local", localStep);
+
+        assertSame(nestedStep, TraverserExecutor.getStep("local.out", traversal, steps));
+        assertEquals(2, steps.size());
+        assertSame(nestedStep, steps.get("local.out"));
+
+        // once cached the step is no longer searched for
+        nestedStep.setId("renamed");
+        assertSame(nestedStep, TraverserExecutor.getStep("local.out", traversal, steps));
+    }
+}
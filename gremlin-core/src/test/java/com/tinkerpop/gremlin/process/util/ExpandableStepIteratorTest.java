@@ -0,0 +1,78 @@
+package com.tinkerpop.gremlin.process.util;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traverser;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.IdentityStep;
+import com.tinkerpop.gremlin.process.traverser.B_O_Traverser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class ExpandableStepIteratorTest {
+
+    @Test
+    public void shouldHaveNextForStartsAddedAsAnIterator() {
+        final ExpandableStepIterator<String> starts = new ExpandableStepIterator<>(new IdentityStep<>(EmptyTraversal.instance()));
+        assertFalse(starts.hasNext());
+        starts.add(traversers("a", "b").iterator());
+        assertTrue(starts.hasNext());
+        assertEquals(Arrays.asList("a", "b"), drain(starts));
+        assertFalse(starts.hasNext());
+
+        starts.add(Collections.<Traverser.Admin<String>>emptyList().iterator());
+        assertFalse(starts.hasNext());
+        starts.add(traversers("c").iterator());
+        assertTrue(starts.hasNext());
+        assertEquals(Arrays.asList("c"), drain(starts));
+    }
+
+    @Test
+    public void shouldDrainAddedStartsBeforeThePreviousStep() {
+        final Step<String, String> previousStep = new IdentityStep<>(EmptyTraversal.instance());
+        previousStep.addStarts((Iterator) traversers("c").iterator());
+        final Step<String, String> hostStep = new IdentityStep<>(EmptyTraversal.instance());
+        hostStep.setPreviousStep(previousStep);
+
+        final ExpandableStepIterator<String> starts = new ExpandableStepIterator<>(hostStep);
+        starts.add(traversers("b").iterator());
+        starts.add(traversers("a").get(0));
+        assertEquals(Arrays.asList("a", "b", "c"), drain(starts));
+        assertFalse(starts.hasNext());
+    }
+
+    @Test
+    public void shouldClearAddedStarts() {
+        final ExpandableStepIterator<String> starts = new ExpandableStepIterator<>(new IdentityStep<>(EmptyTraversal.instance()));
+        starts.add(traversers("a", "b").iterator());
+        starts.add(traversers("c").get(0));
+        starts.clear();
+        assertFalse(starts.hasNext());
+    }
+
+    private static List<Traverser.Admin<String>> traversers(final String... objects) {
+        final List<Traverser.Admin<String>> traversers = new ArrayList<>();
+        for (final String object : objects) {
+            traversers.add(new B_O_Traverser<>(object, 1l));
+        }
+        return traversers;
+    }
+
+    private static List<String> drain(final ExpandableStepIterator<String> starts) {
+        final List<String> objects = new ArrayList<>();
+        while (starts.hasNext()) {
+            objects.add(starts.next().get());
+        }
+        return objects;
+    }
+}
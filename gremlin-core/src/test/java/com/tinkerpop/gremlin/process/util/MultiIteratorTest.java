@@ -0,0 +1,74 @@
+package com.tinkerpop.gremlin.process.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class MultiIteratorTest {
+
+    @Test
+    public void shouldIterateAllIteratorsInOrder() {
+        final MultiIterator<Integer> iterator = new MultiIterator<>();
+        iterator.addIterator(Arrays.asList(1, 2).iterator());
+        iterator.addIterator(Collections.<Integer>emptyList().iterator());
+        iterator.addIterator(Arrays.asList(3).iterator());
+        assertEquals(Arrays.asList(1, 2, 3), drain(iterator));
+    }
+
+    @Test
+    public void shouldBeReusableOnceExhausted() {
+        final MultiIterator<Integer> iterator = new MultiIterator<>();
+        iterator.addIterator(Arrays.asList(1, 2).iterator());
+        assertEquals(Arrays.asList(1, 2), drain(iterator));
+        assertFalse(iterator.hasNext());
+        assertFalse(iterator.hasNext());
+
+        iterator.addIterator(Arrays.asList(3, 4).iterator());
+        iterator.addIterator(Arrays.asList(5).iterator());
+        assertTrue(iterator.hasNext());
+        assertEquals(Arrays.asList(3, 4, 5), drain(iterator));
+
+        iterator.addIterator(Collections.<Integer>emptyList().iterator());
+        assertFalse(iterator.hasNext());
+        iterator.addIterator(Arrays.asList(6).iterator());
+        assertEquals(Arrays.asList(6), drain(iterator));
+    }
+
+    @Test
+    public void shouldBeReusableOnceCleared() {
+        final MultiIterator<Integer> iterator = new MultiIterator<>();
+        iterator.addIterator(Arrays.asList(1, 2).iterator());
+        assertEquals(Integer.valueOf(1), iterator.next());
+        iterator.clear();
+        assertFalse(iterator.hasNext());
+        iterator.addIterator(Arrays.asList(3).iterator());
+        assertEquals(Arrays.asList(3), drain(iterator));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void shouldThrowNoSuchElementWhenExhausted() {
+        final MultiIterator<Integer> iterator = new MultiIterator<>();
+        iterator.addIterator(Arrays.asList(1).iterator());
+        drain(iterator);
+        iterator.next();
+    }
+
+    private static <T> List<T> drain(final MultiIterator<T> iterator) {
+        final List<T> list = new ArrayList<>();
+        while (iterator.hasNext()) {
+            list.add(iterator.next());
+        }
+        return list;
+    }
+}
@@ -0,0 +1,152 @@
+package com.tinkerpop.gremlin.structure.util.star;
+
+import com.tinkerpop.gremlin.process.T;
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.VertexProperty;
+import com.tinkerpop.gremlin.structure.io.kryo.KryoReader;
+import com.tinkerpop.gremlin.structure.io.kryo.KryoWriter;
+import com.tinkerpop.gremlin.util.StreamFactory;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class StarVertexTest {
+
+    @Test
+    public void shouldConstructStarVertexWithIncidentEdges() {
+        final Vertex josh = createJosh();
+        final StarVertex starVertex = StarVertex.of(josh);
+        josh.iterators().edgeIterator(Direction.BOTH).forEachRemaining(starVertex::copyEdge);
+
+        assertEquals(4l, starVertex.id());
+        assertEquals("person", starVertex.label());
+        assertEquals("josh", starVertex.value("name"));
+        assertEquals(32, (int) starVertex.value("age"));
+        assertEquals(2, StreamFactory.stream(starVertex.iterators().edgeIterator(Direction.OUT)).count());
+        assertEquals(1, StreamFactory.stream(starVertex.iterators().edgeIterator(Direction.IN)).count());
+        assertEquals(3, StreamFactory.stream(starVertex.iterators().edgeIterator(Direction.BOTH)).count());
+
+        final Edge knows = starVertex.iterators().edgeIterator(Direction.IN, "knows").next();
+        assertEquals(8l, knows.id());
+        assertEquals(1.0d, knows.value("weight"), 0.0001d);
+        assertSame(starVertex, knows.iterators().vertexIterator(Direction.IN).next());
+        assertEquals(1l, knows.iterators().vertexIterator(Direction.OUT).next().id());
+
+        assertEquals(new HashSet<>(Arrays.asList(3l, 5l)),
+                StreamFactory.stream(starVertex.iterators().vertexIterator(Direction.OUT, "created")).map(Vertex::id).collect(Collectors.toSet()));
+        assertFalse(starVertex.iterators().vertexIterator(Direction.OUT, "knows").hasNext());
+    }
+
+    @Test
+    public void shouldCopyASelfLoopOnce() {
+        final StarVertex starVertex = new StarVertex(1l, "person");
+        final StarVertex source = new StarVertex(1l, "person");
+        final Edge self = source.addEdge("self", source, T.id, 7l);
+        starVertex.copyEdge(self);
+        starVertex.copyEdge(self);
+        assertEquals(1, StreamFactory.stream(starVertex.iterators().edgeIterator(Direction.OUT)).count());
+        assertEquals(1, StreamFactory.stream(starVertex.iterators().edgeIterator(Direction.IN)).count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCopyAnEdgeThatIsNotIncident() {
+        final StarVertex source = new StarVertex(1l, "person");
+        new StarVertex(2l, "person").copyEdge(source.addEdge("knows", new StarAdjacentVertex(3l, "person")));
+    }
+
+    @Test
+    public void shouldModifyStarVertex() {
+        final Vertex josh = createJosh();
+        final StarVertex starVertex = StarVertex.of(josh);
+        josh.iterators().edgeIterator(Direction.BOTH).forEachRemaining(starVertex::copyEdge);
+        starVertex.singleProperty("age", 33);
+        starVertex.property("location", "santa fe");
+        assertEquals(33, (int) starVertex.value("age"));
+        assertEquals(3, starVertex.keys().size());
+
+        starVertex.iterators().edgeIterator(Direction.OUT, "created").next().remove();
+        assertEquals(1, StreamFactory.stream(starVertex.iterators().edgeIterator(Direction.OUT)).count());
+
+        final Edge self = starVertex.addEdge("self", starVertex, "weight", 0.5d);
+        assertEquals(2, StreamFactory.stream(starVertex.iterators().edgeIterator(Direction.IN)).count());
+        assertSame(self, starVertex.iterators().edgeIterator(Direction.IN, "self").next());
+        assertEquals(0.5d, self.value("weight"), 0.0001d);
+        assertEquals(4, StreamFactory.stream(starVertex.iterators().edgeIterator(Direction.BOTH)).count());
+
+        // the source vertex is not changed
+        assertEquals(32, (int) josh.value("age"));
+        assertEquals(2, StreamFactory.stream(josh.iterators().edgeIterator(Direction.OUT)).count());
+    }
+
+    @Test
+    public void shouldGenerateIdsThatDoNotClashWithCopiedIds() {
+        final StarVertex starVertex = new StarVertex(0l, "person");
+        starVertex.property("name", "marko", T.id, 1l);
+        starVertex.property("name", "mr. marko", T.id, 3l);
+        starVertex.copyEdge(new StarVertex(5l, "person").addEdge("knows", starVertex, T.id, 2l));
+        starVertex.addEdge("self", starVertex, T.id, 5l);
+
+        final Set<Object> ids = new HashSet<>(Arrays.asList(0l, 1l, 2l, 3l, 5l));
+        for (int i = 0; i < 5; i++) {
+            final VertexProperty<String> location = starVertex.property("location", "santa fe " + i);
+            assertTrue(ids.add(location.id()));
+            assertTrue(ids.add(starVertex.addEdge("likes", new StarAdjacentVertex(9l, "person")).id()));
+        }
+        assertEquals(new HashSet<>(Arrays.asList(4l, 7l, 9l, 11l, 13l)),
+                StreamFactory.stream(starVertex.iterators().propertyIterator("location")).map(VertexProperty::id).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void shouldTraverseStarVertex() {
+        final StarVertex starVertex = StarVertex.of(createJosh());
+        createJosh().iterators().edgeIterator(Direction.BOTH).forEachRemaining(starVertex::copyEdge);
+        assertEquals(2, starVertex.outE().count().next().intValue());
+        assertEquals(1.4d, starVertex.outE("created").values("weight").sum().next(), 0.0001d);
+        assertEquals(1l, starVertex.in("knows").id().next());
+    }
+
+    @Test
+    public void shouldReadStarVertexFromKryo() throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        KryoWriter.build().create().writeVertex(outputStream, createJosh(), Direction.BOTH);
+
+        final StarVertex[] starVertex = new StarVertex[1];
+        final Vertex vertex = KryoReader.build().create().readVertex(new ByteArrayInputStream(outputStream.toByteArray()), Direction.BOTH,
+                detachedVertex -> starVertex[0] = StarVertex.of(detachedVertex),
+                detachedEdge -> starVertex[0].copyEdge(detachedEdge));
+
+        assertSame(starVertex[0], vertex);
+        assertEquals(4l, vertex.id());
+        assertEquals("josh", vertex.value("name"));
+        assertEquals(3, StreamFactory.stream(vertex.iterators().edgeIterator(Direction.BOTH)).count());
+        assertEquals(1.4d, StreamFactory.stream(vertex.iterators().edgeIterator(Direction.OUT, "created")).mapToDouble(e -> e.<Double>value("weight")).sum(), 0.0001d);
+    }
+
+    /**
+     * Josh of the modern toy graph with his incident edges.
+     */
+    private static Vertex createJosh() {
+        final StarVertex josh = new StarVertex(4l, "person");
+        josh.property("name", "josh", T.id, 100l);
+        josh.property("age", 32, T.id, 101l);
+        josh.copyEdge(new StarVertex(1l, "person").addEdge("knows", josh, T.id, 8l, "weight", 1.0d));
+        josh.addEdge("created", new StarAdjacentVertex(5l, "software"), T.id, 10l, "weight", 1.0d);
+        josh.addEdge("created", new StarAdjacentVertex(3l, "software"), T.id, 11l, "weight", 0.4d);
+        return josh;
+    }
+}
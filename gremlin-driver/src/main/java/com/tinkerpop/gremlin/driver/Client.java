@@ -1,6 +1,5 @@
 package com.tinkerpop.gremlin.driver;
 
-import com.tinkerpop.gremlin.driver.exception.ConnectionException;
 import com.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,7 +48,7 @@ public abstract class Client {
     /**
      * Chooses a {@link Connection} to write the message to.
      */
-    protected abstract Connection chooseConnection(final RequestMessage msg) throws TimeoutException, ConnectionException;
+    protected abstract CompletableFuture<Connection> chooseConnection(final RequestMessage msg);
 
     /**
      * Asynchronous close of the {@code Client}.
@@ -98,24 +97,27 @@ public abstract class Client {
         if (!initialized)
             init();
 
+        // the connection is returned to the pool once the response has been completed...see Connection.write()
+        // the connection may be returned to the pool with the host being marked as "unavailable".  the request is
+        // written by whichever thread hands over the connection so no thread waits on it to become available.
         final CompletableFuture<ResultSet> future = new CompletableFuture<>();
-        Connection connection = null;
-        try {
-            // the connection is returned to the pool once the response has been completed...see Connection.write()
-            // the connection may be returned to the pool with the host being marked as "unavailable"
-            connection = chooseConnection(msg);
-            connection.write(msg, future);
-            return future;
-        } catch (TimeoutException toe) {
-            // there was a timeout borrowing a connection
-            throw new RuntimeException(toe);
-        } catch (ConnectionException ce) {
-            throw new RuntimeException(ce);
-        } catch (Exception ex) {
-            throw new RuntimeException(ex);
-        } finally {
-            logger.debug("Submitted {} to - {}", msg, null == connection ? "connection not initialized" : connection.toString());
-        }
+        chooseConnection(msg).whenComplete((connection, t) -> {
+            if (t != null) {
+                // there was a timeout or an error borrowing a connection
+                logger.debug("Could not submit {} - {}", msg, t.getMessage());
+                future.completeExceptionally(t);
+                return;
+            }
+
+            try {
+                connection.write(msg, future);
+                logger.debug("Submitted {} to - {}", msg, connection);
+            } catch (Exception ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+
+        return future;
     }
 
     public void close() {
@@ -136,13 +138,17 @@ public abstract class Client {
         }
 
         @Override
-        protected Connection chooseConnection(final RequestMessage msg) throws TimeoutException, ConnectionException {
+        protected CompletableFuture<Connection> chooseConnection(final RequestMessage msg) {
             final Iterator<Host> possibleHosts = this.cluster.loadBalancingStrategy().select(msg);
-            if (!possibleHosts.hasNext()) throw new TimeoutException("Timed out waiting for an available host.");
+            if (!possibleHosts.hasNext()) {
+                final CompletableFuture<Connection> noHost = new CompletableFuture<>();
+                noHost.completeExceptionally(new TimeoutException("Timed out waiting for an available host."));
+                return noHost;
+            }
 
-            final Host bestHost = this.cluster.loadBalancingStrategy().select(msg).next();
+            final Host bestHost = possibleHosts.next();
             final ConnectionPool pool = hostConnectionPools.get(bestHost);
-            return pool.borrowConnection(cluster.connectionPoolSettings().maxWaitForConnection, TimeUnit.MILLISECONDS);
+            return pool.borrowConnectionAsync(cluster.connectionPoolSettings().maxWaitForConnection, TimeUnit.MILLISECONDS);
         }
 
         @Override
@@ -192,8 +198,8 @@ public abstract class Client {
         }
 
         @Override
-        protected Connection chooseConnection(final RequestMessage msg) throws TimeoutException, ConnectionException {
-            return connectionPool.borrowConnection(cluster.connectionPoolSettings().maxWaitForConnection, TimeUnit.MILLISECONDS);
+        protected CompletableFuture<Connection> chooseConnection(final RequestMessage msg) {
+            return connectionPool.borrowConnectionAsync(cluster.connectionPoolSettings().maxWaitForConnection, TimeUnit.MILLISECONDS);
         }
 
         @Override
@@ -92,7 +92,9 @@ public class Cluster {
                 .maxSimultaneousRequestsPerConnection(settings.connectionPool.maxSimultaneousRequestsPerConnection)
                 .minSimultaneousRequestsPerConnection(settings.connectionPool.minSimultaneousRequestsPerConnection)
                 .maxConnectionPoolSize(settings.connectionPool.maxSize)
-                .minConnectionPoolSize(settings.connectionPool.minSize);
+                .minConnectionPoolSize(settings.connectionPool.minSize)
+                .requestBatchWindow(settings.connectionPool.requestBatchWindow)
+                .maxRequestBatchSize(settings.connectionPool.maxRequestBatchSize);
 
         // the first address was added above in the constructor, so skip it if there are more
         if (addresses.size() > 1)
@@ -181,6 +183,8 @@ public class Cluster {
         private int reconnectInitialDelay = Connection.RECONNECT_INITIAL_DELAY;
         private int reconnectInterval = Connection.RECONNECT_INTERVAL;
         private int resultIterationBatchSize = Connection.RESULT_ITERATION_BATCH_SIZE;
+        private int requestBatchWindow = Connection.REQUEST_BATCH_WINDOW;
+        private int maxRequestBatchSize = Connection.MAX_REQUEST_BATCH_SIZE;
         private boolean enableSsl = false;
         private LoadBalancingStrategy loadBalancingStrategy = new LoadBalancingStrategy.RoundRobin();
 
@@ -269,6 +273,28 @@ public class Cluster {
             return this;
         }
 
+        /**
+         * Time in microseconds that a request written to a connection may wait for other requests to the same
+         * connection before they are all flushed to the server together.  Batching many small requests this way
+         * saves a system call per request at the cost of up to this much latency.  Set to zero, which is the
+         * default, to flush each request as it is written.
+         */
+        public Builder requestBatchWindow(final int requestBatchWindow) {
+            if (requestBatchWindow < 0) throw new IllegalArgumentException("The requestBatchWindow must not be negative");
+            this.requestBatchWindow = requestBatchWindow;
+            return this;
+        }
+
+        /**
+         * The number of requests written to a connection after which they are flushed without waiting out the
+         * {@link #requestBatchWindow(int)}.
+         */
+        public Builder maxRequestBatchSize(final int maxRequestBatchSize) {
+            if (maxRequestBatchSize < 1) throw new IllegalArgumentException("The maxRequestBatchSize must be greater than zero");
+            this.maxRequestBatchSize = maxRequestBatchSize;
+            return this;
+        }
+
         /**
          * The maximum amount of time to wait for a connection to be borrowed from the connection pool.
          */
@@ -302,6 +328,11 @@ public class Cluster {
             return this;
         }
 
+        /**
+         * Specifies how a host is selected for a request.  {@link LoadBalancingStrategy.RoundRobin} is the default.
+         * {@link LoadBalancingStrategy.LeastInFlight} and {@link LoadBalancingStrategy.PowerOfTwoChoices} shift
+         * requests away from hosts that are slow to respond.
+         */
         public Builder loadBalancingStrategy(final LoadBalancingStrategy loadBalancingStrategy) {
             this.loadBalancingStrategy = loadBalancingStrategy;
             return this;
@@ -345,6 +376,8 @@ public class Cluster {
             connectionPoolSettings.reconnectInitialDelay = this.reconnectInitialDelay;
             connectionPoolSettings.reconnectInterval = this.reconnectInterval;
             connectionPoolSettings.resultIterationBatchSize = this.resultIterationBatchSize;
+            connectionPoolSettings.requestBatchWindow = this.requestBatchWindow;
+            connectionPoolSettings.maxRequestBatchSize = this.maxRequestBatchSize;
             connectionPoolSettings.enableSsl = this.enableSsl;
             return new Cluster(getContactPoints(), serializer, this.nioPoolSize, this.workerPoolSize,
                     connectionPoolSettings, loadBalancingStrategy);
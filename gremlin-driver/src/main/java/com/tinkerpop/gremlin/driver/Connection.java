@@ -17,6 +17,8 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -41,6 +43,8 @@ class Connection {
     public static final int RECONNECT_INITIAL_DELAY = 1000;
     public static final int RECONNECT_INTERVAL = 1000;
     public static final int RESULT_ITERATION_BATCH_SIZE = 64;
+    public static final int REQUEST_BATCH_WINDOW = 0;
+    public static final int MAX_REQUEST_BATCH_SIZE = 16;
 
     public final AtomicInteger inFlight = new AtomicInteger(0);
     private volatile boolean isDead = false;
@@ -48,6 +52,13 @@ class Connection {
 
     private final AtomicReference<CompletableFuture<Void>> closeFuture = new AtomicReference<>();
 
+    /**
+     * Requests written to the channel but not yet flushed when batching requests.  It, like the scheduled flush, is
+     * only accessed from the event loop of the channel.
+     */
+    private int unflushed = 0;
+    private ScheduledFuture<?> scheduledFlush = null;
+
     public Connection(final URI uri, final ConnectionPool pool, final Cluster cluster, final int maxInProcess) throws ConnectionException {
         this.uri = uri;
         this.cluster = cluster;
@@ -65,6 +76,13 @@ class Connection {
             channel = b.connect(uri.getHost(), uri.getPort()).sync().channel();
             channelizer.connected();
 
+            // requests still waiting on results when the channel closes will never get them
+            channel.closeFuture().addListener(f -> pending.keySet().forEach(requestId -> {
+                final ResponseQueue queue = pending.remove(requestId);
+                if (queue != null)
+                    queue.markError(new RuntimeException("Error while processing results from channel - check client and server logs for more information"));
+            }));
+
             logger.info("Created new connection for {}", uri);
         } catch (Exception ie) {
             logger.debug("Error opening connection on {}", uri);
@@ -130,39 +148,79 @@ class Connection {
     }
 
     public ChannelPromise write(final RequestMessage requestMessage, final CompletableFuture<ResultSet> future) {
-        // once there is a completed write, then create a traverser for the result set and complete
-        // the promise so that the client knows that that it can start checking for results.
+        // the response queue is registered before the write so that it is in place for responses that come back
+        // before the write is confirmed.  once there is a completed write, the promise for the result set is
+        // completed so that the client knows that that it can start checking for results.
         final Connection thisConnection = this;
+        final LinkedBlockingQueue<ResponseMessage> responseQueue = new LinkedBlockingQueue<>();
+        final CompletableFuture<Void> readCompleted = new CompletableFuture<>();
+
+        // the host statistics are what load balancing strategies use to pick the host for a request
+        final Host host = pool.host;
+        final long start = System.nanoTime();
+        host.requestSent();
+        readCompleted.whenComplete((v, t) -> {
+            if (null == t)
+                host.responseRead(System.nanoTime() - start);
+            else
+                host.requestFailed();
+        });
+
+        readCompleted.thenAcceptAsync(v -> {
+            thisConnection.returnToPool();
+            if (isClosed() && pending.isEmpty())
+                shutdown(closeFuture.get());
+        });
+        final ResponseQueue handler = new ResponseQueue(responseQueue, readCompleted);
+        pending.put(requestMessage.getRequestId(), handler);
+
         final ChannelPromise promise = channel.newPromise()
                 .addListener(f -> {
                     if (!f.isSuccess()) {
                         logger.debug(String.format("Write on connection %s failed", thisConnection), f.cause());
+                        pending.remove(requestMessage.getRequestId());
+                        readCompleted.completeExceptionally(f.cause());
                         thisConnection.isDead = true;
                         thisConnection.returnToPool();
                         future.completeExceptionally(f.cause());
                     } else {
-                        final LinkedBlockingQueue<ResponseMessage> responseQueue = new LinkedBlockingQueue<>();
-                        final CompletableFuture<Void> readCompleted = new CompletableFuture<>();
-                        readCompleted.thenAcceptAsync(v -> {
-                            thisConnection.returnToPool();
-                            if (isClosed() && pending.isEmpty())
-                                shutdown(closeFuture.get());
-                        });
-                        final ResponseQueue handler = new ResponseQueue(responseQueue, readCompleted);
-                        pending.put(requestMessage.getRequestId(), handler);
-                        final ResultSet resultSet = new ResultSet(handler, cluster.executor(), channel,
-                                () -> {
-                                    pending.remove(requestMessage.getRequestId());
-                                    return null;
-                                });
-                        future.complete(resultSet);
+                        future.complete(new ResultSet(handler, cluster.executor()));
                     }
                 });
-        channel.writeAndFlush(requestMessage, promise);
+        if (cluster.connectionPoolSettings().requestBatchWindow > 0)
+            channel.eventLoop().execute(() -> writeBatched(requestMessage, promise));
+        else
+            channel.writeAndFlush(requestMessage, promise);
 
         return promise;
     }
 
+    /**
+     * Writes a request without flushing it so that it goes out with the requests written around the same time.  The
+     * requests are flushed once there are {@code maxRequestBatchSize} of them or once the {@code requestBatchWindow}
+     * passes after the first of them, whichever comes first.
+     */
+    private void writeBatched(final RequestMessage requestMessage, final ChannelPromise promise) {
+        channel.write(requestMessage, promise);
+
+        final Settings.ConnectionPoolSettings settings = cluster.connectionPoolSettings();
+        if (++unflushed >= settings.maxRequestBatchSize) {
+            flushBatch();
+        } else if (null == scheduledFlush) {
+            scheduledFlush = channel.eventLoop().schedule(this::flushBatch, settings.requestBatchWindow, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    private void flushBatch() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        unflushed = 0;
+        channel.flush();
+    }
+
     public void returnToPool() {
         try {
             if (pool != null) pool.returnConnection(this);
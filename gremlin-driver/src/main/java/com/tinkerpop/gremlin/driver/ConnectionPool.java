@@ -1,23 +1,22 @@
 package com.tinkerpop.gremlin.driver;
 
 import com.tinkerpop.gremlin.driver.exception.ConnectionException;
-import com.tinkerpop.gremlin.util.TimeUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * @author Stephen Mallette (http://stephen.genoprime.com)
@@ -45,9 +44,10 @@ class ConnectionPool {
 
     private final AtomicReference<CompletableFuture<Void>> closeFuture = new AtomicReference<>();
 
-    private volatile int waiter = 0;
-    private final Lock waitLock = new ReentrantLock(true);
-    private final Condition hasAvailableConnection = waitLock.newCondition();
+    /**
+     * Requests waiting for a connection to become available.
+     */
+    private final Queue<CompletableFuture<Connection>> waiters = new ConcurrentLinkedQueue<>();
 
     public ConnectionPool(final Host host, final Cluster cluster) {
         this.host = host;
@@ -82,12 +82,16 @@ class ConnectionPool {
         return cluster.connectionPoolSettings();
     }
 
-    public Connection borrowConnection(final long timeout, final TimeUnit unit) throws TimeoutException, ConnectionException {
+    /**
+     * Borrow the least used connection in the pool.  A connection that can take the request is claimed with a
+     * compare-and-set on its in flight count, so borrowing takes no lock.  If no connection can take the request, the
+     * returned future is queued and completed as soon as a connection becomes available, or completed exceptionally
+     * with a {@code TimeoutException} once the timeout passes, so no thread waits on the connection.
+     */
+    public CompletableFuture<Connection> borrowConnectionAsync(final long timeout, final TimeUnit unit) {
         logger.debug("Borrowing connection from pool on {} - timeout in {} {}", host, timeout, unit);
 
-        if (isClosed()) throw new ConnectionException(host.getHostUri(), host.getAddress(), "Pool is shutdown");
-
-        final Connection leastUsedConn = selectLeastUsed();
+        if (isClosed()) return failed(new ConnectionException(host.getHostUri(), host.getAddress(), "Pool is shutdown"));
 
         if (connections.isEmpty()) {
             logger.debug("Tried to borrow connection but the pool was empty for {} - scheduling pool creation and waiting for connection", host);
@@ -99,39 +103,14 @@ class ConnectionPool {
             return waitForConnection(timeout, unit);
         }
 
-        if (null == leastUsedConn) {
-            if (isClosed())
-                throw new ConnectionException(host.getHostUri(), host.getAddress(), "Pool is shutdown");
-            logger.debug("Pool was initialized but a connection could not be selected earlier - waiting for connection on {}", host);
+        final Connection connection = tryBorrow();
+        if (null == connection) {
+            logger.debug("No connection on {} can take the request - waiting for connection", host);
             return waitForConnection(timeout, unit);
         }
 
-        // if the number in flight on the least used connection exceeds the max allowed and the pool size is
-        // not at maximum then consider opening a connection
-        final int currentPoolSize = connections.size();
-        if (leastUsedConn.inFlight.get() >= maxSimultaneousRequestsPerConnection && currentPoolSize < maxPoolSize) {
-            logger.debug("Least used {} on {} exceeds maxSimultaneousRequestsPerConnection but pool size {} < maxPoolSize - consider new connection",
-                    leastUsedConn, host, currentPoolSize);
-            considerNewConnection();
-        }
-
-        while (true) {
-            final int inFlight = leastUsedConn.inFlight.get();
-            final int availableInProcess = leastUsedConn.availableInProcess();
-
-            // if the number in flight starts to exceed what's available for this connection, then we need
-            // to wait for a connection to become available.
-            if (inFlight >= leastUsedConn.availableInProcess()) {
-                logger.debug("Least used connection selected from pool for {} but inFlight [{}] >= availableInProcess [{}] - wait",
-                        host, inFlight, availableInProcess);
-                return waitForConnection(timeout, unit);
-            }
-
-            if (leastUsedConn.inFlight.compareAndSet(inFlight, inFlight + 1)) {
-                logger.debug("Return least used {} on {}", leastUsedConn, host);
-                return leastUsedConn;
-            }
-        }
+        logger.debug("Return least used {} on {}", connection, host);
+        return CompletableFuture.completedFuture(connection);
     }
 
     public void returnConnection(final Connection connection) throws ConnectionException {
@@ -182,10 +161,10 @@ class ConnectionPool {
         if (future != null)
             return future;
 
-        announceAllAvailableConnection();
         future = CompletableFuture.allOf(killAvailableConnections());
-
-        return closeFuture.compareAndSet(null, future) ? future : closeFuture.get();
+        final CompletableFuture<Void> closing = closeFuture.compareAndSet(null, future) ? future : closeFuture.get();
+        failAllWaiters();
+        return closing;
     }
 
     public int opened() {
@@ -286,50 +265,25 @@ class ConnectionPool {
         logger.debug("{} destroyed", connection);
     }
 
-    private Connection waitForConnection(final long timeout, final TimeUnit unit) throws TimeoutException, ConnectionException {
-        long start = System.nanoTime();
-        long remaining = timeout;
-        long to = timeout;
-        do {
-            try {
-                awaitAvailableConnection(remaining, unit);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                to = 0;
-            }
+    private CompletableFuture<Connection> waitForConnection(final long timeout, final TimeUnit unit) {
+        final CompletableFuture<Connection> waiter = new CompletableFuture<>();
+        final ScheduledFuture<?> timer = cluster.executor().schedule(() -> {
+            if (waiter.completeExceptionally(new TimeoutException())) {
+                logger.debug("Timed-out waiting for connection on {} - possibly unavailable", host);
 
-            if (isClosed())
-                throw new ConnectionException(host.getHostUri(), host.getAddress(), "Pool is shutdown");
-
-            final Connection leastUsed = selectLeastUsed();
-            if (leastUsed != null) {
-                while (true) {
-                    final int inFlight = leastUsed.inFlight.get();
-                    final int availableInProcess = leastUsed.availableInProcess();
-                    if (inFlight >= availableInProcess) {
-                        logger.debug("Least used {} on {} has requests inFlight [{}] >= availableInProcess [{}] - may timeout waiting for connection",
-                                leastUsed, host, inFlight, availableInProcess);
-                        break;
-                    }
-
-                    if (leastUsed.inFlight.compareAndSet(inFlight, inFlight + 1)) {
-                        logger.debug("Return least used {} on {} after waiting", leastUsed, host);
-                        return leastUsed;
-                    }
-                }
+                // if we timeout borrowing a connection that might mean the host is dead (or the timeout was super
+                // short). either way supply a function to reconnect
+                this.considerUnavailable();
             }
+        }, timeout, unit);
+        waiter.whenComplete((c, t) -> timer.cancel(false));
 
-            remaining = to - TimeUtil.timeSince(start, unit);
-            logger.debug("Continue to wait for connection on {} if {} > 0", remaining);
-        } while (remaining > 0);
+        logger.debug("Wait {} {} for an available connection on {}", timeout, unit, host);
+        waiters.add(waiter);
 
-        logger.debug("Timed-out waiting for connection on {} - possibly unavailable", host);
-
-        // if we timeout borrowing a connection that might mean the host is dead (or the timeout was super short).
-        // either way supply a function to reconnect
-        this.considerUnavailable();
-
-        throw new TimeoutException();
+        // a connection may have become available before the waiter was queued
+        announceAvailableConnection();
+        return waiter;
     }
 
     private void considerUnavailable() {
@@ -358,20 +312,77 @@ class ConnectionPool {
         }
     }
 
+    /**
+     * Hands connections that can take a request to the queued waiters until either runs out.
+     */
     private void announceAvailableConnection() {
         logger.debug("Announce connection available on {}", host);
 
-        if (waiter == 0)
-            return;
+        CompletableFuture<Connection> waiter;
+        while ((waiter = waiters.peek()) != null) {
+            if (waiter.isDone()) {
+                waiters.remove(waiter);
+                continue;
+            }
 
-        waitLock.lock();
-        try {
-            hasAvailableConnection.signal();
-        } finally {
-            waitLock.unlock();
+            final Connection connection = tryBorrow();
+            if (null == connection) return;
+
+            // the waiter may have been completed by another thread or have timed out in the meantime, in which
+            // case the claimed request is returned like any other so that a binned or dead connection is dealt with
+            waiter = waiters.poll();
+            if (null == waiter || !waiter.complete(connection)) {
+                try {
+                    returnConnection(connection);
+                } catch (ConnectionException ce) {
+                    connection.inFlight.decrementAndGet();
+                }
+            } else {
+                logger.debug("Return least used {} on {} after waiting", connection, host);
+            }
         }
     }
 
+    /**
+     * Claims a request on the least used connection or returns {@code null} if that connection can not take
+     * another request.
+     */
+    private Connection tryBorrow() {
+        final Connection leastUsed = selectLeastUsed();
+        if (null == leastUsed) return null;
+
+        // if the number in flight on the least used connection exceeds the max allowed and the pool size is
+        // not at maximum then consider opening a connection
+        final int currentPoolSize = connections.size();
+        if (leastUsed.inFlight.get() >= maxSimultaneousRequestsPerConnection && currentPoolSize < maxPoolSize) {
+            logger.debug("Least used {} on {} exceeds maxSimultaneousRequestsPerConnection but pool size {} < maxPoolSize - consider new connection",
+                    leastUsed, host, currentPoolSize);
+            considerNewConnection();
+        }
+
+        while (true) {
+            final int inFlight = leastUsed.inFlight.get();
+            final int availableInProcess = leastUsed.availableInProcess();
+
+            // if the number in flight starts to exceed what's available for this connection, then the request
+            // needs to wait for a connection to become available.
+            if (inFlight >= availableInProcess) {
+                logger.debug("Least used {} on {} has requests inFlight [{}] >= availableInProcess [{}]",
+                        leastUsed, host, inFlight, availableInProcess);
+                return null;
+            }
+
+            if (leastUsed.inFlight.compareAndSet(inFlight, inFlight + 1))
+                return leastUsed;
+        }
+    }
+
+    private static CompletableFuture<Connection> failed(final Throwable t) {
+        final CompletableFuture<Connection> future = new CompletableFuture<>();
+        future.completeExceptionally(t);
+        return future;
+    }
+
     private Connection selectLeastUsed() {
         int minInFlight = Integer.MAX_VALUE;
         Connection leastBusy = null;
@@ -385,28 +396,10 @@ class ConnectionPool {
         return leastBusy;
     }
 
-    private void awaitAvailableConnection(long timeout, TimeUnit unit) throws InterruptedException {
-        logger.debug("Wait {} {} for an available connection on {} with {}", timeout, unit, host, Thread.currentThread());
-
-        waitLock.lock();
-        waiter++;
-        try {
-            hasAvailableConnection.await(timeout, unit);
-        } finally {
-            waiter--;
-            waitLock.unlock();
-        }
-    }
-
-    private void announceAllAvailableConnection() {
-        if (waiter == 0)
-            return;
-
-        waitLock.lock();
-        try {
-            hasAvailableConnection.signalAll();
-        } finally {
-            waitLock.unlock();
+    private void failAllWaiters() {
+        CompletableFuture<Connection> waiter;
+        while ((waiter = waiters.poll()) != null) {
+            waiter.completeExceptionally(new ConnectionException(host.getHostUri(), host.getAddress(), "Pool is shutdown"));
         }
     }
 
@@ -8,6 +8,8 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
@@ -23,6 +25,19 @@ class Host {
 
     final AtomicReference<ScheduledFuture<?>> reconnectionAttempt = new AtomicReference<>(null);
 
+    /**
+     * The weight of the latest response in the moving average of the response latency.
+     */
+    static final double LATENCY_SMOOTHING = 0.2;
+
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+
+    /**
+     * The exponentially weighted moving average of the response latency in nanoseconds stored as the bits of a
+     * {@code double}, which is negative until the first response.
+     */
+    private final AtomicLong latency = new AtomicLong(Double.doubleToLongBits(-1d));
+
     public Host(final InetSocketAddress address, final Cluster cluster) {
         this.cluster = cluster;
         this.address = address;
@@ -41,6 +56,41 @@ class Host {
         return isAvailable;
     }
 
+    /**
+     * The number of requests sent to this host that have not had their response fully read.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * The moving average of the time in nanoseconds from sending a request to this host to reading the last of its
+     * response or zero if no response has been read yet.
+     */
+    public double getLatency() {
+        return Math.max(0d, Double.longBitsToDouble(latency.get()));
+    }
+
+    void requestSent() {
+        inFlight.incrementAndGet();
+    }
+
+    void responseRead(final long elapsed) {
+        inFlight.decrementAndGet();
+
+        long current;
+        double next;
+        do {
+            current = latency.get();
+            final double average = Double.longBitsToDouble(current);
+            next = average < 0 ? elapsed : average + LATENCY_SMOOTHING * (elapsed - average);
+        } while (!latency.compareAndSet(current, Double.doubleToLongBits(next)));
+    }
+
+    void requestFailed() {
+        inFlight.decrementAndGet();
+    }
+
     void makeAvailable() {
         isAvailable = true;
     }
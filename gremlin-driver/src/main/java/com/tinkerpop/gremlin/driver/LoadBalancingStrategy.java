@@ -2,11 +2,12 @@ package com.tinkerpop.gremlin.driver;
 
 import com.tinkerpop.gremlin.driver.message.RequestMessage;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Random;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -17,64 +18,163 @@ public interface LoadBalancingStrategy extends Host.Listener {
 
     public Iterator<Host> select(final RequestMessage msg);
 
-    public static class RoundRobin implements LoadBalancingStrategy {
+    /**
+     * A strategy that chooses among the available hosts.  The hosts are held in an array that is replaced as hosts
+     * come and go, so a selection works off a consistent snapshot of the hosts without copying them.
+     */
+    public static abstract class AvailableHostsStrategy implements LoadBalancingStrategy {
 
-        private final CopyOnWriteArrayList<Host> availableHosts = new CopyOnWriteArrayList<>();
+        private static final Host[] NO_HOSTS = new Host[0];
+
+        private volatile Host[] availableHosts = NO_HOSTS;
         private final AtomicInteger index = new AtomicInteger();
 
         @Override
         public void initialize(final Cluster cluster, final Collection<Host> hosts) {
-            this.availableHosts.addAll(hosts);
+            hosts.forEach(this::onAvailable);
             this.index.set(new Random().nextInt(Math.max(hosts.size(), 1)));
         }
 
         @Override
         public Iterator<Host> select(final RequestMessage msg) {
-            final List<Host> hosts = (List<Host>) availableHosts.clone();
-            final int startIndex = index.getAndIncrement();
+            final Host[] hosts = availableHosts;
+            if (hosts.length == 0) return new HostIterator(hosts, 0, 0);
+
+            final int start = Math.floorMod(nextIndex(), hosts.length);
+            return new HostIterator(hosts, choose(hosts, start), start);
+        }
 
-            if (startIndex > Integer.MAX_VALUE - 10000)
+        /**
+         * Gets the index of the host to send the request to.
+         *
+         * @param hosts the available hosts, of which there is at least one
+         * @param start a rotating index into the hosts which can be used to break ties between hosts
+         */
+        protected abstract int choose(final Host[] hosts, final int start);
+
+        private int nextIndex() {
+            final int i = index.getAndIncrement();
+            if (i > Integer.MAX_VALUE - 10000)
                 index.set(0);
+            return i;
+        }
 
-            return new Iterator<Host>() {
+        @Override
+        public synchronized void onAvailable(final Host host) {
+            if (Arrays.asList(availableHosts).contains(host)) return;
 
-                private int currentIndex = startIndex;
-                private int remainingHosts = hosts.size();
+            final Host[] hosts = Arrays.copyOf(availableHosts, availableHosts.length + 1);
+            hosts[hosts.length - 1] = host;
+            availableHosts = hosts;
+        }
 
-                @Override
-                public boolean hasNext() {
-                    return remainingHosts > 0;
-                }
+        @Override
+        public synchronized void onUnavailable(final Host host) {
+            availableHosts = Arrays.stream(availableHosts).filter(h -> !h.equals(host)).toArray(Host[]::new);
+        }
 
-                @Override
-                public Host next() {
-                    remainingHosts--;
-                    int c = currentIndex++ % hosts.size();
-                    if (c < 0)
-                        c += hosts.size();
-                    return hosts.get(c);
-                }
-            };
+        @Override
+        public void onNew(final Host host) {
+            // a host that failed to connect on creation is added when it reconnects
+            if (host.isAvailable()) onAvailable(host);
         }
 
         @Override
-        public void onAvailable(final Host host) {
-            this.availableHosts.addIfAbsent(host);
+        public void onRemove(final Host host) {
+            onUnavailable(host);
         }
+    }
 
+    /**
+     * Sends requests to the available hosts in turn.
+     */
+    public static class RoundRobin extends AvailableHostsStrategy {
         @Override
-        public void onUnavailable(final Host host) {
-            this.availableHosts.remove(host);
+        protected int choose(final Host[] hosts, final int start) {
+            return start;
         }
+    }
 
+    /**
+     * Sends a request to the host with the fewest requests that have not had their response fully read, so that a
+     * host that is slow to respond gets fewer requests.
+     */
+    public static class LeastInFlight extends AvailableHostsStrategy {
         @Override
-        public void onNew(final Host host) {
-            onAvailable(host);
+        protected int choose(final Host[] hosts, final int start) {
+            int chosen = start;
+            int least = hosts[start].getInFlight();
+            for (int i = 1; i < hosts.length && least > 0; i++) {
+                final int candidate = (start + i) % hosts.length;
+                final int inFlight = hosts[candidate].getInFlight();
+                if (inFlight < least) {
+                    chosen = candidate;
+                    least = inFlight;
+                }
+            }
+            return chosen;
         }
+    }
 
+    /**
+     * Picks two of the available hosts at random and sends a request to the one with the lower load, the load being
+     * the requests in flight to the host weighted by its average response latency.  Comparing two random hosts
+     * rather than all of them keeps the selection cheap and avoids every client piling onto the same host in between
+     * updates to its statistics.
+     */
+    public static class PowerOfTwoChoices extends AvailableHostsStrategy {
         @Override
-        public void onRemove(final Host host) {
-            onUnavailable(host);
+        protected int choose(final Host[] hosts, final int start) {
+            if (hosts.length == 1) return 0;
+
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final int first = random.nextInt(hosts.length);
+            final int second = (first + 1 + random.nextInt(hosts.length - 1)) % hosts.length;
+            return load(hosts[second]) < load(hosts[first]) ? second : first;
+        }
+
+        private static double load(final Host host) {
+            // a host without a response yet has no latency so weigh it by its requests in flight alone
+            return (host.getInFlight() + 1) * Math.max(1d, host.getLatency());
+        }
+    }
+
+    /**
+     * Iterates the chosen host followed by the rest of the hosts from the start index.
+     */
+    static final class HostIterator implements Iterator<Host> {
+        private final Host[] hosts;
+        private final int chosen;
+        private int next;
+        private int remaining;
+        private boolean chosenReturned = false;
+
+        HostIterator(final Host[] hosts, final int chosen, final int start) {
+            this.hosts = hosts;
+            this.chosen = chosen;
+            this.next = start;
+            this.remaining = hosts.length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public Host next() {
+            if (remaining == 0) throw new NoSuchElementException();
+            remaining--;
+
+            if (!chosenReturned) {
+                chosenReturned = true;
+                return hosts[chosen];
+            }
+
+            if (next == chosen) next = (next + 1) % hosts.length;
+            final Host host = hosts[next];
+            next = (next + 1) % hosts.length;
+            return host;
         }
     }
 }
@@ -1,16 +1,21 @@
 package com.tinkerpop.gremlin.driver;
 
 import com.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.javatuples.Pair;
 
+import java.util.Iterator;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A queue of incoming {@link ResponseMessage} objects.  The queue is updated by the
  * {@link com.tinkerpop.gremlin.driver.Handler.GremlinResponseHandler} until a response terminator is identified.  At that point the fetch
- * status is changed to {@link Status#COMPLETE} and all results have made it client side.
+ * status is changed to {@link Status#COMPLETE} and all results have made it client side.  Callers that need a
+ * number of items get a future from {@link #await(int)} which is completed as the responses that satisfy it arrive,
+ * so no thread has to poll the queue.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -28,6 +33,11 @@ class ResponseQueue {
 
     private final CompletableFuture<Void> readComplete;
 
+    /**
+     * Futures returned from {@link #await(int)} paired with the number of items they wait on.
+     */
+    private final Queue<Pair<CompletableFuture<Integer>, Integer>> waiting = new ConcurrentLinkedQueue<>();
+
     public ResponseQueue(final LinkedBlockingQueue<ResponseMessage> responseQueue, final CompletableFuture<Void> readComplete) {
         this.responseQueue = responseQueue;
         this.readComplete = readComplete;
@@ -35,32 +45,36 @@ class ResponseQueue {
 
     public void add(final ResponseMessage msg) {
         this.responseQueue.offer(msg);
+        flushWaiting();
     }
 
     public int size() {
-        if (error.get() != null) throw new RuntimeException(error.get());
         return this.responseQueue.size();
     }
 
     public boolean isEmpty() {
-        if (error.get() != null) throw new RuntimeException(error.get());
         return this.size() == 0;
     }
 
+    /**
+     * Gets the next {@link ResponseMessage} or {@code null} if there is none available on the client yet.
+     */
     public ResponseMessage poll() {
-        ResponseMessage msg = null;
-        do {
-            if (error.get() != null) throw new RuntimeException(error.get());
-            try {
-                msg = responseQueue.poll(10, TimeUnit.MILLISECONDS);
-            } catch (InterruptedException ie) {
-                error.set(new RuntimeException(ie));
-            }
-        } while (null == msg && status == Status.FETCHING);
-
         if (error.get() != null) throw new RuntimeException(error.get());
+        return responseQueue.poll();
+    }
 
-        return msg;
+    /**
+     * Gets a future that completes with the number of items available once there are at least that many items or
+     * once all items have made it client side.  The future completes exceptionally if an error is received.
+     */
+    public CompletableFuture<Integer> await(final int items) {
+        final CompletableFuture<Integer> future = new CompletableFuture<>();
+        waiting.add(Pair.with(future, items));
+
+        // the items may have arrived before the future was added to those that are waiting
+        flushWaiting();
+        return future;
     }
 
     public Status getStatus() {
@@ -70,10 +84,32 @@ class ResponseQueue {
     void markComplete() {
         this.status = Status.COMPLETE;
         this.readComplete.complete(null);
+        flushWaiting();
     }
 
     void markError(final Throwable throwable) {
         error.set(throwable);
         this.readComplete.complete(null);
+        flushWaiting();
+    }
+
+    /**
+     * Completes the waiting futures that are satisfied.  It is called after each change to the queue and after each
+     * new future, so a future is never missed by both its own check and the check of a concurrent change.
+     */
+    private void flushWaiting() {
+        final Throwable t = error.get();
+        final Iterator<Pair<CompletableFuture<Integer>, Integer>> itty = waiting.iterator();
+        while (itty.hasNext()) {
+            final Pair<CompletableFuture<Integer>, Integer> waiter = itty.next();
+            if (t != null)
+                waiter.getValue0().completeExceptionally(t instanceof RuntimeException ? t : new RuntimeException(t));
+            else if (status == Status.COMPLETE || size() >= waiter.getValue1())
+                waiter.getValue0().complete(size());
+            else
+                continue;
+
+            itty.remove();
+        }
     }
 }
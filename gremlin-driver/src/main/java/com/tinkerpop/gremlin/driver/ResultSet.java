@@ -2,14 +2,12 @@ package com.tinkerpop.gremlin.driver;
 
 import com.tinkerpop.gremlin.driver.message.ResponseMessage;
 import com.tinkerpop.gremlin.util.StreamFactory;
-import io.netty.channel.Channel;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -17,22 +15,19 @@ import java.util.stream.Stream;
  * results provided by the server.  The results from the server are streamed into the {@code ResultSet} and
  * therefore may not be available immediately.  As such, {@code ResultSet} provides access to a a number
  * of functions that help to work with the asynchronous nature of the data streaming back.  Data from results
- * is stored in an {@link Result} which can be used to retrieve the item once it is on the client side.
+ * is stored in an {@link Result} which can be used to retrieve the item once it is on the client side.  The
+ * futures returned from the {@code ResultSet} are completed as responses arrive and the functions chained to them
+ * are executed by the executor of the {@link Cluster}, never by the thread that reads from the network.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
 public class ResultSet implements Iterable<Result> {
     private final ResponseQueue responseQueue;
     private final ExecutorService executor;
-    private final Channel channel;
-    private final Supplier<Void> onChannelError;
 
-    public ResultSet(final ResponseQueue responseQueue, final ExecutorService executor,
-                     final Channel channel, final Supplier<Void> onChannelError) {
+    public ResultSet(final ResponseQueue responseQueue, final ExecutorService executor) {
         this.executor = executor;
         this.responseQueue = responseQueue;
-        this.channel = channel;
-        this.onChannelError = onChannelError;
     }
 
     /**
@@ -56,7 +51,7 @@ public class ResultSet implements Iterable<Result> {
         if (!responseQueue.isEmpty())
             return false;
 
-        awaitItems(1).join();
+        responseQueue.await(1).join();
 
         assert !responseQueue.isEmpty() || allItemsAvailable();
         return responseQueue.isEmpty();
@@ -70,7 +65,7 @@ public class ResultSet implements Iterable<Result> {
         if (msg != null)
             return new Result(msg);
 
-        awaitItems(1).join();
+        responseQueue.await(1).join();
 
         msg = responseQueue.poll();
         if (msg != null)
@@ -84,38 +79,18 @@ public class ResultSet implements Iterable<Result> {
      * available which may or may not be the number the caller was waiting for.
      */
     public CompletableFuture<Integer> awaitItems(final int items) {
-        if (allItemsAvailable())
-            CompletableFuture.completedFuture(getAvailableItemCount());
-
-        return CompletableFuture.supplyAsync(() -> {
-            while (!allItemsAvailable() && getAvailableItemCount() < items) {
-                if (!channel.isOpen()) {
-                    onChannelError.get();
-                    throw new RuntimeException("Error while processing results from channel - check client and server logs for more information");
-                }
-
-                try {
-                    // small delay between checks for available items
-                    Thread.sleep(10);
-                } catch (Exception ex) {
-                    return null;
-                }
-            }
-
-            return getAvailableItemCount();
-        }, executor);
+        return responseQueue.await(items).thenApplyAsync(available -> available, executor);
     }
 
     /**
      * Wait for all items to be available on the client exhausting the stream.
      */
     public CompletableFuture<List<Result>> all() {
-        return CompletableFuture.supplyAsync(() -> {
-            final List<Result> list = new ArrayList<>();
-            while (!isExhausted()) {
-                final ResponseMessage msg = responseQueue.poll();
-                if (msg != null)
-                    list.add(new Result(msg));
+        return responseQueue.await(Integer.MAX_VALUE).thenApplyAsync(available -> {
+            final List<Result> list = new ArrayList<>(available);
+            ResponseMessage msg;
+            while ((msg = responseQueue.poll()) != null) {
+                list.add(new Result(msg));
             }
             return list;
         }, executor);
@@ -60,6 +60,8 @@ class Settings {
         public int reconnectInterval = Connection.RECONNECT_INTERVAL;
         public int reconnectInitialDelay = Connection.RECONNECT_INITIAL_DELAY;
         public int resultIterationBatchSize = Connection.RESULT_ITERATION_BATCH_SIZE;
+        public int requestBatchWindow = Connection.REQUEST_BATCH_WINDOW;
+        public int maxRequestBatchSize = Connection.MAX_REQUEST_BATCH_SIZE;
         public String sessionId = null;
 
         public Optional<String> optionalSessionId() {
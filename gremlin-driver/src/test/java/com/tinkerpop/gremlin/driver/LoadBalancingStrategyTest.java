@@ -0,0 +1,90 @@
+package com.tinkerpop.gremlin.driver;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @author agent (agent@local)
+ */
+public class LoadBalancingStrategyTest {
+
+    private Cluster cluster;
+    private List<Host> hosts;
+
+    @Before
+    public void setUp() {
+        cluster = Cluster.open();
+        hosts = Arrays.asList(
+                new Host(new InetSocketAddress("localhost", 8182), cluster),
+                new Host(new InetSocketAddress("localhost", 8183), cluster),
+                new Host(new InetSocketAddress("localhost", 8184), cluster));
+    }
+
+    @After
+    public void tearDown() {
+        cluster.close();
+    }
+
+    @Test
+    public void shouldRoundRobinAcrossAvailableHosts() {
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.RoundRobin();
+        strategy.initialize(cluster, hosts);
+
+        final Set<Host> firsts = new HashSet<>();
+        for (int i = 0; i < hosts.size(); i++) {
+            final Iterator<Host> itty = strategy.select(null);
+            firsts.add(itty.next());
+
+            // every other host follows the one selected
+            final Set<Host> all = new HashSet<>(firsts);
+            itty.forEachRemaining(all::add);
+            assertEquals(new HashSet<>(hosts), all);
+        }
+        assertEquals(new HashSet<>(hosts), firsts);
+
+        hosts.forEach(strategy::onUnavailable);
+        assertFalse(strategy.select(null).hasNext());
+    }
+
+    @Test
+    public void shouldSelectHostWithLeastInFlight() {
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LeastInFlight();
+        strategy.initialize(cluster, hosts);
+
+        hosts.get(0).requestSent();
+        hosts.get(0).requestSent();
+        hosts.get(1).requestSent();
+        for (int i = 0; i < hosts.size(); i++) {
+            assertEquals(hosts.get(2), strategy.select(null).next());
+        }
+
+        strategy.onUnavailable(hosts.get(2));
+        assertEquals(hosts.get(1), strategy.select(null).next());
+    }
+
+    @Test
+    public void shouldSelectHostWithLowerLatencyWeightedLoad() {
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.PowerOfTwoChoices();
+        strategy.initialize(cluster, hosts.subList(0, 2));
+
+        // same number of requests in flight but the first host is a hundred times slower to respond
+        hosts.get(0).requestSent();
+        hosts.get(0).responseRead(100000000l);
+        hosts.get(1).requestSent();
+        hosts.get(1).responseRead(1000000l);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(hosts.get(1), strategy.select(null).next());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.tinkerpop.gremlin.driver;
+
+import com.tinkerpop.gremlin.driver.exception.ResponseException;
+import com.tinkerpop.gremlin.driver.message.ResponseMessage;
+import com.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author agent (agent@local)
+ */
+public class ResponseQueueTest {
+
+    @Test
+    public void shouldCompleteAwaitAsItemsArrive() {
+        final CompletableFuture<Void> readComplete = new CompletableFuture<>();
+        final ResponseQueue queue = new ResponseQueue(new LinkedBlockingQueue<>(), readComplete);
+        final UUID requestId = UUID.randomUUID();
+
+        final CompletableFuture<Integer> two = queue.await(2);
+        final CompletableFuture<Integer> all = queue.await(Integer.MAX_VALUE);
+        queue.add(ResponseMessage.build(requestId).result(1).create());
+        assertFalse(two.isDone());
+
+        queue.add(ResponseMessage.build(requestId).result(2).create());
+        assertEquals(2, two.join().intValue());
+        assertFalse(all.isDone());
+
+        queue.add(ResponseMessage.build(requestId).result(3).create());
+        queue.markComplete();
+        assertEquals(3, all.join().intValue());
+        assertTrue(readComplete.isDone());
+
+        // items already available complete the future straight away
+        assertEquals(3, queue.await(1).join().intValue());
+    }
+
+    @Test
+    public void shouldCompleteAwaitExceptionallyOnError() {
+        final ResponseQueue queue = new ResponseQueue(new LinkedBlockingQueue<>(), new CompletableFuture<>());
+        final CompletableFuture<Integer> one = queue.await(1);
+        queue.markError(new ResponseException(ResponseStatusCode.SERVER_ERROR, "oops"));
+
+        try {
+            one.join();
+            fail("Should have completed exceptionally");
+        } catch (CompletionException ce) {
+            assertTrue(ce.getCause().getCause() instanceof ResponseException);
+        }
+    }
+}
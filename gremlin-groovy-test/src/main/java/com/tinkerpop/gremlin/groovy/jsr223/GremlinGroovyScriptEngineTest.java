@@ -24,6 +24,8 @@ import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -485,6 +487,74 @@ public class GremlinGroovyScriptEngineTest extends AbstractGremlinTest {
         }
     }
 
+    @Test
+    public void shouldEvictLeastRecentlyUsedScriptClass() throws Exception {
+        final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine(new DefaultImportCustomizerProvider(), null, 2);
+        assertEquals(1, engine.eval("1"));
+        assertEquals(2, engine.eval("2"));
+        assertEquals(1, engine.eval("1"));
+        assertEquals(3, engine.eval("3"));
+
+        // "2" was the least recently used so it is the one that had to be compiled again
+        assertEquals(1, engine.eval("1"));
+        assertEquals(2, engine.eval("2"));
+
+        assertEquals(2, engine.getScriptClassCacheSize());
+        assertEquals(2, engine.getClassCacheHits());
+        assertEquals(4, engine.getClassCacheMisses());
+        assertEquals(2, engine.getClassCacheEvictions());
+    }
+
+    @Test
+    public void shouldCompileScriptOnceWhenEvaluatedConcurrently() throws Exception {
+        final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine();
+        final int runs = 16;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch latch = new CountDownLatch(runs);
+        final AtomicBoolean fail = new AtomicBoolean(false);
+
+        for (int i = 0; i < runs; i++) {
+            new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                        if (!Integer.valueOf(6).equals(engine.eval("(1..3).sum()"))) fail.set(true);
+                    } catch (Exception ex) {
+                        fail.set(true);
+                    }
+                    latch.countDown();
+                }
+            }.start();
+        }
+
+        start.countDown();
+        latch.await();
+
+        assertFalse(fail.get());
+        assertEquals(1, engine.getClassCacheMisses());
+        assertEquals(runs - 1, engine.getClassCacheHits());
+    }
+
+    @Test
+    @LoadGraphWith(LoadGraphWith.GraphData.CLASSIC)
+    public void shouldShareScriptClassForScriptsThatOnlyDifferByLiterals() throws Exception {
+        final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine(new DefaultImportCustomizerProvider(), null,
+                GremlinGroovyScriptEngine.DEFAULT_SCRIPT_CLASS_CACHE_SIZE, true);
+        final Bindings bindings = engine.createBindings();
+        bindings.put("g", g);
+
+        assertEquals("marko", engine.eval("g.V(1).values('name').next()", bindings));
+        assertEquals("vadas", engine.eval("g.V(2).values(\"name\").next()", bindings));
+        assertEquals(1, engine.getClassCacheMisses());
+        assertEquals(1, engine.getClassCacheHits());
+
+        // literals keep the type groovy gives them
+        assertEquals(Arrays.asList(1, 2l, 3.0d, 4.0f, new BigInteger("5"), new BigDecimal("6.0"), "\t"),
+                engine.eval("[1, 2l, 3d, 4f, 5g, 6.0, '\\t']"));
+        assertEquals(2, engine.eval("['a':1, b:2].b"));
+        assertEquals(3, engine.eval("def addOne(x){x + 1}; addOne(2)"));
+    }
+
     @Test
     public void shouldSecureAll() throws Exception {
         GroovyInterceptor.getApplicableInterceptors().forEach(GroovyInterceptor::unregister);
@@ -54,6 +54,13 @@ public class ScriptEngines implements AutoCloseable {
         this.initializer.accept(this);
     }
 
+    /**
+     * Gets the {@code ScriptEngine} configured for a particular language.
+     */
+    public Optional<ScriptEngine> get(final String language) {
+        return Optional.ofNullable(scriptEngines.get(language));
+    }
+
     /**
      * Evaluate a script with {@code Bindings} for a particular language.
      */
@@ -273,8 +280,13 @@ public class ScriptEngines implements AutoCloseable {
                 }
             }
 
+            final int scriptClassCacheSize = ((Number) config.getOrDefault("scriptClassCacheSize",
+                    GremlinGroovyScriptEngine.DEFAULT_SCRIPT_CLASS_CACHE_SIZE)).intValue();
+            final boolean parameterizeLiterals = (Boolean) config.getOrDefault("parameterizeLiterals", false);
+
             return Optional.of((ScriptEngine) new GremlinGroovyScriptEngine(
-                    new DefaultImportCustomizerProvider(imports, staticImports), securityCustomizerProvider));
+                    new DefaultImportCustomizerProvider(imports, staticImports), securityCustomizerProvider,
+                    scriptClassCacheSize, parameterizeLiterals));
         } else {
             final ScriptEngineManager manager = new ScriptEngineManager();
             return Optional.ofNullable(manager.getEngineByName(language));
@@ -17,8 +17,12 @@ import groovy.lang.MissingMethodException;
 import groovy.lang.MissingPropertyException;
 import groovy.lang.Script;
 import groovy.lang.Tuple;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.ModuleNode;
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.ErrorCollector;
+import org.codehaus.groovy.control.SourceUnit;
 import org.codehaus.groovy.jsr223.GroovyCompiledScript;
 import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
 import org.codehaus.groovy.runtime.InvokerHelper;
@@ -39,13 +43,18 @@ import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -65,6 +74,11 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
     public static final String REFERENCE_TYPE_SOFT = "soft";
     public static final String REFERENCE_TYPE_HARD = "hard";
 
+    /**
+     * The default number of compiled script classes held by the engine.
+     */
+    public static final int DEFAULT_SCRIPT_CLASS_CACHE_SIZE = 1024;
+
     private static final Pattern patternImportStatic = Pattern.compile("\\Aimport\\sstatic.*");
 
     private ThreadLocal<Boolean> registeredSandbox = new ThreadLocal<Boolean>() {
@@ -75,9 +89,25 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
     };
 
     /**
-     * Script to generated Class map.
+     * Script to generated Class map.  It is ordered by access so that once it holds more than the configured number
+     * of classes, the least recently used one is evicted.  The value is a future so that a script that is being
+     * compiled is compiled once, with other threads evaluating the same script waiting on that compilation.  Access
+     * to the map must be synchronized on it.
+     */
+    private final Map<String, CompletableFuture<Class>> classMap;
+
+    private final int scriptClassCacheSize;
+
+    /**
+     * When {@code true}, the literals of a script are lifted into variables before it is compiled so that scripts
+     * of the same shape share a compiled class.
      */
-    private ManagedConcurrentValueMap<String, Class> classMap = new ManagedConcurrentValueMap<>(ReferenceBundle.getSoftBundle());
+    private final boolean parameterizeLiterals;
+
+    private final AtomicLong classCacheHits = new AtomicLong(0l);
+    private final AtomicLong classCacheMisses = new AtomicLong(0l);
+    private final AtomicLong classCacheEvictions = new AtomicLong(0l);
+    private final AtomicLong compilationTime = new AtomicLong(0l);
 
     /**
      * Global closures map - this is used to simulate a single global functions namespace
@@ -114,9 +144,47 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
     }
 
     public GremlinGroovyScriptEngine(final ImportCustomizerProvider importCustomizerProvider, final SecurityCustomizerProvider securityCustomizerProvider) {
+        this(importCustomizerProvider, securityCustomizerProvider, DEFAULT_SCRIPT_CLASS_CACHE_SIZE);
+    }
+
+    /**
+     * @param scriptClassCacheSize the maximum number of compiled script classes to hold, after which the least
+     *                             recently used class is evicted and unloaded.
+     */
+    public GremlinGroovyScriptEngine(final ImportCustomizerProvider importCustomizerProvider,
+                                     final SecurityCustomizerProvider securityCustomizerProvider,
+                                     final int scriptClassCacheSize) {
+        this(importCustomizerProvider, securityCustomizerProvider, scriptClassCacheSize, false);
+    }
+
+    /**
+     * @param scriptClassCacheSize the maximum number of compiled script classes to hold, after which the least
+     *                             recently used class is evicted and unloaded.
+     * @param parameterizeLiterals lift the string and numeric literals of scripts passed to {@code eval} into
+     *                             variables, so that scripts that only differ by the value of their literals are
+     *                             compiled once.
+     */
+    public GremlinGroovyScriptEngine(final ImportCustomizerProvider importCustomizerProvider,
+                                     final SecurityCustomizerProvider securityCustomizerProvider,
+                                     final int scriptClassCacheSize, final boolean parameterizeLiterals) {
+        if (scriptClassCacheSize < 1)
+            throw new IllegalArgumentException("scriptClassCacheSize must be greater than zero");
+
         GremlinLoader.load();
         this.importCustomizerProvider = importCustomizerProvider;
         this.securityProvider = Optional.ofNullable(securityCustomizerProvider);
+        this.scriptClassCacheSize = scriptClassCacheSize;
+        this.parameterizeLiterals = parameterizeLiterals;
+        this.classMap = new LinkedHashMap<String, CompletableFuture<Class>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CompletableFuture<Class>> eldest) {
+                if (size() <= GremlinGroovyScriptEngine.this.scriptClassCacheSize) return false;
+
+                classCacheEvictions.incrementAndGet();
+                eldest.getValue().thenAccept(GremlinGroovyScriptEngine.this::unloadClass);
+                return true;
+            }
+        };
         createClassLoader();
     }
 
@@ -213,7 +281,9 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
 
         // must clear the local cache here because the the classloader has been reset.  therefore, classes previously
         // referenced before that might not have evaluated might cleanly evaluate now.
-        this.classMap.clear();
+        synchronized (this.classMap) {
+            this.classMap.clear();
+        }
         this.globalClosures.clear();
 
         this.loadedPlugins.clear();
@@ -251,6 +321,14 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
         } catch (ClassCastException cce) { /*ignore.*/ }
 
         try {
+            if (parameterizeLiterals) {
+                final Optional<ParameterizedScript> parameterized = ParameterizedScript.parameterize(script);
+                if (parameterized.isPresent()) {
+                    final Class clazz = getScriptClass(parameterized.get().getScript(), true);
+                    if (clazz != null) return eval(clazz, context, parameterized.get().getLiterals());
+                }
+            }
+
             final Class clazz = getScriptClass(script);
             if (null == clazz) throw new ScriptException("Script class is null");
             return eval(clazz, context);
@@ -323,18 +401,91 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
         return makeInterface(thiz, clazz);
     }
 
+    /**
+     * Gets the number of compiled script classes currently held by the engine.
+     */
+    public int getScriptClassCacheSize() {
+        synchronized (classMap) {
+            return classMap.size();
+        }
+    }
+
+    /**
+     * Gets the number of script evaluations that found the class of the script already compiled (or being compiled).
+     */
+    public long getClassCacheHits() {
+        return classCacheHits.get();
+    }
+
+    /**
+     * Gets the number of script evaluations that had to compile the script.
+     */
+    public long getClassCacheMisses() {
+        return classCacheMisses.get();
+    }
+
+    /**
+     * Gets the number of compiled script classes evicted because the cache exceeded its configured size.
+     */
+    public long getClassCacheEvictions() {
+        return classCacheEvictions.get();
+    }
+
+    /**
+     * Gets the total time in milliseconds spent compiling scripts.
+     */
+    public long getCompilationTime() {
+        return TimeUnit.NANOSECONDS.toMillis(compilationTime.get());
+    }
+
     Class getScriptClass(final String script) throws SyntaxException, CompilationFailedException, IOException {
+        return getScriptClass(script, false);
+    }
+
+    /**
+     * Gets the compiled class of a script.  A parameterized script that can not have its literals lifted gets a
+     * {@code null} class, which is cached like any other so that the check is only made once.
+     */
+    private Class getScriptClass(final String script, final boolean parameterized) throws SyntaxException, CompilationFailedException, IOException {
         ensureSandbox();
 
-        Class clazz = classMap.get(script);
-        if (clazz != null) return clazz;
+        final CompletableFuture<Class> compilation = new CompletableFuture<>();
+        final CompletableFuture<Class> existing;
+        synchronized (classMap) {
+            existing = classMap.putIfAbsent(script, compilation);
+        }
+
+        if (existing != null) {
+            classCacheHits.incrementAndGet();
+            return awaitCompilation(existing);
+        }
 
-        clazz = loader.parseClass(script, generateScriptName());
-        classMap.put(script, clazz);
-        return clazz;
+        classCacheMisses.incrementAndGet();
+        final long start = System.nanoTime();
+        try {
+            final Class clazz = parameterized && !isParameterizable(script) ? null : loader.parseClass(script, generateScriptName());
+            compilation.complete(clazz);
+            return clazz;
+        } catch (final Throwable t) {
+            // don't cache the failure as a reset of the classloader might allow the script to compile
+            synchronized (classMap) {
+                classMap.remove(script, compilation);
+            }
+            compilation.completeExceptionally(t);
+            throw t;
+        } finally {
+            compilationTime.addAndGet(System.nanoTime() - start);
+        }
     }
 
     Object eval(final Class scriptClass, final ScriptContext context) throws ScriptException {
+        return eval(scriptClass, context, Collections.emptyMap());
+    }
+
+    /**
+     * Evaluates a script class with the lifted literals of a {@link ParameterizedScript} visible as variables.
+     */
+    private Object eval(final Class scriptClass, final ScriptContext context, final Map<String, Object> literals) throws ScriptException {
         ensureSandbox();
 
         context.setAttribute("context", context, ScriptContext.ENGINE_SCOPE);
@@ -343,6 +494,8 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
         final Binding binding = new Binding() {
             @Override
             public Object getVariable(final String name) {
+                if (literals.containsKey(name)) return literals.get(name);
+
                 synchronized (context) {
                     final int scope = context.getAttributesScope(name);
                     if (scope != -1) {
@@ -462,6 +615,48 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
         }
     }
 
+    /**
+     * Determines if a script with its literals lifted into variables can be compiled as such.  Methods and classes
+     * declared by the script do not see the variables of the script so their literals must stay in place.
+     */
+    private boolean isParameterizable(final String script) {
+        try {
+            final SourceUnit unit = new SourceUnit(generateScriptName(), script, CompilerConfiguration.DEFAULT, loader,
+                    new ErrorCollector(CompilerConfiguration.DEFAULT));
+            unit.parse();
+            unit.completePhase();
+            unit.convert();
+            final ModuleNode module = unit.getAST();
+            return module.getMethods().isEmpty() && module.getClasses().stream().allMatch(ClassNode::isScript);
+        } catch (CompilationFailedException cfe) {
+            // the script as it was sent will fail with the appropriate error
+            return false;
+        }
+    }
+
+    private static Class awaitCompilation(final CompletableFuture<Class> compilation) throws SyntaxException, IOException {
+        try {
+            return compilation.join();
+        } catch (CompletionException ce) {
+            final Throwable t = ce.getCause();
+            if (t instanceof RuntimeException) throw (RuntimeException) t;
+            if (t instanceof Error) throw (Error) t;
+            if (t instanceof SyntaxException) throw (SyntaxException) t;
+            if (t instanceof IOException) throw (IOException) t;
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Removes an evicted class from the classloader cache and the meta class registry so that nothing holds it and
+     * it can be unloaded.
+     */
+    private void unloadClass(final Class clazz) {
+        if (null == clazz) return;
+        loader.removeClassCacheEntry(clazz.getName());
+        InvokerHelper.removeClass(clazz);
+    }
+
     private synchronized String generateScriptName() {
         return SCRIPT + counter.incrementAndGet() + DOT_GROOVY;
     }
@@ -0,0 +1,276 @@
+package com.tinkerpop.gremlin.groovy.jsr223;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A script with its string and numeric literals lifted out into variables, so that scripts that only differ in the
+ * value of their literals share the same text and thus the same compiled class.  For example,
+ * {@code g.V(1).out('knows')} becomes {@code g.V(__literal0).out(__literal1)} with the variables bound to {@code 1}
+ * and {@code "knows"}.
+ * <p/>
+ * The script is scanned as tokens rather than parsed so that a script whose shape was seen before costs no more
+ * than a pass over its text.  A literal is left in place if lifting it could change the meaning of the script (e.g.
+ * a map key, a property name or an octal number) and no script is returned at all for scripts with constructs the
+ * scanner does not follow (e.g. string interpolation, slashy strings or annotations).  Literals in the bodies of
+ * methods and classes can not be lifted as those bodies do not see the script variables, but that has to be checked
+ * against the parsed script, which is left to the caller.
+ *
+ * @author agent (agent@local)
+ */
+final class ParameterizedScript {
+
+    static final String LITERAL_PREFIX = "__literal";
+
+    private static final Pattern NUMBER = Pattern.compile("(\\d+)(\\.\\d+)?([eE][+-]?\\d+)?([lLgGiIdDfF])?");
+
+    /**
+     * Identifiers after which a {@code /} starts a slashy string rather than being a division.
+     */
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList("assert", "case", "else", "in", "return", "throw"));
+
+    private final String script;
+    private final Map<String, Object> literals;
+
+    private ParameterizedScript(final String script, final Map<String, Object> literals) {
+        this.script = script;
+        this.literals = Collections.unmodifiableMap(literals);
+    }
+
+    /**
+     * The script with its literals replaced by variables.
+     */
+    public String getScript() {
+        return script;
+    }
+
+    /**
+     * The variables that replace the literals of the script mapped to their values.
+     */
+    public Map<String, Object> getLiterals() {
+        return literals;
+    }
+
+    /**
+     * Lift the literals of a script into variables.  Returns empty if the script has no literals or could not be
+     * safely scanned.
+     */
+    public static Optional<ParameterizedScript> parameterize(final String script) {
+        final StringBuilder normalized = new StringBuilder(script.length());
+        final Map<String, Object> literals = new HashMap<>();
+
+        // whether a "/" at this point would be a division, as opposed to the start of a slashy string
+        boolean division = false;
+        int i = 0;
+        final int length = script.length();
+        while (i < length) {
+            final char c = script.charAt(i);
+            if (c == '/' && i + 1 < length && script.charAt(i + 1) == '/') {
+                final int end = script.indexOf('\n', i);
+                final int next = end == -1 ? length : end;
+                normalized.append(script, i, next);
+                i = next;
+            } else if (c == '/' && i + 1 < length && script.charAt(i + 1) == '*') {
+                final int end = script.indexOf("*/", i + 2);
+                if (end == -1) return Optional.empty();
+                normalized.append(script, i, end + 2);
+                i = end + 2;
+            } else if (c == '/') {
+                if (!division) return Optional.empty();
+                normalized.append(c);
+                division = false;
+                i++;
+            } else if (c == '\'' || c == '"') {
+                if (script.startsWith(tripleQuote(c), i)) return Optional.empty();
+                final int end = endOfString(script, i);
+                if (end == -1) return Optional.empty();
+                if (c == '"' && script.substring(i, end).indexOf('$') != -1) return Optional.empty();
+
+                final String value = unescape(script.substring(i + 1, end - 1));
+
+                if (null == value || !isLiftable(script, i, end))
+                    normalized.append(script, i, end);
+                else
+                    lift(normalized, literals, value);
+
+                division = true;
+                i = end;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int end = i + 1;
+                while (end < length && Character.isJavaIdentifierPart(script.charAt(end))) end++;
+                final String identifier = script.substring(i, end);
+                if (identifier.startsWith(LITERAL_PREFIX)) return Optional.empty();
+                if (identifier.equals("$") && end < length && script.charAt(end) == '/') return Optional.empty();
+
+                normalized.append(identifier);
+                division = !KEYWORDS.contains(identifier);
+                i = end;
+            } else if (Character.isDigit(c)) {
+                final Matcher matcher = NUMBER.matcher(script).region(i, length);
+                matcher.lookingAt();
+                int end = matcher.end();
+                final Object value;
+                if (end < length && Character.isJavaIdentifierPart(script.charAt(end))) {
+                    // hex, binary or underscored numbers
+                    while (end < length && Character.isJavaIdentifierPart(script.charAt(end))) end++;
+                    value = null;
+                } else {
+                    value = toNumber(matcher);
+                }
+
+                if (null == value || !isLiftable(script, i, end))
+                    normalized.append(script, i, end);
+                else
+                    lift(normalized, literals, value);
+
+                division = true;
+                i = end;
+            } else if (c == '@') {
+                // annotation values must be constants
+                return Optional.empty();
+            } else {
+                normalized.append(c);
+                if (!Character.isWhitespace(c)) division = c == ')' || c == ']';
+                i++;
+            }
+        }
+
+        return literals.isEmpty() ? Optional.empty() : Optional.of(new ParameterizedScript(normalized.toString(), literals));
+    }
+
+    private static void lift(final StringBuilder normalized, final Map<String, Object> literals, final Object value) {
+        final String variable = LITERAL_PREFIX + literals.size();
+        literals.put(variable, value);
+        normalized.append(variable);
+    }
+
+    /**
+     * A literal followed by a {@code :} may be a map key, which is taken as a string if it is a plain name, and a
+     * literal preceded by a {@code .} is a property or method name.
+     */
+    private static boolean isLiftable(final String script, final int start, final int end) {
+        int before = start - 1;
+        while (before >= 0 && Character.isWhitespace(script.charAt(before))) before--;
+        if (before >= 0 && script.charAt(before) == '.' && (before == 0 || script.charAt(before - 1) != '.'))
+            return false;
+
+        int after = end;
+        while (after < script.length() && Character.isWhitespace(script.charAt(after))) after++;
+        return after == script.length() || script.charAt(after) != ':';
+    }
+
+    private static String tripleQuote(final char quote) {
+        return new String(new char[]{quote, quote, quote});
+    }
+
+    /**
+     * Gets the index after the closing quote of the string that starts at {@code start} or -1 if it is not closed
+     * on the same line.
+     */
+    private static int endOfString(final String script, final int start) {
+        final char quote = script.charAt(start);
+        int i = start + 1;
+        while (i < script.length()) {
+            final char c = script.charAt(i);
+            if (c == '\n') return -1;
+            if (c == '\\') i++;
+            else if (c == quote) return i + 1;
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Resolves the escapes of a string literal or returns {@code null} for escapes that are not handled.
+     */
+    private static String unescape(final String text) {
+        if (text.indexOf('\\') == -1) return text;
+
+        final StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+
+            if (++i == text.length()) return null;
+            switch (text.charAt(i)) {
+                case 'b': sb.append('\b'); break;
+                case 't': sb.append('\t'); break;
+                case 'n': sb.append('\n'); break;
+                case 'f': sb.append('\f'); break;
+                case 'r': sb.append('\r'); break;
+                case '"':
+                case '\'':
+                case '\\':
+                case '$':
+                    sb.append(text.charAt(i));
+                    break;
+                case 'u':
+                    if (i + 4 >= text.length()) return null;
+                    try {
+                        sb.append((char) Integer.parseInt(text.substring(i + 1, i + 5), 16));
+                    } catch (NumberFormatException nfe) {
+                        return null;
+                    }
+                    i += 4;
+                    break;
+                default:
+                    return null;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Converts a number literal to the type Groovy gives it or returns {@code null} if it is not handled.
+     */
+    private static Object toNumber(final Matcher matcher) {
+        final String integer = matcher.group(1);
+        final boolean decimal = matcher.group(2) != null || matcher.group(3) != null;
+        final String suffix = matcher.group(4);
+        final String text = matcher.group().substring(0, matcher.group().length() - (null == suffix ? 0 : 1));
+
+        // leading zeros make it octal
+        if (integer.length() > 1 && integer.charAt(0) == '0') return null;
+
+        try {
+            if (null == suffix) {
+                if (decimal) return new BigDecimal(text);
+                final BigInteger value = new BigInteger(text);
+                if (value.bitLength() < 32) return value.intValue();
+                if (value.bitLength() < 64) return value.longValue();
+                return value;
+            }
+
+            switch (suffix.charAt(0)) {
+                case 'd':
+                case 'D':
+                    return Double.valueOf(text);
+                case 'f':
+                case 'F':
+                    return Float.valueOf(text);
+                case 'g':
+                case 'G':
+                    return decimal ? new BigDecimal(text) : new BigInteger(text);
+                case 'l':
+                case 'L':
+                    return decimal ? null : Long.valueOf(text);
+                default:
+                    return decimal ? null : Integer.valueOf(text);
+            }
+        } catch (NumberFormatException nfe) {
+            return null;
+        }
+    }
+}
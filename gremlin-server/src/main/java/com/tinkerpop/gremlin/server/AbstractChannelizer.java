@@ -46,6 +46,7 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
     protected Optional<SSLEngine> sslEngine;
     protected Graphs graphs;
     protected EventExecutorGroup gremlinGroup;
+    protected EventExecutorGroup resultIterationGroup;
     protected ScheduledExecutorService scheduledExecutorService;
 
     protected static final String PIPELINE_SSL = "ssl";
@@ -69,6 +70,14 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
         // do nothing
     }
 
+    @Override
+    public void init(final Settings settings, final GremlinExecutor gremlinExecutor,
+                     final EventExecutorGroup gremlinGroup, final EventExecutorGroup resultIterationGroup,
+                     final Graphs graphs, final ScheduledExecutorService scheduledExecutorService) {
+        this.resultIterationGroup = resultIterationGroup;
+        init(settings, gremlinExecutor, gremlinGroup, graphs, scheduledExecutorService);
+    }
+
     @Override
     public void init(final Settings settings, final GremlinExecutor gremlinExecutor,
                      final EventExecutorGroup gremlinGroup,
@@ -79,6 +88,9 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
         this.gremlinGroup = gremlinGroup;
         this.scheduledExecutorService = scheduledExecutorService;
 
+        // without a pool of their own, results are iterated in the gremlin pool
+        if (null == this.resultIterationGroup) this.resultIterationGroup = gremlinGroup;
+
         // instantiate and configure the serializers that gremlin server will use - could error out here
         // and fail the server startup
         configureSerializers();
@@ -99,7 +111,7 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
 
         pipeline.addLast(PIPELINE_OP_SELECTOR, new OpSelectorHandler(settings, graphs, gremlinExecutor, scheduledExecutorService));
 
-        pipeline.addLast(gremlinGroup, PIPELINE_RESULT_ITERATOR_HANDLER, new IteratorHandler(settings));
+        pipeline.addLast(gremlinGroup, PIPELINE_RESULT_ITERATOR_HANDLER, new IteratorHandler(settings, resultIterationGroup));
         pipeline.addLast(gremlinGroup, PIPELINE_OP_EXECUTOR, new OpExecutorHandler(settings, graphs, gremlinExecutor, scheduledExecutorService));
 
         finalize(pipeline);
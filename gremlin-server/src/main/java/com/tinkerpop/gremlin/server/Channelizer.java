@@ -22,4 +22,14 @@ public interface Channelizer extends ChannelHandler {
     public void init(final Settings settings, final GremlinExecutor gremlinExecutor,
                      final EventExecutorGroup gremlinGroup,
                      final Graphs graphs, final ScheduledExecutorService scheduledExecutorService);
+
+    /**
+     * This method is called just after the {@code Channelizer} is initialized and is given the thread pool that
+     * results are iterated in.  Implementations that don't use that pool need not override it.
+     */
+    public default void init(final Settings settings, final GremlinExecutor gremlinExecutor,
+                             final EventExecutorGroup gremlinGroup, final EventExecutorGroup resultIterationGroup,
+                             final Graphs graphs, final ScheduledExecutorService scheduledExecutorService) {
+        init(settings, gremlinExecutor, gremlinGroup, graphs, scheduledExecutorService);
+    }
 }
@@ -1,6 +1,8 @@
 package com.tinkerpop.gremlin.server;
 
+import com.codahale.metrics.Gauge;
 import com.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import com.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
 import com.tinkerpop.gremlin.server.util.MetricManager;
 import com.tinkerpop.gremlin.structure.Graph;
 import io.netty.bootstrap.ServerBootstrap;
@@ -19,10 +21,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+import static com.codahale.metrics.MetricRegistry.name;
 
 /**
  * Start and stop Gremlin Server.
@@ -45,6 +52,7 @@ public class GremlinServer {
     private final EventLoopGroup bossGroup;
     private final EventLoopGroup workerGroup;
     private final EventExecutorGroup gremlinGroup;
+    private final EventExecutorGroup resultIterationGroup;
 
     public GremlinServer(final Settings settings) {
         this(settings, null);
@@ -61,6 +69,9 @@ public class GremlinServer {
 
         final BasicThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern("gremlin-%d").build();
         gremlinGroup = new DefaultEventExecutorGroup(settings.gremlinPool, threadFactory);
+
+        final BasicThreadFactory resultIterationThreadFactory = new BasicThreadFactory.Builder().namingPattern("gremlin-result-%d").build();
+        resultIterationGroup = new DefaultEventExecutorGroup(settings.resultIterationPool, resultIterationThreadFactory);
     }
 
     /**
@@ -78,7 +89,7 @@ public class GremlinServer {
 
             final GremlinExecutor gremlinExecutor = initializeGremlinExecutor(gremlinGroup, workerGroup);
             final Channelizer channelizer = createChannelizer(settings);
-            channelizer.init(settings, gremlinExecutor, gremlinGroup, graphs.get(), workerGroup);
+            channelizer.init(settings, gremlinExecutor, gremlinGroup, resultIterationGroup, graphs.get(), workerGroup);
             b.group(bossGroup, workerGroup)
                     .channel(NioServerSocketChannel.class)
                     .childHandler(channelizer);
@@ -135,6 +146,8 @@ public class GremlinServer {
 
         logger.info("Initialized GremlinExecutor and configured ScriptEngines.");
 
+        settings.scriptEngines.keySet().forEach(language -> registerScriptEngineMetrics(gremlinExecutor, language));
+
         // script engine init may have altered the graph bindings or maybe even created new ones - need to
         // re-apply those references back
         gremlinExecutor.getGlobalBindings().entrySet().stream()
@@ -144,6 +157,31 @@ public class GremlinServer {
         return gremlinExecutor;
     }
 
+    /**
+     * Expose the compiled script class cache of a gremlin-groovy {@code ScriptEngine} as metrics.  The engine is
+     * looked up as the metric is read because the {@code ScriptEngine} instance is replaced when it is reloaded.
+     */
+    private static void registerScriptEngineMetrics(final GremlinExecutor gremlinExecutor, final String language) {
+        final Map<String, Function<GremlinGroovyScriptEngine, Long>> gauges = new HashMap<>();
+        gauges.put("classCacheSize", se -> (long) se.getScriptClassCacheSize());
+        gauges.put("classCacheHits", GremlinGroovyScriptEngine::getClassCacheHits);
+        gauges.put("classCacheMisses", GremlinGroovyScriptEngine::getClassCacheMisses);
+        gauges.put("classCacheEvictions", GremlinGroovyScriptEngine::getClassCacheEvictions);
+        gauges.put("compilationTime", GremlinGroovyScriptEngine::getCompilationTime);
+
+        final MetricManager metrics = MetricManager.INSTANCE;
+        gauges.forEach((k, f) -> {
+            final String metricName = name(GremlinServer.class, "scriptEngine", language, k);
+            final Gauge<Long> gauge = () -> gremlinExecutor.getScriptEngines().get(language)
+                    .filter(se -> se instanceof GremlinGroovyScriptEngine)
+                    .map(se -> f.apply((GremlinGroovyScriptEngine) se)).orElse(0l);
+
+            // a previous instance of the server in this jvm may have already registered the metric
+            metrics.getRegistry().remove(metricName);
+            metrics.getGuage(gauge, metricName);
+        });
+    }
+
     /**
      * Stop Gremlin Server and free the port binding.
      */
@@ -158,6 +196,12 @@ public class GremlinServer {
             logger.debug("Shutdown Gremlin thread pool.");
         }
 
+        try {
+            resultIterationGroup.shutdownGracefully();
+        } finally {
+            logger.debug("Shutdown result iteration thread pool.");
+        }
+
         try {
             workerGroup.shutdownGracefully();
         } finally {
@@ -46,6 +46,13 @@ public class Settings {
      */
     public int gremlinPool = 8;
 
+    /**
+     * Size of the result iteration thread pool.  This pool iterates the results of evaluated scripts and hands them
+     * to the network in batches, pausing an iteration while the channel of its client is not writable.  Defaults
+     * to 4.
+     */
+    public int resultIterationPool = 4;
+
     /**
      * Size of the boss thread pool.  Defaults to 1 and should likely stay at 1.  The bossy thread accepts incoming
      * connections on a port until it is unbound. Once a connection is accepted successfully, the boss thread
@@ -27,7 +27,7 @@ public class HttpChannelizer extends AbstractChannelizer {
             pipeline.addLast(new LoggingHandler("http-io", LogLevel.DEBUG));
 
         pipeline.addLast(new HttpObjectAggregator(1048576));
-        pipeline.addLast(gremlinGroup, "http-gremlin-handler", new HttpGremlinEndpointHandler(serializers, gremlinExecutor));
+        pipeline.addLast(gremlinGroup, "http-gremlin-handler", new HttpGremlinEndpointHandler(serializers, gremlinExecutor, settings));
     }
 
     @Override
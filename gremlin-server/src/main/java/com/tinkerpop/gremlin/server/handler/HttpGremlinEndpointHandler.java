@@ -11,21 +11,30 @@ import com.tinkerpop.gremlin.driver.Tokens;
 import com.tinkerpop.gremlin.driver.message.ResponseMessage;
 import com.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import com.tinkerpop.gremlin.driver.ser.MessageTextSerializer;
+import com.tinkerpop.gremlin.driver.ser.SerializationException;
 import com.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import com.tinkerpop.gremlin.server.GremlinServer;
+import com.tinkerpop.gremlin.server.Settings;
 import com.tinkerpop.gremlin.server.util.MetricManager;
 import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.QueryStringDecoder;
 import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCountUtil;
 import org.javatuples.Triplet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,7 +47,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static com.codahale.metrics.MetricRegistry.name;
 import static io.netty.handler.codec.http.HttpHeaders.Names.*;
@@ -63,12 +77,31 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
 
     private static final ObjectMapper mapper = new ObjectMapper();
 
+    /**
+     * A placeholder item that marks where the items of a batch go in a serialized {@link ResponseMessage}.  The
+     * text around it is whatever the serializer writes around the {@code data} of the message (e.g. the type of the
+     * list when types are embedded).
+     */
+    private static final String MARKER = UUID.randomUUID().toString();
+
     private final GremlinExecutor gremlinExecutor;
+    private final Settings settings;
+
+    /**
+     * Completes when the response to the last request read from the channel has been written.
+     */
+    private CompletableFuture<Void> responses = CompletableFuture.completedFuture(null);
+
+    /**
+     * Responses of this channel waiting for it to become writable.
+     */
+    private final Queue<ChunkedResponse> parked = new ConcurrentLinkedQueue<>();
 
     public HttpGremlinEndpointHandler(final Map<String, MessageSerializer> serializers,
-                                      final GremlinExecutor gremlinExecutor) {
+                                      final GremlinExecutor gremlinExecutor, final Settings settings) {
         this.serializers = serializers;
         this.gremlinExecutor = gremlinExecutor;
+        this.settings = settings;
     }
 
     @Override
@@ -81,62 +114,240 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
         if (msg instanceof FullHttpRequest) {
             final FullHttpRequest req = (FullHttpRequest) msg;
 
-            if (is100ContinueExpected(req)) {
-                ctx.write(new DefaultFullHttpResponse(HTTP_1_1, CONTINUE));
-            }
+            try {
+                if (is100ContinueExpected(req)) {
+                    ctx.write(new DefaultFullHttpResponse(HTTP_1_1, CONTINUE));
+                }
 
-            if (req.getMethod() != GET && req.getMethod() != POST) {
-                sendError(ctx, METHOD_NOT_ALLOWED, METHOD_NOT_ALLOWED.toString());
-                return;
-            }
+                if (req.getMethod() != GET && req.getMethod() != POST) {
+                    sendError(ctx, METHOD_NOT_ALLOWED, METHOD_NOT_ALLOWED.toString());
+                    return;
+                }
 
-            final Triplet<String, Map<String, Object>, Optional<String>> requestArguments;
-            try {
-                requestArguments = getGremlinScript(req);
-            } catch (IllegalArgumentException iae) {
-                sendError(ctx, BAD_REQUEST, iae.getMessage());
-                return;
+                final Triplet<String, Map<String, Object>, Optional<String>> requestArguments;
+                try {
+                    requestArguments = getGremlinScript(req);
+                } catch (IllegalArgumentException iae) {
+                    sendError(ctx, BAD_REQUEST, iae.getMessage());
+                    return;
+                }
+
+                final String acceptString = Optional.ofNullable(req.headers().get("Accept")).orElse("application/json");
+                final String accept = acceptString.equals("*/*") ? "application/json" : acceptString;
+                final MessageSerializer messageSerializer = serializers.get(accept);
+                if (null == messageSerializer) {
+                    sendError(ctx, BAD_REQUEST, String.format("no serializer for requested Accept header: %s", accept));
+                    return;
+                }
+
+                // the response is written as text a batch at a time, which serializers with embedded types don't support
+                if (!(messageSerializer instanceof MessageTextSerializer)) {
+                    sendError(ctx, BAD_REQUEST, String.format("the serializer for requested Accept header does not produce text: %s", accept));
+                    return;
+                }
+                final MessageTextSerializer serializer = (MessageTextSerializer) messageSerializer;
+
+                final Optional<String> origin = Optional.ofNullable(req.headers().get(ORIGIN));
+                final boolean keepAlive = isKeepAlive(req);
+
+                logger.debug("Processing request containing script [{}] and bindings of [{}]", requestArguments.getValue0(), requestArguments.getValue1());
+                final Timer.Context timerContext = evalOpTimer.time();
+                final CompletableFuture<Object> evalFuture = gremlinExecutor.eval(requestArguments.getValue0(), requestArguments.getValue2(), requestArguments.getValue1());
+                evalFuture.handle((v, t) -> timerContext.stop());
+
+                // scripts of pipelined requests evaluate concurrently but their responses must go out in the order
+                // that the requests came in, so a response is only written once the one before it is complete
+                responses = responses.thenCompose(v -> evalFuture.handle((result, t) -> {
+                    if (t != null) {
+                        exceptionCaught(ctx, new RuntimeException(t));
+                        return CompletableFuture.<Void>completedFuture(null);
+                    } else
+                        return writeResponse(ctx, serializer, accept, origin, keepAlive, result);
+                }).thenCompose(written -> written));
+            } finally {
+                ReferenceCountUtil.release(msg);
             }
+        }
+    }
 
-            final String acceptString = Optional.ofNullable(req.headers().get("Accept")).orElse("application/json");
-            final String accept = acceptString.equals("*/*") ? "application/json" : acceptString;
-            final MessageTextSerializer serializer = (MessageTextSerializer) serializers.get(accept);
-            if (null == serializer) {
-                sendError(ctx, BAD_REQUEST, String.format("no serializer for requested Accept header: %s", accept));
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) resume(ctx);
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        // parked responses see the closed channel and stop
+        resume(ctx);
+        ctx.fireChannelInactive();
+    }
+
+    private void resume(final ChannelHandlerContext ctx) {
+        ChunkedResponse response;
+        while ((response = parked.poll()) != null) {
+            ctx.executor().execute(response);
+        }
+    }
+
+    /**
+     * Writes the result as a chunked response that holds a single {@link ResponseMessage}.  The items of the
+     * result are serialized a batch at a time into the {@code data} of the message, so the result is never held
+     * in memory as a whole.  A failure before the first chunk goes out is returned as an error, while a failure after
+     * that can only be signalled by closing the connection without completing the response.
+     *
+     * @return a future that completes when the response is written or abandoned
+     */
+    private CompletableFuture<Void> writeResponse(final ChannelHandlerContext ctx, final MessageTextSerializer serializer,
+                                                  final String accept, final Optional<String> origin, final boolean keepAlive,
+                                                  final Object result) {
+        final CompletableFuture<Void> written = new CompletableFuture<>();
+        final Iterator itty = IteratorUtils.convertToIterator(result);
+        final UUID requestId = UUID.randomUUID();
+
+        // the message with just the marker gives the text that goes before and after the items
+        final String prefix;
+        final String suffix;
+        final String firstItems;
+        try {
+            final List<Object> marked = new ArrayList<>();
+            marked.add(MARKER);
+            final String envelope = serializer.serializeResponseAsString(createResponseMessage(requestId, marked));
+            final String quotedMarker = "\"" + MARKER + "\"";
+            final int markerStart = envelope.indexOf(quotedMarker);
+            if (markerStart < 0 || envelope.indexOf(quotedMarker, markerStart + 1) >= 0)
+                throw new SerializationException(String.format("The items of the response can not be located in the message written by %s", serializer.getClass().getName()));
+            prefix = envelope.substring(0, markerStart);
+            suffix = envelope.substring(markerStart + quotedMarker.length());
+            firstItems = serializeBatch(serializer, requestId, nextBatch(itty), prefix, suffix);
+        } catch (Exception ex) {
+            exceptionCaught(ctx, new RuntimeException(ex));
+            written.complete(null);
+            return written;
+        }
+
+        final HttpResponse response = new DefaultHttpResponse(HTTP_1_1, OK);
+        response.headers().set(CONTENT_TYPE, accept);
+        response.headers().set(TRANSFER_ENCODING, HttpHeaders.Values.CHUNKED);
+
+        // handle cors business
+        origin.ifPresent(o -> response.headers().set(ACCESS_CONTROL_ALLOW_ORIGIN, o));
+
+        if (keepAlive) response.headers().set(CONNECTION, HttpHeaders.Values.KEEP_ALIVE);
+
+        ctx.write(response);
+        ctx.writeAndFlush(chunk(prefix + firstItems));
+        new ChunkedResponse(ctx, serializer, requestId, itty, prefix, suffix, keepAlive, written).run();
+        return written;
+    }
+
+    /**
+     * The remainder of a chunked response after its first chunk.  It writes batches until the result is exhausted or
+     * the channel stops being writable.  In the latter case it is parked without holding a thread and is resumed when
+     * the channel becomes writable again.  A response that is not complete within the
+     * {@link Settings#serializedResponseTimeout} is abandoned, whether it is parked or not.
+     */
+    private final class ChunkedResponse implements Runnable {
+        private final ChannelHandlerContext ctx;
+        private final MessageTextSerializer serializer;
+        private final UUID requestId;
+        private final Iterator itty;
+        private final String prefix;
+        private final String suffix;
+        private final boolean keepAlive;
+        private final CompletableFuture<Void> written;
+        private final long deadline;
+
+        private ChunkedResponse(final ChannelHandlerContext ctx, final MessageTextSerializer serializer,
+                                final UUID requestId, final Iterator itty, final String prefix, final String suffix,
+                                final boolean keepAlive, final CompletableFuture<Void> written) {
+            this.ctx = ctx;
+            this.serializer = serializer;
+            this.requestId = requestId;
+            this.itty = itty;
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.keepAlive = keepAlive;
+            this.written = written;
+            this.deadline = System.currentTimeMillis() + settings.serializedResponseTimeout;
+        }
+
+        @Override
+        public void run() {
+            if (!ctx.channel().isActive()) {
+                logger.debug("Channel closed before the response to request [{}] was written", requestId);
+                written.complete(null);
                 return;
             }
 
             try {
-                logger.debug("Processing request containing script [{}] and bindings of [{}]", requestArguments.getValue0(), requestArguments.getValue1());
-                final Timer.Context timerContext = evalOpTimer.time();
-                final Object result = gremlinExecutor.eval(requestArguments.getValue0(), requestArguments.getValue2(), requestArguments.getValue1()).get();
-                timerContext.stop();
-
-                final ResponseMessage responseMessage = ResponseMessage.build(UUID.randomUUID())
-                        .code(ResponseStatusCode.SUCCESS)
-                        .result(IteratorUtils.convertToList(result)).create();
-
-                final FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, OK, Unpooled.wrappedBuffer(
-                        serializer.serializeResponseAsString(responseMessage).getBytes(UTF8)));
-                response.headers().set(CONTENT_TYPE, accept);
-                response.headers().set(CONTENT_LENGTH, response.content().readableBytes());
-
-                // handle cors business
-                final String origin = req.headers().get(ORIGIN);
-                if (origin != null)
-                    response.headers().set(ACCESS_CONTROL_ALLOW_ORIGIN, origin);
-
-                if (!isKeepAlive(req)) {
-                    ctx.write(response).addListener(ChannelFutureListener.CLOSE);
-                } else {
-                    response.headers().set(CONNECTION, HttpHeaders.Values.KEEP_ALIVE);
-                    ctx.write(response);
+                while (itty.hasNext()) {
+                    // don't let a slow client pile up chunks on the server.  the writability may have been restored
+                    // before the response was parked, so check again after
+                    if (!ctx.channel().isWritable()) {
+                        park();
+                        if (ctx.channel().isWritable() || !ctx.channel().isActive()) resume(ctx);
+                        return;
+                    }
+
+                    if (System.currentTimeMillis() > deadline)
+                        throw new TimeoutException("Serialization of the entire response exceeded the serializeResponseTimeout setting");
+
+                    final List<Object> batch = nextBatch(itty);
+                    ctx.writeAndFlush(chunk("," + serializeBatch(serializer, requestId, batch, prefix, suffix)));
                 }
             } catch (Exception ex) {
-                // tossed to exeptionCaught which delegates to sendError method
-                throw new RuntimeException(ex);
+                abandon(ex);
+                return;
             }
+
+            ctx.write(chunk(suffix));
+            final ChannelFuture end = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+            if (!keepAlive) end.addListener(ChannelFutureListener.CLOSE);
+            written.complete(null);
+        }
+
+        private void park() {
+            parked.add(this);
+            ctx.executor().schedule(() -> {
+                if (parked.remove(this))
+                    abandon(new TimeoutException("The client did not read the response within the serializeResponseTimeout setting"));
+            }, Math.max(0l, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        }
+
+        private void abandon(final Exception ex) {
+            logger.warn(String.format("Response iteration failed after the response was started for request [%s] - closing connection", requestId), ex);
+            errorMeter.mark();
+            ctx.close();
+            written.complete(null);
+        }
+    }
+
+    private List<Object> nextBatch(final Iterator itty) {
+        final List<Object> batch = new ArrayList<>(settings.resultIterationBatchSize);
+        while (itty.hasNext() && batch.size() < settings.resultIterationBatchSize) {
+            batch.add(itty.next());
         }
+        return batch;
+    }
+
+    /**
+     * Serializes a batch as the comma separated items of the {@code data} array of the message.
+     */
+    private static String serializeBatch(final MessageTextSerializer serializer, final UUID requestId,
+                                         final List<Object> batch, final String prefix, final String suffix) throws SerializationException {
+        final String serialized = serializer.serializeResponseAsString(createResponseMessage(requestId, batch));
+        if (!serialized.startsWith(prefix) || !serialized.endsWith(suffix) || serialized.length() < prefix.length() + suffix.length())
+            throw new SerializationException(String.format("The items of the response can not be located in the message written by %s", serializer.getClass().getName()));
+        return serialized.substring(prefix.length(), serialized.length() - suffix.length());
+    }
+
+    private static ResponseMessage createResponseMessage(final UUID requestId, final List<Object> data) {
+        return ResponseMessage.build(requestId).code(ResponseStatusCode.SUCCESS).result(data).create();
+    }
+
+    private static HttpContent chunk(final String text) {
+        return new DefaultHttpContent(Unpooled.wrappedBuffer(text.getBytes(UTF8)));
     }
 
     @Override
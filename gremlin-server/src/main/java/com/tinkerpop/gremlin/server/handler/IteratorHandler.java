@@ -5,12 +5,11 @@ import com.tinkerpop.gremlin.driver.message.RequestMessage;
 import com.tinkerpop.gremlin.driver.message.ResponseMessage;
 import com.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import com.tinkerpop.gremlin.server.Settings;
+import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.EventExecutorGroup;
-import io.netty.util.concurrent.Future;
 import org.apache.commons.lang.time.StopWatch;
 import org.javatuples.Pair;
 import org.slf4j.Logger;
@@ -19,19 +18,35 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /**
+ * Iterates the results of a request and writes them to the channel in batches.  Iteration happens in the result
+ * iteration thread pool so that a large result does not hold up the threads that evaluate scripts.  A batch is only
+ * written while the channel is writable.  Once the channel passes its high water mark, the iteration is parked
+ * without holding a thread and is resumed when the channel becomes writable again, so a slow client can not cause
+ * results to queue up in memory on the server.  A parked iteration that the client does not drain within the
+ * {@link Settings#serializedResponseTimeout} is ended with a {@link ResponseStatusCode#SERVER_ERROR_TIMEOUT}.
+ *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
-public class IteratorHandler extends ChannelOutboundHandlerAdapter {
+public class IteratorHandler extends ChannelDuplexHandler {
     private static final Logger logger = LoggerFactory.getLogger(IteratorHandler.class);
 
     private final Settings settings;
+    private final EventExecutorGroup resultIterationGroup;
 
-    public IteratorHandler(final Settings settings) {
+    /**
+     * Iterations of this channel waiting for it to become writable.
+     */
+    private final Queue<ResultIteration> parked = new ConcurrentLinkedQueue<>();
+
+    public IteratorHandler(final Settings settings, final EventExecutorGroup resultIterationGroup) {
         this.settings = settings;
+        this.resultIterationGroup = resultIterationGroup;
     }
 
     @Override
@@ -45,55 +60,134 @@ public class IteratorHandler extends ChannelOutboundHandlerAdapter {
                 // the batch size can be overriden by the request
                 final int resultIterationBatchSize = (Integer) requestMessage.optionalArgs(Tokens.ARGS_BATCH_SIZE).orElse(settings.resultIterationBatchSize);
 
-                // timer for the total serialization time
-                final StopWatch stopWatch = new StopWatch();
+                resultIterationGroup.execute(new ResultIteration(ctx, requestMessage, itty, resultIterationBatchSize));
+            } finally {
+                ReferenceCountUtil.release(msg);
+            }
+
+        } else {
+            ctx.write(msg, promise);
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) resume();
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        // parked iterations see the closed channel and stop
+        resume();
+        ctx.fireChannelInactive();
+    }
 
-                final EventExecutorGroup executorService = ctx.executor();
-                final Future<?> iteration = executorService.submit((Callable<Void>) () -> {
-                    logger.debug("Preparing to iterate results from - {} - in thread [{}]", requestMessage, Thread.currentThread().getName());
+    private void resume() {
+        ResultIteration iteration;
+        while ((iteration = parked.poll()) != null) {
+            resultIterationGroup.execute(iteration);
+        }
+    }
 
-                    stopWatch.start();
+    /**
+     * The iteration of the results of one request.  It runs until the results are exhausted or the channel stops
+     * being writable.  As a batch is written without waiting on the write to complete, the next batch is aggregated
+     * while the previous one is serialized and flushed by the channel.
+     */
+    private final class ResultIteration implements Runnable {
+        private final ChannelHandlerContext ctx;
+        private final RequestMessage requestMessage;
+        private final Iterator itty;
+        private final int resultIterationBatchSize;
+
+        // timer for the total serialization time
+        private final StopWatch stopWatch = new StopWatch();
+
+        private ResultIteration(final ChannelHandlerContext ctx, final RequestMessage requestMessage,
+                                final Iterator itty, final int resultIterationBatchSize) {
+            this.ctx = ctx;
+            this.requestMessage = requestMessage;
+            this.itty = itty;
+            this.resultIterationBatchSize = resultIterationBatchSize;
+            this.stopWatch.start();
+        }
 
-                    List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
-                    while (itty.hasNext()) {
-                        aggregate.add(itty.next());
+        @Override
+        public void run() {
+            if (!ctx.channel().isActive()) {
+                logger.debug("Channel closed before results from - {} - were fully iterated", requestMessage);
+                return;
+            }
 
-                        // send back a page of results if batch size is met or if it's the end of the results being
-                        // iterated
-                        if (aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
-                            ctx.writeAndFlush(ResponseMessage.build(requestMessage)
-                                    .code(ResponseStatusCode.SUCCESS)
-                                    .result(aggregate).create());
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
-                        }
+            try {
+                if (!iterate()) return;
+            } catch (Exception ex) {
+                timeout(ex);
+                return;
+            }
 
-                        stopWatch.split();
-                        if (stopWatch.getSplitTime() > settings.serializedResponseTimeout)
-                            throw new TimeoutException("Serialization of the entire response exceeded the serializeResponseTimeout setting");
+            stopWatch.stop();
+            ctx.writeAndFlush(ResponseMessage.build(requestMessage).code(ResponseStatusCode.SUCCESS_TERMINATOR).create());
+        }
 
-                        stopWatch.unsplit();
-                    }
+        /**
+         * Park the iteration until the channel becomes writable.  The time spent parked counts toward the
+         * {@link Settings#serializedResponseTimeout} so an iteration still parked at the end of it is expired.
+         */
+        private void park() {
+            parked.add(this);
+            resultIterationGroup.schedule(() -> {
+                if (parked.remove(this))
+                    timeout(new TimeoutException("The client did not read the response within the serializeResponseTimeout setting"));
+            }, Math.max(0l, settings.serializedResponseTimeout - stopWatch.getTime()), TimeUnit.MILLISECONDS);
+        }
 
-                    return null;
-                });
+        private void timeout(final Exception ex) {
+            final String errorMessage = String.format("Response iteration and serialization exceeded the configured threshold for request [%s] - %s", requestMessage, ex.getMessage());
+            logger.warn(errorMessage);
+            ctx.writeAndFlush(ResponseMessage.build(requestMessage).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT).statusMessage(errorMessage).create());
 
-                iteration.addListener(f -> {
-                    stopWatch.stop();
+            stopWatch.stop();
+            ctx.writeAndFlush(ResponseMessage.build(requestMessage).code(ResponseStatusCode.SUCCESS_TERMINATOR).create());
+        }
 
-                    if (!f.isSuccess()) {
-                        final String errorMessage = String.format("Response iteration and serialization exceeded the configured threshold for request [%s] - %s", msg, f.cause().getMessage());
-                        logger.warn(errorMessage);
-                        ctx.writeAndFlush(ResponseMessage.build(requestMessage).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT).statusMessage(errorMessage).create());
+        /**
+         * Write batches of results while the channel is writable.  Returns {@code false} if the iteration was parked
+         * before the results were exhausted.
+         */
+        private boolean iterate() throws Exception {
+            logger.debug("Preparing to iterate results from - {} - in thread [{}]", requestMessage, Thread.currentThread().getName());
+
+            List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+            while (itty.hasNext()) {
+                aggregate.add(itty.next());
+
+                // send back a page of results if batch size is met or if it's the end of the results being
+                // iterated
+                if (aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
+                    ctx.writeAndFlush(ResponseMessage.build(requestMessage)
+                            .code(ResponseStatusCode.SUCCESS)
+                            .result(aggregate).create());
+                    aggregate = new ArrayList<>(resultIterationBatchSize);
+
+                    // the channel is past its high water mark so wait for it to drain before going on.  the
+                    // writability may have been restored before the iteration was parked, so check again after
+                    if (itty.hasNext() && !ctx.channel().isWritable()) {
+                        park();
+                        if (ctx.channel().isWritable() || !ctx.channel().isActive()) resume();
+                        return false;
                     }
+                }
 
-                    ctx.writeAndFlush(ResponseMessage.build(requestMessage).code(ResponseStatusCode.SUCCESS_TERMINATOR).create());
-                });
-            } finally {
-                ReferenceCountUtil.release(msg);
+                stopWatch.split();
+                if (stopWatch.getSplitTime() > settings.serializedResponseTimeout)
+                    throw new TimeoutException("Serialization of the entire response exceeded the serializeResponseTimeout setting");
+
+                stopWatch.unsplit();
             }
 
-        } else {
-            ctx.write(msg, promise);
+            return true;
         }
     }
 }
@@ -4,6 +4,7 @@ import com.tinkerpop.gremlin.driver.Client;
 import com.tinkerpop.gremlin.driver.Cluster;
 import com.tinkerpop.gremlin.driver.Result;
 import com.tinkerpop.gremlin.driver.ResultSet;
+import com.tinkerpop.gremlin.driver.exception.ConnectionException;
 import com.tinkerpop.gremlin.driver.exception.ResponseException;
 import com.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import com.tinkerpop.gremlin.driver.ser.JsonBuilderKryoSerializer;
@@ -22,7 +23,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -78,6 +81,22 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
         System.out.println("Eval of 'five' complete: " + TimeUtil.millisSince(start));
     }
 
+    @Test
+    public void shouldProcessRequestsInBatches() throws Exception {
+        final Cluster cluster = Cluster.build().requestBatchWindow(1000).maxRequestBatchSize(8).create();
+        final Client client = cluster.connect();
+
+        final List<CompletableFuture<List<Result>>> futures = IntStream.range(0, 100)
+                .mapToObj(i -> client.submitAsync(i + "+1").thenCompose(ResultSet::all))
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i + 1, futures.get(i).get(30, TimeUnit.SECONDS).get(0).getInt());
+        }
+
+        cluster.close();
+    }
+
     @Test
     public void shouldWaitForAllResultsToArrive() throws Exception {
         final Cluster cluster = Cluster.open();
@@ -155,6 +174,58 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
         cluster.close();
     }
 
+    @Test
+    public void shouldHandConnectionToWaitingRequest() throws Exception {
+        final Cluster cluster = Cluster.build().minConnectionPoolSize(1).maxConnectionPoolSize(1).maxInProcessPerConnection(1).create();
+        final Client client = cluster.connect();
+
+        final CompletableFuture<ResultSet> slow = client.submitAsync("Thread.sleep(1000);'slow'");
+        final CompletableFuture<ResultSet> waiting = client.submitAsync("'waiting'");
+
+        // the only connection can take a single request so the second one waits for the first to complete
+        assertEquals("waiting", waiting.get(10, TimeUnit.SECONDS).all().get().get(0).getString());
+        assertTrue(slow.isDone());
+        assertEquals("slow", slow.get().all().get().get(0).getString());
+
+        cluster.close();
+    }
+
+    @Test
+    public void shouldTimeoutWaitingForConnection() throws Exception {
+        final Cluster cluster = Cluster.build().minConnectionPoolSize(1).maxConnectionPoolSize(1).maxInProcessPerConnection(1)
+                .maxWaitForConnection(250).create();
+        final Client client = cluster.connect();
+
+        client.submitAsync("Thread.sleep(3000);'slow'");
+        try {
+            client.submitAsync("'timeout'").get(10, TimeUnit.SECONDS);
+            fail("The request should have timed out waiting for a connection");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof TimeoutException);
+        }
+
+        cluster.close();
+    }
+
+    @Test
+    public void shouldFailWaitingRequestsOnClose() throws Exception {
+        final Cluster cluster = Cluster.build().minConnectionPoolSize(1).maxConnectionPoolSize(1).maxInProcessPerConnection(1)
+                .maxWaitForConnection(30000).create();
+        final Client client = cluster.connect();
+
+        client.submitAsync("Thread.sleep(3000);'slow'");
+        final CompletableFuture<ResultSet> waiting = client.submitAsync("'waiting'");
+        client.closeAsync();
+        try {
+            waiting.get(10, TimeUnit.SECONDS);
+            fail("The request waiting for a connection should have failed when the pool closed");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof ConnectionException);
+        }
+
+        cluster.close();
+    }
+
     @Test
     public void shouldFailWithBadServerSideSerialization() throws Exception {
         final Cluster cluster = Cluster.open();
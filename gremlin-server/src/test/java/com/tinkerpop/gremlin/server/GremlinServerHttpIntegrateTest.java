@@ -371,6 +371,37 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
         }
     }
 
+    @Test
+    public void should200OnPOSTWithResultStreamedInChunks() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost("http://localhost:8182");
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"(0..<1000)\"}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals("chunked", response.getFirstHeader("Transfer-Encoding").getValue());
+            final String json = EntityUtils.toString(response.getEntity());
+            final JsonNode node = mapper.readTree(json);
+            assertEquals(1000, node.get("result").get("data").size());
+            assertEquals(999, node.get("result").get("data").get(999).intValue());
+            assertEquals(200, node.get("status").get("code").intValue());
+        }
+    }
+
+    @Test
+    public void should400OnPOSTWithTypedSerializer() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost("http://localhost:8182");
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.addHeader("Accept", "application/vnd.gremlin-v1.0+json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"(0..<1000)\"}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(400, response.getStatusLine().getStatusCode());
+        }
+    }
+
     @Test
     public void should500OnGETWithGremlinEvalFailure() throws Exception {
         final CloseableHttpClient httpclient = HttpClients.createDefault();
@@ -0,0 +1,126 @@
+package com.tinkerpop.gremlin.server.handler;
+
+import com.tinkerpop.gremlin.driver.Tokens;
+import com.tinkerpop.gremlin.driver.message.RequestMessage;
+import com.tinkerpop.gremlin.driver.message.ResponseMessage;
+import com.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import com.tinkerpop.gremlin.server.Settings;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalEventLoopGroup;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutorGroup;
+import org.javatuples.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Drives an {@link IteratorHandler} over an in-VM channel whose writability is switched by the test.
+ *
+ * @author agent (agent@local)
+ */
+public class IteratorHandlerTest {
+    private static final int WRITABILITY = 1;
+
+    private final Settings settings = Settings.read(Settings.class.getResourceAsStream("gremlin-server-integration.yaml"));
+    private final BlockingQueue<ResponseMessage> responses = new LinkedBlockingQueue<>();
+    private final CompletableFuture<Channel> serverChannel = new CompletableFuture<>();
+
+    private LocalEventLoopGroup group;
+    private EventExecutorGroup resultIterationGroup;
+    private Channel server;
+    private Channel client;
+
+    @Before
+    public void setUp() throws Exception {
+        group = new LocalEventLoopGroup();
+        resultIterationGroup = new DefaultEventExecutorGroup(1);
+        final LocalAddress address = new LocalAddress(IteratorHandlerTest.class.getName());
+        server = new ServerBootstrap().group(group).channel(LocalServerChannel.class)
+                .childHandler(new ChannelInitializer<LocalChannel>() {
+                    @Override
+                    protected void initChannel(final LocalChannel ch) {
+                        ch.pipeline().addLast(new IteratorHandler(settings, resultIterationGroup));
+                        serverChannel.complete(ch);
+                    }
+                }).bind(address).sync().channel();
+        client = new Bootstrap().group(group).channel(LocalChannel.class)
+                .handler(new SimpleChannelInboundHandler<ResponseMessage>() {
+                    @Override
+                    protected void channelRead0(final ChannelHandlerContext ctx, final ResponseMessage msg) {
+                        responses.add(msg);
+                    }
+                }).connect(address).sync().channel();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close().sync();
+        server.close().sync();
+        resultIterationGroup.shutdownGracefully().sync();
+        group.shutdownGracefully().sync();
+    }
+
+    @Test
+    public void shouldParkWhileNotWritableAndResume() throws Exception {
+        final Channel channel = serverChannel.get(5, TimeUnit.SECONDS);
+        setWritable(channel, false);
+        channel.writeAndFlush(iterate(1, 2, 3));
+
+        assertEquals(ResponseStatusCode.SUCCESS, next().getStatus().getCode());
+        assertNull(responses.poll(200, TimeUnit.MILLISECONDS));
+
+        setWritable(channel, true);
+        assertEquals(Arrays.asList(2), next().getResult().getData());
+        assertEquals(Arrays.asList(3), next().getResult().getData());
+        assertEquals(ResponseStatusCode.SUCCESS_TERMINATOR, next().getStatus().getCode());
+    }
+
+    @Test
+    public void shouldTimeoutWhileParked() throws Exception {
+        settings.serializedResponseTimeout = 250;
+        final Channel channel = serverChannel.get(5, TimeUnit.SECONDS);
+        setWritable(channel, false);
+        channel.writeAndFlush(iterate(1, 2, 3));
+
+        assertEquals(Arrays.asList(1), next().getResult().getData());
+        assertEquals(ResponseStatusCode.SERVER_ERROR_TIMEOUT, next().getStatus().getCode());
+        assertEquals(ResponseStatusCode.SUCCESS_TERMINATOR, next().getStatus().getCode());
+
+        // resuming after the timeout writes nothing more
+        setWritable(channel, true);
+        assertNull(responses.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    private static Pair<RequestMessage, Object> iterate(final Object... results) {
+        final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL).add(Tokens.ARGS_BATCH_SIZE, 1).create();
+        return Pair.with(request, Arrays.asList(results).iterator());
+    }
+
+    private ResponseMessage next() throws InterruptedException {
+        final ResponseMessage response = responses.poll(5, TimeUnit.SECONDS);
+        if (null == response) throw new AssertionError("No response was written");
+        return response;
+    }
+
+    private static void setWritable(final Channel channel, final boolean writable) throws Exception {
+        channel.eventLoop().submit(() -> channel.unsafe().outboundBuffer().setUserDefinedWritability(WRITABILITY, writable)).sync();
+    }
+}
@@ -1,11 +1,14 @@
 package com.tinkerpop.gremlin.structure.util;
 
 import com.tinkerpop.gremlin.process.T;
+import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.util.star.StarAdjacentVertex;
+import com.tinkerpop.gremlin.structure.util.star.StarVertex;
 import org.javatuples.Pair;
 import org.junit.Test;
 
@@ -429,4 +432,24 @@ public class ElementHelperTest {
         assertEquals(4, newKvs.length);
         assertEquals("v1", newKvs[3]);
     }
+
+    @Test
+    public void shouldGetAdjacentVertexInTheDirectionOfTheTraversal() {
+        final Vertex outVertex = new StarVertex(1l, "person");
+        final Vertex inVertex = new StarAdjacentVertex(2l, "person");
+        final Edge edge = outVertex.addEdge("knows", inVertex);
+        assertEquals(2l, ElementHelper.getAdjacentVertex(edge, outVertex, Direction.OUT).id());
+        assertEquals(1l, ElementHelper.getAdjacentVertex(edge, inVertex, Direction.IN).id());
+        assertEquals(2l, ElementHelper.getAdjacentVertex(edge, outVertex, Direction.BOTH).id());
+        assertEquals(1l, ElementHelper.getAdjacentVertex(edge, inVertex, Direction.BOTH).id());
+    }
+
+    @Test
+    public void shouldGetAdjacentVertexOfASelfLoop() {
+        final Vertex vertex = new StarVertex(1l, "person");
+        final Edge edge = vertex.addEdge("self", vertex);
+        for (final Direction direction : Direction.values()) {
+            assertEquals(1l, ElementHelper.getAdjacentVertex(edge, vertex, direction).id());
+        }
+    }
 }
@@ -11,6 +11,7 @@ public class Constants {
     public static final String GREMLIN_HADOOP_GRAPH_INPUT_FORMAT = "gremlin.hadoop.graphInputFormat";
     public static final String GREMLIN_HADOOP_GRAPH_OUTPUT_FORMAT = "gremlin.hadoop.graphOutputFormat";
     public static final String GREMLIN_HADOOP_MEMORY_OUTPUT_FORMAT = "gremlin.hadoop.memoryOutputFormat";
+    public static final String GREMLIN_HADOOP_GRAPH_OUTPUT_INDEX = "gremlin.hadoop.graphOutputIndex";
 
     public static final String GREMLIN_HADOOP_JARS_IN_DISTRIBUTED_CACHE = "gremlin.hadoop.jarsInDistributedCache";
     public static final String SYSTEM_G = Graph.Hidden.hide("g");
@@ -25,6 +26,9 @@ public class Constants {
     public static final String SYSTEM_ITERATION = Graph.Hidden.hide("gremlin.hadoop.iteration");
     public static final String GREMLIN_HADOOP_MEMORY_KEYS = "gremlin.hadoop.memoryKeys";
     public static final String GREMLIN_HADOOP_MAP_REDUCE_CLASS = "gremlin.hadoop.mapReduceClass";
+    public static final String GREMLIN_HADOOP_FUSE_MAP_REDUCE = "gremlin.hadoop.fuseMapReduce";
+    public static final String GREMLIN_HADOOP_FUSED_MAP_REDUCES = "gremlin.hadoop.fusedMapReduces";
+    public static final String SYSTEM_FUSED_MAP_REDUCE = Graph.Hidden.hide("fusedMapReduce");
     public static final String GREMLIN_HADOOP_HALT = "gremlin.hadoop.halt";
     public static final String MAP_MEMORY = "gremlin.hadoop.mapMemory";
 }
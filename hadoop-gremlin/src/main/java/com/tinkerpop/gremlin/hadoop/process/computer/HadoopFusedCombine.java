@@ -0,0 +1,84 @@
+package com.tinkerpop.gremlin.hadoop.process.computer;
+
+import com.tinkerpop.gremlin.hadoop.process.computer.util.MapReduceHelper;
+import com.tinkerpop.gremlin.hadoop.structure.io.ObjectWritable;
+import com.tinkerpop.gremlin.hadoop.structure.io.TaggedObjectWritable;
+import com.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Executes the combine stage of the fused {@link MapReduce} that a tagged key belongs to.  The values of a
+ * {@link MapReduce} without a combine stage are passed on as they are.
+ *
+ * @author agent (agent@local)
+ */
+public class HadoopFusedCombine extends Reducer<TaggedObjectWritable, ObjectWritable, TaggedObjectWritable, ObjectWritable> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HadoopFusedCombine.class);
+    private List<MapReduce> mapReduces;
+    private final HadoopFusedCombineEmitter<ObjectWritable, ObjectWritable> combineEmitter = new HadoopFusedCombineEmitter<>();
+
+    private HadoopFusedCombine() {
+
+    }
+
+    @Override
+    public void setup(final Reducer<TaggedObjectWritable, ObjectWritable, TaggedObjectWritable, ObjectWritable>.Context context) {
+        this.mapReduces = MapReduceHelper.loadFusedMapReduces(context.getConfiguration());
+    }
+
+    @Override
+    public void reduce(final TaggedObjectWritable key, final Iterable<ObjectWritable> values, final Reducer<TaggedObjectWritable, ObjectWritable, TaggedObjectWritable, ObjectWritable>.Context context) throws IOException, InterruptedException {
+        final MapReduce mapReduce = this.mapReduces.get(key.getTag());
+        if (!mapReduce.doStage(MapReduce.Stage.COMBINE)) {
+            for (final ObjectWritable value : values) {
+                context.write(key, value);
+            }
+            return;
+        }
+        final Iterator<ObjectWritable> itty = values.iterator();
+        this.combineEmitter.setContext(context, key.getTag());
+        mapReduce.combine(key.get(), new Iterator() {
+            @Override
+            public boolean hasNext() {
+                return itty.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                return itty.next().get();
+            }
+        }, this.combineEmitter);
+    }
+
+    public class HadoopFusedCombineEmitter<OK, OV> implements MapReduce.ReduceEmitter<OK, OV> {
+
+        private Reducer<TaggedObjectWritable, ObjectWritable, TaggedObjectWritable, ObjectWritable>.Context context;
+        private int tag;
+        private final TaggedObjectWritable<OK> keyWritable = new TaggedObjectWritable<>();
+        private final ObjectWritable<OV> valueWritable = new ObjectWritable<>();
+
+        public void setContext(final Reducer<TaggedObjectWritable, ObjectWritable, TaggedObjectWritable, ObjectWritable>.Context context, final int tag) {
+            this.context = context;
+            this.tag = tag;
+        }
+
+        @Override
+        public void emit(final OK key, final OV value) {
+            this.keyWritable.set(this.tag, key);
+            this.valueWritable.set(value);
+            try {
+                this.context.write(this.keyWritable, this.valueWritable);
+            } catch (final Exception e) {
+                LOGGER.error(e.getMessage());
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+    }
+}
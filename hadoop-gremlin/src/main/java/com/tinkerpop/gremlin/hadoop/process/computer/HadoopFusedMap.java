@@ -0,0 +1,92 @@
+package com.tinkerpop.gremlin.hadoop.process.computer;
+
+import com.tinkerpop.gremlin.hadoop.process.computer.util.MapReduceHelper;
+import com.tinkerpop.gremlin.hadoop.structure.io.ObjectWritable;
+import com.tinkerpop.gremlin.hadoop.structure.io.TaggedObjectWritable;
+import com.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import com.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Executes the map stage of all the fused {@link MapReduce} jobs on each vertex.  The emitted keys are tagged with
+ * the index of the {@link MapReduce} that emitted them.  If the fused job has no reduce stage, the emitted pairs are
+ * written directly to the output of the memory key of their {@link MapReduce}.
+ *
+ * @author agent (agent@local)
+ */
+public class HadoopFusedMap extends Mapper<NullWritable, VertexWritable, TaggedObjectWritable, ObjectWritable> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HadoopFusedMap.class);
+    private List<MapReduce> mapReduces;
+    private HadoopFusedMapEmitter[] mapEmitters;
+    private MultipleOutputs multipleOutputs;
+
+    private HadoopFusedMap() {
+
+    }
+
+    @Override
+    public void setup(final Mapper<NullWritable, VertexWritable, TaggedObjectWritable, ObjectWritable>.Context context) {
+        this.mapReduces = MapReduceHelper.loadFusedMapReduces(context.getConfiguration());
+        if (0 == context.getNumReduceTasks())
+            this.multipleOutputs = new MultipleOutputs(context);
+        this.mapEmitters = new HadoopFusedMapEmitter[this.mapReduces.size()];
+        for (int i = 0; i < this.mapEmitters.length; i++) {
+            this.mapEmitters[i] = new HadoopFusedMapEmitter<>(i, MapReduceHelper.getFusedOutputName(this.mapReduces.get(i)));
+        }
+    }
+
+    @Override
+    public void map(final NullWritable key, final VertexWritable value, final Mapper<NullWritable, VertexWritable, TaggedObjectWritable, ObjectWritable>.Context context) throws IOException, InterruptedException {
+        for (int i = 0; i < this.mapEmitters.length; i++) {
+            this.mapEmitters[i].setContext(context);
+            this.mapReduces.get(i).map(value.get(), this.mapEmitters[i]);
+        }
+    }
+
+    @Override
+    public void cleanup(final Mapper<NullWritable, VertexWritable, TaggedObjectWritable, ObjectWritable>.Context context) throws IOException, InterruptedException {
+        if (null != this.multipleOutputs)
+            this.multipleOutputs.close();
+    }
+
+    public class HadoopFusedMapEmitter<K, V> implements MapReduce.MapEmitter<K, V> {
+
+        private final int tag;
+        private final String outputName;
+        private Mapper<NullWritable, VertexWritable, TaggedObjectWritable, ObjectWritable>.Context context;
+        private final TaggedObjectWritable<K> keyWritable = new TaggedObjectWritable<>();
+        private final ObjectWritable<V> valueWritable = new ObjectWritable<>();
+
+        public HadoopFusedMapEmitter(final int tag, final String outputName) {
+            this.tag = tag;
+            this.outputName = outputName;
+        }
+
+        public void setContext(final Mapper<NullWritable, VertexWritable, TaggedObjectWritable, ObjectWritable>.Context context) {
+            this.context = context;
+        }
+
+        @Override
+        public void emit(final K key, final V value) {
+            this.keyWritable.set(this.tag, key);
+            this.valueWritable.set(value);
+            try {
+                if (null == multipleOutputs)
+                    this.context.write(this.keyWritable, this.valueWritable);
+                else
+                    multipleOutputs.write(this.keyWritable.getObjectWritable(), this.valueWritable, this.outputName);
+            } catch (final Exception e) {
+                LOGGER.error(e.getMessage());
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+    }
+}
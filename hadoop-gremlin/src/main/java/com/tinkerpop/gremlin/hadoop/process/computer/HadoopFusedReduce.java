@@ -0,0 +1,97 @@
+package com.tinkerpop.gremlin.hadoop.process.computer;
+
+import com.tinkerpop.gremlin.hadoop.process.computer.util.MapReduceHelper;
+import com.tinkerpop.gremlin.hadoop.structure.io.ObjectWritable;
+import com.tinkerpop.gremlin.hadoop.structure.io.TaggedObjectWritable;
+import com.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Executes the reduce stage of the fused {@link MapReduce} that a tagged key belongs to and writes the emitted pairs
+ * to the output of the memory key of that {@link MapReduce}.  The sorted pairs of a {@link MapReduce} without a
+ * reduce stage are written as they are.
+ *
+ * @author agent (agent@local)
+ */
+public class HadoopFusedReduce extends Reducer<TaggedObjectWritable, ObjectWritable, ObjectWritable, ObjectWritable> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HadoopFusedReduce.class);
+    private List<MapReduce> mapReduces;
+    private String[] outputNames;
+    private MultipleOutputs multipleOutputs;
+    private final HadoopFusedReduceEmitter<ObjectWritable, ObjectWritable> reduceEmitter = new HadoopFusedReduceEmitter<>();
+
+    private HadoopFusedReduce() {
+
+    }
+
+    @Override
+    public void setup(final Reducer<TaggedObjectWritable, ObjectWritable, ObjectWritable, ObjectWritable>.Context context) {
+        this.mapReduces = MapReduceHelper.loadFusedMapReduces(context.getConfiguration());
+        this.multipleOutputs = new MultipleOutputs(context);
+        this.outputNames = new String[this.mapReduces.size()];
+        for (int i = 0; i < this.outputNames.length; i++) {
+            this.outputNames[i] = MapReduceHelper.getFusedOutputName(this.mapReduces.get(i));
+        }
+    }
+
+    @Override
+    public void reduce(final TaggedObjectWritable key, final Iterable<ObjectWritable> values, final Reducer<TaggedObjectWritable, ObjectWritable, ObjectWritable, ObjectWritable>.Context context) throws IOException, InterruptedException {
+        final MapReduce mapReduce = this.mapReduces.get(key.getTag());
+        final String outputName = this.outputNames[key.getTag()];
+        if (!mapReduce.doStage(MapReduce.Stage.REDUCE)) {
+            for (final ObjectWritable value : values) {
+                this.multipleOutputs.write(key.getObjectWritable(), value, outputName);
+            }
+            return;
+        }
+        final Iterator<ObjectWritable> itty = values.iterator();
+        this.reduceEmitter.setOutputName(outputName);
+        mapReduce.reduce(key.get(), new Iterator() {
+            @Override
+            public boolean hasNext() {
+                return itty.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                return itty.next().get();
+            }
+        }, this.reduceEmitter);
+    }
+
+    @Override
+    public void cleanup(final Reducer<TaggedObjectWritable, ObjectWritable, ObjectWritable, ObjectWritable>.Context context) throws IOException, InterruptedException {
+        this.multipleOutputs.close();
+    }
+
+    public class HadoopFusedReduceEmitter<OK, OV> implements MapReduce.ReduceEmitter<OK, OV> {
+
+        private String outputName;
+        private final ObjectWritable<OK> keyWritable = new ObjectWritable<>();
+        private final ObjectWritable<OV> valueWritable = new ObjectWritable<>();
+
+        public void setOutputName(final String outputName) {
+            this.outputName = outputName;
+        }
+
+        @Override
+        public void emit(final OK key, final OV value) {
+            this.keyWritable.set(key);
+            this.valueWritable.set(value);
+            try {
+                multipleOutputs.write(this.keyWritable, this.valueWritable, this.outputName);
+            } catch (final Exception e) {
+                LOGGER.error(e.getMessage());
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+    }
+}
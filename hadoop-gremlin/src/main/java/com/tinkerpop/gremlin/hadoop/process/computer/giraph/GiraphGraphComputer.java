@@ -6,6 +6,7 @@ import com.tinkerpop.gremlin.hadoop.process.computer.giraph.io.GiraphVertexOutpu
 import com.tinkerpop.gremlin.hadoop.process.computer.util.MapReduceHelper;
 import com.tinkerpop.gremlin.hadoop.process.computer.util.MemoryMapReduce;
 import com.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
+import com.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
 import com.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
 import com.tinkerpop.gremlin.hadoop.structure.util.HadoopHelper;
 import com.tinkerpop.gremlin.process.computer.ComputerResult;
@@ -28,7 +29,6 @@ import org.apache.hadoop.filecache.DistributedCache;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.LongWritable;
-import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
 import org.apache.hadoop.util.Tool;
@@ -67,7 +67,7 @@ public class GiraphGraphComputer extends Configured implements GraphComputer, To
         this.giraphConfiguration.setWorkerContextClass(GiraphWorkerContext.class);
         this.giraphConfiguration.setOutEdgesClass(EmptyOutEdges.class);
         this.giraphConfiguration.setClass("giraph.vertexIdClass", LongWritable.class, LongWritable.class);
-        this.giraphConfiguration.setClass("giraph.vertexValueClass", Text.class, Text.class);
+        this.giraphConfiguration.setClass("giraph.vertexValueClass", VertexWritable.class, VertexWritable.class);
         this.giraphConfiguration.setVertexInputFormatClass(GiraphVertexInputFormat.class);
         this.giraphConfiguration.setVertexOutputFormatClass(GiraphVertexOutputFormat.class);
     }
@@ -158,11 +158,11 @@ public class GiraphGraphComputer extends Configured implements GraphComputer, To
                     this.mapReduces.add(new MemoryMapReduce(memoryKeys));
                 }
             }
-            // do map reduce jobs
+            // do map reduce jobs (fused into one job that reads the graph once unless gremlin.hadoop.fuseMapReduce=false)
             for (final MapReduce mapReduce : this.mapReduces) {
                 this.memory.addMapReduceMemoryKey(mapReduce);
-                MapReduceHelper.executeMapReduceJob(mapReduce, this.memory, this.giraphConfiguration);
             }
+            MapReduceHelper.executeMapReduceJobs(this.mapReduces, this.memory, this.giraphConfiguration);
         } catch (final Exception e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
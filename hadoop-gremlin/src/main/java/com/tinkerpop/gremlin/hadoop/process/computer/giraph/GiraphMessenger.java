@@ -10,9 +10,12 @@ import com.tinkerpop.gremlin.process.util.TraversalHelper;
 import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.util.ElementHelper;
 import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.hadoop.io.LongWritable;
 
+import java.util.Set;
+
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -31,15 +34,24 @@ public class GiraphMessenger<M> implements Messenger<M> {
         return IteratorUtils.map(this.messages, ObjectWritable::get);
     }
 
+    /**
+     * Messages of a {@link MessageScope.Local} are delivered to the adjacent vertices like any other message, so the
+     * messages of all the scopes are the messages of the vertex.
+     */
+    @Override
+    public Iterable<M> receiveMessages(final Set<MessageScope> messageScopes) {
+        return IteratorUtils.map(this.messages, ObjectWritable::get);
+    }
+
     @Override
     public void sendMessage(final MessageScope messageScope, final M message) {
         if (messageScope instanceof MessageScope.Local) {
             final MessageScope.Local<M> localMessageScope = (MessageScope.Local) messageScope;
             final Traversal<Vertex, Edge> incidentTraversal = GiraphMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get(), this.giraphComputeVertex.getBaseVertex());
-            final Direction direction = GiraphMessenger.getOppositeDirection(incidentTraversal);
+            final Direction direction = GiraphMessenger.getDirection(incidentTraversal);
             incidentTraversal.forEachRemaining(edge ->
                     this.giraphComputeVertex.sendMessage(
-                            new LongWritable(Long.valueOf(edge.iterators().vertexIterator(direction).next().id().toString())),
+                            new LongWritable(Long.valueOf(ElementHelper.getAdjacentVertex(edge, this.giraphComputeVertex.getBaseVertex(), direction).id().toString())),
                             new ObjectWritable<>(localMessageScope.getEdgeFunction().apply(message, edge))));
         } else {
             final MessageScope.Global globalMessageScope = (MessageScope.Global) messageScope;
@@ -53,8 +65,8 @@ public class GiraphMessenger<M> implements Messenger<M> {
         return (T) incidentTraversal;
     }
 
-    private static Direction getOppositeDirection(final Traversal<Vertex, Edge> incidentTraversal) {
+    private static Direction getDirection(final Traversal<Vertex, Edge> incidentTraversal) {
         final VertexStep step = TraversalHelper.getLastStep(incidentTraversal, VertexStep.class).get();
-        return step.getDirection().opposite();
+        return step.getDirection();
     }
 }
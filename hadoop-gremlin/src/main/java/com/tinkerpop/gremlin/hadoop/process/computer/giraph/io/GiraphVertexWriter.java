@@ -34,6 +34,6 @@ public class GiraphVertexWriter extends VertexWriter {
 
     @Override
     public void writeVertex(final Vertex vertex) throws IOException, InterruptedException {
-        this.recordWriter.write(NullWritable.get(), new VertexWritable(((GiraphComputeVertex) vertex).getBaseVertex()));
+        this.recordWriter.write(NullWritable.get(), ((GiraphComputeVertex) vertex).getValue());
     }
 }
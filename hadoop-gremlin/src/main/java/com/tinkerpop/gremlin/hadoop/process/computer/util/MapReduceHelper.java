@@ -2,12 +2,17 @@ package com.tinkerpop.gremlin.hadoop.process.computer.util;
 
 import com.tinkerpop.gremlin.hadoop.Constants;
 import com.tinkerpop.gremlin.hadoop.process.computer.HadoopCombine;
+import com.tinkerpop.gremlin.hadoop.process.computer.HadoopFusedCombine;
+import com.tinkerpop.gremlin.hadoop.process.computer.HadoopFusedMap;
+import com.tinkerpop.gremlin.hadoop.process.computer.HadoopFusedReduce;
 import com.tinkerpop.gremlin.hadoop.process.computer.HadoopMap;
 import com.tinkerpop.gremlin.hadoop.process.computer.HadoopReduce;
 import com.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 import com.tinkerpop.gremlin.hadoop.structure.io.ObjectWritable;
 import com.tinkerpop.gremlin.hadoop.structure.io.ObjectWritableComparator;
 import com.tinkerpop.gremlin.hadoop.structure.io.ObjectWritableIterator;
+import com.tinkerpop.gremlin.hadoop.structure.io.TaggedObjectWritable;
+import com.tinkerpop.gremlin.hadoop.structure.io.TaggedObjectWritableComparator;
 import com.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
 import com.tinkerpop.gremlin.process.computer.MapReduce;
 import com.tinkerpop.gremlin.process.computer.Memory;
@@ -25,10 +30,16 @@ import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
 import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
 import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.StringUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -40,83 +51,254 @@ public class MapReduceHelper {
             + " and thus, graph computer memory can not be converted to Java objects";
 
     public static void executeMapReduceJob(final MapReduce mapReduce, final Memory.Admin memory, final Configuration configuration) throws IOException, ClassNotFoundException, InterruptedException {
-        final Configuration newConfiguration = new Configuration(configuration);
-        final BaseConfiguration apacheConfiguration = new BaseConfiguration();
-        mapReduce.storeState(apacheConfiguration);
-        ConfUtil.mergeApacheIntoHadoopConfiguration(apacheConfiguration, newConfiguration);
         if (!mapReduce.doStage(MapReduce.Stage.MAP)) {
+            final Configuration newConfiguration = new Configuration(configuration);
+            final BaseConfiguration apacheConfiguration = new BaseConfiguration();
+            mapReduce.storeState(apacheConfiguration);
+            ConfUtil.mergeApacheIntoHadoopConfiguration(apacheConfiguration, newConfiguration);
             final Path memoryPath = new Path(configuration.get(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION) + "/" + mapReduce.getMemoryKey());
             if (newConfiguration.getClass(Constants.GREMLIN_HADOOP_GRAPH_OUTPUT_FORMAT, SequenceFileOutputFormat.class, OutputFormat.class).equals(SequenceFileOutputFormat.class))
                 mapReduce.addResultToMemory(memory, new ObjectWritableIterator(configuration, memoryPath));
             else
                 HadoopGraph.LOGGER.warn(SEQUENCE_WARNING);
+        } else
+            MapReduceHelper.executeMapReduceJobs(Collections.singletonList(mapReduce), memory, configuration);
+    }
+
+    /**
+     * Executes the {@link MapReduce} jobs and adds their results to the memory.  Unless
+     * {@link Constants#GREMLIN_HADOOP_FUSE_MAP_REDUCE} is false, the map stages of all the {@link MapReduce} jobs are
+     * executed by a single Hadoop job that reads the graph once.  Otherwise, a Hadoop job is submitted for each
+     * {@link MapReduce} and the jobs run concurrently.  The reduce key sorts of the {@link MapReduce} jobs also run
+     * concurrently.
+     */
+    public static void executeMapReduceJobs(final Collection<MapReduce> mapReduces, final Memory.Admin memory, final Configuration configuration) throws IOException, ClassNotFoundException, InterruptedException {
+        final List<MapReduce> mapStageMapReduces = new ArrayList<>();
+        for (final MapReduce mapReduce : mapReduces) {
+            if (mapReduce.doStage(MapReduce.Stage.MAP))
+                mapStageMapReduces.add(mapReduce);
+            else
+                MapReduceHelper.executeMapReduceJob(mapReduce, memory, configuration);
+        }
+        if (mapStageMapReduces.isEmpty())
+            return;
+
+        if (mapStageMapReduces.size() > 1 && configuration.getBoolean(Constants.GREMLIN_HADOOP_FUSE_MAP_REDUCE, true)) {
+            MapReduceHelper.waitForCompletion(Collections.singletonList(MapReduceHelper.createFusedMapReduceJob(mapStageMapReduces, configuration)));
+            MapReduceHelper.moveFusedOutputs(mapStageMapReduces, configuration);
         } else {
-            final Optional<Comparator<?>> mapSort = mapReduce.getMapKeySort();
-            final Optional<Comparator<?>> reduceSort = mapReduce.getReduceKeySort();
-
-            newConfiguration.setClass(Constants.GREMLIN_HADOOP_MAP_REDUCE_CLASS, mapReduce.getClass(), MapReduce.class);
-            final Job job = new Job(newConfiguration, mapReduce.toString());
-            HadoopGraph.LOGGER.info(Constants.GREMLIN_HADOOP_JOB_PREFIX + mapReduce.toString());
-            job.setJarByClass(HadoopGraph.class);
-            if (mapSort.isPresent())
-                job.setSortComparatorClass(ObjectWritableComparator.ObjectWritableMapComparator.class);
-            job.setMapperClass(HadoopMap.class);
-            if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
-                if (mapReduce.doStage(MapReduce.Stage.COMBINE))
-                    job.setCombinerClass(HadoopCombine.class);
-                job.setReducerClass(HadoopReduce.class);
-            } else {
-                if (mapSort.isPresent()) {
-                    job.setReducerClass(Reducer.class);
-                } else {
-                    job.setNumReduceTasks(0);
-                }
-            }
-            job.setMapOutputKeyClass(ObjectWritable.class);
-            job.setMapOutputValueClass(ObjectWritable.class);
-            job.setOutputKeyClass(ObjectWritable.class);
-            job.setOutputValueClass(ObjectWritable.class);
-            job.setInputFormatClass((Class) newConfiguration.getClass(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT, InputFormat.class));
-            job.setOutputFormatClass(newConfiguration.getClass(Constants.GREMLIN_HADOOP_MEMORY_OUTPUT_FORMAT, SequenceFileOutputFormat.class, OutputFormat.class)); // TODO: Make this configurable
-            // if there is no vertex program, then grab the graph from the input location
-            final Path graphPath = configuration.get(VertexProgram.VERTEX_PROGRAM, null) != null ?
-                    new Path(newConfiguration.get(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION) + "/" + Constants.SYSTEM_G) :
-                    new Path(newConfiguration.get(Constants.GREMLIN_HADOOP_INPUT_LOCATION));
-            Path memoryPath = new Path(newConfiguration.get(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION) + "/" + (reduceSort.isPresent() ? mapReduce.getMemoryKey() + "-temp" : mapReduce.getMemoryKey()));
-            if (FileSystem.get(newConfiguration).exists(memoryPath)) {
-                FileSystem.get(newConfiguration).delete(memoryPath, true);
+            final List<Job> jobs = new ArrayList<>();
+            for (final MapReduce mapReduce : mapStageMapReduces) {
+                jobs.add(MapReduceHelper.createMapReduceJob(mapReduce, configuration));
             }
-            FileInputFormat.setInputPaths(job, graphPath);
-            FileOutputFormat.setOutputPath(job, memoryPath);
-            job.waitForCompletion(true);
-
-
-            // if there is a reduce sort, we need to run another identity MapReduce job
-            if (reduceSort.isPresent()) {
-                final Job reduceSortJob = new Job(newConfiguration, "ReduceKeySort");
-                reduceSortJob.setSortComparatorClass(ObjectWritableComparator.ObjectWritableReduceComparator.class);
-                reduceSortJob.setMapperClass(Mapper.class);
-                reduceSortJob.setReducerClass(Reducer.class);
-                reduceSortJob.setMapOutputKeyClass(ObjectWritable.class);
-                reduceSortJob.setMapOutputValueClass(ObjectWritable.class);
-                reduceSortJob.setOutputKeyClass(ObjectWritable.class);
-                reduceSortJob.setOutputValueClass(ObjectWritable.class);
-                reduceSortJob.setInputFormatClass(SequenceFileInputFormat.class); // TODO: require this hard coded? If so, ERROR messages needed.
-                reduceSortJob.setOutputFormatClass(newConfiguration.getClass(Constants.GREMLIN_HADOOP_MEMORY_OUTPUT_FORMAT, SequenceFileOutputFormat.class, OutputFormat.class));
-                FileInputFormat.setInputPaths(reduceSortJob, memoryPath);
-                final Path sortedMemoryPath = new Path(newConfiguration.get(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION) + "/" + mapReduce.getMemoryKey());
-                FileOutputFormat.setOutputPath(reduceSortJob, sortedMemoryPath);
-                reduceSortJob.waitForCompletion(true);
-                FileSystem.get(newConfiguration).delete(memoryPath, true); // delete the temporary memory path
-                memoryPath = sortedMemoryPath;
+            MapReduceHelper.waitForCompletion(jobs);
+        }
+
+        // if there is a reduce sort, we need to run another identity MapReduce job
+        final List<MapReduce> reduceSortMapReduces = new ArrayList<>();
+        final List<Job> reduceSortJobs = new ArrayList<>();
+        for (final MapReduce mapReduce : mapStageMapReduces) {
+            if (mapReduce.getReduceKeySort().isPresent()) {
+                reduceSortMapReduces.add(mapReduce);
+                reduceSortJobs.add(MapReduceHelper.createReduceKeySortJob(mapReduce, configuration));
             }
+        }
+        MapReduceHelper.waitForCompletion(reduceSortJobs);
+        for (final MapReduce mapReduce : reduceSortMapReduces) {
+            FileSystem.get(configuration).delete(MapReduceHelper.getMemoryPath(configuration, mapReduce, true), true); // delete the temporary memory path
+        }
 
-            // if its not a SequenceFile there is no certain way to convert to necessary Java objects.
-            // to get results you have to look through HDFS directory structure. Oh the horror.
-            if (newConfiguration.getClass(Constants.GREMLIN_HADOOP_MEMORY_OUTPUT_FORMAT, SequenceFileOutputFormat.class, OutputFormat.class).equals(SequenceFileOutputFormat.class))
-                mapReduce.addResultToMemory(memory, new ObjectWritableIterator(configuration, memoryPath));
+        // if its not a SequenceFile there is no certain way to convert to necessary Java objects.
+        // to get results you have to look through HDFS directory structure. Oh the horror.
+        for (final MapReduce mapReduce : mapStageMapReduces) {
+            if (configuration.getClass(Constants.GREMLIN_HADOOP_MEMORY_OUTPUT_FORMAT, SequenceFileOutputFormat.class, OutputFormat.class).equals(SequenceFileOutputFormat.class))
+                mapReduce.addResultToMemory(memory, new ObjectWritableIterator(configuration, MapReduceHelper.getMemoryPath(configuration, mapReduce, false)));
             else
                 HadoopGraph.LOGGER.warn(SEQUENCE_WARNING);
         }
     }
+
+    private static Job createMapReduceJob(final MapReduce mapReduce, final Configuration configuration) throws IOException {
+        final Configuration newConfiguration = new Configuration(configuration);
+        final BaseConfiguration apacheConfiguration = new BaseConfiguration();
+        mapReduce.storeState(apacheConfiguration);
+        ConfUtil.mergeApacheIntoHadoopConfiguration(apacheConfiguration, newConfiguration);
+        final Optional<Comparator<?>> mapSort = mapReduce.getMapKeySort();
+
+        newConfiguration.setClass(Constants.GREMLIN_HADOOP_MAP_REDUCE_CLASS, mapReduce.getClass(), MapReduce.class);
+        final Job job = new Job(newConfiguration, mapReduce.toString());
+        HadoopGraph.LOGGER.info(Constants.GREMLIN_HADOOP_JOB_PREFIX + mapReduce.toString());
+        job.setJarByClass(HadoopGraph.class);
+        if (mapSort.isPresent())
+            job.setSortComparatorClass(ObjectWritableComparator.ObjectWritableMapComparator.class);
+        job.setMapperClass(HadoopMap.class);
+        if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
+            if (mapReduce.doStage(MapReduce.Stage.COMBINE))
+                job.setCombinerClass(HadoopCombine.class);
+            job.setReducerClass(HadoopReduce.class);
+        } else {
+            if (mapSort.isPresent()) {
+                job.setReducerClass(Reducer.class);
+            } else {
+                job.setNumReduceTasks(0);
+            }
+        }
+        job.setMapOutputKeyClass(ObjectWritable.class);
+        job.setMapOutputValueClass(ObjectWritable.class);
+        job.setOutputKeyClass(ObjectWritable.class);
+        job.setOutputValueClass(ObjectWritable.class);
+        job.setInputFormatClass((Class) newConfiguration.getClass(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT, InputFormat.class));
+        job.setOutputFormatClass(newConfiguration.getClass(Constants.GREMLIN_HADOOP_MEMORY_OUTPUT_FORMAT, SequenceFileOutputFormat.class, OutputFormat.class)); // TODO: Make this configurable
+        final Path memoryPath = MapReduceHelper.getMemoryPath(newConfiguration, mapReduce, mapReduce.getReduceKeySort().isPresent());
+        if (FileSystem.get(newConfiguration).exists(memoryPath)) {
+            FileSystem.get(newConfiguration).delete(memoryPath, true);
+        }
+        FileInputFormat.setInputPaths(job, MapReduceHelper.getGraphPath(newConfiguration));
+        FileOutputFormat.setOutputPath(job, memoryPath);
+        return job;
+    }
+
+    private static Job createFusedMapReduceJob(final List<MapReduce> mapReduces, final Configuration configuration) throws IOException {
+        final Configuration newConfiguration = new Configuration(configuration);
+        MapReduceHelper.storeFusedMapReduces(mapReduces, newConfiguration);
+
+        final Job job = new Job(newConfiguration, mapReduces.toString());
+        HadoopGraph.LOGGER.info(Constants.GREMLIN_HADOOP_JOB_PREFIX + mapReduces.toString());
+        job.setJarByClass(HadoopGraph.class);
+        job.setMapperClass(HadoopFusedMap.class);
+        // map-only map reducers without a map sort have their output sorted and reduced as is if any other map reducer needs a reduce
+        if (mapReduces.stream().anyMatch(mapReduce -> mapReduce.doStage(MapReduce.Stage.REDUCE) || mapReduce.getMapKeySort().isPresent())) {
+            job.setSortComparatorClass(TaggedObjectWritableComparator.class);
+            if (mapReduces.stream().anyMatch(mapReduce -> mapReduce.doStage(MapReduce.Stage.REDUCE) && mapReduce.doStage(MapReduce.Stage.COMBINE)))
+                job.setCombinerClass(HadoopFusedCombine.class);
+            job.setReducerClass(HadoopFusedReduce.class);
+        } else
+            job.setNumReduceTasks(0);
+        job.setMapOutputKeyClass(TaggedObjectWritable.class);
+        job.setMapOutputValueClass(ObjectWritable.class);
+        job.setOutputKeyClass(ObjectWritable.class);
+        job.setOutputValueClass(ObjectWritable.class);
+        job.setInputFormatClass((Class) newConfiguration.getClass(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT, InputFormat.class));
+        job.setOutputFormatClass(newConfiguration.getClass(Constants.GREMLIN_HADOOP_MEMORY_OUTPUT_FORMAT, SequenceFileOutputFormat.class, OutputFormat.class));
+        final Path fusedPath = new Path(newConfiguration.get(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION) + "/" + Constants.SYSTEM_FUSED_MAP_REDUCE);
+        if (FileSystem.get(newConfiguration).exists(fusedPath)) {
+            FileSystem.get(newConfiguration).delete(fusedPath, true);
+        }
+        FileInputFormat.setInputPaths(job, MapReduceHelper.getGraphPath(newConfiguration));
+        FileOutputFormat.setOutputPath(job, fusedPath);
+        return job;
+    }
+
+    private static void moveFusedOutputs(final List<MapReduce> mapReduces, final Configuration configuration) throws IOException {
+        final FileSystem fs = FileSystem.get(configuration);
+        final Path fusedPath = new Path(configuration.get(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION) + "/" + Constants.SYSTEM_FUSED_MAP_REDUCE);
+        for (final MapReduce mapReduce : mapReduces) {
+            final Path outputPath = new Path(fusedPath, mapReduce.getMemoryKey());
+            final Path memoryPath = MapReduceHelper.getMemoryPath(configuration, mapReduce, mapReduce.getReduceKeySort().isPresent());
+            if (fs.exists(memoryPath))
+                fs.delete(memoryPath, true);
+            // a map reducer that emitted nothing has no output
+            if (fs.exists(outputPath))
+                fs.rename(outputPath, memoryPath);
+            else
+                fs.mkdirs(memoryPath);
+        }
+        fs.delete(fusedPath, true);
+    }
+
+    private static Job createReduceKeySortJob(final MapReduce mapReduce, final Configuration configuration) throws IOException {
+        final Configuration newConfiguration = new Configuration(configuration);
+        final BaseConfiguration apacheConfiguration = new BaseConfiguration();
+        mapReduce.storeState(apacheConfiguration);
+        ConfUtil.mergeApacheIntoHadoopConfiguration(apacheConfiguration, newConfiguration);
+
+        final Job reduceSortJob = new Job(newConfiguration, "ReduceKeySort");
+        reduceSortJob.setSortComparatorClass(ObjectWritableComparator.ObjectWritableReduceComparator.class);
+        reduceSortJob.setMapperClass(Mapper.class);
+        reduceSortJob.setReducerClass(Reducer.class);
+        reduceSortJob.setMapOutputKeyClass(ObjectWritable.class);
+        reduceSortJob.setMapOutputValueClass(ObjectWritable.class);
+        reduceSortJob.setOutputKeyClass(ObjectWritable.class);
+        reduceSortJob.setOutputValueClass(ObjectWritable.class);
+        reduceSortJob.setInputFormatClass(SequenceFileInputFormat.class); // TODO: require this hard coded? If so, ERROR messages needed.
+        reduceSortJob.setOutputFormatClass(newConfiguration.getClass(Constants.GREMLIN_HADOOP_MEMORY_OUTPUT_FORMAT, SequenceFileOutputFormat.class, OutputFormat.class));
+        FileInputFormat.setInputPaths(reduceSortJob, MapReduceHelper.getMemoryPath(newConfiguration, mapReduce, true));
+        FileOutputFormat.setOutputPath(reduceSortJob, MapReduceHelper.getMemoryPath(newConfiguration, mapReduce, false));
+        return reduceSortJob;
+    }
+
+    /**
+     * Submits all the jobs before waiting on any of them so that they run concurrently.
+     */
+    private static void waitForCompletion(final List<Job> jobs) throws IOException, ClassNotFoundException, InterruptedException {
+        for (final Job job : jobs) {
+            job.submit();
+        }
+        for (final Job job : jobs) {
+            if (!job.waitForCompletion(true))
+                throw new IllegalStateException("The MapReduce job failed: " + job.getJobName());
+        }
+    }
+
+    // if there is no vertex program, then grab the graph from the input location
+    private static Path getGraphPath(final Configuration configuration) {
+        return configuration.get(VertexProgram.VERTEX_PROGRAM, null) != null ?
+                new Path(configuration.get(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION) + "/" + Constants.SYSTEM_G) :
+                new Path(configuration.get(Constants.GREMLIN_HADOOP_INPUT_LOCATION));
+    }
+
+    private static Path getMemoryPath(final Configuration configuration, final MapReduce mapReduce, final boolean temp) {
+        return new Path(configuration.get(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION) + "/" + (temp ? mapReduce.getMemoryKey() + "-temp" : mapReduce.getMemoryKey()));
+    }
+
+    /**
+     * Stores the state of each fused {@link MapReduce} in the configuration under a prefix of its index.  The values of
+     * a multi-valued property are escaped and joined with commas.
+     */
+    public static void storeFusedMapReduces(final List<MapReduce> mapReduces, final Configuration configuration) {
+        configuration.setInt(Constants.GREMLIN_HADOOP_FUSED_MAP_REDUCES, mapReduces.size());
+        for (int i = 0; i < mapReduces.size(); i++) {
+            final String prefix = Constants.GREMLIN_HADOOP_FUSED_MAP_REDUCES + "." + i + ".";
+            final BaseConfiguration apacheConfiguration = new BaseConfiguration();
+            mapReduces.get(i).storeState(apacheConfiguration);
+            apacheConfiguration.getKeys().forEachRemaining(key -> configuration.set(prefix + key, apacheConfiguration.getList(key).stream()
+                    .map(value -> StringUtils.escapeString(value.toString()))
+                    .collect(Collectors.joining(","))));
+        }
+    }
+
+    /**
+     * Creates the fused {@link MapReduce} jobs stored by {@link #storeFusedMapReduces} in the order they were stored
+     * and thus, the index of a {@link MapReduce} is the tag of its keys.
+     */
+    public static List<MapReduce> loadFusedMapReduces(final Configuration configuration) {
+        final int size = configuration.getInt(Constants.GREMLIN_HADOOP_FUSED_MAP_REDUCES, 0);
+        final List<MapReduce> mapReduces = new ArrayList<>(size);
+        final org.apache.commons.configuration.Configuration baseConfiguration = ConfUtil.makeApacheConfiguration(configuration);
+        for (int i = 0; i < size; i++) {
+            final String prefix = Constants.GREMLIN_HADOOP_FUSED_MAP_REDUCES + "." + i;
+            final BaseConfiguration apacheConfiguration = new BaseConfiguration();
+            // the stored values are already split and must not be split again
+            apacheConfiguration.setDelimiterParsingDisabled(true);
+            apacheConfiguration.copy(baseConfiguration);
+            baseConfiguration.getKeys(prefix).forEachRemaining(key -> {
+                if (key.length() > prefix.length()) {
+                    final List<String> values = new ArrayList<>();
+                    for (final String value : StringUtils.split(configuration.getRaw(key))) {
+                        values.add(StringUtils.unEscapeString(value));
+                    }
+                    apacheConfiguration.setProperty(key.substring(prefix.length() + 1), values.isEmpty() ? "" : values);
+                }
+            });
+            mapReduces.add(MapReduce.createMapReduce(apacheConfiguration));
+        }
+        return mapReduces;
+    }
+
+    /**
+     * The output that the pairs of a fused {@link MapReduce} are written to, relative to the output of the fused job.
+     */
+    public static String getFusedOutputName(final MapReduce mapReduce) {
+        return mapReduce.getMemoryKey() + "/part";
+    }
 }
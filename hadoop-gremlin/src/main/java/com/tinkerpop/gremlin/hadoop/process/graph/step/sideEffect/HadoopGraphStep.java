@@ -0,0 +1,68 @@
+package com.tinkerpop.gremlin.hadoop.process.graph.step.sideEffect;
+
+import com.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
+import com.tinkerpop.gremlin.process.T;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.GraphStep;
+import com.tinkerpop.gremlin.process.graph.util.HasContainer;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.structure.Compare;
+import com.tinkerpop.gremlin.structure.Contains;
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A {@link GraphStep} that pushes an id lookup (the ids of the step or a {@code has(T.id,...)} that follows it) down
+ * to the {@link HadoopGraph} iterators so that the id index of the graph files, if any, is used.
+ *
+ * @author agent (agent@local)
+ */
+public class HadoopGraphStep<E extends Element> extends GraphStep<E> {
+
+    public final List<HasContainer> hasContainers = new ArrayList<>();
+
+    public HadoopGraphStep(final GraphStep<E> originalGraphStep) {
+        super(originalGraphStep.getTraversal(), originalGraphStep.getGraph(HadoopGraph.class), originalGraphStep.getReturnClass(), originalGraphStep.getIds());
+        if (originalGraphStep.getLabel().isPresent())
+            this.setLabel(originalGraphStep.getLabel().get());
+        this.setIteratorSupplier(this::elements);
+    }
+
+    private Iterator<E> elements() {
+        final HadoopGraph graph = this.getGraph(HadoopGraph.class);
+        final Object[] ids = this.getLookupIds();
+        final Iterator<E> iterator = (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ?
+                graph.iterators().vertexIterator(ids) :
+                graph.iterators().edgeIterator(ids));
+        return this.hasContainers.isEmpty() ? iterator : IteratorUtils.filter(iterator, element -> HasContainer.testAll(element, this.hasContainers));
+    }
+
+    private Object[] getLookupIds() {
+        if (this.ids != null && this.ids.length > 0)
+            return this.ids;
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (hasContainer.key.equals(T.id.getAccessor())) {
+                if (hasContainer.predicate.equals(Compare.eq))
+                    return new Object[]{hasContainer.value};
+                else if (hasContainer.predicate.equals(Contains.within) && hasContainer.value instanceof Collection && !((Collection) hasContainer.value).isEmpty())
+                    return ((Collection) hasContainer.value).toArray();
+            }
+        }
+        return new Object[0];
+    }
+
+    public String toString() {
+        if (this.hasContainers.isEmpty())
+            return super.toString();
+        else
+            return 0 == this.ids.length ?
+                    TraversalHelper.makeStepString(this, this.returnClass.getSimpleName().toLowerCase(), this.hasContainers) :
+                    TraversalHelper.makeStepString(this, this.returnClass.getSimpleName().toLowerCase(), Arrays.toString(this.ids), this.hasContainers);
+    }
+}
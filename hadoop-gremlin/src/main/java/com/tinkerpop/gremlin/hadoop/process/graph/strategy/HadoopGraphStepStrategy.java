@@ -0,0 +1,57 @@
+package com.tinkerpop.gremlin.hadoop.process.graph.strategy;
+
+import com.tinkerpop.gremlin.hadoop.process.graph.step.sideEffect.HadoopGraphStep;
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.graph.marker.HasContainerHolder;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.GraphStep;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.IdentityStep;
+import com.tinkerpop.gremlin.process.graph.strategy.AbstractTraversalStrategy;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+
+/**
+ * @author agent (agent@local)
+ */
+public class HadoopGraphStepStrategy extends AbstractTraversalStrategy {
+
+    private static final HadoopGraphStepStrategy INSTANCE = new HadoopGraphStepStrategy();
+
+    private HadoopGraphStepStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal, final TraversalEngine engine) {
+        if (engine.equals(TraversalEngine.COMPUTER))
+            return;
+
+        final Step<?, ?> startStep = TraversalHelper.getStart(traversal);
+        if (startStep instanceof GraphStep) {
+            final GraphStep<?> originalGraphStep = (GraphStep) startStep;
+            final HadoopGraphStep<?> hadoopGraphStep = new HadoopGraphStep<>(originalGraphStep);
+            TraversalHelper.replaceStep(startStep, hadoopGraphStep, traversal);
+
+            Step<?, ?> currentStep = hadoopGraphStep.getNextStep();
+            while (true) {
+                if (currentStep instanceof HasContainerHolder) {
+                    hadoopGraphStep.hasContainers.addAll(((HasContainerHolder) currentStep).getHasContainers());
+                    if (currentStep.getLabel().isPresent()) {
+                        final IdentityStep identityStep = new IdentityStep<>(traversal);
+                        identityStep.setLabel(currentStep.getLabel().get());
+                        TraversalHelper.insertAfterStep(identityStep, currentStep, traversal);
+                    }
+                    traversal.removeStep(currentStep);
+                } else if (currentStep instanceof IdentityStep) {
+                    // do nothing
+                } else {
+                    break;
+                }
+                currentStep = currentStep.getNextStep();
+            }
+        }
+    }
+
+    public static HadoopGraphStepStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -3,6 +3,7 @@ package com.tinkerpop.gremlin.hadoop.structure;
 import com.tinkerpop.gremlin.hadoop.Constants;
 import com.tinkerpop.gremlin.hadoop.process.computer.giraph.GiraphGraphComputer;
 import com.tinkerpop.gremlin.hadoop.process.graph.strategy.HadoopElementStepStrategy;
+import com.tinkerpop.gremlin.hadoop.process.graph.strategy.HadoopGraphStepStrategy;
 import com.tinkerpop.gremlin.hadoop.structure.hdfs.HadoopEdgeIterator;
 import com.tinkerpop.gremlin.hadoop.structure.hdfs.HadoopVertexIterator;
 import com.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
@@ -99,6 +100,7 @@ public class HadoopGraph implements Graph, Graph.Iterators {
 
     static {
         try {
+            TraversalStrategies.GlobalCache.registerStrategies(HadoopGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(HadoopGraphStepStrategy.instance()));
             TraversalStrategies.GlobalCache.registerStrategies(HadoopVertex.class, TraversalStrategies.GlobalCache.getStrategies(Vertex.class).clone().addStrategies(HadoopElementStepStrategy.instance()));
             TraversalStrategies.GlobalCache.registerStrategies(HadoopEdge.class, TraversalStrategies.GlobalCache.getStrategies(Edge.class).clone().addStrategies(HadoopElementStepStrategy.instance()));
         } catch (final CloneNotSupportedException e) {
@@ -180,7 +182,7 @@ public class HadoopGraph implements Graph, Graph.Iterators {
     @Override
     public Iterator<Vertex> vertexIterator(final Object... vertexIds) {
         try {
-            return 0 == vertexIds.length ? new HadoopVertexIterator(this) : IteratorUtils.filter(new HadoopVertexIterator(this), vertex -> ElementHelper.idExists(vertex.id(), vertexIds));
+            return 0 == vertexIds.length ? new HadoopVertexIterator(this) : IteratorUtils.filter(new HadoopVertexIterator(this, vertexIds), vertex -> ElementHelper.idExists(vertex.id(), vertexIds));
         } catch (final IOException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
@@ -189,7 +191,7 @@ public class HadoopGraph implements Graph, Graph.Iterators {
     @Override
     public Iterator<Edge> edgeIterator(final Object... edgeIds) {
         try {
-            return 0 == edgeIds.length ? new HadoopEdgeIterator(this) : IteratorUtils.filter(new HadoopEdgeIterator(this), edge -> ElementHelper.idExists(edge.id(), edgeIds));
+            return 0 == edgeIds.length ? new HadoopEdgeIterator(this) : IteratorUtils.filter(new HadoopEdgeIterator(this, edgeIds), edge -> ElementHelper.idExists(edge.id(), edgeIds));
         } catch (final IOException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
@@ -29,6 +29,13 @@ public class HadoopEdgeIterator extends HadoopElementIterator<Edge> {
         super(graph);
     }
 
+    /**
+     * Reads the edges of the vertices of the graph that may have the ids (see {@link HadoopElementIterator}).
+     */
+    public HadoopEdgeIterator(final HadoopGraph graph, final Object... edgeIds) throws IOException {
+        super(graph, true, edgeIds);
+    }
+
     @Override
     public Edge next() {
         try {
@@ -11,6 +11,7 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.mapreduce.InputFormat;
+import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.RecordReader;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.hadoop.mapreduce.TaskAttemptID;
@@ -20,6 +21,7 @@ import java.io.IOException;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.Set;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -40,17 +42,89 @@ public abstract class HadoopElementIterator<E extends Element> implements Iterat
     }
 
     public HadoopElementIterator(final HadoopGraph graph) throws IOException {
+        this(graph, false);
+    }
+
+    /**
+     * Reads the elements of the graph with the ids.  The vertices of a file with an {@link IdIndex} that hold the
+     * elements are read directly and a file whose index does not hold any of the ids is not read at all.  Every
+     * vertex of a file without an index is read.  Thus, the iterated elements must still be filtered by id.
+     *
+     * @param edges whether the ids are edge ids (or vertex ids)
+     */
+    protected HadoopElementIterator(final HadoopGraph graph, final boolean edges, final Object... ids) throws IOException {
         try {
             this.graph = graph;
             if (this.graph.configuration().containsKey(Constants.GREMLIN_HADOOP_INPUT_LOCATION)) {
                 final Configuration configuration = ConfUtil.makeHadoopConfiguration(this.graph.configuration());
+                final FileSystem fileSystem = FileSystem.get(configuration);
                 final InputFormat<NullWritable, VertexWritable> inputFormat = this.graph.configuration().getGraphInputFormat().getConstructor().newInstance();
-                for (final FileStatus status : FileSystem.get(configuration).listStatus(new Path(graph.configuration().getInputLocation()), HiddenFileFilter.instance())) {
-                    this.readers.add(inputFormat.createRecordReader(new FileSplit(status.getPath(), 0, Integer.MAX_VALUE, new String[]{}), new TaskAttemptContext(configuration, new TaskAttemptID())));
+                for (final FileStatus status : fileSystem.listStatus(new Path(graph.configuration().getInputLocation()), HiddenFileFilter.instance())) {
+                    final Set<Long> offsets = 0 == ids.length ? null : IdIndex.getOffsets(fileSystem, status.getPath(), edges, ids);
+                    if (null == offsets)
+                        this.readers.add(inputFormat.createRecordReader(new FileSplit(status.getPath(), 0, Integer.MAX_VALUE, new String[]{}), new TaskAttemptContext(configuration, new TaskAttemptID())));
+                    else {
+                        for (final Long offset : offsets) {
+                            this.readers.add(new SingleRecordReader(inputFormat.createRecordReader(IdIndex.getSplit(status.getPath(), status.getLen(), offset), new TaskAttemptContext(configuration, new TaskAttemptID()))));
+                        }
+                    }
                 }
             }
         } catch (Exception e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
     }
+
+    /**
+     * Reads only the first record of a split.  The iterators drop their readers once exhausted without closing them,
+     * so the wrapped reader is closed when the record after the first is asked for, and only once.
+     */
+    static final class SingleRecordReader extends RecordReader<NullWritable, VertexWritable> {
+
+        private final RecordReader<NullWritable, VertexWritable> recordReader;
+        private boolean read = false;
+        private boolean closed = false;
+
+        public SingleRecordReader(final RecordReader<NullWritable, VertexWritable> recordReader) {
+            this.recordReader = recordReader;
+        }
+
+        @Override
+        public void initialize(final InputSplit split, final TaskAttemptContext context) {
+            // the record reader is initialized by the input format that creates it
+        }
+
+        @Override
+        public boolean nextKeyValue() throws IOException, InterruptedException {
+            if (this.read) {
+                this.close();
+                return false;
+            }
+            this.read = true;
+            return this.recordReader.nextKeyValue();
+        }
+
+        @Override
+        public NullWritable getCurrentKey() throws IOException, InterruptedException {
+            return this.recordReader.getCurrentKey();
+        }
+
+        @Override
+        public VertexWritable getCurrentValue() throws IOException, InterruptedException {
+            return this.recordReader.getCurrentValue();
+        }
+
+        @Override
+        public float getProgress() throws IOException, InterruptedException {
+            return this.read ? 1.0f : 0.0f;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.closed)
+                return;
+            this.closed = true;
+            this.recordReader.close();
+        }
+    }
 }
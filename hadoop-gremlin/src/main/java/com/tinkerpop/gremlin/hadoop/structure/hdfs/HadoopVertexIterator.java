@@ -26,6 +26,13 @@ public class HadoopVertexIterator extends HadoopElementIterator<Vertex> {
         super(graph);
     }
 
+    /**
+     * Reads the vertices of the graph that may have the ids (see {@link HadoopElementIterator}).
+     */
+    public HadoopVertexIterator(final HadoopGraph graph, final Object... vertexIds) throws IOException {
+        super(graph, false, vertexIds);
+    }
+
     @Override
     public Vertex next() {
         try {
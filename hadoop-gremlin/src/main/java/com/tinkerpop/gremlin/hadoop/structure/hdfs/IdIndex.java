@@ -0,0 +1,350 @@
+package com.tinkerpop.gremlin.hadoop.structure.hdfs;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.tinkerpop.gremlin.structure.io.kryo.KryoMapper;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.javatuples.Pair;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The sidecar index of a graph file that maps the ids of the vertices in the file, and the ids of their outgoing
+ * edges, to the offset of the vertex in the file (see {@link IdIndexOutputStream}).  The index of a file is the
+ * hidden file {@code _<file>.index} next to it and thus, it is not read as part of the graph.
+ * <br/>
+ * The index holds the entries of its two sections (vertices then edges) followed by a footer with the summary of each
+ * section and the position of the footer as the last eight bytes.  The summary has the smallest and largest id of the
+ * section, which is used to skip the file without reading its entries.  If the ids of a section are of the same
+ * {@link Comparable} class, the entries are sorted by id and the summary has a sparse table of every
+ * {@link #SPARSE_INTERVAL}th entry, so a lookup binary searches the table and reads a single block of entries.
+ *
+ * @author agent (agent@local)
+ */
+public final class IdIndex {
+
+    private static final String INDEX_PREFIX = "_";
+    private static final String INDEX_SUFFIX = ".index";
+
+    static final int SPARSE_INTERVAL = 128;
+    static final int RUN_SIZE = 65536;
+
+    private static final KryoMapper KRYO_MAPPER = KryoMapper.build().create();
+    private static final ThreadLocal<Kryo> KRYO = ThreadLocal.withInitial(KRYO_MAPPER::createMapper);
+
+    private IdIndex() {
+    }
+
+    public static Path getIndexPath(final Path file) {
+        return new Path(file.getParent(), INDEX_PREFIX + file.getName() + INDEX_SUFFIX);
+    }
+
+    /**
+     * A split of the file that is read from the record at the offset.  The split starts one byte before the record,
+     * as record readers skip to the first record that starts after the start of their split (e.g. the rest of a
+     * line), unless the split is at the start of the file.
+     */
+    public static FileSplit getSplit(final Path file, final long fileLength, final long offset) {
+        final long start = Math.max(0l, offset - 1l);
+        return new FileSplit(file, start, fileLength - start, new String[]{});
+    }
+
+    /**
+     * Gets the offsets of the vertices in the file that have (or whose outgoing edges have) any of the ids, in the
+     * order of the file.
+     *
+     * @return the offsets or {@code null} if the file has no index
+     */
+    public static Set<Long> getOffsets(final FileSystem fileSystem, final Path file, final boolean edges, final Object... ids) throws IOException {
+        final Path indexPath = IdIndex.getIndexPath(file);
+        if (!fileSystem.exists(indexPath))
+            return null;
+
+        final Set<Long> offsets = new TreeSet<>();
+        final Kryo kryo = KRYO.get();
+        try (final FSDataInputStream stream = fileSystem.open(indexPath)) {
+            stream.seek(fileSystem.getFileStatus(indexPath).getLen() - 8l);
+            stream.seek(stream.readLong());
+            final Input input = new Input(stream);
+            final Summary vertexSummary = Summary.read(kryo, input);
+            final Summary edgeSummary = Summary.read(kryo, input);
+            final Summary summary = edges ? edgeSummary : vertexSummary;
+            final List<Object> indexedIds = summary.filter(ids);
+            if (indexedIds.isEmpty())
+                return offsets;
+
+            if (summary.sorted) {
+                // each id is only looked up in the block of entries that may hold it
+                for (final Object id : indexedIds) {
+                    final int block = summary.getBlock(id);
+                    stream.seek(summary.blockPositions[block]);
+                    input.setInputStream(stream);
+                    final long entries = Math.min(SPARSE_INTERVAL, summary.count - (long) block * SPARSE_INTERVAL);
+                    for (long i = 0; i < entries; i++) {
+                        final Object entryId = kryo.readClassAndObject(input);
+                        final long offset = input.readVarLong(true);
+                        final int compare = ((Comparable) entryId).compareTo(id);
+                        if (0 == compare)
+                            offsets.add(offset);
+                        else if (compare > 0)
+                            break;
+                    }
+                }
+            } else {
+                stream.seek(summary.entriesPosition);
+                input.setInputStream(stream);
+                final Set<Object> idSet = new HashSet<>(indexedIds);
+                for (long i = 0; i < summary.count; i++) {
+                    final Object id = kryo.readClassAndObject(input);
+                    final long offset = input.readVarLong(true);
+                    if (idSet.contains(id)) {
+                        offsets.add(offset);
+                        if (!edges && offsets.size() == idSet.size())
+                            break;
+                    }
+                }
+            }
+        }
+        return offsets;
+    }
+
+    static void write(final FileSystem fileSystem, final Path indexPath, final Entries vertexEntries, final Entries edgeEntries) throws IOException {
+        final Kryo kryo = KRYO.get();
+        try (final OutputStream outputStream = fileSystem.create(indexPath, true)) {
+            final Output output = new Output(outputStream);
+            final Summary vertexSummary = vertexEntries.write(kryo, output);
+            final Summary edgeSummary = edgeEntries.write(kryo, output);
+            final long footerPosition = output.total();
+            vertexSummary.write(kryo, output);
+            edgeSummary.write(kryo, output);
+            output.writeLong(footerPosition);
+            output.flush();
+        } finally {
+            vertexEntries.close();
+            edgeEntries.close();
+        }
+    }
+
+    /**
+     * The entries of a section of the index as they are written.  The entries are held in memory up to
+     * {@link #RUN_SIZE} of them, after which they are spilled to a local file as a sorted run.  The runs are merged
+     * as the section is written, so only a single entry of every run is held in memory at once.
+     */
+    static final class Entries implements Closeable {
+
+        private final List<Pair<Object, Long>> entries = new ArrayList<>();
+        private final List<File> runs = new ArrayList<>();
+        private Class<?> idClass = null;
+        private boolean sorted = true;
+
+        public void add(final Object id, final long offset) throws IOException {
+            if (null == this.idClass)
+                this.idClass = id.getClass();
+            this.sorted = this.sorted && id instanceof Comparable && this.idClass.equals(id.getClass());
+            this.entries.add(Pair.with(id, offset));
+            if (this.entries.size() >= RUN_SIZE)
+                this.spill();
+        }
+
+        private void spill() throws IOException {
+            final File run = File.createTempFile("idindex", ".run");
+            run.deleteOnExit();
+            this.runs.add(run);
+            this.sort();
+            final Kryo kryo = KRYO.get();
+            try (final Output output = new Output(new FileOutputStream(run))) {
+                output.writeVarInt(this.entries.size(), true);
+                for (final Pair<Object, Long> entry : this.entries) {
+                    kryo.writeClassAndObject(output, entry.getValue0());
+                    output.writeVarLong(entry.getValue1(), true);
+                }
+            }
+            this.entries.clear();
+        }
+
+        private void sort() {
+            if (this.sorted)
+                this.entries.sort((a, b) -> ((Comparable) a.getValue0()).compareTo(b.getValue0()));
+        }
+
+        private Summary write(final Kryo kryo, final Output output) throws IOException {
+            final Summary summary = new Summary();
+            summary.sorted = this.sorted && null != this.idClass;
+            summary.entriesPosition = output.total();
+            final List<Long> blockPositions = new ArrayList<>();
+            final List<Object> blockIds = new ArrayList<>();
+            if (this.runs.isEmpty()) {
+                this.sort();
+                for (final Pair<Object, Long> entry : this.entries) {
+                    summary.add(kryo, output, entry.getValue0(), entry.getValue1(), blockIds, blockPositions);
+                }
+            } else {
+                if (!this.entries.isEmpty())
+                    this.spill();
+                final List<Run> runs = new ArrayList<>();
+                try {
+                    for (final File file : this.runs) {
+                        runs.add(new Run(kryo, file));
+                    }
+                    if (summary.sorted) {
+                        final PriorityQueue<Run> merge = new PriorityQueue<>(runs.size(), (a, b) -> ((Comparable) a.id).compareTo(b.id));
+                        runs.stream().filter(Run::next).forEach(merge::add);
+                        while (!merge.isEmpty()) {
+                            final Run run = merge.poll();
+                            summary.add(kryo, output, run.id, run.offset, blockIds, blockPositions);
+                            if (run.next())
+                                merge.add(run);
+                        }
+                    } else {
+                        // unsorted runs are written in the order of the file
+                        for (final Run run : runs) {
+                            while (run.next()) {
+                                summary.add(kryo, output, run.id, run.offset, blockIds, blockPositions);
+                            }
+                        }
+                    }
+                } finally {
+                    for (final Run run : runs) {
+                        run.input.close();
+                    }
+                }
+            }
+            if (summary.sorted) {
+                summary.blockIds = blockIds.toArray();
+                summary.blockPositions = blockPositions.stream().mapToLong(Long::longValue).toArray();
+            }
+            return summary;
+        }
+
+        @Override
+        public void close() {
+            this.runs.forEach(File::delete);
+            this.runs.clear();
+            this.entries.clear();
+        }
+    }
+
+    private static final class Run {
+        private final Kryo kryo;
+        private final Input input;
+        private int remaining;
+        private Object id;
+        private long offset;
+
+        private Run(final Kryo kryo, final File file) throws IOException {
+            this.kryo = kryo;
+            this.input = new Input(new FileInputStream(file));
+            this.remaining = this.input.readVarInt(true);
+        }
+
+        private boolean next() {
+            if (0 == this.remaining)
+                return false;
+            this.remaining--;
+            this.id = this.kryo.readClassAndObject(this.input);
+            this.offset = this.input.readVarLong(true);
+            return true;
+        }
+    }
+
+    private static final class Summary {
+        private long count;
+        private boolean sorted;
+        private Object minId;
+        private Object maxId;
+        private long entriesPosition;
+        private Object[] blockIds;
+        private long[] blockPositions;
+
+        private void add(final Kryo kryo, final Output output, final Object id, final long offset, final List<Object> blockIds, final List<Long> blockPositions) {
+            if (this.sorted && 0 == this.count % SPARSE_INTERVAL) {
+                blockIds.add(id);
+                blockPositions.add(output.total());
+            }
+            if (0 == this.count)
+                this.minId = id;
+            this.maxId = id;
+            this.count++;
+            kryo.writeClassAndObject(output, id);
+            output.writeVarLong(offset, true);
+        }
+
+        private static Summary read(final Kryo kryo, final Input input) {
+            final Summary summary = new Summary();
+            summary.count = input.readVarLong(true);
+            summary.sorted = input.readBoolean();
+            summary.entriesPosition = input.readVarLong(true);
+            if (summary.sorted) {
+                summary.minId = kryo.readClassAndObject(input);
+                summary.maxId = kryo.readClassAndObject(input);
+                final int blocks = input.readVarInt(true);
+                summary.blockIds = new Object[blocks];
+                summary.blockPositions = new long[blocks];
+                for (int i = 0; i < blocks; i++) {
+                    summary.blockIds[i] = kryo.readClassAndObject(input);
+                    summary.blockPositions[i] = input.readVarLong(true);
+                }
+            }
+            return summary;
+        }
+
+        private void write(final Kryo kryo, final Output output) {
+            output.writeVarLong(this.count, true);
+            output.writeBoolean(this.sorted);
+            output.writeVarLong(this.entriesPosition, true);
+            if (this.sorted) {
+                kryo.writeClassAndObject(output, this.minId);
+                kryo.writeClassAndObject(output, this.maxId);
+                output.writeVarInt(this.blockIds.length, true);
+                for (int i = 0; i < this.blockIds.length; i++) {
+                    kryo.writeClassAndObject(output, this.blockIds[i]);
+                    output.writeVarLong(this.blockPositions[i], true);
+                }
+            }
+        }
+
+        /**
+         * The block of entries whose first id is the largest that is not larger than the id.
+         */
+        private int getBlock(final Object id) {
+            final int index = Arrays.binarySearch(this.blockIds, id, (Comparator) Comparator.naturalOrder());
+            return index >= 0 ? index : Math.max(0, -index - 2);
+        }
+
+        /**
+         * The ids that may be in the section.  If the section is sorted, only ids of the class of its ids that are
+         * within its smallest and largest id can be in it.
+         */
+        private List<Object> filter(final Object... ids) {
+            final List<Object> filtered = new ArrayList<>();
+            if (0 == this.count)
+                return filtered;
+            for (final Object id : ids) {
+                if (!this.sorted)
+                    filtered.add(id);
+                else if (this.minId.getClass().equals(id.getClass()) &&
+                        ((Comparable) this.minId).compareTo(id) <= 0 &&
+                        ((Comparable) this.maxId).compareTo(id) >= 0)
+                    filtered.add(id);
+            }
+            return filtered;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.tinkerpop.gremlin.hadoop.structure.hdfs;
+
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Vertex;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * A stream of a graph file that writes the {@link IdIndex} of the file when it is closed.  A record writer calls
+ * {@link #index(Vertex)} before it writes a vertex to the stream.  The entries of the index are spilled to local
+ * files as they accumulate, so the memory held does not grow with the size of the file.
+ *
+ * @author agent (agent@local)
+ */
+public final class IdIndexOutputStream extends DataOutputStream {
+
+    private final FileSystem fileSystem;
+    private final Path indexPath;
+    private final IdIndex.Entries vertexEntries = new IdIndex.Entries();
+    private final IdIndex.Entries edgeEntries = new IdIndex.Entries();
+
+    public IdIndexOutputStream(final OutputStream outputStream, final FileSystem fileSystem, final Path file) {
+        super(new PositionOutputStream(outputStream));
+        this.fileSystem = fileSystem;
+        this.indexPath = IdIndex.getIndexPath(file);
+    }
+
+    /**
+     * Indexes the vertex and its outgoing edges at the current position of the stream.
+     */
+    public void index(final Vertex vertex) throws IOException {
+        final long position = ((PositionOutputStream) this.out).position;
+        this.vertexEntries.add(vertex.id(), position);
+        final Iterator<Edge> edges = vertex.iterators().edgeIterator(Direction.OUT);
+        while (edges.hasNext()) {
+            this.edgeEntries.add(edges.next().id(), position);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        IdIndex.write(this.fileSystem, this.indexPath, this.vertexEntries, this.edgeEntries);
+    }
+
+    // DataOutputStream only counts the bytes written up to Integer.MAX_VALUE
+    private static final class PositionOutputStream extends FilterOutputStream {
+
+        private long position = 0l;
+
+        public PositionOutputStream(final OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.out.write(b);
+            this.position++;
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            this.out.write(bytes, offset, length);
+            this.position = this.position + length;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.tinkerpop.gremlin.hadoop.structure.io;
 
+import com.tinkerpop.gremlin.hadoop.Constants;
+import com.tinkerpop.gremlin.hadoop.structure.hdfs.IdIndexOutputStream;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -19,6 +21,14 @@ import java.io.IOException;
 public abstract class CommonFileOutputFormat extends FileOutputFormat<NullWritable, VertexWritable> {
 
     protected DataOutputStream getDataOuputStream(final TaskAttemptContext job) throws IOException, InterruptedException {
+        return this.getDataOuputStream(job, false);
+    }
+
+    /**
+     * If {@code indexable} and {@link Constants#GREMLIN_HADOOP_GRAPH_OUTPUT_INDEX} is true, the stream of an
+     * uncompressed file is an {@link IdIndexOutputStream} and the record writer must index the vertices it writes.
+     */
+    protected DataOutputStream getDataOuputStream(final TaskAttemptContext job, final boolean indexable) throws IOException, InterruptedException {
         final Configuration conf = job.getConfiguration();
         boolean isCompressed = getCompressOutput(job);
         CompressionCodec codec = null;
@@ -31,7 +41,9 @@ public abstract class CommonFileOutputFormat extends FileOutputFormat<NullWritab
         final Path file = super.getDefaultWorkFile(job, extension);
         final FileSystem fs = file.getFileSystem(conf);
         if (!isCompressed) {
-            return new DataOutputStream(fs.create(file, false));
+            return indexable && conf.getBoolean(Constants.GREMLIN_HADOOP_GRAPH_OUTPUT_INDEX, false) ?
+                    new IdIndexOutputStream(fs.create(file, false), fs, file) :
+                    new DataOutputStream(fs.create(file, false));
         } else {
             return new DataOutputStream(codec.createOutputStream(fs.create(file, false)));
         }
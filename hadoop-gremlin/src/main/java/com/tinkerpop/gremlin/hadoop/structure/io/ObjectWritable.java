@@ -1,7 +1,14 @@
 package com.tinkerpop.gremlin.hadoop.structure.io;
 
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Registration;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.tinkerpop.gremlin.structure.io.kryo.KryoMapper;
 import com.tinkerpop.gremlin.util.Serializer;
 import org.apache.hadoop.io.WritableComparable;
+import org.apache.hadoop.io.WritableComparator;
 import org.apache.hadoop.io.WritableUtils;
 
 import java.io.DataInput;
@@ -9,10 +16,31 @@ import java.io.DataOutput;
 import java.io.IOException;
 
 /**
+ * A {@link WritableComparable} of any object (e.g. messages, map-reduce keys and values, memory values).  The object
+ * is serialized with a {@link KryoMapper} configured {@link Kryo} and thus, the classes registered with it are
+ * written as an id.  An object that can not be serialized with Kryo (e.g. it is, or holds, an unregistered class) is
+ * serialized with Java serialization.  The bytes are not compressed -- use Hadoop's map output compression (e.g.
+ * {@code mapreduce.map.output.compress}) to compress them.
+ * <br/>
+ * The serialized form is the length of the bytes that follow, a byte denoting the serializer, and the serialized
+ * object.  {@link Comparator} is registered as the raw comparator of {@code ObjectWritable} and compares numbers
+ * directly from their bytes.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class ObjectWritable<T> implements WritableComparable<ObjectWritable> {
 
+    private static final byte KRYO = 0;
+    private static final byte JAVA = 1;
+
+    private static final KryoMapper KRYO_MAPPER = KryoMapper.build().create();
+    // kryo is not thread safe and objects are serialized by the compute threads of a worker
+    private static final ThreadLocal<KryoBuffers> KRYO_BUFFERS = ThreadLocal.withInitial(KryoBuffers::new);
+
+    static {
+        WritableComparator.define(ObjectWritable.class, new Comparator());
+    }
+
     T t;
 
     public ObjectWritable() {
@@ -37,23 +65,56 @@ public final class ObjectWritable<T> implements WritableComparable<ObjectWritabl
 
     @Override
     public void readFields(final DataInput input) throws IOException {
-        try {
-            this.t = (T) Serializer.deserializeObject(WritableUtils.readCompressedByteArray(input));
-        } catch (final ClassNotFoundException e) {
-            throw new IOException(e.getMessage(), e);
-        }
-        //this.t = (T) Constants.KRYO.readClassAndObject(new Input(new ByteArrayInputStream(WritableUtils.readCompressedByteArray(input))));
+        final byte[] bytes = new byte[WritableUtils.readVInt(input)];
+        input.readFully(bytes);
+        this.t = (T) ObjectWritable.readObject(bytes, 0, bytes.length);
     }
 
     @Override
     public void write(final DataOutput output) throws IOException {
-        WritableUtils.writeCompressedByteArray(output, Serializer.serializeObject(this.t));
-        /*final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        final Output out = new Output(outputStream);
-        Constants.KRYO.writeClassAndObject(out, this.t);
-        out.flush();
-        WritableUtils.writeCompressedByteArray(output, outputStream.toByteArray());
-        out.close();*/
+        final KryoBuffers buffers = KRYO_BUFFERS.get();
+        final Output out = buffers.output;
+        out.clear();
+        out.writeByte(KRYO);
+        if (null == this.t || null != buffers.kryo.getClassResolver().getRegistration(this.t.getClass())) {
+            try {
+                buffers.kryo.writeClassAndObject(out, this.t);
+            } catch (final KryoException | IllegalArgumentException e) {
+                // a registered class that holds an unregistered class (e.g. a HashMap of javatuples)
+                out.clear();
+                out.writeByte(JAVA);
+                out.writeBytes(Serializer.serializeObject(this.t));
+            }
+        } else {
+            out.clear();
+            out.writeByte(JAVA);
+            out.writeBytes(Serializer.serializeObject(this.t));
+        }
+        WritableUtils.writeVInt(output, out.position());
+        output.write(out.getBuffer(), 0, out.position());
+    }
+
+    /**
+     * Reads the object of a serialized {@code ObjectWritable} without its length (see {@link #write(DataOutput)}).
+     */
+    public static Object readObject(final byte[] bytes, final int start, final int length) throws IOException {
+        if (JAVA == bytes[start]) {
+            final byte[] javaBytes = new byte[length - 1];
+            System.arraycopy(bytes, start + 1, javaBytes, 0, javaBytes.length);
+            try {
+                return Serializer.deserializeObject(javaBytes);
+            } catch (final ClassNotFoundException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        } else {
+            final KryoBuffers buffers = KRYO_BUFFERS.get();
+            buffers.input.setBuffer(bytes, start + 1, length - 1);
+            try {
+                return buffers.kryo.readClassAndObject(buffers.input);
+            } catch (final KryoException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
     }
 
     @Override
@@ -83,4 +144,57 @@ public final class ObjectWritable<T> implements WritableComparable<ObjectWritabl
     public int hashCode() {
         return this.isEmpty() ? 0 : this.t.hashCode();
     }
+
+    private static final class KryoBuffers {
+        private final Kryo kryo = KRYO_MAPPER.createMapper();
+        private final Output output = new Output(256, -1);
+        private final Input input = new Input();
+        private final Input otherInput = new Input();
+    }
+
+    /**
+     * Compares serialized {@code ObjectWritable}s in the order of {@link #compareTo(ObjectWritable)}.  Identical
+     * bytes are equal and {@code Integer}, {@code Long} and {@code Double} objects are compared as they are read from
+     * the bytes, without being deserialized into an {@code ObjectWritable}.  Any other objects are deserialized and
+     * compared.
+     */
+    public static class Comparator extends WritableComparator {
+
+        public Comparator() {
+            super(ObjectWritable.class);
+        }
+
+        @Override
+        public int compare(final byte[] bytes1, final int start1, final int length1, final byte[] bytes2, final int start2, final int length2) {
+            if (0 == WritableComparator.compareBytes(bytes1, start1, length1, bytes2, start2, length2))
+                return 0;
+            try {
+                final int size1 = WritableUtils.decodeVIntSize(bytes1[start1]);
+                final int size2 = WritableUtils.decodeVIntSize(bytes2[start2]);
+                if (KRYO == bytes1[start1 + size1] && KRYO == bytes2[start2 + size2]) {
+                    final KryoBuffers buffers = KRYO_BUFFERS.get();
+                    final Input input1 = buffers.input;
+                    final Input input2 = buffers.otherInput;
+                    input1.setBuffer(bytes1, start1 + size1 + 1, length1 - size1 - 1);
+                    input2.setBuffer(bytes2, start2 + size2 + 1, length2 - size2 - 1);
+                    final Registration registration1 = buffers.kryo.readClass(input1);
+                    final Registration registration2 = buffers.kryo.readClass(input2);
+                    if (null != registration1 && null != registration2 && registration1.getType().equals(registration2.getType())) {
+                        final Class type = registration1.getType();
+                        if (Long.class.equals(type))
+                            return Long.compare(input1.readLong(false), input2.readLong(false));
+                        else if (Integer.class.equals(type))
+                            return Integer.compare(input1.readInt(false), input2.readInt(false));
+                        else if (Double.class.equals(type))
+                            return Double.compare(input1.readDouble(), input2.readDouble());
+                    }
+                }
+                final Object object1 = ObjectWritable.readObject(bytes1, start1 + size1, length1 - size1);
+                final Object object2 = ObjectWritable.readObject(bytes2, start2 + size2, length2 - size2);
+                return object1 instanceof Comparable ? ((Comparable) object1).compareTo(object2) : 0;
+            } catch (final IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+    }
 }
@@ -5,14 +5,17 @@ import com.tinkerpop.gremlin.process.computer.MapReduce;
 import org.apache.hadoop.conf.Configurable;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.io.RawComparator;
+import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.io.WritableUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
 import java.util.Comparator;
 
 /**
+ * Sorts the serialized {@link ObjectWritable} keys of a {@link MapReduce} job with the key sort of the
+ * {@link MapReduce}.  The keys are read directly from the bytes and identical keys are not read at all.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public abstract class ObjectWritableComparator implements RawComparator<ObjectWritable>, Configurable {
@@ -21,8 +24,6 @@ public abstract class ObjectWritableComparator implements RawComparator<ObjectWr
 
     protected Configuration configuration;
     protected Comparator comparator;
-    private final ObjectWritable objectWritable1 = new ObjectWritable();
-    private final ObjectWritable objectWritable2 = new ObjectWritable();
 
     @Override
     public int compare(final ObjectWritable objectWritable1, final ObjectWritable objectWritable2) {
@@ -30,12 +31,13 @@ public abstract class ObjectWritableComparator implements RawComparator<ObjectWr
     }
 
     @Override
-    public int compare(byte[] bytes, int i, int i1, byte[] bytes1, int i2, int i3) {
+    public int compare(final byte[] bytes1, final int start1, final int length1, final byte[] bytes2, final int start2, final int length2) {
+        if (0 == WritableComparator.compareBytes(bytes1, start1, length1, bytes2, start2, length2))
+            return 0;
         try {
-            this.objectWritable1.readFields(new DataInputStream(new ByteArrayInputStream(bytes, i, i1)));
-            this.objectWritable2.readFields(new DataInputStream(new ByteArrayInputStream(bytes1, i2, i3)));
-            //System.out.println(objectWritable1 + "<=>" + objectWritable2 + ":::" + this.comparator.compare(objectWritable1.get(), objectWritable2.get()));
-            return this.comparator.compare(this.objectWritable1.get(), this.objectWritable2.get());
+            final int size1 = WritableUtils.decodeVIntSize(bytes1[start1]);
+            final int size2 = WritableUtils.decodeVIntSize(bytes2[start2]);
+            return this.comparator.compare(ObjectWritable.readObject(bytes1, start1 + size1, length1 - size1), ObjectWritable.readObject(bytes2, start2 + size2, length2 - size2));
         } catch (final Exception e) {
             LOGGER.error(e.getMessage());
             throw new IllegalStateException(e.getMessage());
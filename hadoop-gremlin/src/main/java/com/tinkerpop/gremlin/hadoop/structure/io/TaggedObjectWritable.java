@@ -0,0 +1,81 @@
+package com.tinkerpop.gremlin.hadoop.structure.io;
+
+import org.apache.hadoop.io.WritableComparable;
+import org.apache.hadoop.io.WritableUtils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * An {@link ObjectWritable} tagged with the index of the {@link com.tinkerpop.gremlin.process.computer.MapReduce}
+ * that emitted it.  It is the key of a Hadoop job that executes many {@code MapReduce} jobs at once, so that the keys
+ * of each {@code MapReduce} are sorted and reduced apart from the keys of the others.
+ *
+ * @author agent (agent@local)
+ */
+public final class TaggedObjectWritable<T> implements WritableComparable<TaggedObjectWritable> {
+
+    private int tag;
+    private final ObjectWritable<T> objectWritable = new ObjectWritable<>();
+
+    public TaggedObjectWritable() {
+    }
+
+    public TaggedObjectWritable(final int tag, final T t) {
+        this.set(tag, t);
+    }
+
+    public int getTag() {
+        return this.tag;
+    }
+
+    public T get() {
+        return this.objectWritable.get();
+    }
+
+    public ObjectWritable<T> getObjectWritable() {
+        return this.objectWritable;
+    }
+
+    public void set(final int tag, final T t) {
+        this.tag = tag;
+        this.objectWritable.set(t);
+    }
+
+    @Override
+    public void readFields(final DataInput input) throws IOException {
+        this.tag = WritableUtils.readVInt(input);
+        this.objectWritable.readFields(input);
+    }
+
+    @Override
+    public void write(final DataOutput output) throws IOException {
+        WritableUtils.writeVInt(output, this.tag);
+        this.objectWritable.write(output);
+    }
+
+    @Override
+    public int compareTo(final TaggedObjectWritable taggedObjectWritable) {
+        return this.tag == taggedObjectWritable.tag ?
+                this.objectWritable.compareTo(taggedObjectWritable.objectWritable) :
+                Integer.compare(this.tag, taggedObjectWritable.tag);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof TaggedObjectWritable &&
+                this.tag == ((TaggedObjectWritable) other).tag &&
+                this.objectWritable.equals(((TaggedObjectWritable) other).objectWritable);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.tag + this.objectWritable.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.tag + ":" + this.objectWritable.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package com.tinkerpop.gremlin.hadoop.structure.io;
+
+import com.tinkerpop.gremlin.hadoop.process.computer.util.MapReduceHelper;
+import com.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.hadoop.conf.Configurable;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.RawComparator;
+import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.io.WritableUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorts the serialized {@link TaggedObjectWritable} keys of a fused {@link MapReduce} job by their tag and then, by
+ * the map key sort of the tagged {@link MapReduce} or the {@link ObjectWritable.Comparator} if it has none.
+ *
+ * @author agent (agent@local)
+ */
+public class TaggedObjectWritableComparator implements RawComparator<TaggedObjectWritable>, Configurable {
+
+    public static final Logger LOGGER = LoggerFactory.getLogger(TaggedObjectWritableComparator.class);
+
+    private final ObjectWritable.Comparator objectWritableComparator = new ObjectWritable.Comparator();
+    protected Configuration configuration;
+    protected Comparator[] comparators;
+
+    @Override
+    public int compare(final TaggedObjectWritable taggedObjectWritable1, final TaggedObjectWritable taggedObjectWritable2) {
+        if (taggedObjectWritable1.getTag() != taggedObjectWritable2.getTag())
+            return Integer.compare(taggedObjectWritable1.getTag(), taggedObjectWritable2.getTag());
+        final Comparator comparator = this.comparators[taggedObjectWritable1.getTag()];
+        return null == comparator ?
+                taggedObjectWritable1.getObjectWritable().compareTo(taggedObjectWritable2.getObjectWritable()) :
+                comparator.compare(taggedObjectWritable1.get(), taggedObjectWritable2.get());
+    }
+
+    @Override
+    public int compare(final byte[] bytes1, final int start1, final int length1, final byte[] bytes2, final int start2, final int length2) {
+        if (0 == WritableComparator.compareBytes(bytes1, start1, length1, bytes2, start2, length2))
+            return 0;
+        try {
+            final int tag1 = WritableComparator.readVInt(bytes1, start1);
+            final int tag2 = WritableComparator.readVInt(bytes2, start2);
+            if (tag1 != tag2)
+                return Integer.compare(tag1, tag2);
+            final int tagSize = WritableUtils.decodeVIntSize(bytes1[start1]);
+            final Comparator comparator = this.comparators[tag1];
+            if (null == comparator)
+                return this.objectWritableComparator.compare(bytes1, start1 + tagSize, length1 - tagSize, bytes2, start2 + tagSize, length2 - tagSize);
+            final int size1 = tagSize + WritableUtils.decodeVIntSize(bytes1[start1 + tagSize]);
+            final int size2 = tagSize + WritableUtils.decodeVIntSize(bytes2[start2 + tagSize]);
+            return comparator.compare(ObjectWritable.readObject(bytes1, start1 + size1, length1 - size1), ObjectWritable.readObject(bytes2, start2 + size2, length2 - size2));
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage());
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Configuration getConf() {
+        return this.configuration;
+    }
+
+    @Override
+    public void setConf(final Configuration configuration) {
+        this.configuration = configuration;
+        final List<MapReduce> mapReduces = MapReduceHelper.loadFusedMapReduces(configuration);
+        this.comparators = new Comparator[mapReduces.size()];
+        for (int i = 0; i < this.comparators.length; i++) {
+            this.comparators[i] = (Comparator) mapReduces.get(i).getMapKeySort().orElse(null);
+        }
+    }
+}
@@ -1,14 +1,11 @@
 package com.tinkerpop.gremlin.hadoop.structure.io;
 
 import com.tinkerpop.gremlin.structure.Direction;
-import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.io.kryo.KryoReader;
 import com.tinkerpop.gremlin.structure.io.kryo.KryoWriter;
 import com.tinkerpop.gremlin.structure.util.ElementHelper;
-import com.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
-import com.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
-import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import com.tinkerpop.gremlin.structure.util.star.StarVertex;
 import org.apache.hadoop.io.Writable;
 import org.apache.hadoop.io.WritableUtils;
 
@@ -17,15 +14,26 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.io.InputStream;
 
 /**
+ * A {@link Writable} of a vertex and its incident edges.  A vertex that is read is a {@link StarVertex}, but it is
+ * only deserialized when it is first accessed, so a vertex that is read and written again without being accessed
+ * (e.g. when moved between workers) is copied as bytes.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class VertexWritable<V extends Vertex> implements Writable {
 
     private Vertex vertex;
-    private static final KryoWriter KRYO_WRITER = KryoWriter.build().create();
-    private static final KryoReader KRYO_READER = KryoReader.build().create();
+    private byte[] vertexBytes;
+
+    // kryo is not thread safe and vertices are deserialized as they are accessed by the compute threads
+    private static final ThreadLocal<KryoWriter> KRYO_WRITER = ThreadLocal.withInitial(() -> KryoWriter.build().create());
+    private static final ThreadLocal<KryoReader> KRYO_READER = ThreadLocal.withInitial(() -> KryoReader.build().create());
+
+    public VertexWritable() {
+    }
 
     public VertexWritable(final Vertex vertex) {
         this.vertex = vertex;
@@ -33,43 +41,66 @@ public final class VertexWritable<V extends Vertex> implements Writable {
 
     public void set(final Vertex vertex) {
         this.vertex = vertex;
+        this.vertexBytes = null;
     }
 
     public Vertex get() {
+        if (null != this.vertexBytes) {
+            try {
+                this.vertex = VertexWritable.readStarVertex(this.vertexBytes);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            // the vertex may be changed once it is accessed so the bytes no longer represent it
+            this.vertexBytes = null;
+        }
         return this.vertex;
     }
 
     @Override
     public void readFields(final DataInput input) throws IOException {
-        final ByteArrayInputStream inputStream = new ByteArrayInputStream(new byte[WritableUtils.readVInt(input)]);
-        final Graph gLocal = TinkerGraph.open();
-        this.vertex = KRYO_READER.readVertex(inputStream, Direction.BOTH,
-                detachedVertex -> DetachedVertex.addTo(gLocal, detachedVertex),
-                detachedEdge -> DetachedEdge.addTo(gLocal, detachedEdge));
-
+        this.vertex = null;
+        this.vertexBytes = new byte[WritableUtils.readVInt(input)];
+        input.readFully(this.vertexBytes);
     }
 
     @Override
     public void write(final DataOutput output) throws IOException {
-        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        KRYO_WRITER.writeVertex(outputStream, this.vertex, Direction.BOTH);
-        WritableUtils.writeVInt(output, outputStream.size());
-        output.write(outputStream.toByteArray());
-        outputStream.close();
+        final byte[] bytes;
+        if (null != this.vertexBytes)
+            bytes = this.vertexBytes;
+        else {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            KRYO_WRITER.get().writeVertex(outputStream, this.vertex, Direction.BOTH);
+            outputStream.close();
+            bytes = outputStream.toByteArray();
+        }
+        WritableUtils.writeVInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    private static StarVertex readStarVertex(final byte[] bytes) throws IOException {
+        final StarVertex[] starVertex = new StarVertex[1];
+        try (final InputStream inputStream = new ByteArrayInputStream(bytes)) {
+            KRYO_READER.get().readVertex(inputStream, Direction.BOTH,
+                    detachedVertex -> starVertex[0] = StarVertex.of(detachedVertex),
+                    detachedEdge -> starVertex[0].copyEdge(detachedEdge));
+        }
+        return starVertex[0];
     }
 
     @Override
     public boolean equals(final Object other) {
-        return other instanceof VertexWritable && ElementHelper.areEqual(this.vertex, ((VertexWritable) other).get());
+        return other instanceof VertexWritable && ElementHelper.areEqual(this.get(), ((VertexWritable) other).get());
     }
 
     @Override
     public int hashCode() {
-        return this.vertex.hashCode();
+        return this.get().hashCode();
     }
 
     @Override
     public String toString() {
-        return this.vertex.toString();
+        return this.get().toString();
     }
 }
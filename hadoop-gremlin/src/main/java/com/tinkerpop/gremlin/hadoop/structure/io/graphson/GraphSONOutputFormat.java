@@ -16,7 +16,7 @@ public class GraphSONOutputFormat extends CommonFileOutputFormat {
 
     @Override
     public RecordWriter<NullWritable, VertexWritable> getRecordWriter(final TaskAttemptContext job) throws IOException, InterruptedException {
-        return new GraphSONRecordWriter(getDataOuputStream(job));
+        return new GraphSONRecordWriter(getDataOuputStream(job, true));
     }
 
     public RecordWriter<NullWritable, VertexWritable> getRecordWriter(final TaskAttemptContext job, final DataOutputStream outputStream) throws IOException, InterruptedException {
@@ -1,5 +1,6 @@
 package com.tinkerpop.gremlin.hadoop.structure.io.graphson;
 
+import com.tinkerpop.gremlin.hadoop.structure.hdfs.IdIndexOutputStream;
 import com.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
 import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.io.graphson.GraphSONWriter;
@@ -35,6 +36,8 @@ public class GraphSONRecordWriter extends RecordWriter<NullWritable, VertexWrita
     @Override
     public void write(final NullWritable key, final VertexWritable vertex) throws IOException {
         if (null != vertex) {
+            if (this.out instanceof IdIndexOutputStream)
+                ((IdIndexOutputStream) this.out).index(vertex.get());
             GRAPHSON_WRITER.writeVertex(out, vertex.get(), Direction.BOTH);
             this.out.write(NEWLINE);
         }
@@ -16,7 +16,7 @@ public class KryoOutputFormat extends CommonFileOutputFormat {
 
     @Override
     public RecordWriter<NullWritable, VertexWritable> getRecordWriter(final TaskAttemptContext job) throws IOException, InterruptedException {
-        return new KryoRecordWriter(getDataOuputStream(job));
+        return new KryoRecordWriter(getDataOuputStream(job, true));
     }
 
     public RecordWriter<NullWritable, VertexWritable> getRecordWriter(final TaskAttemptContext job, final DataOutputStream outputStream) throws IOException, InterruptedException {
@@ -1,5 +1,6 @@
 package com.tinkerpop.gremlin.hadoop.structure.io.kryo;
 
+import com.tinkerpop.gremlin.hadoop.structure.hdfs.IdIndexOutputStream;
 import com.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
 import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.io.kryo.KryoWriter;
@@ -25,6 +26,8 @@ public class KryoRecordWriter extends RecordWriter<NullWritable, VertexWritable>
     @Override
     public void write(final NullWritable key, final VertexWritable vertex) throws IOException {
         if (null != vertex) {
+            if (this.out instanceof IdIndexOutputStream)
+                ((IdIndexOutputStream) this.out).index(vertex.get());
             KRYO_WRITER.writeVertex(out, vertex.get(), Direction.BOTH);
         }
     }
@@ -0,0 +1,50 @@
+package com.tinkerpop.gremlin.hadoop.structure.io.kryo;
+
+import com.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import com.tinkerpop.gremlin.structure.util.star.StarVertex;
+import org.apache.hadoop.conf.Configurable;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.SequenceFileRecordReader;
+
+import java.io.IOException;
+
+/**
+ * Reads the block compressed {@link SequenceFile} of Gremlin Kryo vertices written by
+ * {@link KryoSequenceOutputFormat}.  Unlike {@link KryoInputFormat}, a split does not scan the bytes of its vertices
+ * for the vertex header as the record reader seeks to the first sync marker of the split and from there reads whole
+ * blocks.  Thus, the files are splittable even though they are compressed.  A vertex is a {@link StarVertex} that
+ * is only deserialized when it is accessed.
+ *
+ * @author agent (agent@local)
+ */
+public class KryoSequenceInputFormat extends SequenceFileInputFormat<NullWritable, VertexWritable> implements Configurable {
+
+    private Configuration config;
+
+    @Override
+    public RecordReader<NullWritable, VertexWritable> createRecordReader(final InputSplit split, final TaskAttemptContext context) throws IOException {
+        final RecordReader<NullWritable, VertexWritable> reader = new SequenceFileRecordReader<>();
+        try {
+            reader.initialize(split, context);
+        } catch (final InterruptedException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return reader;
+    }
+
+    @Override
+    public void setConf(final Configuration config) {
+        this.config = config;
+    }
+
+    @Override
+    public Configuration getConf() {
+        return this.config;
+    }
+}
@@ -0,0 +1,50 @@
+package com.tinkerpop.gremlin.hadoop.structure.io.kryo;
+
+import com.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.util.ReflectionUtils;
+
+import java.io.IOException;
+
+/**
+ * Writes the graph as a block compressed {@link SequenceFile} of Gremlin Kryo vertices (see
+ * {@link KryoSequenceInputFormat}).  Vertices are buffered into blocks of {@code io.seqfile.compress.blocksize}
+ * bytes that are compressed with the codec of {@code mapred.output.compression.codec} (default
+ * {@link DefaultCodec}) and a sync marker is written before each block.  Output compression need not be enabled.
+ *
+ * @author agent (agent@local)
+ */
+public class KryoSequenceOutputFormat extends FileOutputFormat<NullWritable, VertexWritable> {
+
+    @Override
+    public RecordWriter<NullWritable, VertexWritable> getRecordWriter(final TaskAttemptContext job) throws IOException, InterruptedException {
+        return this.getRecordWriter(job, super.getDefaultWorkFile(job, ""));
+    }
+
+    public RecordWriter<NullWritable, VertexWritable> getRecordWriter(final TaskAttemptContext job, final Path file) throws IOException, InterruptedException {
+        final Configuration conf = job.getConfiguration();
+        final CompressionCodec codec = ReflectionUtils.newInstance(getOutputCompressorClass(job, DefaultCodec.class), conf);
+        final SequenceFile.Writer writer = SequenceFile.createWriter(file.getFileSystem(conf), conf, file,
+                NullWritable.class, VertexWritable.class, SequenceFile.CompressionType.BLOCK, codec, job);
+        return new RecordWriter<NullWritable, VertexWritable>() {
+            @Override
+            public void write(final NullWritable key, final VertexWritable vertex) throws IOException {
+                if (null != vertex)
+                    writer.append(key, vertex);
+            }
+
+            @Override
+            public synchronized void close(final TaskAttemptContext context) throws IOException {
+                writer.close();
+            }
+        };
+    }
+}
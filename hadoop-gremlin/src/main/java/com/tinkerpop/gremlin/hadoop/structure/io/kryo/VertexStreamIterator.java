@@ -2,20 +2,15 @@ package com.tinkerpop.gremlin.hadoop.structure.io.kryo;
 
 import com.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
 import com.tinkerpop.gremlin.structure.Direction;
-import com.tinkerpop.gremlin.structure.Edge;
-import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.io.kryo.KryoReader;
-import com.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
-import com.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
-import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import com.tinkerpop.gremlin.structure.util.star.StarVertex;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Iterator;
-import java.util.function.Function;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -116,12 +111,13 @@ public class VertexStreamIterator implements Iterator<VertexWritable> {
                 }
 
                 if (terminated) {
-                    final Graph gLocal = TinkerGraph.open();
-                    final Function<DetachedVertex, Vertex> vertexMaker = detachedVertex -> DetachedVertex.addTo(gLocal, detachedVertex);
-                    final Function<DetachedEdge, Edge> edgeMaker = detachedEdge -> DetachedEdge.addTo(gLocal, detachedEdge);
+                    final StarVertex[] starVertex = new StarVertex[1];
                     try (InputStream in = new ByteArrayInputStream(this.output.toByteArray())) {
-                        return KRYO_READER.readVertex(in, Direction.BOTH, vertexMaker, edgeMaker);
+                        KRYO_READER.readVertex(in, Direction.BOTH,
+                                detachedVertex -> starVertex[0] = StarVertex.of(detachedVertex),
+                                detachedEdge -> starVertex[0].copyEdge(detachedEdge));
                     }
+                    return starVertex[0];
                 }
             }
         }
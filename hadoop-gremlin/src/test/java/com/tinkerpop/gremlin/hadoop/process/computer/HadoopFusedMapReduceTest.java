@@ -0,0 +1,323 @@
+package com.tinkerpop.gremlin.hadoop.process.computer;
+
+import com.tinkerpop.gremlin.hadoop.process.computer.util.MapReduceHelper;
+import com.tinkerpop.gremlin.hadoop.structure.io.ObjectWritable;
+import com.tinkerpop.gremlin.hadoop.structure.io.TaggedObjectWritable;
+import com.tinkerpop.gremlin.hadoop.structure.io.TaggedObjectWritableComparator;
+import com.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import com.tinkerpop.gremlin.process.computer.KeyValue;
+import com.tinkerpop.gremlin.process.computer.MapReduce;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.commons.configuration.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.javatuples.Pair;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Executes the map, combine and reduce stages of a fused job on the modern graph.  The first fused {@link MapReduce}
+ * counts the vertices of some labels, the second sorts the vertex ids in descending order without a reduce stage.
+ *
+ * @author agent (agent@local)
+ */
+public class HadoopFusedMapReduceTest {
+
+    private final org.apache.hadoop.conf.Configuration configuration = new org.apache.hadoop.conf.Configuration();
+
+    @Before
+    public void setUp() {
+        MapReduceHelper.storeFusedMapReduces(Arrays.asList(
+                new LabelCountMapReduce("counts", Arrays.asList("person", "software")),
+                new IdSortMapReduce("ids")), this.configuration);
+    }
+
+    @Test
+    public void shouldStoreAndLoadFusedMapReduces() {
+        final List<MapReduce> mapReduces = MapReduceHelper.loadFusedMapReduces(this.configuration);
+        assertEquals(2, mapReduces.size());
+        assertEquals(LabelCountMapReduce.class, mapReduces.get(0).getClass());
+        assertEquals("counts", mapReduces.get(0).getMemoryKey());
+        // multi-valued properties keep their values
+        assertEquals(Arrays.asList("person", "software"), ((LabelCountMapReduce) mapReduces.get(0)).labels);
+        assertEquals(IdSortMapReduce.class, mapReduces.get(1).getClass());
+        assertEquals("ids", mapReduces.get(1).getMemoryKey());
+        assertEquals("ids/part", MapReduceHelper.getFusedOutputName(mapReduces.get(1)));
+    }
+
+    @Test
+    public void shouldTagMapOutputWithItsMapReduce() throws Exception {
+        final HadoopFusedMap map = ReflectionUtils.newInstance(HadoopFusedMap.class, this.configuration);
+        final List<Pair<TaggedObjectWritable, Object>> pairs = new ArrayList<>();
+        final Mapper.Context context = mock(Mapper.Context.class);
+        when(context.getConfiguration()).thenReturn(this.configuration);
+        when(context.getNumReduceTasks()).thenReturn(1);
+        doAnswer(invocation -> {
+            final TaggedObjectWritable key = (TaggedObjectWritable) invocation.getArguments()[0];
+            pairs.add(Pair.with(new TaggedObjectWritable<>(key.getTag(), key.get()), ((ObjectWritable) invocation.getArguments()[1]).get()));
+            return null;
+        }).when(context).write(any(), any());
+
+        map.setup(context);
+        final Iterator<Vertex> vertices = TinkerFactory.createModern().iterators().vertexIterator();
+        while (vertices.hasNext()) {
+            map.map(NullWritable.get(), new VertexWritable(vertices.next()), context);
+        }
+        map.cleanup(context);
+
+        assertEquals(12, pairs.size());
+        assertEquals(6, pairs.stream().filter(pair -> 0 == pair.getValue0().getTag()).count());
+        assertEquals(4, pairs.stream().filter(pair -> pair.getValue0().equals(new TaggedObjectWritable<>(0, "person"))).count());
+        assertEquals(2, pairs.stream().filter(pair -> pair.getValue0().equals(new TaggedObjectWritable<>(0, "software"))).count());
+        assertTrue(pairs.stream().filter(pair -> 0 == pair.getValue0().getTag()).allMatch(pair -> pair.getValue1().equals(1l)));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), pairs.stream()
+                .filter(pair -> 1 == pair.getValue0().getTag())
+                .map(pair -> pair.getValue0().get())
+                .sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldSortTaggedKeysByTagAndMapKeySort() throws Exception {
+        final TaggedObjectWritableComparator comparator = ReflectionUtils.newInstance(TaggedObjectWritableComparator.class, this.configuration);
+        final List<TaggedObjectWritable> keys = Arrays.asList(
+                new TaggedObjectWritable<>(1, 2), new TaggedObjectWritable<>(0, "software"), new TaggedObjectWritable<>(1, 6),
+                new TaggedObjectWritable<>(0, "person"), new TaggedObjectWritable<>(1, 4));
+        final List<TaggedObjectWritable> sorted = new ArrayList<>(keys);
+        Collections.sort(sorted, comparator);
+        assertEquals(Arrays.asList(
+                new TaggedObjectWritable<>(0, "person"), new TaggedObjectWritable<>(0, "software"),
+                new TaggedObjectWritable<>(1, 6), new TaggedObjectWritable<>(1, 4), new TaggedObjectWritable<>(1, 2)), sorted);
+
+        // the serialized keys are sorted in the same order
+        for (final TaggedObjectWritable key1 : keys) {
+            for (final TaggedObjectWritable key2 : keys) {
+                final byte[] bytes1 = serialize(key1);
+                final byte[] bytes2 = serialize(key2);
+                assertEquals(Integer.signum(comparator.compare(key1, key2)), Integer.signum(comparator.compare(bytes1, 0, bytes1.length, bytes2, 0, bytes2.length)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldOnlyCombineTheMapReducesWithACombineStage() throws Exception {
+        final HadoopFusedCombine combine = ReflectionUtils.newInstance(HadoopFusedCombine.class, this.configuration);
+        final List<Pair<TaggedObjectWritable, Object>> pairs = new ArrayList<>();
+        final Reducer.Context context = mock(Reducer.Context.class);
+        when(context.getConfiguration()).thenReturn(this.configuration);
+        doAnswer(invocation -> {
+            final TaggedObjectWritable key = (TaggedObjectWritable) invocation.getArguments()[0];
+            pairs.add(Pair.with(new TaggedObjectWritable<>(key.getTag(), key.get()), ((ObjectWritable) invocation.getArguments()[1]).get()));
+            return null;
+        }).when(context).write(any(), any());
+
+        combine.setup(context);
+        combine.reduce(new TaggedObjectWritable<>(0, "person"), values(1l, 1l, 1l), context);
+        combine.reduce(new TaggedObjectWritable<>(1, 4), values("person"), context);
+
+        assertEquals(Arrays.asList(
+                Pair.with(new TaggedObjectWritable<>(0, "person"), 3l),
+                Pair.with(new TaggedObjectWritable<>(1, 4), "person")), pairs);
+    }
+
+    @Test
+    public void shouldReduceIntoTheOutputOfEachMemoryKey() throws Exception {
+        final File directory = Files.createTempDirectory("fused").toFile();
+        directory.deleteOnExit();
+        this.configuration.set("mapred.output.dir", directory.toURI().toString());
+
+        final HadoopFusedReduce reduce = ReflectionUtils.newInstance(HadoopFusedReduce.class, this.configuration);
+        final Reducer.Context context = mock(Reducer.Context.class);
+        when(context.getConfiguration()).thenReturn(this.configuration);
+        when(context.getTaskAttemptID()).thenReturn(new TaskAttemptID("fused", 0, false, 0, 0));
+
+        reduce.setup(context);
+        reduce.reduce(new TaggedObjectWritable<>(0, "person"), values(3l, 1l), context);
+        reduce.reduce(new TaggedObjectWritable<>(0, "software"), values(2l), context);
+        reduce.reduce(new TaggedObjectWritable<>(1, 4), values("person"), context);
+        reduce.cleanup(context);
+
+        final Map<String, List<String>> lines = new HashMap<>();
+        Files.walk(directory.toPath())
+                .filter(path -> path.getFileName().toString().startsWith("part"))
+                .forEach(path -> lines.put(path.getParent().getFileName().toString(), readLines(path)));
+        assertEquals(Arrays.asList("person\t4", "software\t2"), lines.get("counts"));
+        assertEquals(Collections.singletonList("4\tperson"), lines.get("ids"));
+    }
+
+    private static Iterable<ObjectWritable> values(final Object... values) {
+        return Arrays.stream(values).map(ObjectWritable::new).collect(Collectors.toList());
+    }
+
+    private static byte[] serialize(final TaggedObjectWritable key) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        key.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static List<String> readLines(final Path path) {
+        try {
+            return Files.readAllLines(path);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static class LabelCountMapReduce implements MapReduce<String, Long, String, Long, Map<String, Long>> {
+
+        private static final String MEMORY_KEY = "gremlin.labelCountMapReduce.memoryKey";
+        private static final String LABELS = "gremlin.labelCountMapReduce.labels";
+
+        private String memoryKey;
+        private List<Object> labels;
+
+        private LabelCountMapReduce() {
+
+        }
+
+        private LabelCountMapReduce(final String memoryKey, final List<Object> labels) {
+            this.memoryKey = memoryKey;
+            this.labels = labels;
+        }
+
+        @Override
+        public void storeState(final Configuration configuration) {
+            MapReduce.super.storeState(configuration);
+            configuration.setProperty(MEMORY_KEY, this.memoryKey);
+            configuration.setProperty(LABELS, this.labels);
+        }
+
+        @Override
+        public void loadState(final Configuration configuration) {
+            this.memoryKey = configuration.getString(MEMORY_KEY);
+            this.labels = configuration.getList(LABELS);
+        }
+
+        @Override
+        public boolean doStage(final Stage stage) {
+            return true;
+        }
+
+        @Override
+        public void map(final Vertex vertex, final MapEmitter<String, Long> emitter) {
+            if (this.labels.contains(vertex.label()))
+                emitter.emit(vertex.label(), 1l);
+        }
+
+        @Override
+        public void combine(final String key, final Iterator<Long> values, final ReduceEmitter<String, Long> emitter) {
+            this.reduce(key, values, emitter);
+        }
+
+        @Override
+        public void reduce(final String key, final Iterator<Long> values, final ReduceEmitter<String, Long> emitter) {
+            long count = 0l;
+            while (values.hasNext()) {
+                count = count + values.next();
+            }
+            emitter.emit(key, count);
+        }
+
+        @Override
+        public Map<String, Long> generateFinalResult(final Iterator<KeyValue<String, Long>> keyValues) {
+            final Map<String, Long> counts = new HashMap<>();
+            keyValues.forEachRemaining(keyValue -> counts.put(keyValue.getKey(), keyValue.getValue()));
+            return counts;
+        }
+
+        @Override
+        public String getMemoryKey() {
+            return this.memoryKey;
+        }
+
+        @Override
+        public LabelCountMapReduce clone() throws CloneNotSupportedException {
+            return (LabelCountMapReduce) super.clone();
+        }
+    }
+
+    private static class IdSortMapReduce implements MapReduce<Integer, String, Integer, String, List<Integer>> {
+
+        private static final String MEMORY_KEY = "gremlin.idSortMapReduce.memoryKey";
+
+        private String memoryKey;
+
+        private IdSortMapReduce() {
+
+        }
+
+        private IdSortMapReduce(final String memoryKey) {
+            this.memoryKey = memoryKey;
+        }
+
+        @Override
+        public void storeState(final Configuration configuration) {
+            MapReduce.super.storeState(configuration);
+            configuration.setProperty(MEMORY_KEY, this.memoryKey);
+        }
+
+        @Override
+        public void loadState(final Configuration configuration) {
+            this.memoryKey = configuration.getString(MEMORY_KEY);
+        }
+
+        @Override
+        public boolean doStage(final Stage stage) {
+            return stage.equals(Stage.MAP);
+        }
+
+        @Override
+        public void map(final Vertex vertex, final MapEmitter<Integer, String> emitter) {
+            emitter.emit((Integer) vertex.id(), vertex.label());
+        }
+
+        @Override
+        public Optional<Comparator<Integer>> getMapKeySort() {
+            return Optional.of(Comparator.<Integer>reverseOrder());
+        }
+
+        @Override
+        public List<Integer> generateFinalResult(final Iterator<KeyValue<Integer, String>> keyValues) {
+            final List<Integer> ids = new ArrayList<>();
+            keyValues.forEachRemaining(keyValue -> ids.add(keyValue.getKey()));
+            return ids;
+        }
+
+        @Override
+        public String getMemoryKey() {
+            return this.memoryKey;
+        }
+
+        @Override
+        public IdSortMapReduce clone() throws CloneNotSupportedException {
+            return (IdSortMapReduce) super.clone();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.tinkerpop.gremlin.hadoop.structure.hdfs;
+
+import com.tinkerpop.gremlin.hadoop.Constants;
+import com.tinkerpop.gremlin.hadoop.process.graph.step.sideEffect.HadoopGraphStep;
+import com.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
+import com.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import com.tinkerpop.gremlin.hadoop.structure.io.kryo.KryoInputFormat;
+import com.tinkerpop.gremlin.hadoop.structure.io.kryo.KryoRecordWriter;
+import com.tinkerpop.gremlin.process.T;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent (agent@local)
+ */
+public class IdIndexTest {
+
+    private FileSystem fileSystem;
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        this.fileSystem = FileSystem.getLocal(new Configuration());
+        this.directory = Files.createTempDirectory("idindex").toFile();
+        this.directory.deleteOnExit();
+    }
+
+    @Test
+    public void shouldWriteAndLookupIndex() throws Exception {
+        final Path file = this.writeModern();
+        final File graphFile = new File(this.directory, file.getName());
+        assertTrue(new File(this.directory, IdIndex.getIndexPath(file).getName()).exists());
+
+        final Set<Long> vertexOffsets = IdIndex.getOffsets(this.fileSystem, file, false, 1, 6);
+        assertEquals(2, vertexOffsets.size());
+        // the outgoing edges 7 and 12 are at the offsets of the vertices 1 and 6
+        assertEquals(vertexOffsets, IdIndex.getOffsets(this.fileSystem, file, true, 7, 12));
+        assertTrue(vertexOffsets.stream().allMatch(offset -> offset < graphFile.length()));
+
+        assertTrue(IdIndex.getOffsets(this.fileSystem, file, false, 99, "x").isEmpty());
+        assertTrue(IdIndex.getOffsets(this.fileSystem, file, true, 1l).isEmpty());
+        assertNull(IdIndex.getOffsets(this.fileSystem, new Path(new File(this.directory, "part-m-00001").getAbsolutePath()), false, 1));
+    }
+
+    @Test
+    public void shouldLookupIdsAcrossSpilledRuns() throws Exception {
+        final int count = IdIndex.RUN_SIZE * 2 + IdIndex.SPARSE_INTERVAL + 3;
+        final List<Long> ids = new ArrayList<>();
+        for (long id = 0; id < count; id++) {
+            ids.add(id * 2);
+        }
+        Collections.shuffle(ids, new Random(42));
+
+        final IdIndex.Entries vertexEntries = new IdIndex.Entries();
+        for (int i = 0; i < ids.size(); i++) {
+            vertexEntries.add(ids.get(i), i * 10l);
+        }
+        final IdIndex.Entries edgeEntries = new IdIndex.Entries();
+        edgeEntries.add("b", 10l);
+        edgeEntries.add(3, 20l);
+        edgeEntries.add("a", 30l);
+
+        final Path file = new Path(new File(this.directory, "part-m-00002").getAbsolutePath());
+        IdIndex.write(this.fileSystem, IdIndex.getIndexPath(file), vertexEntries, edgeEntries);
+
+        // sorted entries are found through the sparse table, whatever the block of the id
+        for (final int i : Arrays.asList(0, 1, IdIndex.SPARSE_INTERVAL - 1, IdIndex.SPARSE_INTERVAL, IdIndex.RUN_SIZE, count - 1)) {
+            assertEquals(Collections.singleton(i * 10l), IdIndex.getOffsets(this.fileSystem, file, false, ids.get(i)));
+        }
+        assertEquals(new TreeSet<>(Arrays.asList(0l, 10l)), IdIndex.getOffsets(this.fileSystem, file, false, ids.get(0), ids.get(1), 1l, -2l, count * 2l));
+
+        // ids of mixed classes are not sorted and scanned
+        assertEquals(new TreeSet<>(Arrays.asList(20l, 30l)), IdIndex.getOffsets(this.fileSystem, file, true, "a", 3, "c"));
+    }
+
+    @Test
+    public void shouldReadIndexedElementsById() throws Exception {
+        this.writeModern();
+        final HadoopGraph graph = this.openGraph();
+
+        // only the vertices that hold the ids are read from an indexed file
+        assertEquals(new HashSet<>(Arrays.asList(1, 6)), ids(new HadoopVertexIterator(graph, 1, 6)));
+        assertFalse(new HadoopVertexIterator(graph, 99).hasNext());
+        assertEquals(new HashSet<>(Arrays.asList(1, 6)), ids(graph.iterators().vertexIterator(1, 6)));
+
+        assertEquals(new HashSet<>(Arrays.asList(7, 8, 9)), ids(new HadoopEdgeIterator(graph, 7)));
+        assertEquals(new HashSet<>(Arrays.asList(7, 12)), ids(graph.iterators().edgeIterator(7, 12)));
+    }
+
+    @Test
+    public void shouldCloseTheReaderOfAnIndexedSplitOnce() throws Exception {
+        final RecordReader<NullWritable, VertexWritable> recordReader = mock(RecordReader.class);
+        when(recordReader.nextKeyValue()).thenReturn(true);
+        final HadoopElementIterator.SingleRecordReader singleRecordReader = new HadoopElementIterator.SingleRecordReader(recordReader);
+        assertTrue(singleRecordReader.nextKeyValue());
+        assertFalse(singleRecordReader.nextKeyValue());
+        assertFalse(singleRecordReader.nextKeyValue());
+        singleRecordReader.close();
+        verify(recordReader, times(1)).nextKeyValue();
+        verify(recordReader, times(1)).close();
+    }
+
+    @Test
+    public void shouldFoldIdLookupIntoHadoopGraphStep() throws Exception {
+        this.writeModern();
+        final HadoopGraph graph = this.openGraph();
+
+        final Traversal<Vertex, Vertex> traversal = graph.V().has(T.id, 4);
+        traversal.asAdmin().applyStrategies(TraversalEngine.STANDARD);
+        assertEquals(1, traversal.asAdmin().getSteps().size());
+        final HadoopGraphStep<?> step = (HadoopGraphStep<?>) traversal.asAdmin().getSteps().get(0);
+        assertEquals(1, step.hasContainers.size());
+        assertEquals(T.id.getAccessor(), step.hasContainers.get(0).key);
+        assertEquals(4, traversal.next().id());
+        assertFalse(traversal.hasNext());
+    }
+
+    private Path writeModern() throws IOException {
+        final Path file = new Path(new File(this.directory, "part-m-00000").getAbsolutePath());
+        final TinkerGraph modern = TinkerFactory.createModern();
+        try (final IdIndexOutputStream outputStream = new IdIndexOutputStream(this.fileSystem.create(file, true), this.fileSystem, file)) {
+            final KryoRecordWriter writer = new KryoRecordWriter(outputStream);
+            final Iterator<Vertex> vertices = modern.iterators().vertexIterator();
+            while (vertices.hasNext()) {
+                writer.write(NullWritable.get(), new VertexWritable(vertices.next()));
+            }
+        }
+        return file;
+    }
+
+    private HadoopGraph openGraph() {
+        final BaseConfiguration configuration = new BaseConfiguration();
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT, KryoInputFormat.class.getName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_INPUT_LOCATION, this.directory.getAbsolutePath());
+        return HadoopGraph.open(configuration);
+    }
+
+    private static Set<Object> ids(final Iterator<? extends Element> elements) {
+        final Set<Object> ids = new HashSet<>();
+        elements.forEachRemaining(element -> ids.add(element.id()));
+        return ids;
+    }
+}
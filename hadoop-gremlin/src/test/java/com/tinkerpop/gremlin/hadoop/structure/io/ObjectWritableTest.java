@@ -0,0 +1,145 @@
+package com.tinkerpop.gremlin.hadoop.structure.io;
+
+import com.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
+import com.tinkerpop.gremlin.process.computer.KeyValue;
+import com.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.RawComparator;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.javatuples.Pair;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author agent (agent@local)
+ */
+public class ObjectWritableTest {
+
+    @Test
+    public void shouldWriteAndReadObjects() throws Exception {
+        final Map<String, Object> javaMap = new HashMap<>();
+        javaMap.put("marko", Pair.with(1, 2));  // a registered class that holds an unregistered class
+        final Map<String, Object> kryoMap = new HashMap<>();
+        kryoMap.put("marko", 29l);
+
+        for (final Object object : Arrays.asList(1, 123456789l, -3.5d, "marko", Arrays.asList(1, 2, "a"), javaMap, kryoMap,
+                Pair.with("a", 1), UUID.randomUUID(), new BigDecimal("1.5"), MapReduce.NullObject.instance())) {
+            assertEquals(object, read(write(object)));
+        }
+        assertNull(read(write(null)));
+    }
+
+    @Test
+    public void shouldCompareSerializedObjectsInTheOrderOfCompareTo() throws Exception {
+        final ObjectWritable.Comparator comparator = new ObjectWritable.Comparator();
+        final Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            final Object object1;
+            final Object object2;
+            switch (i % 4) {
+                case 0:
+                    object1 = random.nextLong() >> random.nextInt(64);
+                    object2 = random.nextLong() >> random.nextInt(64);
+                    break;
+                case 1:
+                    object1 = random.nextInt() >> random.nextInt(32);
+                    object2 = random.nextInt() >> random.nextInt(32);
+                    break;
+                case 2:
+                    object1 = random.nextGaussian() * 1000;
+                    object2 = random.nextBoolean() ? object1 : random.nextGaussian() * 1000;
+                    break;
+                default:
+                    object1 = Long.toString(random.nextLong(), 36);
+                    object2 = Long.toString(random.nextLong(), 36);
+            }
+            assertCompare(comparator, new ObjectWritable<>(object1), new ObjectWritable<>(object2));
+        }
+    }
+
+    @Test
+    public void shouldCompareSerializedObjectsInTheOrderOfTheMapKeySort() throws Exception {
+        final BaseConfiguration apacheConfiguration = new BaseConfiguration();
+        new ReverseSortMapReduce().storeState(apacheConfiguration);
+        final Configuration configuration = new Configuration();
+        ConfUtil.mergeApacheIntoHadoopConfiguration(apacheConfiguration, configuration);
+        final ObjectWritableComparator comparator = ReflectionUtils.newInstance(ObjectWritableComparator.ObjectWritableMapComparator.class, configuration);
+
+        final List<ObjectWritable> objectWritables = new ArrayList<>();
+        for (final Object object : Arrays.asList(-1l, 0l, 7l, Long.MAX_VALUE, Long.MIN_VALUE, 7l)) {
+            objectWritables.add(new ObjectWritable<>(object));
+        }
+        for (final ObjectWritable objectWritable1 : objectWritables) {
+            for (final ObjectWritable objectWritable2 : objectWritables) {
+                assertEquals(Integer.signum(objectWritable2.compareTo(objectWritable1)), Integer.signum(comparator.compare(objectWritable1, objectWritable2)));
+                assertCompare(comparator, objectWritable1, objectWritable2);
+            }
+        }
+    }
+
+    private static void assertCompare(final RawComparator<ObjectWritable> comparator, final ObjectWritable objectWritable1, final ObjectWritable objectWritable2) throws IOException {
+        final byte[] bytes1 = write(objectWritable1.get());
+        final byte[] bytes2 = write(objectWritable2.get());
+        assertEquals(Integer.signum(comparator.compare(objectWritable1, objectWritable2)), Integer.signum(comparator.compare(bytes1, 0, bytes1.length, bytes2, 0, bytes2.length)));
+    }
+
+    private static byte[] write(final Object object) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ObjectWritable<>(object).write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static Object read(final byte[] bytes) throws IOException {
+        final ObjectWritable objectWritable = new ObjectWritable();
+        objectWritable.readFields(new DataInputStream(new ByteArrayInputStream(bytes)));
+        return objectWritable.get();
+    }
+
+    private static class ReverseSortMapReduce implements MapReduce<Long, Long, Long, Long, Long> {
+
+        @Override
+        public boolean doStage(final Stage stage) {
+            return stage.equals(Stage.MAP);
+        }
+
+        @Override
+        public Optional<Comparator<Long>> getMapKeySort() {
+            return Optional.of(Comparator.<Long>reverseOrder());
+        }
+
+        @Override
+        public Long generateFinalResult(final Iterator<KeyValue<Long, Long>> keyValues) {
+            return null;
+        }
+
+        @Override
+        public String getMemoryKey() {
+            return "reverseSort";
+        }
+
+        @Override
+        public ReverseSortMapReduce clone() throws CloneNotSupportedException {
+            return (ReverseSortMapReduce) super.clone();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.tinkerpop.gremlin.hadoop.structure.io.kryo;
+
+import com.tinkerpop.gremlin.hadoop.HadoopGraphProvider;
+import com.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.util.star.StarVertex;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class KryoSequenceRecordReaderWriterTest {
+    @Test
+    public void testAll() throws Exception {
+        Configuration conf = new Configuration(false);
+        conf.set("fs.file.impl", LocalFileSystem.class.getName());
+        conf.set("fs.default.name", "file:///");
+        // small blocks so that the file has many sync markers to split on
+        conf.setInt("io.seqfile.compress.blocksize", 16384);
+        TaskAttemptContext job = new TaskAttemptContext(conf, new TaskAttemptID());
+
+        File testFile = new File(HadoopGraphProvider.PATHS.get("grateful-dead-vertices.gio"));
+        RecordReader reader = ReflectionUtils.newInstance(KryoInputFormat.class, conf).createRecordReader(
+                new FileSplit(new Path(testFile.getAbsoluteFile().toURI().toString()), 0, testFile.length(), null), job);
+
+        File sequenceFile = File.createTempFile("grateful-dead-vertices", ".seq");
+        sequenceFile.deleteOnExit();
+        Path sequencePath = new Path(sequenceFile.getAbsoluteFile().toURI().toString());
+        RecordWriter writer = new KryoSequenceOutputFormat().getRecordWriter(job, sequencePath);
+        while (reader.nextKeyValue()) {
+            writer.write(NullWritable.get(), reader.getCurrentValue());
+        }
+        writer.close(job);
+        reader.close();
+        assertTrue(sequenceFile.length() < testFile.length());
+
+        // read the file back as two splits that each start mid-block
+        KryoSequenceInputFormat inputFormat = ReflectionUtils.newInstance(KryoSequenceInputFormat.class, conf);
+        long middle = sequenceFile.length() / 2;
+        int count = 0;
+        boolean foundKeyValue = false;
+        for (FileSplit split : new FileSplit[]{new FileSplit(sequencePath, 0, middle, null), new FileSplit(sequencePath, middle, sequenceFile.length() - middle, null)}) {
+            RecordReader sequenceReader = inputFormat.createRecordReader(split, job);
+            float lastProgress = -1f;
+            while (sequenceReader.nextKeyValue()) {
+                count++;
+                float progress = sequenceReader.getProgress();
+                assertTrue(progress >= lastProgress);
+                assertEquals(NullWritable.class, sequenceReader.getCurrentKey().getClass());
+                Vertex vertex = ((VertexWritable) sequenceReader.getCurrentValue()).get();
+                assertEquals(StarVertex.class, vertex.getClass());
+                assertEquals(Integer.class, vertex.id().getClass());
+
+                Object value = vertex.property("name");
+                if (null != value && ((Property) value).value().equals("SUGAR MAGNOLIA")) {
+                    foundKeyValue = true;
+                    assertEquals(92, count(vertex.outE().toList()));
+                    assertEquals(77, count(vertex.inE().toList()));
+                }
+
+                lastProgress = progress;
+            }
+            sequenceReader.close();
+        }
+        assertEquals(808, count);
+        assertTrue(foundKeyValue);
+    }
+
+    private <T> long count(final Iterable<T> iter) {
+        long count = 0;
+        for (T anIter : iter) {
+            count++;
+        }
+
+        return count;
+    }
+}
@@ -12,8 +12,9 @@ import com.tinkerpop.gremlin.structure.util.StringFactory;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
@@ -25,16 +26,34 @@ import java.util.concurrent.Future;
  */
 public class TinkerGraphComputer implements GraphComputer {
 
+    /**
+     * The number of workers of a {@link TinkerGraphComputer} of the graph, which may be overridden with
+     * {@link #workers(int)}.  Defaults to the number of available processors.
+     */
+    public static final String CONFIG_WORKERS = "gremlin.tinkergraph.computer.workers";
+
     private Isolation isolation = Isolation.BSP;
     private VertexProgram<?> vertexProgram;
     private final TinkerGraph graph;
     private TinkerMemory memory;
-    private final TinkerMessageBoard messageBoard = new TinkerMessageBoard();
     private boolean executed = false;
     private final Set<MapReduce> mapReducers = new HashSet<>();
 
+    private int workers;
+
     public TinkerGraphComputer(final TinkerGraph graph) {
         this.graph = graph;
+        this.workers = graph.configuration().getInt(CONFIG_WORKERS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Set the number of workers that execute the vertex program and map reduce jobs in parallel.
+     */
+    public TinkerGraphComputer workers(final int workers) {
+        if (workers < 1)
+            throw new IllegalArgumentException("The number of workers must be greater than zero: " + workers);
+        this.workers = workers;
+        return this;
     }
 
     @Override
@@ -77,66 +96,53 @@ public class TinkerGraphComputer implements GraphComputer {
         this.memory = new TinkerMemory(this.vertexProgram, this.mapReducers);
         return CompletableFuture.<ComputerResult>supplyAsync(() -> {
             final long time = System.currentTimeMillis();
-            if (null != this.vertexProgram) {
-                TinkerHelper.createGraphView(this.graph, this.isolation, this.vertexProgram.getElementComputeKeys());
-
-                // execute the vertex program
-                this.vertexProgram.setup(this.memory);
-                this.memory.completeSubRound();
-                final TinkerWorkerPool workers = new TinkerWorkerPool(Runtime.getRuntime().availableProcessors(), this.vertexProgram);
-                while (true) {
-                    workers.executeVertexProgram(vertexProgram -> vertexProgram.workerIterationStart(this.memory.asImmutable()));
-                    final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(sg.iterators().vertexIterator());
-                    workers.executeVertexProgram(vertexProgram -> {
-                        while (true) {
-                            final Vertex vertex = vertices.next();
-                            if (null == vertex) return;
-                            vertexProgram.execute(vertex, new TinkerMessenger(vertex, this.messageBoard, vertexProgram.getMessageCombiner()), this.memory);
-                        }
-                    });
-                    workers.executeVertexProgram(vertexProgram -> vertexProgram.workerIterationEnd(this.memory.asImmutable()));
-                    this.messageBoard.completeIteration();
+            try (final TinkerWorkerPool workers = new TinkerWorkerPool(this.workers)) {
+                // the vertex set does not change during the computation so it is partitioned once
+                final List<Vertex> vertices = new ArrayList<>();
+                sg.iterators().vertexIterator().forEachRemaining(vertices::add);
+                if (null != this.vertexProgram) {
+                    TinkerHelper.createGraphView(this.graph, this.isolation, this.vertexProgram.getElementComputeKeys());
+
+                    // execute the vertex program
+                    this.vertexProgram.setup(this.memory);
                     this.memory.completeSubRound();
-                    if (this.vertexProgram.terminate(this.memory)) {
-                        this.memory.incrIteration();
-                        this.memory.completeSubRound();
-                        break;
-                    } else {
-                        this.memory.incrIteration();
+                    workers.setVertexProgram(this.vertexProgram);
+                    final TinkerMessageBoard messageBoard = new TinkerMessageBoard(this.graph, vertices.size(), this.vertexProgram.getMessageCombiner());
+                    while (true) {
+                        workers.executeVertexProgram(vertexProgram -> vertexProgram.workerIterationStart(this.memory.asImmutable()));
+                        workers.executeVertexProgram(vertices, (vertexProgram, vertex) ->
+                                vertexProgram.execute(vertex, new TinkerMessenger(vertex, messageBoard), this.memory));
+                        workers.executeVertexProgram(vertexProgram -> vertexProgram.workerIterationEnd(this.memory.asImmutable()));
+                        messageBoard.completeIteration();
                         this.memory.completeSubRound();
+                        if (this.vertexProgram.terminate(this.memory)) {
+                            this.memory.incrIteration();
+                            this.memory.completeSubRound();
+                            break;
+                        } else {
+                            this.memory.incrIteration();
+                            this.memory.completeSubRound();
+                        }
                     }
                 }
-            }
 
-            // execute mapreduce jobs
-            for (final MapReduce mapReduce : this.mapReducers) {
-                final TinkerWorkerPool workers = new TinkerWorkerPool(Runtime.getRuntime().availableProcessors(), mapReduce);
-                if (mapReduce.doStage(MapReduce.Stage.MAP)) {
-                    final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
-                    final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(sg.iterators().vertexIterator());
-                    workers.executeMapReduce(workerMapReduce -> {
-                        while (true) {
-                            final Vertex vertex = vertices.next();
-                            if (null == vertex) return;
-                            workerMapReduce.map(vertex, mapEmitter);
+                // execute mapreduce jobs
+                for (final MapReduce mapReduce : this.mapReducers) {
+                    if (mapReduce.doStage(MapReduce.Stage.MAP)) {
+                        workers.setMapReduce(mapReduce);
+                        final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
+                        workers.executeMapReduce(vertices, (workerMapReduce, vertex) -> workerMapReduce.map(vertex, mapEmitter));
+                        mapEmitter.complete(mapReduce); // sort results if a map output sort is defined
+                        // no need to run combiners as this is single machine
+                        if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
+                            final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
+                            final List<Map.Entry<?, Queue<?>>> keyValues = new ArrayList<>((Set) mapEmitter.reduceMap.entrySet());
+                            workers.executeMapReduce(keyValues, (workerMapReduce, entry) -> workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter));
+                            reduceEmitter.complete(mapReduce); // sort results if a reduce output sort is defined
+                            mapReduce.addResultToMemory(this.memory, reduceEmitter.reduceQueue.iterator());
+                        } else {
+                            mapReduce.addResultToMemory(this.memory, mapEmitter.mapQueue.iterator());
                         }
-                    });
-                    mapEmitter.complete(mapReduce); // sort results if a map output sort is defined
-                    // no need to run combiners as this is single machine
-                    if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
-                        final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
-                        final SynchronizedIterator<Map.Entry<?, Queue<?>>> keyValues = new SynchronizedIterator((Iterator) mapEmitter.reduceMap.entrySet().iterator());
-                        workers.executeMapReduce(workerMapReduce -> {
-                            while (true) {
-                                final Map.Entry<?, Queue<?>> entry = keyValues.next();
-                                if (null == entry) return;
-                                workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
-                            }
-                        });
-                        reduceEmitter.complete(mapReduce); // sort results if a reduce output sort is defined
-                        mapReduce.addResultToMemory(this.memory, reduceEmitter.reduceQueue.iterator());
-                    } else {
-                        mapReduce.addResultToMemory(this.memory, mapEmitter.mapQueue.iterator());
                     }
                 }
             }
@@ -151,18 +157,4 @@ public class TinkerGraphComputer implements GraphComputer {
     public String toString() {
         return StringFactory.graphComputerString(this);
     }
-
-    private static class SynchronizedIterator<V> {
-
-        private final Iterator<V> iterator;
-
-        public SynchronizedIterator(final Iterator<V> iterator) {
-            this.iterator = iterator;
-        }
-
-        public synchronized V next() {
-            return this.iterator.hasNext() ? this.iterator.next() : null;
-        }
-    }
-
-}
\ No newline at end of file
+}
@@ -4,7 +4,9 @@ import com.tinkerpop.gremlin.process.computer.GraphComputer;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.VertexProperty;
 import com.tinkerpop.gremlin.structure.util.ElementHelper;
+import com.tinkerpop.gremlin.structure.util.StringFactory;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerElement;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerProperty;
@@ -14,6 +16,8 @@ import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertexProperty;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -22,32 +26,38 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
+ * The compute properties of a {@link TinkerGraphComputer} run.  Each vertex compute key has a column of arrays indexed
+ * by the compute slot that {@link TinkerHelper#createGraphView} assigns to every vertex.  A {@link Double} or
+ * {@link Long} value is held in a primitive array and is read through a light {@link VertexProperty} view.
+ * Any other value, a value with meta-properties or multiple values for the key are held as {@link VertexProperty}
+ * objects.  As a vertex is only ever processed by one worker at a time, the slots of a column are not synchronized.
+ * The compute properties of edges are held in a map.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerGraphView {
 
+    private static final byte ABSENT = 0;
+    private static final byte DOUBLE = 1;
+    private static final byte LONG = 2;
+    private static final byte OBJECT = 3;
+
     protected final Set<String> computeKeys;
     protected final GraphComputer.Isolation isolation;
-    private Map<Element, Map<String, List<Property>>> computeProperties;
+    private final Map<String, Column> vertexColumns = new HashMap<>();
+    private final Map<Element, Map<String, List<Property>>> computeProperties = new ConcurrentHashMap<>();
 
-    public TinkerGraphView(final GraphComputer.Isolation isolation, final Set<String> computeKeys) {
+    public TinkerGraphView(final GraphComputer.Isolation isolation, final Set<String> computeKeys, final int numberOfVertices) {
         this.isolation = isolation;
         this.computeKeys = computeKeys;
-        this.computeProperties = new ConcurrentHashMap<>();
+        computeKeys.forEach(key -> this.vertexColumns.put(key, new Column(key, numberOfVertices)));
     }
 
     public <V> Property<V> setProperty(final TinkerElement element, final String key, final V value) {
         ElementHelper.validateProperty(key, value);
         if (isComputeKey(key)) {
             if (element instanceof Vertex) {
-                final TinkerVertexProperty<V> property = new TinkerVertexProperty<V>((TinkerVertex) element, key, value) {
-                    @Override
-                    public void remove() {
-                        removeProperty(element, key, this);
-                    }
-                };
-                this.setValue(element, key, property);
-                return property;
+                return this.vertexColumns.get(key).add((TinkerVertex) element, value);
             } else {
                 final TinkerProperty<V> property = new TinkerProperty<V>(element, key, value) {
                     @Override
@@ -55,7 +65,7 @@ public class TinkerGraphView {
                         removeProperty((TinkerElement) element, key, this);
                     }
                 };
-                this.setValue(element, key, property);
+                this.computeProperties.computeIfAbsent(element, k -> new ConcurrentHashMap<>()).put(key, Arrays.asList(property));
                 return property;
             }
         } else {
@@ -64,64 +74,248 @@ public class TinkerGraphView {
     }
 
     public List<Property> getProperty(final TinkerElement element, final String key) {
-        return isComputeKey(key) ? this.getValue(element, key) : TinkerHelper.getProperties(element).getOrDefault(key, Collections.emptyList());
+        if (isComputeKey(key))
+            return element instanceof Vertex ?
+                    this.vertexColumns.get(key).get((TinkerVertex) element) :
+                    this.computeProperties.getOrDefault(element, Collections.emptyMap()).getOrDefault(key, Collections.emptyList());
+        else
+            return TinkerHelper.getProperties(element).getOrDefault(key, Collections.emptyList());
     }
 
     public List<Property> getProperties(final TinkerElement element) {
         final Stream<Property> a = TinkerHelper.getProperties(element).values().stream().flatMap(list -> list.stream());
-        final Stream<Property> b = this.computeProperties.containsKey(element) ?
-                this.computeProperties.get(element).values().stream().flatMap(list -> list.stream()) :
-                Stream.empty();
+        final Stream<Property> b;
+        if (element instanceof Vertex)
+            b = this.vertexColumns.values().stream().flatMap(column -> column.get((TinkerVertex) element).stream());
+        else
+            b = this.computeProperties.containsKey(element) ?
+                    this.computeProperties.get(element).values().stream().flatMap(list -> list.stream()) :
+                    Stream.empty();
         return Stream.concat(a, b).collect(Collectors.toList());
     }
 
     public void removeProperty(final TinkerElement element, final String key, final Property property) {
         if (isComputeKey(key)) {
             if (element instanceof Vertex)
-                this.removeValue(element, key, property);
+                this.vertexColumns.get(key).remove((TinkerVertex) element, property);
             else
-                this.removeValue(element, key);
+                this.computeProperties.computeIfPresent(element, (k, v) -> {
+                    v.remove(key);
+                    return v;
+                });
         } else {
             throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
         }
     }
 
+    public boolean isComputeKey(final String key) {
+        return this.computeKeys.contains(key);
+    }
+
     //////////////////////
 
-    private void setValue(final Element element, final String key, final Property property) {
-        final Map<String, List<Property>> elementProperties = this.computeProperties.computeIfAbsent(element, k -> new ConcurrentHashMap<>());
-        elementProperties.compute(key, (k, v) -> {
-            if (element instanceof Vertex) {
-                if (null == v) v = Collections.synchronizedList(new ArrayList<>());
-                v.add(property);
-            } else
-                v = Arrays.asList(property);
-            return v;
-        });
-    }
+    /**
+     * The values of one vertex compute key.  The kind of each slot says which array holds its value and the arrays
+     * are only allocated once a slot needs them.
+     */
+    private final class Column {
 
-    private void removeValue(final Element element, final String key) {
-        this.computeProperties.computeIfPresent(element, (k, v) -> {
-            v.remove(key);
-            return v;
-        });
-    }
+        private final String key;
+        private final byte[] kinds;
+        private volatile double[] doubles;
+        private volatile long[] longs;
+        private volatile Object[] objects;
 
-    private void removeValue(final Element element, final String key, final Property property) {
-        this.computeProperties.computeIfPresent(element, (k, v) -> {
-            v.computeIfPresent(key, (k1, v1) -> {
-                v1.remove(property);
-                return v1;
-            });
-            return v;
-        });
-    }
+        private Column(final String key, final int numberOfVertices) {
+            this.key = key;
+            this.kinds = new byte[numberOfVertices];
+        }
+
+        private <V> VertexProperty<V> add(final TinkerVertex vertex, final V value) {
+            final int slot = TinkerHelper.getComputeSlot(vertex);
+            if (ABSENT == this.kinds[slot] && value instanceof Double) {
+                this.doubles()[slot] = (Double) value;
+                this.kinds[slot] = DOUBLE;
+                return new PrimitiveVertexProperty<>(this, vertex, value);
+            } else if (ABSENT == this.kinds[slot] && value instanceof Long) {
+                this.longs()[slot] = (Long) value;
+                this.kinds[slot] = LONG;
+                return new PrimitiveVertexProperty<>(this, vertex, value);
+            } else {
+                final VertexProperty<V> property = this.createProperty(vertex, value);
+                if (ABSENT == this.kinds[slot]) {
+                    this.objects()[slot] = property;
+                    this.kinds[slot] = OBJECT;
+                } else {
+                    final List<Property> list = new ArrayList<>(this.get(vertex));
+                    list.add(property);
+                    this.objects()[slot] = list;
+                    this.kinds[slot] = OBJECT;
+                }
+                return property;
+            }
+        }
+
+        private List<Property> get(final TinkerVertex vertex) {
+            final int slot = TinkerHelper.getComputeSlot(vertex);
+            switch (this.kinds[slot]) {
+                case DOUBLE:
+                    return Collections.singletonList(new PrimitiveVertexProperty<>(this, vertex, this.doubles[slot]));
+                case LONG:
+                    return Collections.singletonList(new PrimitiveVertexProperty<>(this, vertex, this.longs[slot]));
+                case OBJECT:
+                    final Object object = this.objects[slot];
+                    return object instanceof List ? (List<Property>) object : Collections.singletonList((Property) object);
+                default:
+                    return Collections.emptyList();
+            }
+        }
+
+        private void remove(final TinkerVertex vertex, final Property property) {
+            final int slot = TinkerHelper.getComputeSlot(vertex);
+            if (OBJECT == this.kinds[slot] && this.objects[slot] instanceof List) {
+                final List<Property> list = (List<Property>) this.objects[slot];
+                list.remove(property);
+                if (list.size() == 1)
+                    this.objects[slot] = list.get(0);
+            } else {
+                if (OBJECT == this.kinds[slot])
+                    this.objects[slot] = null;
+                this.kinds[slot] = ABSENT;
+            }
+        }
+
+        /**
+         * Move a primitive value of the slot into a {@link VertexProperty} so that meta-properties can be attached to
+         * it and answer the property held by the slot.
+         */
+        private VertexProperty materialize(final TinkerVertex vertex) {
+            final int slot = TinkerHelper.getComputeSlot(vertex);
+            if (DOUBLE == this.kinds[slot] || LONG == this.kinds[slot]) {
+                this.objects()[slot] = this.createProperty(vertex, this.get(vertex).get(0).value());
+                this.kinds[slot] = OBJECT;
+            }
+            return (VertexProperty) this.get(vertex).get(0);
+        }
+
+        private <V> VertexProperty<V> createProperty(final TinkerVertex vertex, final V value) {
+            return new TinkerVertexProperty<V>(vertex, this.key, value) {
+                @Override
+                public void remove() {
+                    removeProperty(vertex, key, this);
+                }
+            };
+        }
+
+        private double[] doubles() {
+            if (null == this.doubles) {
+                synchronized (this) {
+                    if (null == this.doubles)
+                        this.doubles = new double[this.kinds.length];
+                }
+            }
+            return this.doubles;
+        }
 
-    private List<Property> getValue(final Element element, final String key) {
-        return this.computeProperties.getOrDefault(element, Collections.emptyMap()).getOrDefault(key, Collections.emptyList());
+        private long[] longs() {
+            if (null == this.longs) {
+                synchronized (this) {
+                    if (null == this.longs)
+                        this.longs = new long[this.kinds.length];
+                }
+            }
+            return this.longs;
+        }
+
+        private Object[] objects() {
+            if (null == this.objects) {
+                synchronized (this) {
+                    if (null == this.objects)
+                        this.objects = new Object[this.kinds.length];
+                }
+            }
+            return this.objects;
+        }
     }
 
-    public boolean isComputeKey(final String key) {
-        return this.computeKeys.contains(key);
+    /**
+     * A {@link VertexProperty} view of a value held in a primitive array.  It only refers to its column and vertex so
+     * that reading a compute key costs no more than the boxing of the value.  Its identifier is derived from the
+     * vertex and the key, as there is at most one such property per vertex and key, and is only built when asked for.
+     */
+    private static final class PrimitiveVertexProperty<V> implements VertexProperty<V>, VertexProperty.Iterators {
+
+        private final Column column;
+        private final TinkerVertex vertex;
+        private final V value;
+        private Object id = null;
+
+        private PrimitiveVertexProperty(final Column column, final TinkerVertex vertex, final V value) {
+            this.column = column;
+            this.vertex = vertex;
+            this.value = value;
+        }
+
+        @Override
+        public Object id() {
+            if (null == this.id)
+                this.id = this.vertex.id() + ":" + this.column.key;
+            return this.id;
+        }
+
+        @Override
+        public String key() {
+            return this.column.key;
+        }
+
+        @Override
+        public V value() {
+            return this.value;
+        }
+
+        @Override
+        public boolean isPresent() {
+            return true;
+        }
+
+        @Override
+        public Vertex element() {
+            return this.vertex;
+        }
+
+        @Override
+        public <U> Property<U> property(final String key, final U value) {
+            return this.column.materialize(this.vertex).property(key, value);
+        }
+
+        @Override
+        public void remove() {
+            this.column.remove(this.vertex, this);
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            return ElementHelper.areEqual(this, object);
+        }
+
+        @Override
+        public int hashCode() {
+            return ElementHelper.hashCode((Element) this);
+        }
+
+        @Override
+        public String toString() {
+            return StringFactory.propertyString(this);
+        }
+
+        @Override
+        public VertexProperty.Iterators iterators() {
+            return this;
+        }
+
+        @Override
+        public <U> Iterator<Property<U>> propertyIterator(final String... propertyKeys) {
+            return Collections.emptyIterator();
+        }
     }
-}
\ No newline at end of file
+}
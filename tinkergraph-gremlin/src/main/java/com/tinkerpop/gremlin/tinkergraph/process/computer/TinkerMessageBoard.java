@@ -1,21 +1,120 @@
 package com.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import com.tinkerpop.gremlin.process.computer.MessageCombiner;
 import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.strategy.StrategyVertex;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
+ * Holds the messages of a {@link TinkerGraphComputer} run in two arrays indexed by the compute slot that
+ * {@link TinkerHelper#createGraphView} assigns to each vertex at the start of the run.  Messages are sent into one array while they are received from the other and the
+ * arrays swap roles on {@link #completeIteration()}, so no map is allocated per iteration.  The messages of a
+ * {@link com.tinkerpop.gremlin.process.computer.MessageScope.Local} stay in the slot of the sending vertex for its
+ * adjacent vertices to read, so they are kept in their own pair of arrays, allocated on the first such message.
+ * <p/>
+ * With a {@link MessageCombiner}, a message is combined into the slot of its vertex as it is sent so a slot only ever
+ * holds a single message.  Without one, a slot holds the queue of messages sent to its vertex.  As a combiner may
+ * merge the second message into the first, combining is done under a lock rather than with a compare-and-set retry.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 class TinkerMessageBoard<M> {
 
-    public Map<Vertex, Queue<M>> sendMessages = new ConcurrentHashMap<>();
-    public Map<Vertex, Queue<M>> receiveMessages = new ConcurrentHashMap<>();
+    private static final int LOCK_STRIPES = 1024;
+
+    private final TinkerGraph graph;
+    private final MessageCombiner<M> combiner;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private Object[] sendMessages;
+    private Object[] receiveMessages;
+    private volatile Object[] sendLocalMessages;
+    private Object[] receiveLocalMessages;
+
+    public TinkerMessageBoard(final TinkerGraph graph, final int size, final Optional<MessageCombiner<M>> combiner) {
+        this.graph = graph;
+        this.combiner = combiner.orElse(null);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            this.locks[i] = new Object();
+        }
+        this.sendMessages = new Object[size];
+        this.receiveMessages = new Object[size];
+    }
+
+    public int slot(final Vertex vertex) {
+        final Vertex baseVertex = vertex instanceof StrategyVertex ? ((StrategyVertex) vertex).getBaseVertex() : vertex;
+        if (baseVertex instanceof TinkerVertex)
+            return TinkerHelper.getComputeSlot((TinkerVertex) baseVertex);
+        // a vertex that is not of the graph (e.g. a detached vertex) is resolved by its id
+        final Iterator<Vertex> vertices = this.graph.iterators().vertexIterator(vertex.id());
+        if (!vertices.hasNext())
+            throw new IllegalArgumentException("The vertex is not part of the computation: " + vertex);
+        return TinkerHelper.getComputeSlot((TinkerVertex) vertices.next());
+    }
+
+    public void sendMessage(final int slot, final M message) {
+        this.addMessage(this.sendMessages, slot, message);
+    }
+
+    public void sendLocalMessage(final int slot, final M message) {
+        if (null == this.sendLocalMessages) {
+            synchronized (this) {
+                if (null == this.sendLocalMessages)
+                    this.sendLocalMessages = new Object[this.sendMessages.length];
+            }
+        }
+        this.addMessage(this.sendLocalMessages, slot, message);
+    }
+
+    public Iterable<M> receiveMessages(final int slot) {
+        return this.getMessages(this.receiveMessages, slot);
+    }
+
+    public Iterable<M> receiveLocalMessages(final int slot) {
+        return null == this.receiveLocalMessages ? Collections.emptyList() : this.getMessages(this.receiveLocalMessages, slot);
+    }
 
     public void completeIteration() {
+        final Object[] temp = this.receiveMessages;
         this.receiveMessages = this.sendMessages;
-        this.sendMessages = new ConcurrentHashMap<>();
+        this.sendMessages = temp;
+        Arrays.fill(this.sendMessages, null);
+        final Object[] tempLocal = this.receiveLocalMessages;
+        this.receiveLocalMessages = this.sendLocalMessages;
+        this.sendLocalMessages = tempLocal;
+        if (null != this.sendLocalMessages)
+            Arrays.fill(this.sendLocalMessages, null);
+    }
+
+    private void addMessage(final Object[] messages, final int slot, final M message) {
+        synchronized (this.locks[slot & (LOCK_STRIPES - 1)]) {
+            final Object current = messages[slot];
+            if (null != this.combiner)
+                messages[slot] = null == current ? message : this.combiner.combine((M) current, message);
+            else if (null == current) {
+                final Queue<M> queue = new ConcurrentLinkedQueue<>();
+                queue.add(message);
+                messages[slot] = queue;
+            } else
+                ((Queue<M>) current).add(message);
+        }
+    }
+
+    private Iterable<M> getMessages(final Object[] messages, final int slot) {
+        final Object message = messages[slot];
+        if (null == message)
+            return Collections.emptyList();
+        else if (null != this.combiner)
+            return Collections.singletonList((M) message);
+        else
+            return (Queue<M>) message;
     }
 }
@@ -1,7 +1,6 @@
 package com.tinkerpop.gremlin.tinkergraph.process.computer;
 
 import com.tinkerpop.gremlin.process.Traversal;
-import com.tinkerpop.gremlin.process.computer.MessageCombiner;
 import com.tinkerpop.gremlin.process.computer.MessageScope;
 import com.tinkerpop.gremlin.process.computer.Messenger;
 import com.tinkerpop.gremlin.process.graph.step.map.VertexStep;
@@ -10,13 +9,9 @@ import com.tinkerpop.gremlin.process.util.TraversalHelper;
 import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.util.ElementHelper;
 import com.tinkerpop.gremlin.util.StreamFactory;
 
-import java.util.Optional;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.stream.Stream;
-
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -24,13 +19,12 @@ public class TinkerMessenger<M> implements Messenger<M> {
 
     private final Vertex vertex;
     private final TinkerMessageBoard<M> messageBoard;
-    private final MessageCombiner<M> combiner;
-
+    private final int slot;
 
-    public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard, final Optional<MessageCombiner<M>> combiner) {
+    public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard) {
         this.vertex = vertex;
         this.messageBoard = messageBoard;
-        this.combiner = combiner.isPresent() ? combiner.get() : null;
+        this.slot = messageBoard.slot(vertex);
     }
 
     @Override
@@ -38,35 +32,24 @@ public class TinkerMessenger<M> implements Messenger<M> {
         if (messageScope instanceof MessageScope.Local) {
             final MessageScope.Local<M> localMessageScope = (MessageScope.Local) messageScope;
             final Traversal<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get(), this.vertex);
-            final Direction direction = TinkerMessenger.getDirection(incidentTraversal);
+            final Direction direction = TinkerMessenger.getDirection(incidentTraversal).opposite(); // the direction of the reversed traversal
             final Edge[] edge = new Edge[1]; // simulates storage side-effects available in Gremlin, but not Java8 streams
             return StreamFactory.iterable(StreamFactory.stream(incidentTraversal.asAdmin().reverse())
-                    .map(e -> this.messageBoard.receiveMessages.get((edge[0] = e).iterators().vertexIterator(direction).next()))
-                    .filter(q -> null != q)
-                    .flatMap(q -> q.stream())
+                    .map(e -> this.messageBoard.receiveLocalMessages(this.messageBoard.slot(ElementHelper.getAdjacentVertex(edge[0] = e, this.vertex, direction))))
+                    .flatMap(StreamFactory::stream)
                     .map(message -> localMessageScope.getEdgeFunction().apply(message, edge[0])));
 
         } else {
-            return StreamFactory.iterable(Stream.of(this.vertex)
-                    .map(this.messageBoard.receiveMessages::get)
-                    .filter(q -> null != q)
-                    .flatMap(q -> q.stream()));
+            return this.messageBoard.receiveMessages(this.slot);
         }
     }
 
     @Override
     public void sendMessage(final MessageScope messageScope, final M message) {
         if (messageScope instanceof MessageScope.Local) {
-            addMessage(this.vertex, message);
+            this.messageBoard.sendLocalMessage(this.slot, message);
         } else {
-            ((MessageScope.Global) messageScope).vertices().forEach(v -> addMessage(v, message));
-        }
-    }
-
-    private final void addMessage(final Vertex vertex, final M message) {
-        final Queue<M> queue = this.messageBoard.sendMessages.computeIfAbsent(vertex, v -> new ConcurrentLinkedQueue<>());
-        synchronized (queue) {
-            queue.add(null != this.combiner && !queue.isEmpty() ? this.combiner.combine(queue.remove(), message) : message);
+            ((MessageScope.Global) messageScope).vertices().forEach(v -> this.messageBoard.sendMessage(this.messageBoard.slot(v), message));
         }
     }
 
@@ -5,25 +5,55 @@ import com.tinkerpop.gremlin.process.computer.VertexProgram;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
+ * A fixed set of workers, each with its own clone of the {@link VertexProgram} or {@link MapReduce}, that run on a
+ * {@link ForkJoinPool} kept for the whole computation.  Work over a list of items is split into ranges up front,
+ * several per worker, and each worker claims the next unprocessed range until none are left.  A worker that is
+ * done with its ranges thus takes over the remaining ranges of slower workers without any lock being taken per item.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class TinkerWorkerPool {
+public class TinkerWorkerPool implements AutoCloseable {
 
     public static enum State {VERTEX_PROGRAM, MAP_REDUCE}
 
+    private static final int RANGES_PER_WORKER = 16;
+
+    private final int numberOfWorkers;
+    private final ForkJoinPool pool;
     private List<MapReduce> mapReducers;
     private List<VertexProgram> vertexPrograms;
     private State state;
 
+    public TinkerWorkerPool(final int numberOfWorkers) {
+        if (numberOfWorkers < 1)
+            throw new IllegalArgumentException("The number of workers must be greater than zero: " + numberOfWorkers);
+        this.numberOfWorkers = numberOfWorkers;
+        this.pool = new ForkJoinPool(numberOfWorkers);
+    }
+
     public TinkerWorkerPool(final int numberOfWorkers, final VertexProgram vertexProgram) {
+        this(numberOfWorkers);
+        this.setVertexProgram(vertexProgram);
+    }
+
+    public TinkerWorkerPool(final int numberOfWorkers, final MapReduce mapReduce) {
+        this(numberOfWorkers);
+        this.setMapReduce(mapReduce);
+    }
+
+    public void setVertexProgram(final VertexProgram vertexProgram) {
         try {
             this.state = State.VERTEX_PROGRAM;
-            this.vertexPrograms = new ArrayList<>(numberOfWorkers);
-            for (int i = 0; i < numberOfWorkers; i++) {
+            this.vertexPrograms = new ArrayList<>(this.numberOfWorkers);
+            for (int i = 0; i < this.numberOfWorkers; i++) {
                 this.vertexPrograms.add(vertexProgram.clone());
             }
         } catch (final CloneNotSupportedException e) {
@@ -31,11 +61,11 @@ public class TinkerWorkerPool {
         }
     }
 
-    public TinkerWorkerPool(final int numberOfWorkers, final MapReduce mapReduce) {
+    public void setMapReduce(final MapReduce mapReduce) {
         try {
             this.state = State.MAP_REDUCE;
-            this.mapReducers = new ArrayList<>(numberOfWorkers);
-            for (int i = 0; i < numberOfWorkers; i++) {
+            this.mapReducers = new ArrayList<>(this.numberOfWorkers);
+            for (int i = 0; i < this.numberOfWorkers; i++) {
                 this.mapReducers.add(mapReduce.clone());
             }
         } catch (final CloneNotSupportedException e) {
@@ -43,37 +73,59 @@ public class TinkerWorkerPool {
         }
     }
 
+    public int getNumberOfWorkers() {
+        return this.numberOfWorkers;
+    }
+
     public void executeVertexProgram(final Consumer<VertexProgram> worker) {
-        if (!this.state.equals(State.VERTEX_PROGRAM))
-            throw new IllegalStateException("The provided TinkerWorkerPool is not setup for VertexProgram: " + this.state);
-        final CountDownLatch activeWorkers = new CountDownLatch(this.vertexPrograms.size());
-        for (final VertexProgram vertexProgram : this.vertexPrograms) {
-            new Thread(() -> {
-                worker.accept(vertexProgram);
-                activeWorkers.countDown();
-            }).start();
-        }
-        try {
-            activeWorkers.await();
-        } catch (final Exception e) {
-            throw new IllegalStateException(e.getMessage(), e);
-        }
+        this.validateState(State.VERTEX_PROGRAM);
+        this.invokeAll(this.vertexPrograms, worker);
+    }
+
+    public <T> void executeVertexProgram(final List<T> items, final BiConsumer<VertexProgram, T> worker) {
+        this.validateState(State.VERTEX_PROGRAM);
+        this.invokeAll(this.vertexPrograms, items, worker);
     }
 
     public void executeMapReduce(final Consumer<MapReduce> worker) {
-        if (!this.state.equals(State.MAP_REDUCE))
-            throw new IllegalStateException("The provided TinkerWorkerPool is not setup for MapReduce: " + this.state);
-        final CountDownLatch activeWorkers = new CountDownLatch(this.mapReducers.size());
-        for (final MapReduce mapReduce : this.mapReducers) {
-            new Thread(() -> {
-                worker.accept(mapReduce);
-                activeWorkers.countDown();
-            }).start();
-        }
-        try {
-            activeWorkers.await();
-        } catch (final Exception e) {
-            throw new IllegalStateException(e.getMessage(), e);
-        }
+        this.validateState(State.MAP_REDUCE);
+        this.invokeAll(this.mapReducers, worker);
+    }
+
+    public <T> void executeMapReduce(final List<T> items, final BiConsumer<MapReduce, T> worker) {
+        this.validateState(State.MAP_REDUCE);
+        this.invokeAll(this.mapReducers, items, worker);
+    }
+
+    @Override
+    public void close() {
+        this.pool.shutdown();
+    }
+
+    private void validateState(final State state) {
+        if (!state.equals(this.state))
+            throw new IllegalStateException("The provided TinkerWorkerPool is not setup for " + (State.VERTEX_PROGRAM == state ? "VertexProgram" : "MapReduce") + ": " + this.state);
+    }
+
+    private <W, T> void invokeAll(final List<W> workers, final List<T> items, final BiConsumer<W, T> worker) {
+        final int size = items.size();
+        final int ranges = Math.min(size, workers.size() * RANGES_PER_WORKER);
+        final AtomicInteger nextRange = new AtomicInteger(0);
+        this.invokeAll(workers, w -> {
+            int range;
+            while ((range = nextRange.getAndIncrement()) < ranges) {
+                final int end = (int) ((long) size * (range + 1) / ranges);
+                for (int i = (int) ((long) size * range / ranges); i < end; i++) {
+                    worker.accept(w, items.get(i));
+                }
+            }
+        });
+    }
+
+    private <W> void invokeAll(final List<W> workers, final Consumer<W> worker) {
+        final List<ForkJoinTask<?>> tasks = workers.stream()
+                .map(w -> this.pool.submit(() -> worker.accept(w)))
+                .collect(Collectors.toList());
+        tasks.forEach(ForkJoinTask::join);
     }
-}
\ No newline at end of file
+}
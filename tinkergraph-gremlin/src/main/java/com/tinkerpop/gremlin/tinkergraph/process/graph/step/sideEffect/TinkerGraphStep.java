@@ -3,18 +3,18 @@ package com.tinkerpop.gremlin.tinkergraph.process.graph.step.sideEffect;
 import com.tinkerpop.gremlin.process.graph.step.sideEffect.GraphStep;
 import com.tinkerpop.gremlin.process.graph.util.HasContainer;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
-import com.tinkerpop.gremlin.structure.Compare;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerEdge;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -32,37 +32,29 @@ public class TinkerGraphStep<E extends Element> extends GraphStep<E> {
     }
 
     private Iterator<? extends Edge> edges() {
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
+        final TinkerGraph graph = this.getGraph(TinkerGraph.class);
         // ids are present, filter on them first
         if (this.ids != null && this.ids.length > 0)
-            return this.iteratorList(this.getGraph(TinkerGraph.class).iterators().edgeIterator(this.ids));
-        else
-            return null == indexedContainer ?
-                    this.iteratorList(this.getGraph(TinkerGraph.class).iterators().edgeIterator()) :
-                    TinkerHelper.queryEdgeIndex(this.getGraph(TinkerGraph.class), indexedContainer.key, indexedContainer.value).stream()
-                            .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
-                            .collect(Collectors.<Edge>toList()).iterator();
+            return this.iteratorList(graph.iterators().edgeIterator(this.ids));
+        final List<TinkerEdge> indexedEdges = TinkerHelper.queryEdgeIndex(graph, this.hasContainers);
+        return null == indexedEdges ?
+                this.iteratorList(graph.iterators().edgeIterator()) :
+                indexedEdges.stream()
+                        .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
+                        .collect(Collectors.<Edge>toList()).iterator();
     }
 
     private Iterator<? extends Vertex> vertices() {
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
+        final TinkerGraph graph = this.getGraph(TinkerGraph.class);
         // ids are present, filter on them first
         if (this.ids != null && this.ids.length > 0)
-            return this.iteratorList(this.getGraph(TinkerGraph.class).iterators().vertexIterator(this.ids));
-        else
-            return null == indexedContainer ?
-                    this.iteratorList(this.getGraph(TinkerGraph.class).iterators().vertexIterator()) :
-                    TinkerHelper.queryVertexIndex(this.getGraph(TinkerGraph.class), indexedContainer.key, indexedContainer.value).stream()
-                            .filter(vertex -> HasContainer.testAll(vertex, this.hasContainers))
-                            .collect(Collectors.<Vertex>toList()).iterator();
-    }
-
-    private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = this.getGraph(TinkerGraph.class).getIndexedKeys(indexedClass);
-        return this.hasContainers.stream()
-                .filter(c -> indexedKeys.contains(c.key) && c.predicate.equals(Compare.eq))
-                .findAny()
-                .orElseGet(() -> null);
+            return this.iteratorList(graph.iterators().vertexIterator(this.ids));
+        final List<TinkerVertex> indexedVertices = TinkerHelper.queryVertexIndex(graph, this.hasContainers);
+        return null == indexedVertices ?
+                this.iteratorList(graph.iterators().vertexIterator()) :
+                indexedVertices.stream()
+                        .filter(vertex -> HasContainer.testAll(vertex, this.hasContainers))
+                        .collect(Collectors.<Vertex>toList()).iterator();
     }
 
     public String toString() {
@@ -0,0 +1,134 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.Edge;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A label to edge set map for the adjacency of a {@link TinkerVertex} that keeps its labels and edge sets in two
+ * parallel arrays.  Most vertices have only a handful of distinct edge labels and thus a linear scan over labels
+ * interned by {@link TinkerHelper#internLabel} is cheaper, in both time and space, than a {@link java.util.HashMap}.
+ * It is used when the {@link TinkerGraph} is opened with {@link TinkerGraph#CONFIG_COMPACT_STORAGE}.
+ * <p/>
+ * Like {@link TinkerEdgeArraySet}, new labels are appended in place and removals copy the arrays so that iteration
+ * is weakly consistent.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerAdjacencyMap extends AbstractMap<String, Set<Edge>> {
+
+    private static final String[] EMPTY_LABELS = new String[0];
+    private static final Set[] EMPTY_EDGES = new Set[0];
+
+    private String[] labels = EMPTY_LABELS;
+    private Set<Edge>[] edges = EMPTY_EDGES;
+    private int size = 0;
+
+    private int indexOf(final Object label) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.labels[i] == label)
+                return i;
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (this.labels[i].equals(label))
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public Set<Edge> get(final Object label) {
+        final int index = this.indexOf(label);
+        return -1 == index ? null : this.edges[index];
+    }
+
+    @Override
+    public boolean containsKey(final Object label) {
+        return -1 != this.indexOf(label);
+    }
+
+    @Override
+    public Set<Edge> put(final String label, final Set<Edge> edges) {
+        final int index = this.indexOf(label);
+        if (-1 != index) {
+            final Set<Edge> oldEdges = this.edges[index];
+            this.edges[index] = edges;
+            return oldEdges;
+        }
+        if (this.size == this.labels.length) {
+            this.labels = Arrays.copyOf(this.labels, this.size + 1);
+            this.edges = Arrays.copyOf(this.edges, this.size + 1);
+        }
+        this.labels[this.size] = label;
+        this.edges[this.size++] = edges;
+        return null;
+    }
+
+    @Override
+    public Set<Edge> remove(final Object label) {
+        final int index = this.indexOf(label);
+        if (-1 == index)
+            return null;
+        final Set<Edge> oldEdges = this.edges[index];
+        final String[] tempLabels = new String[this.labels.length];
+        final Set<Edge>[] tempEdges = new Set[this.edges.length];
+        System.arraycopy(this.labels, 0, tempLabels, 0, index);
+        System.arraycopy(this.edges, 0, tempEdges, 0, index);
+        System.arraycopy(this.labels, index + 1, tempLabels, index, this.size - index - 1);
+        System.arraycopy(this.edges, index + 1, tempEdges, index, this.size - index - 1);
+        this.labels = tempLabels;
+        this.edges = tempEdges;
+        this.size--;
+        return oldEdges;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void clear() {
+        this.labels = EMPTY_LABELS;
+        this.edges = EMPTY_EDGES;
+        this.size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Set<Edge>>> entrySet() {
+        return new AbstractSet<Entry<String, Set<Edge>>>() {
+            @Override
+            public Iterator<Entry<String, Set<Edge>>> iterator() {
+                return new Iterator<Entry<String, Set<Edge>>>() {
+                    private final String[] snapshotLabels = labels;
+                    private final Set<Edge>[] snapshotEdges = edges;
+                    private final int snapshotSize = size;
+                    private int index = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.index < this.snapshotSize;
+                    }
+
+                    @Override
+                    public Entry<String, Set<Edge>> next() {
+                        if (this.index >= this.snapshotSize)
+                            throw new NoSuchElementException();
+                        final int i = this.index++;
+                        return new SimpleImmutableEntry<>(this.snapshotLabels[i], this.snapshotEdges[i]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
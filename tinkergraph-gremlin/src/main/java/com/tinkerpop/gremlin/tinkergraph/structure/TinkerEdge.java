@@ -39,6 +39,8 @@ public class TinkerEdge extends TinkerElement implements Edge, Edge.Iterators {
             final Property<V> newProperty = new TinkerProperty<>(this, key, value);
             this.properties.put(key, Collections.singletonList(newProperty));
             this.graph.edgeIndex.autoUpdate(key, value, oldProperty.isPresent() ? oldProperty.value() : null, this);
+            if (null != this.graph.persistence)
+                this.graph.persistence.setProperty(newProperty);
             return newProperty;
         }
     }
@@ -66,6 +68,8 @@ public class TinkerEdge extends TinkerElement implements Edge, Edge.Iterators {
         this.graph.edges.remove(this.id());
         this.properties.clear();
         this.removed = true;
+        if (null != this.graph.persistence)
+            this.graph.persistence.removeEdge(this);
     }
 
     @Override
@@ -0,0 +1,130 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.Edge;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An array-backed set of the edges incident to a {@link TinkerVertex} for a single label.  It is used in place of a
+ * {@link java.util.HashSet} when the {@link TinkerGraph} is opened with {@link TinkerGraph#CONFIG_COMPACT_STORAGE}.
+ * <p/>
+ * As every edge is added exactly once by {@link TinkerHelper#addEdge}, {@link #add} does not check for duplicates.
+ * Additions append in place and removals move the last edge into the hole, so the set is unordered.  An iterator sees
+ * the edges present when it was created and never throws a {@link java.util.ConcurrentModificationException}: the
+ * first removal after an iterator is handed out copies the array once, all others work in place.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerEdgeArraySet extends AbstractSet<Edge> {
+
+    private static final Edge[] EMPTY_EDGES = new Edge[0];
+
+    private Edge[] edges = EMPTY_EDGES;
+    private int size = 0;
+    private boolean shared = false;
+
+    @Override
+    public boolean add(final Edge edge) {
+        if (this.size == this.edges.length)
+            this.edges = Arrays.copyOf(this.edges, 0 == this.size ? 2 : this.size + (this.size >> 1) + 1);
+        this.edges[this.size++] = edge;
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object edge) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.edges[i].equals(edge)) {
+                this.removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeAll(final Collection<?> edges) {
+        this.unshare();
+        // a single compacting pass rather than one search per removed edge
+        int count = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (!edges.contains(this.edges[i]))
+                this.edges[count++] = this.edges[i];
+        }
+        if (count == this.size)
+            return false;
+        Arrays.fill(this.edges, count, this.size, null);
+        this.size = count;
+        return true;
+    }
+
+    private void removeAt(final int index) {
+        this.unshare();
+        this.edges[index] = this.edges[--this.size];
+        this.edges[this.size] = null;
+    }
+
+    private void unshare() {
+        // the array of a live iterator is copied once before it is mutated in place
+        if (this.shared) {
+            this.edges = Arrays.copyOf(this.edges, this.edges.length);
+            this.shared = false;
+        }
+    }
+
+    @Override
+    public boolean contains(final Object edge) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.edges[i].equals(edge))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void clear() {
+        this.edges = EMPTY_EDGES;
+        this.size = 0;
+        this.shared = false;
+    }
+
+    @Override
+    public Iterator<Edge> iterator() {
+        this.shared = true;
+        return new Iterator<Edge>() {
+            private final Edge[] snapshot = edges;
+            private final int snapshotSize = size;
+            private int index = 0;
+            private Edge last = null;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < this.snapshotSize;
+            }
+
+            @Override
+            public Edge next() {
+                if (this.index >= this.snapshotSize)
+                    throw new NoSuchElementException();
+                return this.last = this.snapshot[this.index++];
+            }
+
+            @Override
+            public void remove() {
+                if (null == this.last)
+                    throw new IllegalStateException();
+                TinkerEdgeArraySet.this.remove(this.last);
+                this.last = null;
+            }
+        };
+    }
+}
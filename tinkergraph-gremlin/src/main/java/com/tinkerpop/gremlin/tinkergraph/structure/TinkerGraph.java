@@ -18,11 +18,15 @@ import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 /**
@@ -55,10 +59,40 @@ public class TinkerGraph implements Graph, Graph.Iterators {
         this.setProperty(Graph.GRAPH, TinkerGraph.class.getName());
     }};
 
+    /**
+     * When {@code true}, elements are stored in primitive long-keyed tables and vertex adjacency is kept in
+     * array-backed per-label edge lists with interned labels.  Defaults to {@code false}.
+     */
+    public static final String CONFIG_COMPACT_STORAGE = "gremlin.tinkergraph.compactStorage";
+
+    /**
+     * The directory in which the graph is persisted.  When set, the graph is loaded from the snapshot and mutation
+     * log in the directory on open and every mutation is appended to the log.  Not set by default, in which case
+     * the graph is not persisted.
+     */
+    public static final String CONFIG_DIRECTORY = "gremlin.tinkergraph.directory";
+
+    /**
+     * The number of mutation log records after which a new snapshot is written and the log is truncated.
+     * Defaults to {@code 100000}.
+     */
+    public static final String CONFIG_SNAPSHOT_INTERVAL = "gremlin.tinkergraph.snapshotInterval";
+
+    /**
+     * When {@code true}, every mutation log record is forced to disk as it is written rather than just flushed to
+     * the operating system.  Defaults to {@code false}.
+     */
+    public static final String CONFIG_LOG_SYNC = "gremlin.tinkergraph.logSync";
+
+    private final BaseConfiguration configuration = new BaseConfiguration();
+    protected final boolean compactStorage;
+    protected final Map<String, String> labels;
+    protected final TinkerPersistence persistence;
+
     protected Long currentId = -1l;
-    protected Map<Object, Vertex> vertices = new HashMap<>();
-    protected Map<Object, Edge> edges = new HashMap<>();
-    protected TinkerGraphVariables variables = new TinkerGraphVariables();
+    protected Map<Object, Vertex> vertices;
+    protected Map<Object, Edge> edges;
+    protected TinkerGraphVariables variables = new TinkerGraphVariables(this);
     protected TinkerGraphView graphView = null;
 
     protected TinkerIndex<TinkerVertex> vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
@@ -69,6 +103,23 @@ public class TinkerGraph implements Graph, Graph.Iterators {
      * used for purposes of serialization issues.
      */
     private TinkerGraph() {
+        this(EMPTY_CONFIGURATION);
+    }
+
+    private TinkerGraph(final Configuration configuration) {
+        this.configuration.copy(EMPTY_CONFIGURATION);
+        this.configuration.copy(configuration);
+        this.compactStorage = this.configuration.getBoolean(CONFIG_COMPACT_STORAGE, false);
+        this.labels = this.compactStorage ? new ConcurrentHashMap<>() : null;
+        this.vertices = this.compactStorage ? new TinkerLongMap<>() : new HashMap<>();
+        this.edges = this.compactStorage ? new TinkerLongMap<>() : new HashMap<>();
+        this.persistence = this.configuration.containsKey(CONFIG_DIRECTORY) ?
+                new TinkerPersistence(this, this.configuration.getString(CONFIG_DIRECTORY),
+                        this.configuration.getLong(CONFIG_SNAPSHOT_INTERVAL, 100000l),
+                        this.configuration.getBoolean(CONFIG_LOG_SYNC, false)) :
+                null;
+        if (null != this.persistence)
+            this.persistence.open();
     }
 
     /**
@@ -99,7 +150,7 @@ public class TinkerGraph implements Graph, Graph.Iterators {
      * @return a newly opened {@link com.tinkerpop.gremlin.structure.Graph}
      */
     public static TinkerGraph open(final Configuration configuration) {
-        return new TinkerGraph();
+        return null == configuration ? new TinkerGraph() : new TinkerGraph(configuration);
     }
 
     ////////////// STRUCTURE API METHODS //////////////////
@@ -108,7 +159,7 @@ public class TinkerGraph implements Graph, Graph.Iterators {
     public Vertex addVertex(final Object... keyValues) {
         ElementHelper.legalPropertyKeyValueArray(keyValues);
         Object idValue = ElementHelper.getIdValue(keyValues).orElse(null);
-        final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
+        final String label = TinkerHelper.internLabel(this, ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL));
 
         if (null != idValue) {
             if (this.vertices.containsKey(idValue))
@@ -119,6 +170,8 @@ public class TinkerGraph implements Graph, Graph.Iterators {
 
         final Vertex vertex = new TinkerVertex(idValue, label, this);
         this.vertices.put(vertex.id(), vertex);
+        if (null != this.persistence)
+            this.persistence.addVertex(vertex);
         ElementHelper.attachProperties(vertex, keyValues);
         return vertex;
     }
@@ -146,15 +199,48 @@ public class TinkerGraph implements Graph, Graph.Iterators {
     public void clear() {
         this.vertices.clear();
         this.edges.clear();
-        this.variables = new TinkerGraphVariables();
+        this.variables = new TinkerGraphVariables(this);
         this.currentId = 0l;
+        if (this.compactStorage)
+            this.labels.clear();
         this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
         this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+        if (null != this.persistence)
+            this.persistence.clear();
+    }
+
+    /**
+     * Remove many vertices at once.  Each vertex is removed along with its incident edges just as with
+     * {@link Vertex#remove()}, but the adjacency and index entries of all the vertices are dropped in a single pass.
+     * Vertices that are already removed are skipped.
+     *
+     * @param vertices the vertices to remove, which are fully consumed before any removal takes place
+     */
+    public void removeVertices(final Iterator<? extends Vertex> vertices) {
+        final List<TinkerVertex> toRemove = new ArrayList<>();
+        vertices.forEachRemaining(vertex -> toRemove.add((TinkerVertex) vertex));
+        TinkerHelper.removeVertices(this, toRemove);
+    }
+
+    /**
+     * Remove many edges at once.  The adjacency and index entries of all the edges are dropped in a single pass.
+     * Edges that are already removed are skipped.
+     *
+     * @param edges the edges to remove, which are fully consumed before any removal takes place
+     */
+    public void removeEdges(final Iterator<? extends Edge> edges) {
+        final List<TinkerEdge> toRemove = new ArrayList<>();
+        edges.forEachRemaining(edge -> toRemove.add((TinkerEdge) edge));
+        TinkerHelper.removeEdges(this, toRemove, Collections.emptySet());
     }
 
+    /**
+     * Writes a final snapshot of a graph opened with {@link #CONFIG_DIRECTORY}.  Does nothing otherwise.
+     */
     @Override
     public void close() {
-
+        if (null != this.persistence)
+            this.persistence.close();
     }
 
     @Override
@@ -164,7 +250,7 @@ public class TinkerGraph implements Graph, Graph.Iterators {
 
     @Override
     public Configuration configuration() {
-        return EMPTY_CONFIGURATION;
+        return this.configuration;
     }
 
     @Override
@@ -202,13 +288,23 @@ public class TinkerGraph implements Graph, Graph.Iterators {
      */
     @Override
     public Features features() {
-        return new TinkerGraphFeatures();
+        return new TinkerGraphFeatures(null != this.persistence);
     }
 
     public static class TinkerGraphFeatures implements Features {
+        private final boolean persistence;
+
+        public TinkerGraphFeatures() {
+            this(false);
+        }
+
+        public TinkerGraphFeatures(final boolean persistence) {
+            this.persistence = persistence;
+        }
+
         @Override
         public GraphFeatures graph() {
-            return new TinkerGraphGraphFeatures();
+            return new TinkerGraphGraphFeatures(this.persistence);
         }
 
         @Override
@@ -242,6 +338,16 @@ public class TinkerGraph implements Graph, Graph.Iterators {
     }
 
     public static class TinkerGraphGraphFeatures implements Features.GraphFeatures {
+        private final boolean persistence;
+
+        public TinkerGraphGraphFeatures() {
+            this(false);
+        }
+
+        public TinkerGraphGraphFeatures(final boolean persistence) {
+            this.persistence = persistence;
+        }
+
         @Override
         public boolean supportsTransactions() {
             return false;
@@ -249,7 +355,7 @@ public class TinkerGraph implements Graph, Graph.Iterators {
 
         @Override
         public boolean supportsPersistence() {
-            return false;
+            return this.persistence;
         }
 
         @Override
@@ -270,13 +376,34 @@ public class TinkerGraph implements Graph, Graph.Iterators {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
-        if (Vertex.class.isAssignableFrom(elementClass)) {
-            this.vertexIndex.createKeyIndex(key);
-        } else if (Edge.class.isAssignableFrom(elementClass)) {
-            this.edgeIndex.createKeyIndex(key);
-        } else {
-            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
-        }
+        this.getIndex(elementClass).createKeyIndex(key);
+    }
+
+    /**
+     * Create a sorted index for said element class ({@link Vertex} or {@link Edge}) and said property key.
+     * Along with equality lookups, a sorted index answers {@link com.tinkerpop.gremlin.structure.Compare#gt},
+     * {@link com.tinkerpop.gremlin.structure.Compare#gte}, {@link com.tinkerpop.gremlin.structure.Compare#lt},
+     * {@link com.tinkerpop.gremlin.structure.Compare#lte} and {@link com.tinkerpop.gremlin.structure.Text#prefix}.
+     * If the key is already indexed by an unsorted index, that index is rebuilt as a sorted one.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createSortedIndex(final String key, final Class<E> elementClass) {
+        this.getIndex(elementClass).createKeyIndex(key, true);
+    }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the tuple of values of
+     * said property keys.  The index is used when a traversal filters for equality on every one of the keys.
+     *
+     * @param elementClass the element class to index
+     * @param keys         the property keys to index together (at least two)
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final Class<E> elementClass, final String... keys) {
+        this.getIndex(elementClass).createCompositeIndex(Arrays.asList(keys));
     }
 
     /**
@@ -287,13 +414,18 @@ public class TinkerGraph implements Graph, Graph.Iterators {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void dropIndex(final String key, final Class<E> elementClass) {
-        if (Vertex.class.isAssignableFrom(elementClass)) {
-            this.vertexIndex.dropKeyIndex(key);
-        } else if (Edge.class.isAssignableFrom(elementClass)) {
-            this.edgeIndex.dropKeyIndex(key);
-        } else {
-            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
-        }
+        this.getIndex(elementClass).dropKeyIndex(key);
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and keys.
+     *
+     * @param elementClass the element class of the index to drop
+     * @param keys         the property keys of the composite index in the order they were created
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final Class<E> elementClass, final String... keys) {
+        this.getIndex(elementClass).dropCompositeIndex(Arrays.asList(keys));
     }
 
     /**
@@ -304,10 +436,52 @@ public class TinkerGraph implements Graph, Graph.Iterators {
      * @return the set of keys currently being indexed
      */
     public <E extends Element> Set<String> getIndexedKeys(final Class<E> elementClass) {
+        return this.getIndex(elementClass).getIndexedKeys();
+    }
+
+    /**
+     * Return the keys of the sorted indices of said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the sorted keys for
+     * @param <E>          The type of the element class
+     * @return the set of keys currently being indexed by a sorted index
+     */
+    public <E extends Element> Set<String> getSortedIndexedKeys(final Class<E> elementClass) {
+        return Collections.unmodifiableSet(this.getIndex(elementClass).getSortedKeys());
+    }
+
+    /**
+     * Return the keys of each composite index of said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite keys for
+     * @param <E>          The type of the element class
+     * @return the set of key lists currently being indexed by a composite index
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        return Collections.unmodifiableSet(this.getIndex(elementClass).getCompositeIndexedKeys());
+    }
+
+    /**
+     * Return the cardinality statistics of the index of said key for said element class ({@link Vertex} or
+     * {@link Edge}).  The statistics are computed fresh on each call.
+     *
+     * @param key          the indexed property key
+     * @param elementClass the element class of the index
+     * @param <E>          The type of the element class
+     * @return the statistics of the index
+     */
+    public <E extends Element> TinkerIndexStatistics getIndexStatistics(final String key, final Class<E> elementClass) {
+        final TinkerIndexStatistics statistics = this.getIndex(elementClass).getStatistics(key, true);
+        if (null == statistics)
+            throw new IllegalArgumentException("The key is not indexed: " + key);
+        return statistics;
+    }
+
+    private TinkerIndex<? extends Element> getIndex(final Class<? extends Element> elementClass) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
-            return this.vertexIndex.getIndexedKeys();
+            return this.vertexIndex;
         } else if (Edge.class.isAssignableFrom(elementClass)) {
-            return this.edgeIndex.getIndexedKeys();
+            return this.edgeIndex;
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
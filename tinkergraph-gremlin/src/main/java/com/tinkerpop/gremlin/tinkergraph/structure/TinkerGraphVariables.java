@@ -15,9 +15,14 @@ import java.util.concurrent.ConcurrentHashMap;
 public class TinkerGraphVariables implements Graph.Variables {
 
     private final Map<String, Object> variables = new ConcurrentHashMap<>();
+    private final TinkerGraph graph;
 
     public TinkerGraphVariables() {
+        this(null);
+    }
 
+    public TinkerGraphVariables(final TinkerGraph graph) {
+        this.graph = graph;
     }
 
     @Override
@@ -33,12 +38,16 @@ public class TinkerGraphVariables implements Graph.Variables {
     @Override
     public void remove(final String key) {
         this.variables.remove(key);
+        if (null != this.graph && null != this.graph.persistence)
+            this.graph.persistence.removeVariable(key);
     }
 
     @Override
     public void set(final String key, final Object value) {
         GraphVariableHelper.validateVariable(key, value);
         this.variables.put(key, value);
+        if (null != this.graph && null != this.graph.persistence)
+            this.graph.persistence.setVariable(key, value);
     }
 
     public String toString() {
@@ -1,20 +1,29 @@
 package com.tinkerpop.gremlin.tinkergraph.structure;
 
 import com.tinkerpop.gremlin.process.computer.GraphComputer;
+import com.tinkerpop.gremlin.process.graph.util.HasContainer;
 import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.util.ElementHelper;
 import com.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphView;
+import com.tinkerpop.gremlin.util.iterator.ArrayIterator;
 import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 /**
@@ -26,8 +35,24 @@ public class TinkerHelper {
         return Stream.generate(() -> (++graph.currentId)).filter(id -> !graph.vertices.containsKey(id) && !graph.edges.containsKey(id)).findAny().get();
     }
 
-    protected static Edge addEdge(final TinkerGraph graph, final TinkerVertex outVertex, final TinkerVertex inVertex, final String label, final Object... keyValues) {
-        ElementHelper.validateLabel(label);
+    protected static String internLabel(final TinkerGraph graph, final String label) {
+        if (!graph.compactStorage || null == label)
+            return label;
+        final String interned = graph.labels.putIfAbsent(label, label);
+        return null == interned ? label : interned;
+    }
+
+    protected static Map<String, Set<Edge>> createAdjacency(final TinkerGraph graph) {
+        return graph.compactStorage ? new TinkerAdjacencyMap() : new HashMap<>();
+    }
+
+    protected static Set<Edge> createEdgeSet(final TinkerGraph graph) {
+        return graph.compactStorage ? new TinkerEdgeArraySet() : ConcurrentHashMap.newKeySet();
+    }
+
+    protected static Edge addEdge(final TinkerGraph graph, final TinkerVertex outVertex, final TinkerVertex inVertex, final String edgeLabel, final Object... keyValues) {
+        ElementHelper.validateLabel(edgeLabel);
+        final String label = TinkerHelper.internLabel(graph, edgeLabel);
         ElementHelper.legalPropertyKeyValueArray(keyValues);
 
         Object idValue = ElementHelper.getIdValue(keyValues).orElse(null);
@@ -41,10 +66,12 @@ public class TinkerHelper {
         }
 
         edge = new TinkerEdge(idValue, outVertex, label, inVertex, graph);
-        ElementHelper.attachProperties(edge, keyValues);
         graph.edges.put(edge.id(), edge);
         TinkerHelper.addOutEdge(outVertex, label, edge);
         TinkerHelper.addInEdge(inVertex, label, edge);
+        if (null != graph.persistence)
+            graph.persistence.addEdge(edge);
+        ElementHelper.attachProperties(edge, keyValues);
         return edge;
 
     }
@@ -52,7 +79,7 @@ public class TinkerHelper {
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
         Set<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = TinkerHelper.createEdgeSet(vertex.graph);
             vertex.outEdges.put(label, edges);
         }
         edges.add(edge);
@@ -61,12 +88,65 @@ public class TinkerHelper {
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
         Set<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = TinkerHelper.createEdgeSet(vertex.graph);
             vertex.inEdges.put(label, edges);
         }
         edges.add(edge);
     }
 
+    /**
+     * Remove the edges and their index entries in one pass.  The edges are detached from the adjacency of their
+     * vertices with a single bulk removal per adjacent edge set and the adjacency of any vertex in
+     * {@code removedVertices} is left alone as the vertex itself is about to go.
+     */
+    protected static void removeEdges(final TinkerGraph graph, final Collection<TinkerEdge> edges, final Set<TinkerVertex> removedVertices) {
+        final Map<Set<Edge>, Set<Edge>> detached = new IdentityHashMap<>();
+        for (final TinkerEdge edge : edges) {
+            if (edge.removed)
+                continue;
+            final TinkerVertex outVertex = (TinkerVertex) edge.outVertex;
+            final TinkerVertex inVertex = (TinkerVertex) edge.inVertex;
+            if (!removedVertices.contains(outVertex)) {
+                final Set<Edge> adjacent = outVertex.outEdges.get(edge.label());
+                if (null != adjacent)
+                    detached.computeIfAbsent(adjacent, s -> new HashSet<>()).add(edge);
+            }
+            if (!removedVertices.contains(inVertex)) {
+                final Set<Edge> adjacent = inVertex.inEdges.get(edge.label());
+                if (null != adjacent)
+                    detached.computeIfAbsent(adjacent, s -> new HashSet<>()).add(edge);
+            }
+            graph.edgeIndex.removeElement(edge);
+            graph.edges.remove(edge.id());
+            edge.properties.clear();
+            edge.removed = true;
+            if (null != graph.persistence)
+                graph.persistence.removeEdge(edge);
+        }
+        detached.forEach(Set::removeAll);
+    }
+
+    /**
+     * Remove the vertices, all their incident edges and their index entries in one pass.
+     */
+    protected static void removeVertices(final TinkerGraph graph, final Collection<TinkerVertex> vertices) {
+        final Set<TinkerVertex> removedVertices = new HashSet<>();
+        final Set<TinkerEdge> edges = new LinkedHashSet<>();
+        for (final TinkerVertex vertex : vertices) {
+            if (!vertex.removed && removedVertices.add(vertex))
+                TinkerHelper.getEdges(vertex, Direction.BOTH).forEachRemaining(edges::add);
+        }
+        TinkerHelper.removeEdges(graph, edges, removedVertices);
+        for (final TinkerVertex vertex : removedVertices) {
+            graph.vertexIndex.removeElement(vertex);
+            graph.vertices.remove(vertex.id());
+            vertex.properties.clear();
+            vertex.removed = true;
+            if (null != graph.persistence)
+                graph.persistence.removeVertex(vertex);
+        }
+    }
+
     public static void dropView(final TinkerGraph graph) {
         graph.graphView = null;
     }
@@ -79,12 +159,41 @@ public class TinkerHelper {
         return graph.edgeIndex.get(key, value);
     }
 
+    /**
+     * Answer the {@link HasContainer}s with the most selective vertex index available or return {@code null} if no
+     * index applies.  The returned vertices still need to be filtered by all the {@link HasContainer}s.
+     */
+    public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        return graph.vertexIndex.query(hasContainers);
+    }
+
+    /**
+     * Answer the {@link HasContainer}s with the most selective edge index available or return {@code null} if no
+     * index applies.  The returned edges still need to be filtered by all the {@link HasContainer}s.
+     */
+    public static List<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        return graph.edgeIndex.query(hasContainers);
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphView;
     }
 
     public static TinkerGraphView createGraphView(final TinkerGraph graph, final GraphComputer.Isolation isolation, final Set<String> computeKeys) {
-        return graph.graphView = new TinkerGraphView(isolation, computeKeys);
+        int slot = 0;
+        for (final Vertex vertex : graph.vertices.values()) {
+            ((TinkerVertex) vertex).computeSlot = slot++;
+        }
+        return graph.graphView = new TinkerGraphView(isolation, computeKeys, slot);
+    }
+
+    /**
+     * Answer the dense index of the vertex in the columns of the current {@link TinkerGraphView}.
+     */
+    public static int getComputeSlot(final TinkerVertex vertex) {
+        if (vertex.computeSlot < 0)
+            throw new IllegalStateException("The vertex was added after the graph view was created: " + vertex);
+        return vertex.computeSlot;
     }
 
     public static Map<String, List<Property>> getProperties(final TinkerElement element) {
@@ -92,14 +201,38 @@ public class TinkerHelper {
     }
 
     public static final Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
-        Stream<Edge> edgeStream = null;
-        if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH))
-            edgeStream = (edgeLabels.length == 0 ? vertex.outEdges.keySet().stream() : Stream.of(edgeLabels)).filter(label -> !Graph.Hidden.isHidden(label)).map(vertex.outEdges::get).filter(edges -> null != edges).flatMap(list -> list.stream());
-        if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH))
-            edgeStream = Stream.concat(null == edgeStream ? Stream.empty() : edgeStream, (edgeLabels.length == 0 ? vertex.inEdges.keySet().stream() : Stream.of(edgeLabels)).filter(label -> !Graph.Hidden.isHidden(label)).map(vertex.inEdges::get).filter(edges -> null != edges).flatMap(list -> list.stream()));
-        return (Iterator) edgeStream.collect(Collectors.toList()).iterator();
+        if (direction.equals(Direction.OUT))
+            return TinkerHelper.getEdges(vertex.outEdges, edgeLabels);
+        else if (direction.equals(Direction.IN))
+            return TinkerHelper.getEdges(vertex.inEdges, edgeLabels);
+        else
+            return IteratorUtils.concat(TinkerHelper.getEdges(vertex.outEdges, edgeLabels), TinkerHelper.getEdges(vertex.inEdges, edgeLabels));
+    }
 
+    /**
+     * Lazily walk the edge sets of the adjacency in place.  The sets are never copied and thus the cost of the
+     * iteration is proportional to the number of edges consumed, not the degree of the vertex.  Adjacency sets are
+     * weakly consistent (see {@link #createEdgeSet}) so edges may be added or removed while being iterated.  Only the
+     * few label sets of the adjacency are gathered up front, so that a new label does not disturb the iteration.
+     */
+    private static Iterator<TinkerEdge> getEdges(final Map<String, Set<Edge>> adjacency, final String... edgeLabels) {
+        if (0 == edgeLabels.length) {
+            final List<Set<Edge>> edges = new ArrayList<>(adjacency.size());
+            adjacency.forEach((label, labelEdges) -> {
+                if (!Graph.Hidden.isHidden(label)) edges.add(labelEdges);
+            });
+            return IteratorUtils.flatMap(edges.iterator(), labelEdges -> (Iterator) labelEdges.iterator());
+        } else if (1 == edgeLabels.length)
+            return TinkerHelper.getEdges(adjacency, edgeLabels[0]);
+        else
+            return IteratorUtils.flatMap(new ArrayIterator<>(edgeLabels), label -> TinkerHelper.getEdges(adjacency, label));
+    }
 
+    private static Iterator<TinkerEdge> getEdges(final Map<String, Set<Edge>> adjacency, final String edgeLabel) {
+        if (Graph.Hidden.isHidden(edgeLabel))
+            return Collections.emptyIterator();
+        final Set<Edge> edges = adjacency.get(edgeLabel);
+        return null == edges ? Collections.emptyIterator() : (Iterator) edges.iterator();
     }
 
     public static final Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
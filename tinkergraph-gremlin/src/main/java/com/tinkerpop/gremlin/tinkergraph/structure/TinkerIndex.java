@@ -1,26 +1,130 @@
 package com.tinkerpop.gremlin.tinkergraph.structure;
 
+import com.tinkerpop.gremlin.process.graph.util.HasContainer;
+import com.tinkerpop.gremlin.structure.Compare;
+import com.tinkerpop.gremlin.structure.Contains;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Text;
 import com.tinkerpop.gremlin.structure.Vertex;
+import org.javatuples.Pair;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 class TinkerIndex<T extends Element> {
 
+    /**
+     * Orders the values of a sorted index.  Values of the same {@link Comparable} class are naturally ordered and
+     * values of different classes are grouped by class name, so every range of a single class is contiguous.  All
+     * numbers form a single group that is ordered numerically, with the class name only breaking ties, so that a range
+     * over numbers holds the values of every numeric type.
+     */
+    private static final Comparator<Object> VALUE_COMPARATOR = (a, b) -> {
+        final boolean numbers = isNumber(a) && isNumber(b);
+        if (numbers) {
+            final int compare = compareNumbers(a, b);
+            if (0 != compare || a instanceof Bound || b instanceof Bound)
+                return compare;
+        }
+        if (!a.getClass().equals(b.getClass()))
+            return numbers ? a.getClass().getName().compareTo(b.getClass().getName()) : getGroup(a).compareTo(getGroup(b));
+        else if (a instanceof Comparable)
+            return ((Comparable) a).compareTo(b);
+        else if (a.equals(b))
+            return 0;
+        else {
+            final int compare = Integer.compare(a.hashCode(), b.hashCode());
+            return 0 != compare ? compare : Integer.compare(System.identityHashCode(a), System.identityHashCode(b));
+        }
+    };
+
+    /**
+     * A bound of a numeric range that sorts before or after all the numbers equal to its value.  It is only used to
+     * look up a range in a sorted index and never stored.
+     */
+    private static final class Bound {
+        private final Number value;
+        private final boolean after;
+
+        private Bound(final Number value, final boolean after) {
+            this.value = value;
+            this.after = after;
+        }
+    }
+
+    private static boolean isNumber(final Object value) {
+        return value instanceof Number || value instanceof Bound;
+    }
+
+    private static String getGroup(final Object value) {
+        return isNumber(value) ? Number.class.getName() : value.getClass().getName();
+    }
+
+    private static int compareNumbers(final Object a, final Object b) {
+        if (a instanceof Bound) {
+            final int compare = compareNumbers(((Bound) a).value, b);
+            return 0 != compare ? compare : ((Bound) a).after ? 1 : -1;
+        } else if (b instanceof Bound)
+            return -compareNumbers(b, a);
+        else if (a.getClass().equals(b.getClass()) && a instanceof Comparable)
+            return ((Comparable) a).compareTo(b);
+        else if (isIntegral(a) && isIntegral(b))
+            return Long.compare(((Number) a).longValue(), ((Number) b).longValue());
+        else if (isFinite(a) && isFinite(b))
+            return toBigDecimal((Number) a).compareTo(toBigDecimal((Number) b));
+        else
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+    }
+
+    private static boolean isIntegral(final Object number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+    }
+
+    private static boolean isFinite(final Object number) {
+        return !(number instanceof Double || number instanceof Float) || !(Double.isNaN(((Number) number).doubleValue()) || Double.isInfinite(((Number) number).doubleValue()));
+    }
+
+    private static BigDecimal toBigDecimal(final Number number) {
+        if (number instanceof BigDecimal)
+            return (BigDecimal) number;
+        else if (number instanceof BigInteger)
+            return new BigDecimal((BigInteger) number);
+        else if (isIntegral(number))
+            return BigDecimal.valueOf(number.longValue());
+        else
+            return new BigDecimal(number.doubleValue());
+    }
+
+    private static final int TOP_VALUES = 10;
+    private static final int HISTOGRAM_BUCKETS = 32;
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
+    protected Map<String, KeyStatistics> statistics = new ConcurrentHashMap<>();
+    protected Map<List<String>, CompositeIndex<T>> compositeIndex = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
     private final Set<String> indexedKeys = new HashSet<>();
+    private final Set<String> sortedKeys = new HashSet<>();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
@@ -31,15 +135,17 @@ class TinkerIndex<T extends Element> {
     protected void put(final String key, final Object value, final T element) {
         Map<Object, Set<T>> keyMap = this.index.get(key);
         if (keyMap == null) {
-            keyMap = new ConcurrentHashMap<>();
+            keyMap = this.sortedKeys.contains(key) ? new ConcurrentSkipListMap<>(VALUE_COMPARATOR) : new ConcurrentHashMap<>();
             this.index.put(key, keyMap);
         }
+        final KeyStatistics keyStatistics = this.statistics.computeIfAbsent(key, k -> new KeyStatistics());
         Set<T> objects = keyMap.get(value);
         if (null == objects) {
             objects = new HashSet<>();
             keyMap.put(value, objects);
         }
-        objects.add(element);
+        if (objects.add(element))
+            keyStatistics.added();
 
     }
 
@@ -69,12 +175,250 @@ class TinkerIndex<T extends Element> {
         }
     }
 
+    /**
+     * Determine if the index can answer the provided predicate for the key.  Every indexed key answers
+     * {@link Compare#eq} and {@link Contains#within} while range and prefix predicates require a sorted index.
+     */
+    public boolean isIndexed(final String key, final BiPredicate predicate, final Object value) {
+        if (null == value || !this.indexedKeys.contains(key))
+            return false;
+        else if (Compare.eq.equals(predicate))
+            return true;
+        else if (Contains.within.equals(predicate))
+            return value instanceof Collection;
+        else if (Text.prefix.equals(predicate))
+            return value instanceof String && this.sortedKeys.contains(key);
+        else
+            return (Compare.gt.equals(predicate) || Compare.gte.equals(predicate) || Compare.lt.equals(predicate) || Compare.lte.equals(predicate))
+                    && this.sortedKeys.contains(key);
+    }
+
+    /**
+     * Get the elements whose value for the key satisfies the predicate.  The predicate must be one for which
+     * {@link #isIndexed} returns {@code true}.
+     */
+    public List<T> get(final String key, final BiPredicate predicate, final Object value) {
+        if (Compare.eq.equals(predicate))
+            return this.get(key, value);
+
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (null == keyMap)
+            return Collections.emptyList();
+        // multi-properties may place an element under several values so the union must be de-duplicated
+        final Set<T> elements = new LinkedHashSet<>();
+        if (Contains.within.equals(predicate)) {
+            for (final Object v : (Collection) value) {
+                final Set<T> set = keyMap.get(v);
+                if (null != set)
+                    elements.addAll(set);
+            }
+        } else {
+            final NavigableMap<Object, Set<T>> sortedMap = (NavigableMap<Object, Set<T>>) keyMap;
+            if (Text.prefix.equals(predicate))
+                addRange(sortedMap.tailMap(value, true), v -> v instanceof String && ((String) v).startsWith((String) value), elements);
+            else if (value instanceof Number) {
+                // numbers of other types equal to the value are only bounded by a bound that sorts around all of them
+                if (Compare.gt.equals(predicate) || Compare.gte.equals(predicate))
+                    addRange(sortedMap.tailMap(new Bound((Number) value, Compare.gt.equals(predicate)), true), v -> v instanceof Number, elements);
+                else
+                    addRange(sortedMap.headMap(new Bound((Number) value, Compare.lte.equals(predicate)), false).descendingMap(), v -> v instanceof Number, elements);
+            } else {
+                final Predicate<Object> sameClass = v -> v.getClass().equals(value.getClass());
+                if (Compare.gt.equals(predicate) || Compare.gte.equals(predicate))
+                    addRange(sortedMap.tailMap(value, Compare.gte.equals(predicate)), sameClass, elements);
+                else
+                    addRange(sortedMap.headMap(value, Compare.lte.equals(predicate)).descendingMap(), sameClass, elements);
+            }
+        }
+        return new ArrayList<>(elements);
+    }
+
+    private static <T> void addRange(final Map<Object, Set<T>> range, final Predicate<Object> inRange, final Set<T> elements) {
+        for (final Map.Entry<Object, Set<T>> entry : range.entrySet()) {
+            if (!inRange.test(entry.getKey()))
+                return;
+            elements.addAll(entry.getValue());
+        }
+    }
+
+    /**
+     * Get the elements that have exactly the provided values for the keys of a composite index.
+     */
+    public List<T> get(final List<String> keys, final List<Object> values) {
+        final CompositeIndex<T> composite = this.compositeIndex.get(keys);
+        if (null == composite)
+            return Collections.emptyList();
+        final Set<T> set = composite.index.get(values);
+        return null == set ? Collections.emptyList() : new ArrayList<>(set);
+    }
+
+    public long count(final List<String> keys, final List<Object> values) {
+        final CompositeIndex<T> composite = this.compositeIndex.get(keys);
+        if (null == composite)
+            return 0;
+        final Set<T> set = composite.index.get(values);
+        return null == set ? 0 : set.size();
+    }
+
+    /**
+     * Select the cheapest index that can answer the {@link HasContainer}s and return the elements it yields.  Exact
+     * lookups (equality, {@link Contains#within} and composite) are costed by the size of the buckets they touch,
+     * while range and prefix lookups are estimated from the histogram of the sorted index.  If no index applies,
+     * {@code null} is returned.
+     * <p/>
+     * The candidate sets of other indices are not intersected with the cheapest one as the caller must re-test
+     * every {@link HasContainer} anyway, and filtering the cheapest set in memory never costs more than
+     * materializing and probing a second set.
+     */
+    public List<T> query(final List<HasContainer> hasContainers) {
+        List<String> bestKeys = null;
+        List<Object> bestValues = null;
+        HasContainer bestContainer = null;
+        double bestCost = Double.MAX_VALUE;
+        for (final List<String> keys : this.compositeIndex.keySet()) {
+            final List<Object> values = getEqualityValues(keys, hasContainers);
+            if (null != values) {
+                final long cost = this.count(keys, values);
+                if (cost < bestCost) {
+                    bestKeys = keys;
+                    bestValues = values;
+                    bestCost = cost;
+                }
+            }
+        }
+        for (final HasContainer hasContainer : hasContainers) {
+            if (this.isIndexed(hasContainer.key, hasContainer.predicate, hasContainer.value)) {
+                final double cost = this.estimate(hasContainer.key, hasContainer.predicate, hasContainer.value);
+                if (cost < bestCost) {
+                    bestContainer = hasContainer;
+                    bestCost = cost;
+                }
+            }
+        }
+        if (null != bestContainer)
+            return this.get(bestContainer.key, bestContainer.predicate, bestContainer.value);
+        else if (null != bestKeys)
+            return this.get(bestKeys, bestValues);
+        else
+            return null;
+    }
+
+    /**
+     * Estimate the number of elements the index yields for the predicate.  The estimate is exact for
+     * {@link Compare#eq} and {@link Contains#within} and derived from the histogram for range and prefix predicates.
+     */
+    public double estimate(final String key, final BiPredicate predicate, final Object value) {
+        if (Compare.eq.equals(predicate))
+            return this.count(key, value);
+        else if (Contains.within.equals(predicate)) {
+            long count = 0;
+            for (final Object v : (Collection) value) {
+                count = count + this.count(key, v);
+            }
+            return count;
+        } else {
+            final TinkerIndexStatistics keyStatistics = this.getStatistics(key, false);
+            if (null == keyStatistics)
+                return 0;
+            final Predicate<Object> inRange;
+            if (Text.prefix.equals(predicate))
+                inRange = v -> predicate.test(v, value);
+            else if (value instanceof Number)
+                inRange = v -> v instanceof Number && predicate.test(compareNumbers(v, value), 0);
+            else
+                inRange = v -> v.getClass().equals(value.getClass()) && predicate.test(v, value);
+            double estimate = 0;
+            for (final TinkerIndexStatistics.Bucket bucket : keyStatistics.getHistogram()) {
+                final boolean lower = inRange.test(bucket.getLowerBound());
+                final boolean upper = inRange.test(bucket.getUpperBound());
+                if (lower && upper)
+                    estimate = estimate + bucket.getEntries();
+                else if (lower || upper || (VALUE_COMPARATOR.compare(bucket.getLowerBound(), value) <= 0 && VALUE_COMPARATOR.compare(bucket.getUpperBound(), value) >= 0))
+                    estimate = estimate + (bucket.getEntries() / 2.0d);
+            }
+            return estimate;
+        }
+    }
+
+    /**
+     * Get the statistics of the index of the key or {@code null} if the key is not indexed.  Statistics are cached
+     * and only recomputed once the index has changed by a tenth of its entries, unless a fresh snapshot is forced.
+     */
+    public TinkerIndexStatistics getStatistics(final String key, final boolean fresh) {
+        if (!this.indexedKeys.contains(key))
+            return null;
+        final KeyStatistics keyStatistics = this.statistics.computeIfAbsent(key, k -> new KeyStatistics());
+        if (fresh || null == keyStatistics.snapshot || keyStatistics.modifications > Math.max(100, keyStatistics.entries / 10)) {
+            keyStatistics.snapshot = this.computeStatistics(key);
+            keyStatistics.modifications = 0;
+        }
+        return keyStatistics.snapshot;
+    }
+
+    private TinkerIndexStatistics computeStatistics(final String key) {
+        final boolean sorted = this.sortedKeys.contains(key);
+        final Map<Object, Set<T>> keyMap = this.index.getOrDefault(key, Collections.emptyMap());
+        final PriorityQueue<Pair<Object, Long>> topValues = new PriorityQueue<>(TOP_VALUES + 1, Comparator.comparing(Pair::getValue1));
+        long entries = 0;
+        long distinctValues = 0;
+        for (final Map.Entry<Object, Set<T>> entry : keyMap.entrySet()) {
+            final long size = entry.getValue().size();
+            entries = entries + size;
+            distinctValues++;
+            topValues.add(Pair.with(entry.getKey(), size));
+            if (topValues.size() > TOP_VALUES)
+                topValues.poll();
+        }
+        final List<Pair<Object, Long>> sortedTopValues = new ArrayList<>(topValues);
+        sortedTopValues.sort(Comparator.<Pair<Object, Long>, Long>comparing(Pair::getValue1).reversed());
+
+        // equi-depth buckets over the ordered values of a sorted index
+        final List<TinkerIndexStatistics.Bucket> histogram = new ArrayList<>();
+        if (sorted && entries > 0) {
+            final long depth = Math.max(1, (entries + HISTOGRAM_BUCKETS - 1) / HISTOGRAM_BUCKETS);
+            Object lowerBound = null;
+            Object upperBound = null;
+            long bucketEntries = 0;
+            for (final Map.Entry<Object, Set<T>> entry : keyMap.entrySet()) {
+                if (null == lowerBound)
+                    lowerBound = entry.getKey();
+                upperBound = entry.getKey();
+                bucketEntries = bucketEntries + entry.getValue().size();
+                if (bucketEntries >= depth) {
+                    histogram.add(new TinkerIndexStatistics.Bucket(lowerBound, upperBound, bucketEntries));
+                    lowerBound = null;
+                    bucketEntries = 0;
+                }
+            }
+            if (bucketEntries > 0)
+                histogram.add(new TinkerIndexStatistics.Bucket(lowerBound, upperBound, bucketEntries));
+        }
+        return new TinkerIndexStatistics(key, sorted, entries, distinctValues, sortedTopValues, histogram);
+    }
+
+    private static List<Object> getEqualityValues(final List<String> keys, final List<HasContainer> hasContainers) {
+        final Object[] values = new Object[keys.size()];
+        for (int i = 0; i < values.length; i++) {
+            for (final HasContainer hasContainer : hasContainers) {
+                if (Compare.eq.equals(hasContainer.predicate) && null != hasContainer.value && hasContainer.key.equals(keys.get(i))) {
+                    values[i] = hasContainer.value;
+                    break;
+                }
+            }
+            if (null == values[i])
+                return null;
+        }
+        return Arrays.asList(values);
+    }
+
     public void remove(final String key, final Object value, final T element) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null != keyMap) {
             Set<T> objects = keyMap.get(value);
             if (null != objects) {
-                objects.remove(element);
+                final KeyStatistics keyStatistics = this.statistics.get(key);
+                if (objects.remove(element))
+                    keyStatistics.removed();
                 if (objects.size() == 0) {
                     keyMap.remove(value);
                 }
@@ -82,13 +426,28 @@ class TinkerIndex<T extends Element> {
         }
     }
 
+    /**
+     * Remove the element from every index.  Only the buckets of the element's own values for the indexed keys are
+     * visited so the cost is proportional to the element's indexed properties, not the size of the index.  This
+     * must be called before the properties of the element are cleared.
+     */
     public void removeElement(final T element) {
         if (this.indexClass.isAssignableFrom(element.getClass())) {
-            for (Map<Object, Set<T>> map : index.values()) {
-                for (Set<T> set : map.values()) {
-                    set.remove(element);
+            for (final String key : this.indexedKeys) {
+                if (key.equals(com.tinkerpop.gremlin.process.T.label.getAccessor()))
+                    this.remove(key, element.label(), element);
+                else {
+                    final List<Property> properties = ((TinkerElement) element).properties.get(key);
+                    if (null != properties) {
+                        for (final Property property : properties) {
+                            this.remove(key, property.value(), element);
+                        }
+                    }
                 }
             }
+            for (final CompositeIndex<T> composite : this.compositeIndex.values()) {
+                composite.remove(element);
+            }
         }
     }
 
@@ -98,39 +457,167 @@ class TinkerIndex<T extends Element> {
                 this.remove(key, oldValue, element);
             this.put(key, newValue, element);
         }
+        this.updateCompositeIndex(key, element);
     }
 
     public void autoRemove(final String key, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key))
             this.remove(key, oldValue, element);
+        this.updateCompositeIndex(key, element);
+    }
+
+    private void updateCompositeIndex(final String key, final T element) {
+        for (final CompositeIndex<T> composite : this.compositeIndex.values()) {
+            if (composite.keys.contains(key)) {
+                composite.remove(element);
+                composite.put(element);
+            }
+        }
     }
 
     public void createKeyIndex(final String key) {
-        if (null == key)
-            throw Graph.Exceptions.argumentCanNotBeNull("key");
-        if (key.isEmpty())
-            throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        this.createKeyIndex(key, false);
+    }
 
-        if (this.indexedKeys.contains(key))
-            return;
+    public void createKeyIndex(final String key, final boolean sorted) {
+        validateKey(key);
+        if (this.indexedKeys.contains(key)) {
+            // a sorted index answers everything a hashed index does, so only an upgrade requires a rebuild
+            if (!sorted || this.sortedKeys.contains(key))
+                return;
+            this.dropKeyIndex(key);
+        }
         this.indexedKeys.add(key);
+        if (sorted)
+            this.sortedKeys.add(key);
 
-        (Vertex.class.isAssignableFrom(this.indexClass) ?
-                this.graph.vertices.values().<T>parallelStream() :
-                this.graph.edges.values().<T>parallelStream())
-                .map(e -> new Object[]{((T) e).property(key), e})
-                .filter(a -> ((Property) a[0]).isPresent())
-                .forEach(a -> this.put(key, ((Property) a[0]).value(), (T) a[1]));
+        this.elements().forEach(element -> element.iterators().propertyIterator(key).forEachRemaining(property -> this.put(key, property.value(), element)));
     }
 
     public void dropKeyIndex(final String key) {
         if (this.index.containsKey(key))
             this.index.remove(key).clear();
 
+        this.statistics.remove(key);
         this.indexedKeys.remove(key);
+        this.sortedKeys.remove(key);
+    }
+
+    public void createCompositeIndex(final List<String> keys) {
+        if (keys.size() < 2)
+            throw new IllegalArgumentException("A composite index requires at least two keys: " + keys);
+        keys.forEach(TinkerIndex::validateKey);
+        if (this.compositeIndex.containsKey(keys))
+            return;
+
+        final CompositeIndex<T> composite = new CompositeIndex<>(keys);
+        this.elements().forEach(composite::put);
+        this.compositeIndex.put(keys, composite);
+    }
+
+    public void dropCompositeIndex(final List<String> keys) {
+        this.compositeIndex.remove(keys);
     }
 
     public Set<String> getIndexedKeys() {
         return this.indexedKeys;
     }
+
+    public Set<String> getSortedKeys() {
+        return this.sortedKeys;
+    }
+
+    public Set<List<String>> getCompositeIndexedKeys() {
+        return this.compositeIndex.keySet();
+    }
+
+    private Collection<T> elements() {
+        return (Collection<T>) (Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values() :
+                this.graph.edges.values());
+    }
+
+    private static void validateKey(final String key) {
+        if (null == key)
+            throw Graph.Exceptions.argumentCanNotBeNull("key");
+        if (key.isEmpty())
+            throw new IllegalArgumentException("The key for the index cannot be an empty string");
+    }
+
+    /**
+     * Running counters of a key index.  The entry count is maintained on every mutation and decides when the
+     * snapshot, with its more expensive top values and histogram, must be recomputed.
+     */
+    private static final class KeyStatistics {
+
+        private long entries = 0;
+        private long modifications = 0;
+        private TinkerIndexStatistics snapshot = null;
+
+        private void added() {
+            this.entries++;
+            this.modifications++;
+        }
+
+        private void removed() {
+            this.entries--;
+            this.modifications++;
+        }
+    }
+
+    /**
+     * An index over the tuple of values of several keys.  The tuples under which each element is indexed are kept
+     * so that the element can be re-indexed when one of its values changes.
+     */
+    private static final class CompositeIndex<T extends Element> {
+
+        private final List<String> keys;
+        private final Map<List<Object>, Set<T>> index = new ConcurrentHashMap<>();
+        private final Map<T, List<List<Object>>> elementTuples = new ConcurrentHashMap<>();
+
+        private CompositeIndex(final List<String> keys) {
+            this.keys = Collections.unmodifiableList(new ArrayList<>(keys));
+        }
+
+        private void put(final T element) {
+            // multi-properties yield the cartesian product of the values of each key
+            List<List<Object>> tuples = Collections.singletonList(Collections.emptyList());
+            for (final String key : this.keys) {
+                final List<Object> values = new ArrayList<>();
+                if (key.equals(com.tinkerpop.gremlin.process.T.label.getAccessor()))
+                    values.add(element.label());
+                else
+                    element.iterators().propertyIterator(key).forEachRemaining(property -> values.add(property.value()));
+                if (values.isEmpty())
+                    return;
+                final List<List<Object>> product = new ArrayList<>(tuples.size() * values.size());
+                for (final List<Object> tuple : tuples) {
+                    for (final Object value : values) {
+                        final List<Object> extended = new ArrayList<>(tuple);
+                        extended.add(value);
+                        product.add(extended);
+                    }
+                }
+                tuples = product;
+            }
+            for (final List<Object> tuple : tuples) {
+                this.index.computeIfAbsent(tuple, t -> ConcurrentHashMap.newKeySet()).add(element);
+            }
+            this.elementTuples.put(element, tuples);
+        }
+
+        private void remove(final T element) {
+            final List<List<Object>> tuples = this.elementTuples.remove(element);
+            if (null != tuples) {
+                for (final List<Object> tuple : tuples) {
+                    final Set<T> set = this.index.get(tuple);
+                    if (null != set) {
+                        set.remove(element);
+                        if (set.isEmpty())
+                            this.index.remove(tuple);
+                    }
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.javatuples.Pair;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A snapshot of the cardinality statistics of a single key index of a {@link TinkerGraph}.  The statistics are
+ * used by {@link com.tinkerpop.gremlin.tinkergraph.process.graph.step.sideEffect.TinkerGraphStep} to estimate the
+ * cost of each applicable index and are available through {@link TinkerGraph#getIndexStatistics}.
+ *
+ * @author agent (agent@local)
+ */
+public final class TinkerIndexStatistics {
+
+    private final String key;
+    private final boolean sorted;
+    private final long entries;
+    private final long distinctValues;
+    private final List<Pair<Object, Long>> topValues;
+    private final List<Bucket> histogram;
+
+    TinkerIndexStatistics(final String key, final boolean sorted, final long entries, final long distinctValues,
+                          final List<Pair<Object, Long>> topValues, final List<Bucket> histogram) {
+        this.key = key;
+        this.sorted = sorted;
+        this.entries = entries;
+        this.distinctValues = distinctValues;
+        this.topValues = Collections.unmodifiableList(topValues);
+        this.histogram = Collections.unmodifiableList(histogram);
+    }
+
+    /**
+     * The indexed property key.
+     */
+    public String getKey() {
+        return this.key;
+    }
+
+    /**
+     * Whether the index is a sorted index and thus answers range queries.
+     */
+    public boolean isSorted() {
+        return this.sorted;
+    }
+
+    /**
+     * The number of element/value pairs in the index.  A vertex with multiple values for the key counts once per
+     * value.
+     */
+    public long getEntries() {
+        return this.entries;
+    }
+
+    /**
+     * The number of distinct values in the index.
+     */
+    public long getDistinctValues() {
+        return this.distinctValues;
+    }
+
+    /**
+     * The most frequent values of the index paired with their frequency, most frequent first.
+     */
+    public List<Pair<Object, Long>> getTopValues() {
+        return this.topValues;
+    }
+
+    /**
+     * An equi-depth histogram over the ordered values of a sorted index.  The histogram is empty for an unsorted
+     * index as its values have no order.
+     */
+    public List<Bucket> getHistogram() {
+        return this.histogram;
+    }
+
+    @Override
+    public String toString() {
+        return "index[" + this.key + (this.sorted ? ",sorted" : "") + "][entries:" + this.entries + " distinct:" + this.distinctValues + "]";
+    }
+
+    /**
+     * A histogram bucket holding the number of entries whose values fall between its lower and upper bound
+     * (both inclusive).
+     */
+    public static final class Bucket {
+
+        private final Object lowerBound;
+        private final Object upperBound;
+        private final long entries;
+
+        Bucket(final Object lowerBound, final Object upperBound, final long entries) {
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+            this.entries = entries;
+        }
+
+        public Object getLowerBound() {
+            return this.lowerBound;
+        }
+
+        public Object getUpperBound() {
+            return this.upperBound;
+        }
+
+        public long getEntries() {
+            return this.entries;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + this.lowerBound + ".." + this.upperBound + "]:" + this.entries;
+        }
+    }
+}
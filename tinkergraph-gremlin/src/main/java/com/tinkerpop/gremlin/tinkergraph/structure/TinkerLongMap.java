@@ -0,0 +1,314 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An open-addressing (linear probing) map that stores {@link Long} keys as primitive longs.  It backs the element
+ * tables of a {@link TinkerGraph} opened with {@link TinkerGraph#CONFIG_COMPACT_STORAGE} where the auto-assigned ids
+ * of {@link TinkerHelper#getNextId} are always longs.  Any user supplied id that is not a {@link Long} is kept in a
+ * standard overflow {@link HashMap} so that the map behaves exactly like the {@link HashMap} it replaces.
+ * <p/>
+ * A value of {@code null} marks an empty slot and thus null values are not supported.  Removal uses backward shift
+ * deletion so that no tombstones are left behind in the table.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerLongMap<V> extends AbstractMap<Object, V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[] keys;
+    private Object[] values;
+    private int size = 0;
+    private int mask;
+    private int threshold;
+    private int modCount = 0;
+    private Map<Object, V> overflow = null;
+
+    public TinkerLongMap() {
+        this.allocate(DEFAULT_CAPACITY);
+    }
+
+    private void allocate(final int capacity) {
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15l;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int slot(final long key) {
+        int index = hash(key) & this.mask;
+        while (null != this.values[index]) {
+            if (this.keys[index] == key)
+                return index;
+            index = (index + 1) & this.mask;
+        }
+        return -(index + 1);
+    }
+
+    @Override
+    public int size() {
+        return this.size + (null == this.overflow ? 0 : this.overflow.size());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == this.size();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        if (key instanceof Long)
+            return this.slot((Long) key) >= 0;
+        else
+            return null != this.overflow && this.overflow.containsKey(key);
+    }
+
+    @Override
+    public V get(final Object key) {
+        if (key instanceof Long) {
+            final int index = this.slot((Long) key);
+            return index < 0 ? null : (V) this.values[index];
+        } else
+            return null == this.overflow ? null : this.overflow.get(key);
+    }
+
+    @Override
+    public V put(final Object key, final V value) {
+        if (null == value)
+            throw new IllegalArgumentException("The value of a " + TinkerLongMap.class.getSimpleName() + " entry can not be null");
+        if (key instanceof Long) {
+            final long k = (Long) key;
+            int index = this.slot(k);
+            if (index >= 0) {
+                final V oldValue = (V) this.values[index];
+                this.values[index] = value;
+                return oldValue;
+            }
+            if (this.size >= this.threshold) {
+                this.rehash(this.keys.length << 1);
+                index = this.slot(k);
+            }
+            index = -index - 1;
+            this.keys[index] = k;
+            this.values[index] = value;
+            this.size++;
+            this.modCount++;
+            return null;
+        } else {
+            if (null == this.overflow)
+                this.overflow = new HashMap<>();
+            this.modCount++;
+            return this.overflow.put(key, value);
+        }
+    }
+
+    @Override
+    public V remove(final Object key) {
+        if (key instanceof Long) {
+            int index = this.slot((Long) key);
+            if (index < 0)
+                return null;
+            final V oldValue = (V) this.values[index];
+            // backward shift deletion: pull forward any entry whose probe sequence passes through the freed slot
+            int next = (index + 1) & this.mask;
+            while (null != this.values[next]) {
+                final int home = hash(this.keys[next]) & this.mask;
+                if (((next - home) & this.mask) >= ((next - index) & this.mask)) {
+                    this.keys[index] = this.keys[next];
+                    this.values[index] = this.values[next];
+                    index = next;
+                }
+                next = (next + 1) & this.mask;
+            }
+            this.values[index] = null;
+            this.size--;
+            this.modCount++;
+            return oldValue;
+        } else {
+            if (null == this.overflow)
+                return null;
+            this.modCount++;
+            return this.overflow.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        this.allocate(DEFAULT_CAPACITY);
+        this.size = 0;
+        this.overflow = null;
+        this.modCount++;
+    }
+
+    private void rehash(final int capacity) {
+        final long[] oldKeys = this.keys;
+        final Object[] oldValues = this.values;
+        this.allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (null != oldValues[i]) {
+                final int index = -this.slot(oldKeys[i]) - 1;
+                this.keys[index] = oldKeys[i];
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new TableIterator<V>() {
+                    @Override
+                    protected V tableNext(final long key, final V value) {
+                        return value;
+                    }
+
+                    @Override
+                    protected V overflowNext(final Map.Entry<Object, V> entry) {
+                        return entry.getValue();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return TinkerLongMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<Object, V>> entrySet() {
+        return new AbstractSet<Map.Entry<Object, V>>() {
+            @Override
+            public Iterator<Map.Entry<Object, V>> iterator() {
+                return new TableIterator<Map.Entry<Object, V>>() {
+                    @Override
+                    protected Map.Entry<Object, V> tableNext(final long key, final V value) {
+                        return new SimpleImmutableEntry<>(key, value);
+                    }
+
+                    @Override
+                    protected Map.Entry<Object, V> overflowNext(final Map.Entry<Object, V> entry) {
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return TinkerLongMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Walks the primitive table slot by slot and then the overflow map.  Like the {@link HashMap} iterators it
+     * replaces, it fails fast if the map is structurally modified during iteration other than by {@link #remove}.
+     * <p/>
+     * Removing a table entry shifts later entries of its probe sequence backward, so the freed slot is visited again.
+     * Only when the probe sequence wraps around the end of the table could an entry already visited be shifted ahead
+     * of the iterator.  In that case the iterator first copies the slots it has yet to visit and walks the copy.
+     */
+    private abstract class TableIterator<T> implements Iterator<T> {
+
+        private Object[] table = values;
+        private long[] tableKeys = keys;
+        private int expectedModCount = modCount;
+        private final Iterator<Map.Entry<Object, V>> overflowIterator = null == overflow ? null : overflow.entrySet().iterator();
+        private int index = -1;
+        private int lastIndex = -1;
+        private boolean lastFromOverflow = false;
+
+        public TableIterator() {
+            this.advance();
+        }
+
+        private void advance() {
+            do {
+                this.index++;
+            } while (this.index < this.table.length && null == this.table[this.index]);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < this.table.length || (null != this.overflowIterator && this.overflowIterator.hasNext());
+        }
+
+        @Override
+        public T next() {
+            if (modCount != this.expectedModCount)
+                throw new ConcurrentModificationException();
+            if (this.index < this.table.length) {
+                this.lastIndex = this.index;
+                final T t = this.tableNext(this.tableKeys[this.index], (V) this.table[this.index]);
+                this.advance();
+                return t;
+            } else if (null != this.overflowIterator) {
+                this.lastIndex = -1;
+                this.lastFromOverflow = true;
+                return this.overflowNext(this.overflowIterator.next());
+            } else
+                throw new NoSuchElementException();
+        }
+
+        @Override
+        public void remove() {
+            if (modCount != this.expectedModCount)
+                throw new ConcurrentModificationException();
+            if (this.lastFromOverflow) {
+                this.overflowIterator.remove();
+                modCount++;
+            } else if (this.lastIndex >= 0) {
+                final long key = this.tableKeys[this.lastIndex];
+                if (this.table != values)
+                    TinkerLongMap.this.remove(key);
+                else if (this.wrapsAround(this.lastIndex)) {
+                    final int from = this.lastIndex + 1;
+                    this.table = Arrays.copyOfRange(this.table, from, this.table.length);
+                    this.tableKeys = Arrays.copyOfRange(this.tableKeys, from, this.tableKeys.length);
+                    this.index = this.index - from;
+                    TinkerLongMap.this.remove(key);
+                } else {
+                    TinkerLongMap.this.remove(key);
+                    this.index = this.lastIndex - 1;
+                    this.advance();
+                }
+            } else
+                throw new IllegalStateException();
+            this.expectedModCount = modCount;
+            this.lastIndex = -1;
+            this.lastFromOverflow = false;
+        }
+
+        private boolean wrapsAround(final int index) {
+            for (int i = index + 1; i < this.table.length; i++) {
+                if (null == this.table[i])
+                    return false;
+            }
+            return null != this.table[0];
+        }
+
+        protected abstract T tableNext(final long key, final V value);
+
+        protected abstract T overflowNext(final Map.Entry<Object, V> entry);
+    }
+}
@@ -0,0 +1,478 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.tinkerpop.gremlin.process.T;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.io.kryo.KryoMapper;
+import com.tinkerpop.gremlin.structure.io.kryo.KryoReader;
+import com.tinkerpop.gremlin.structure.io.kryo.KryoWriter;
+import org.apache.commons.configuration.BaseConfiguration;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Makes a {@link TinkerGraph} opened with {@link TinkerGraph#CONFIG_DIRECTORY} durable.  The directory holds a binary
+ * snapshot of the graph written with {@link KryoWriter} and append-only logs of the mutations made since that
+ * snapshot.  On open, the snapshot is read back with {@link KryoReader} and the logs are replayed on top of it.
+ * <p/>
+ * Each log has a generation and a snapshot of generation {@code n} holds every log before generation {@code n}.
+ * After {@link TinkerGraph#CONFIG_SNAPSHOT_INTERVAL} records, the log is rotated to the next generation and a
+ * background thread compacts the previous snapshot and logs into a snapshot of the new generation, so the mutation
+ * that fills the log does not pay for writing the graph.  The compaction replays the logs into a separate graph and
+ * never reads the graph being mutated.  A snapshot is written to a temporary file and atomically moved into place
+ * before the logs it holds are deleted, so logs left behind by a crash are recognized by their generation and
+ * ignored.  A snapshot of the graph itself is written on open if a log was replayed and on
+ * {@link TinkerGraph#close()}, after which the graph may no longer be mutated.
+ * <p/>
+ * Each log record is flushed to the operating system as it is written (and forced to disk with
+ * {@link TinkerGraph#CONFIG_LOG_SYNC}), so a crash of the process loses at most the record being written, which is
+ * dropped on replay.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerPersistence {
+
+    private static final String SNAPSHOT_FILE = "tinkergraph.kryo";
+    private static final String LOG_PREFIX = "tinkergraph.";
+    private static final String LOG_SUFFIX = ".log";
+
+    private static final byte ADD_VERTEX = 0;
+    private static final byte REMOVE_VERTEX = 1;
+    private static final byte ADD_EDGE = 2;
+    private static final byte REMOVE_EDGE = 3;
+    private static final byte ADD_VERTEX_PROPERTY = 4;
+    private static final byte REMOVE_VERTEX_PROPERTY = 5;
+    private static final byte SET_EDGE_PROPERTY = 6;
+    private static final byte REMOVE_EDGE_PROPERTY = 7;
+    private static final byte SET_META_PROPERTY = 8;
+    private static final byte REMOVE_META_PROPERTY = 9;
+    private static final byte SET_VARIABLE = 10;
+    private static final byte REMOVE_VARIABLE = 11;
+    private static final byte CLEAR = 12;
+
+    private final TinkerGraph graph;
+    private final BaseConfiguration compactionConfiguration = new BaseConfiguration();
+    private final File directory;
+    private final long snapshotInterval;
+    private final boolean sync;
+    private final Kryo kryo = KryoMapper.build().create().createMapper();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "tinkergraph-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long generation = 0l;
+    private long records = 0l;
+    private FileOutputStream logStream = null;
+    private Output log = null;
+    private boolean replaying = false;
+    private boolean closed = false;
+    private Future<?> compaction = null;
+
+    TinkerPersistence(final TinkerGraph graph, final String directory, final long snapshotInterval, final boolean sync) {
+        this.graph = graph;
+        this.directory = new File(directory);
+        this.snapshotInterval = snapshotInterval;
+        this.sync = sync;
+        if (!this.directory.exists() && !this.directory.mkdirs())
+            throw new IllegalArgumentException("The data directory could not be created: " + directory);
+        if (!this.directory.isDirectory())
+            throw new IllegalArgumentException("The data directory is not a directory: " + directory);
+        // the compaction graph is the same kind of graph, but it is not persisted
+        this.compactionConfiguration.copy(graph.configuration());
+        this.compactionConfiguration.clearProperty(TinkerGraph.CONFIG_DIRECTORY);
+    }
+
+    /**
+     * Load the snapshot, replay the logs and start a fresh log.
+     */
+    synchronized void open() {
+        this.replaying = true;
+        try {
+            final long snapshotGeneration = readSnapshot(this.graph, this.directory);
+            long replayed = 0l;
+            this.generation = snapshotGeneration;
+            for (final long logGeneration : this.logGenerations()) {
+                if (logGeneration < snapshotGeneration)
+                    this.logFile(logGeneration).delete();
+                else {
+                    replayed = replayed + replayLog(this.graph, this.logFile(logGeneration), logGeneration, this.kryo);
+                    this.generation = logGeneration;
+                }
+            }
+            if (replayed > 0) {
+                writeSnapshot(this.graph, this.directory, ++this.generation);
+                this.deleteLogs(this.generation);
+            }
+            this.startLog();
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not open the data directory " + this.directory + ": " + e.getMessage(), e);
+        } finally {
+            this.replaying = false;
+        }
+    }
+
+    /**
+     * Wait for a running compaction, write a final snapshot of the graph and stop logging.
+     */
+    synchronized void close() {
+        if (this.closed)
+            return;
+        this.closed = true;
+        try {
+            this.compactor.shutdown();
+            this.awaitCompaction();
+            this.closeLog();
+            writeSnapshot(this.graph, this.directory, ++this.generation);
+            this.deleteLogs(this.generation);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not write a snapshot to " + this.directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    ////////////////////////
+
+    void addVertex(final Vertex vertex) {
+        this.append(ADD_VERTEX, vertex.id(), vertex.label());
+    }
+
+    void removeVertex(final Vertex vertex) {
+        this.append(REMOVE_VERTEX, vertex.id());
+    }
+
+    void addEdge(final Edge edge) {
+        this.append(ADD_EDGE, edge.id(), edge.label(), ((TinkerEdge) edge).outVertex.id(), ((TinkerEdge) edge).inVertex.id());
+    }
+
+    void removeEdge(final Edge edge) {
+        this.append(REMOVE_EDGE, edge.id());
+    }
+
+    void addVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        this.append(ADD_VERTEX_PROPERTY, vertexProperty.element().id(), vertexProperty.id(), vertexProperty.key(), vertexProperty.value());
+    }
+
+    void removeVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        this.append(REMOVE_VERTEX_PROPERTY, vertexProperty.element().id(), vertexProperty.id(), vertexProperty.key());
+    }
+
+    void setProperty(final Property<?> property) {
+        if (property.element() instanceof TinkerVertexProperty) {
+            final TinkerVertexProperty<?> vertexProperty = (TinkerVertexProperty) property.element();
+            this.append(SET_META_PROPERTY, vertexProperty.element().id(), vertexProperty.id(), vertexProperty.key(), property.key(), property.value());
+        } else
+            this.append(SET_EDGE_PROPERTY, property.element().id(), property.key(), property.value());
+    }
+
+    void removeProperty(final Property<?> property) {
+        if (property.element() instanceof TinkerVertexProperty) {
+            final TinkerVertexProperty<?> vertexProperty = (TinkerVertexProperty) property.element();
+            this.append(REMOVE_META_PROPERTY, vertexProperty.element().id(), vertexProperty.id(), vertexProperty.key(), property.key());
+        } else
+            this.append(REMOVE_EDGE_PROPERTY, property.element().id(), property.key());
+    }
+
+    void setVariable(final String key, final Object value) {
+        this.append(SET_VARIABLE, key, value);
+    }
+
+    void removeVariable(final String key) {
+        this.append(REMOVE_VARIABLE, key);
+    }
+
+    void clear() {
+        this.append(CLEAR);
+    }
+
+    private synchronized void append(final byte operation, final Object... arguments) {
+        if (this.closed)
+            throw new IllegalStateException("The graph is closed and its data directory can no longer be written: " + this.directory);
+        if (this.replaying)
+            return;
+        this.log.writeByte(operation);
+        for (final Object argument : arguments) {
+            this.kryo.writeClassAndObject(this.log, argument);
+        }
+        this.log.flush();
+        if (this.sync) {
+            try {
+                this.logStream.getFD().sync();
+            } catch (final IOException e) {
+                throw new IllegalStateException("Could not sync the log in " + this.directory + ": " + e.getMessage(), e);
+            }
+        }
+        if (++this.records >= this.snapshotInterval)
+            this.rotate();
+    }
+
+    /**
+     * Start the log of the next generation and compact the previous generations in the background.  If the last
+     * compaction is still running, the compaction is left to the next rotation (or to {@link #close()}).
+     */
+    private void rotate() {
+        try {
+            this.generation++;
+            this.startLog();
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not start a log in " + this.directory + ": " + e.getMessage(), e);
+        }
+        if (null != this.compaction && !this.compaction.isDone())
+            return;
+        this.awaitCompaction();
+        final long snapshotGeneration = this.generation;
+        this.compaction = this.compactor.submit(() -> {
+            this.compact(snapshotGeneration);
+            return null;
+        });
+    }
+
+    /**
+     * Replay the logs before the generation onto the last snapshot and write the result as the snapshot of the
+     * generation.
+     */
+    private void compact(final long snapshotGeneration) throws IOException {
+        final TinkerGraph compactionGraph = TinkerGraph.open(this.compactionConfiguration);
+        final Kryo compactionKryo = KryoMapper.build().create().createMapper();
+        for (long logGeneration = readSnapshot(compactionGraph, this.directory); logGeneration < snapshotGeneration; logGeneration++) {
+            final File file = this.logFile(logGeneration);
+            if (file.exists())
+                replayLog(compactionGraph, file, logGeneration, compactionKryo);
+        }
+        writeSnapshot(compactionGraph, this.directory, snapshotGeneration);
+        this.deleteLogs(snapshotGeneration);
+    }
+
+    /**
+     * Wait for the last compaction to complete and rethrow its failure, if any.
+     */
+    synchronized void awaitCompaction() {
+        if (null == this.compaction)
+            return;
+        try {
+            this.compaction.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the snapshot in " + this.directory, e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Could not write a snapshot to " + this.directory + ": " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            this.compaction = null;
+        }
+    }
+
+    ////////////////////////
+
+    /**
+     * Read the snapshot in the directory into the graph.
+     *
+     * @return the generation of the snapshot or {@code 0} if there is none
+     */
+    private static long readSnapshot(final TinkerGraph graph, final File directory) throws IOException {
+        final File file = new File(directory, SNAPSHOT_FILE);
+        if (!file.exists())
+            return 0l;
+        try (final DataInputStream stream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            final long generation = stream.readLong();
+            KryoReader.build().workingDirectory(directory.getAbsolutePath()).create().readGraph(stream, graph);
+            return generation;
+        }
+    }
+
+    private static void writeSnapshot(final TinkerGraph graph, final File directory, final long generation) throws IOException {
+        final File temp = new File(directory, SNAPSHOT_FILE + ".tmp");
+        try (final FileOutputStream fileStream = new FileOutputStream(temp)) {
+            final DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(fileStream));
+            stream.writeLong(generation);
+            KryoWriter.build().create().writeGraph(stream, graph);
+            stream.flush();
+            fileStream.getFD().sync();
+        }
+        Files.move(temp.toPath(), new File(directory, SNAPSHOT_FILE).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long replayLog(final TinkerGraph graph, final File file, final long generation, final Kryo kryo) throws IOException {
+        long replayed = 0l;
+        try (final Input input = new Input(new FileInputStream(file))) {
+            // a log that a crash left without its header has no records
+            if (input.eof())
+                return 0l;
+            if (input.readLong() != generation)
+                throw new IllegalStateException("The log does not hold generation " + generation + ": " + file);
+            while (!input.eof()) {
+                try {
+                    replay(graph, kryo, input.readByte(), input);
+                } catch (final KryoException e) {
+                    // a record torn by a crash can only be the last one
+                    break;
+                }
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    private static void replay(final TinkerGraph graph, final Kryo kryo, final byte operation, final Input input) {
+        switch (operation) {
+            case ADD_VERTEX: {
+                final Object id = read(kryo, input);
+                graph.addVertex(T.id, id, T.label, read(kryo, input));
+                break;
+            }
+            case REMOVE_VERTEX:
+                vertex(graph, read(kryo, input)).remove();
+                break;
+            case ADD_EDGE: {
+                final Object id = read(kryo, input);
+                final String label = read(kryo, input);
+                final Vertex outVertex = vertex(graph, read(kryo, input));
+                outVertex.addEdge(label, vertex(graph, read(kryo, input)), T.id, id);
+                break;
+            }
+            case REMOVE_EDGE:
+                edge(graph, read(kryo, input)).remove();
+                break;
+            case ADD_VERTEX_PROPERTY: {
+                final Vertex vertex = vertex(graph, read(kryo, input));
+                final Object id = read(kryo, input);
+                final String key = read(kryo, input);
+                vertex.property(key, read(kryo, input), T.id, id);
+                break;
+            }
+            case REMOVE_VERTEX_PROPERTY:
+                vertexProperty(graph, read(kryo, input), read(kryo, input), read(kryo, input)).remove();
+                break;
+            case SET_EDGE_PROPERTY: {
+                final Edge edge = edge(graph, read(kryo, input));
+                final String key = read(kryo, input);
+                edge.property(key, read(kryo, input));
+                break;
+            }
+            case REMOVE_EDGE_PROPERTY: {
+                final Edge edge = edge(graph, read(kryo, input));
+                edge.property(TinkerPersistence.<String>read(kryo, input)).remove();
+                break;
+            }
+            case SET_META_PROPERTY: {
+                final TinkerVertexProperty<?> vertexProperty = vertexProperty(graph, read(kryo, input), read(kryo, input), read(kryo, input));
+                final String key = read(kryo, input);
+                vertexProperty.property(key, read(kryo, input));
+                break;
+            }
+            case REMOVE_META_PROPERTY: {
+                final TinkerVertexProperty<?> vertexProperty = vertexProperty(graph, read(kryo, input), read(kryo, input), read(kryo, input));
+                vertexProperty.property(TinkerPersistence.<String>read(kryo, input)).remove();
+                break;
+            }
+            case SET_VARIABLE: {
+                final String key = read(kryo, input);
+                graph.variables().set(key, read(kryo, input));
+                break;
+            }
+            case REMOVE_VARIABLE:
+                graph.variables().remove(read(kryo, input));
+                break;
+            case CLEAR:
+                graph.clear();
+                break;
+            default:
+                throw new IllegalStateException("Unknown log operation " + operation);
+        }
+    }
+
+    private static <V> V read(final Kryo kryo, final Input input) {
+        return (V) kryo.readClassAndObject(input);
+    }
+
+    private static Vertex vertex(final TinkerGraph graph, final Object id) {
+        final Vertex vertex = graph.vertices.get(id);
+        if (null == vertex)
+            throw new IllegalStateException("The log references a vertex that does not exist: " + id);
+        return vertex;
+    }
+
+    private static Edge edge(final TinkerGraph graph, final Object id) {
+        final Edge edge = graph.edges.get(id);
+        if (null == edge)
+            throw new IllegalStateException("The log references an edge that does not exist: " + id);
+        return edge;
+    }
+
+    private static TinkerVertexProperty<?> vertexProperty(final TinkerGraph graph, final Object vertexId, final Object id, final String key) {
+        final List<Property> properties = ((TinkerVertex) vertex(graph, vertexId)).properties.getOrDefault(key, new ArrayList<>());
+        for (final Property property : properties) {
+            if (((TinkerVertexProperty) property).id().equals(id))
+                return (TinkerVertexProperty) property;
+        }
+        throw new IllegalStateException("The log references a vertex property that does not exist: " + id);
+    }
+
+    private void startLog() throws IOException {
+        this.closeLog();
+        this.logStream = new FileOutputStream(this.logFile(this.generation));
+        this.log = new Output(this.logStream);
+        this.log.writeLong(this.generation);
+        this.log.flush();
+        this.records = 0l;
+    }
+
+    private void closeLog() throws IOException {
+        if (null != this.log) {
+            this.log.close();
+            this.log = null;
+            this.logStream = null;
+        }
+    }
+
+    private File logFile(final long generation) {
+        return new File(this.directory, LOG_PREFIX + generation + LOG_SUFFIX);
+    }
+
+    private TreeSet<Long> logGenerations() {
+        final TreeSet<Long> generations = new TreeSet<>();
+        final String[] names = this.directory.list();
+        if (null != names) {
+            for (final String name : names) {
+                if (name.startsWith(LOG_PREFIX) && name.endsWith(LOG_SUFFIX)) {
+                    try {
+                        generations.add(Long.parseLong(name.substring(LOG_PREFIX.length(), name.length() - LOG_SUFFIX.length())));
+                    } catch (final NumberFormatException e) {
+                        // not a log
+                    }
+                }
+            }
+        }
+        return generations;
+    }
+
+    /**
+     * Delete the logs that a snapshot of the generation holds.
+     */
+    private void deleteLogs(final long snapshotGeneration) {
+        for (final long logGeneration : this.logGenerations()) {
+            if (logGeneration < snapshotGeneration)
+                this.logFile(logGeneration).delete();
+        }
+    }
+}
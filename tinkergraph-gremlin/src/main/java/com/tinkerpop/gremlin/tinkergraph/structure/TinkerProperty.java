@@ -59,6 +59,8 @@ public class TinkerProperty<V> implements Property<V> {
     public void remove() {
         ((TinkerElement) this.element).properties.remove(this.key);
         if (this.element instanceof Edge)
-            this.graph.edgeIndex.remove(key, value, (TinkerEdge) this.element);
+            this.graph.edgeIndex.autoRemove(key, value, (TinkerEdge) this.element);
+        if (null != this.graph.persistence && !TinkerHelper.inComputerMode(this.graph))
+            this.graph.persistence.removeProperty(this);
     }
 }
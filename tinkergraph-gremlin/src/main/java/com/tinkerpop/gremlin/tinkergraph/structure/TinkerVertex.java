@@ -11,7 +11,6 @@ import com.tinkerpop.gremlin.structure.util.ElementHelper;
 import com.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -23,12 +22,15 @@ import java.util.Set;
  */
 public class TinkerVertex extends TinkerElement implements Vertex, Vertex.Iterators {
 
-    protected Map<String, Set<Edge>> outEdges = new HashMap<>();
-    protected Map<String, Set<Edge>> inEdges = new HashMap<>();
+    protected Map<String, Set<Edge>> outEdges;
+    protected Map<String, Set<Edge>> inEdges;
+    protected int computeSlot = -1;
     private static final Object[] EMPTY_ARGS = new Object[0];
 
     protected TinkerVertex(final Object id, final String label, final TinkerGraph graph) {
         super(id, label, graph);
+        this.outEdges = TinkerHelper.createAdjacency(graph);
+        this.inEdges = TinkerHelper.createAdjacency(graph);
     }
 
     @Override
@@ -78,6 +80,8 @@ public class TinkerVertex extends TinkerElement implements Vertex, Vertex.Iterat
             list.add(vertexProperty);
             this.properties.put(key, list);
             this.graph.vertexIndex.autoUpdate(key, value, null, this);
+            if (null != this.graph.persistence)
+                this.graph.persistence.addVertexProperty((TinkerVertexProperty) vertexProperty);
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
         }
@@ -96,10 +100,12 @@ public class TinkerVertex extends TinkerElement implements Vertex, Vertex.Iterat
         final List<Edge> edges = new ArrayList<>();
         this.iterators().edgeIterator(Direction.BOTH).forEachRemaining(edges::add);
         edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
-        this.properties.clear();
         this.graph.vertexIndex.removeElement(this);
+        this.properties.clear();
         this.graph.vertices.remove(this.id);
         this.removed = true;
+        if (null != this.graph.persistence)
+            this.graph.persistence.removeVertex(this);
     }
 
     @Override
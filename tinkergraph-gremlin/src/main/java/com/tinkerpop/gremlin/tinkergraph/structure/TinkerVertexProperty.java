@@ -71,6 +71,8 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
     public <U> Property<U> property(final String key, final U value) {
         final Property<U> property = new TinkerProperty<U>(this, key, value);
         this.properties.put(key, Collections.singletonList(property));
+        if (null != this.graph.persistence && !TinkerHelper.inComputerMode(this.graph))
+            this.graph.persistence.setProperty(property);
         return property;
     }
 
@@ -82,7 +84,7 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
     @Override
     public void remove() {
         if (this.vertex.properties.containsKey(this.key)) {
-            this.vertex.properties.get(this.key).remove(this);
+            final boolean present = this.vertex.properties.get(this.key).remove(this);
             if (this.vertex.properties.get(this.key).size() == 0) {
                 this.vertex.properties.remove(this.key);
                 this.graph.vertexIndex.remove(this.key, this.value, this.vertex);
@@ -92,9 +94,11 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
                 if (property.value().equals(this.value))
                     delete.set(false);
             });
-            if (delete.get()) this.graph.vertexIndex.remove(this.key, this.value, this.vertex);
+            if (delete.get()) this.graph.vertexIndex.autoRemove(this.key, this.value, this.vertex);
             this.properties.clear();
             this.removed = true;
+            if (present && null != this.graph.persistence)
+                this.graph.persistence.removeVertexProperty(this);
         }
     }
 
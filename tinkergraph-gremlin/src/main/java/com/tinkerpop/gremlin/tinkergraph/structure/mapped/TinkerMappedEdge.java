@@ -0,0 +1,67 @@
+package com.tinkerpop.gremlin.tinkergraph.structure.mapped;
+
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.util.StringFactory;
+import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Iterator;
+
+/**
+ * A read-only edge of a {@link TinkerMappedGraph}.  The label and the endpoints are read from
+ * {@link TinkerMappedGraph#EDGES_FILE} and the properties from the edge key columns.
+ *
+ * @author agent (agent@local)
+ */
+public class TinkerMappedEdge extends TinkerMappedElement implements Edge, Edge.Iterators {
+
+    protected TinkerMappedEdge(final int index, final TinkerMappedGraph graph) {
+        super(index, graph);
+    }
+
+    @Override
+    protected Object readId() {
+        return this.graph.edgeId(this.index);
+    }
+
+    @Override
+    public String label() {
+        return this.graph.edgeLabel(this.index);
+    }
+
+    @Override
+    public void remove() {
+        throw Edge.Exceptions.edgeRemovalNotSupported();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.edgeString(this);
+    }
+
+    //////////////////////////////////////////////
+
+    @Override
+    public Edge.Iterators iterators() {
+        return this;
+    }
+
+    @Override
+    public <V> Iterator<Property<V>> propertyIterator(final String... propertyKeys) {
+        return this.graph.edgeProperties(this, propertyKeys);
+    }
+
+    @Override
+    public Iterator<Vertex> vertexIterator(final Direction direction) {
+        switch (direction) {
+            case OUT:
+                return IteratorUtils.of(new TinkerMappedVertex(this.graph.outVertex(this.index), this.graph));
+            case IN:
+                return IteratorUtils.of(new TinkerMappedVertex(this.graph.inVertex(this.index), this.graph));
+            default:
+                return IteratorUtils.of(new TinkerMappedVertex(this.graph.outVertex(this.index), this.graph), new TinkerMappedVertex(this.graph.inVertex(this.index), this.graph));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.tinkerpop.gremlin.tinkergraph.structure.mapped;
+
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.util.ElementHelper;
+
+/**
+ * A flyweight over the position of an element in the files of a {@link TinkerMappedGraph}.  The id is decoded from
+ * the mapped files on first use.
+ *
+ * @author agent (agent@local)
+ */
+public abstract class TinkerMappedElement implements Element {
+
+    protected final int index;
+    protected final TinkerMappedGraph graph;
+    private Object id = null;
+
+    protected TinkerMappedElement(final int index, final TinkerMappedGraph graph) {
+        this.index = index;
+        this.graph = graph;
+    }
+
+    protected abstract Object readId();
+
+    @Override
+    public Object id() {
+        if (null == this.id)
+            this.id = this.readId();
+        return this.id;
+    }
+
+    @Override
+    public Graph graph() {
+        return this.graph;
+    }
+
+    @Override
+    public <V> Property<V> property(final String key, final V value) {
+        throw Element.Exceptions.propertyAdditionNotSupported();
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        return ElementHelper.areEqual(this, object);
+    }
+
+    @Override
+    public int hashCode() {
+        return ElementHelper.hashCode(this);
+    }
+}
@@ -0,0 +1,89 @@
+package com.tinkerpop.gremlin.tinkergraph.structure.mapped;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A read-only memory mapping of a whole file of a {@link TinkerMappedGraph}.  As a single {@link MappedByteBuffer} is
+ * limited to 2GB, the file is mapped in segments of 1GB.  All reads are absolute so a mapping is safely shared by
+ * concurrent readers.  The columns of the files are aligned to the width of their entries so that only the
+ * variable length values of {@link TinkerMappedGraph#VALUES_FILE} may span two segments.  The channel is closed once
+ * the file is mapped.  {@link #close} drops the buffers and the file is unmapped once they are garbage collected.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerMappedFile {
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1l << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private volatile MappedByteBuffer[] segments;
+    private final long size;
+
+    TinkerMappedFile(final File file) throws IOException {
+        try (final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+             final FileChannel channel = randomAccessFile.getChannel()) {
+            this.size = channel.size();
+            this.segments = new MappedByteBuffer[(int) ((this.size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < this.segments.length; i++) {
+                final long start = (long) i << SEGMENT_SHIFT;
+                this.segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, this.size - start));
+            }
+        }
+    }
+
+    long size() {
+        return this.size;
+    }
+
+    long getLong(final long position) {
+        final ByteBuffer segment = this.segments()[(int) (position >>> SEGMENT_SHIFT)];
+        final int offset = (int) (position & SEGMENT_MASK);
+        if (offset + 8 <= segment.limit())
+            return segment.getLong(offset);
+        return ByteBuffer.wrap(this.getBytes(position, 8)).getLong();
+    }
+
+    int getInt(final long position) {
+        final ByteBuffer segment = this.segments()[(int) (position >>> SEGMENT_SHIFT)];
+        final int offset = (int) (position & SEGMENT_MASK);
+        if (offset + 4 <= segment.limit())
+            return segment.getInt(offset);
+        return ByteBuffer.wrap(this.getBytes(position, 4)).getInt();
+    }
+
+    byte[] getBytes(final long position, final int length) {
+        final MappedByteBuffer[] segments = this.segments();
+        final byte[] bytes = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            final long current = position + copied;
+            final ByteBuffer segment = segments[(int) (current >>> SEGMENT_SHIFT)].duplicate();
+            segment.position((int) (current & SEGMENT_MASK));
+            final int count = Math.min(length - copied, segment.remaining());
+            segment.get(bytes, copied, count);
+            copied += count;
+        }
+        return bytes;
+    }
+
+    /**
+     * Drop the buffers of the mapping so that any later read fails.  There is no public API to unmap a
+     * {@link MappedByteBuffer} so the file stays mapped until the buffers are garbage collected.
+     */
+    void close() {
+        this.segments = null;
+    }
+
+    private MappedByteBuffer[] segments() {
+        final MappedByteBuffer[] segments = this.segments;
+        if (null == segments)
+            throw new IllegalStateException("The mapped graph is closed");
+        return segments;
+    }
+}
@@ -0,0 +1,587 @@
+package com.tinkerpop.gremlin.tinkergraph.structure.mapped;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.tinkerpop.gremlin.process.computer.GraphComputer;
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Transaction;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.VertexProperty;
+import com.tinkerpop.gremlin.structure.io.kryo.KryoMapper;
+import com.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * A read-only graph served straight from memory-mapped files written by {@link TinkerMappedGraphWriter}.  No Java
+ * object is held per element: the topology is kept in compressed sparse row (CSR) adjacency files and the properties
+ * in one columnar file per key, while the {@link Vertex}, {@link Edge} and {@link VertexProperty} objects handed out
+ * are flyweights that only hold their position in those files.  Opening the graph thus costs the mapping of its
+ * files and a graph larger than the heap is paged in by the operating system on demand, with the page cache shared
+ * by every JVM that maps the same files.
+ * <p/>
+ * The directory holds the following files, all big-endian:
+ * <ul>
+ * <li>{@link #GRAPH_FILE} - the counts of vertices and edges, the labels and keys and the graph variables.</li>
+ * <li>{@link #VALUES_FILE} - every id and property value, each one a length prefixed Kryo serialization. The other
+ * files refer to values by their offset in this file.</li>
+ * <li>{@link #VERTICES_FILE} - the id column {@code long[V]} followed by the label column {@code int[V]}.</li>
+ * <li>{@link #EDGES_FILE} - the id column {@code long[E]} followed by the label, out-vertex and in-vertex columns
+ * {@code int[E]}.</li>
+ * <li>{@link #OUT_FILE}, {@link #IN_FILE} - the CSR adjacency of each direction: offsets {@code long[V+1]} into the
+ * edge column {@code int[E]}.</li>
+ * <li>{@link #VERTEX_IDS_FILE}, {@link #EDGE_IDS_FILE} - the id hash paired with the element position in a sorted
+ * {@code long[]} for id lookups.</li>
+ * <li>{@code vertex-<key>.col} - per vertex key, offsets {@code long[V+1]} into the property id, value and
+ * meta-property columns {@code long[P]}.  The meta-properties of a property are a single map value, {@code -1} for
+ * none.</li>
+ * <li>{@code edge-<key>.col} - per edge key, the value column {@code long[E]} with {@code -1} for no value.</li>
+ * </ul>
+ *
+ * @author agent (agent@local)
+ */
+public class TinkerMappedGraph implements Graph, Graph.Iterators {
+
+    /**
+     * The directory of the files written by {@link TinkerMappedGraphWriter}.
+     */
+    public static final String CONFIG_DIRECTORY = "gremlin.tinkergraph.mapped.directory";
+
+    static final int VERSION = 2;
+    static final String GRAPH_FILE = "graph.dat";
+    static final String VALUES_FILE = "values.dat";
+    static final String VERTICES_FILE = "vertices.dat";
+    static final String EDGES_FILE = "edges.dat";
+    static final String OUT_FILE = "out.csr";
+    static final String IN_FILE = "in.csr";
+    static final String VERTEX_IDS_FILE = "vertex-ids.idx";
+    static final String EDGE_IDS_FILE = "edge-ids.idx";
+    static final long NO_VALUE = -1l;
+
+    private final BaseConfiguration configuration = new BaseConfiguration();
+    private final ThreadLocal<Kryo> kryo = ThreadLocal.withInitial(() -> KryoMapper.build().create().createMapper());
+
+    private final int vertexCount;
+    private final int edgeCount;
+    private final String[] strings;
+    private final Map<String, Integer> stringIndex = new HashMap<>();
+    private final Map<String, TinkerMappedFile> vertexProperties = new LinkedHashMap<>();
+    private final Map<String, TinkerMappedFile> edgeProperties = new LinkedHashMap<>();
+    private final Map<String, Object> variables;
+
+    private final TinkerMappedFile values;
+    private final TinkerMappedFile vertices;
+    private final TinkerMappedFile edges;
+    private final TinkerMappedFile outAdjacency;
+    private final TinkerMappedFile inAdjacency;
+    private final TinkerMappedFile vertexIds;
+    private final TinkerMappedFile edgeIds;
+
+    private TinkerMappedGraph(final Configuration configuration) {
+        this.configuration.copy(configuration);
+        if (!this.configuration.containsKey(CONFIG_DIRECTORY))
+            throw new IllegalArgumentException("The configuration must specify " + CONFIG_DIRECTORY);
+        final File directory = new File(this.configuration.getString(CONFIG_DIRECTORY));
+        try (final DataInputStream header = new DataInputStream(new BufferedInputStream(new FileInputStream(new File(directory, GRAPH_FILE))))) {
+            final int version = header.readInt();
+            if (VERSION != version)
+                throw new IllegalStateException("Unsupported version of " + GRAPH_FILE + ": " + version);
+            this.vertexCount = header.readInt();
+            this.edgeCount = header.readInt();
+            this.strings = new String[header.readInt()];
+            for (int i = 0; i < this.strings.length; i++) {
+                this.strings[i] = header.readUTF();
+                this.stringIndex.put(this.strings[i], i);
+            }
+            this.values = new TinkerMappedFile(new File(directory, VALUES_FILE));
+            for (int i = header.readInt(); i > 0; i--) {
+                final int key = header.readInt();
+                this.vertexProperties.put(this.strings[key], new TinkerMappedFile(new File(directory, "vertex-" + key + ".col")));
+            }
+            for (int i = header.readInt(); i > 0; i--) {
+                final int key = header.readInt();
+                this.edgeProperties.put(this.strings[key], new TinkerMappedFile(new File(directory, "edge-" + key + ".col")));
+            }
+            final long variablesRef = header.readLong();
+            this.variables = NO_VALUE == variablesRef ? Collections.emptyMap() : Collections.unmodifiableMap((Map<String, Object>) this.value(variablesRef));
+
+            this.vertices = new TinkerMappedFile(new File(directory, VERTICES_FILE));
+            this.edges = new TinkerMappedFile(new File(directory, EDGES_FILE));
+            this.outAdjacency = new TinkerMappedFile(new File(directory, OUT_FILE));
+            this.inAdjacency = new TinkerMappedFile(new File(directory, IN_FILE));
+            this.vertexIds = new TinkerMappedFile(new File(directory, VERTEX_IDS_FILE));
+            this.edgeIds = new TinkerMappedFile(new File(directory, EDGE_IDS_FILE));
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not open the mapped graph in " + directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Open a {@link TinkerMappedGraph} over the files in the directory given by {@link #CONFIG_DIRECTORY}.
+     *
+     * @param configuration the configuration for the instance
+     * @return a newly opened {@link com.tinkerpop.gremlin.structure.Graph}
+     */
+    public static TinkerMappedGraph open(final Configuration configuration) {
+        if (null == configuration) throw Graph.Exceptions.argumentCanNotBeNull("configuration");
+        return new TinkerMappedGraph(configuration);
+    }
+
+    ////////////// STRUCTURE API METHODS //////////////////
+
+    @Override
+    public Vertex addVertex(final Object... keyValues) {
+        throw Exceptions.vertexAdditionsNotSupported();
+    }
+
+    @Override
+    public GraphComputer compute(final Class... graphComputerClass) {
+        throw Exceptions.graphComputerNotSupported();
+    }
+
+    @Override
+    public Transaction tx() {
+        throw Exceptions.transactionsNotSupported();
+    }
+
+    @Override
+    public Variables variables() {
+        return new TinkerMappedGraphVariables(this.variables);
+    }
+
+    @Override
+    public Configuration configuration() {
+        return this.configuration;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.graphString(this, "vertices:" + this.vertexCount + " edges:" + this.edgeCount);
+    }
+
+    /**
+     * Release the mappings of the files.  Elements of the graph can not be read once it is closed.
+     */
+    @Override
+    public void close() {
+        this.values.close();
+        this.vertices.close();
+        this.edges.close();
+        this.outAdjacency.close();
+        this.inAdjacency.close();
+        this.vertexIds.close();
+        this.edgeIds.close();
+        this.vertexProperties.values().forEach(TinkerMappedFile::close);
+        this.edgeProperties.values().forEach(TinkerMappedFile::close);
+    }
+
+    @Override
+    public Iterators iterators() {
+        return this;
+    }
+
+    @Override
+    public Iterator<Vertex> vertexIterator(final Object... vertexIds) {
+        if (0 == vertexIds.length)
+            return IntStream.range(0, this.vertexCount).mapToObj(vertex -> (Vertex) new TinkerMappedVertex(vertex, this)).iterator();
+        else
+            return Stream.of(vertexIds)
+                    .mapToInt(id -> this.find(this.vertexIds, this.vertexCount, id, this::vertexId))
+                    .filter(vertex -> vertex >= 0)
+                    .mapToObj(vertex -> (Vertex) new TinkerMappedVertex(vertex, this)).iterator();
+    }
+
+    @Override
+    public Iterator<Edge> edgeIterator(final Object... edgeIds) {
+        if (0 == edgeIds.length)
+            return IntStream.range(0, this.edgeCount).mapToObj(edge -> (Edge) new TinkerMappedEdge(edge, this)).iterator();
+        else
+            return Stream.of(edgeIds)
+                    .mapToInt(id -> this.find(this.edgeIds, this.edgeCount, id, this::edgeId))
+                    .filter(edge -> edge >= 0)
+                    .mapToObj(edge -> (Edge) new TinkerMappedEdge(edge, this)).iterator();
+    }
+
+    ////////////// MAPPED FILE ACCESS //////////////////
+
+    Object vertexId(final int vertex) {
+        return this.value(this.vertices.getLong(8l * vertex));
+    }
+
+    String vertexLabel(final int vertex) {
+        return this.strings[this.vertices.getInt(8l * this.vertexCount + 4l * vertex)];
+    }
+
+    Object edgeId(final int edge) {
+        return this.value(this.edges.getLong(8l * edge));
+    }
+
+    String edgeLabel(final int edge) {
+        return this.strings[this.edgeLabelIndex(edge)];
+    }
+
+    int outVertex(final int edge) {
+        return this.edges.getInt(12l * this.edgeCount + 4l * edge);
+    }
+
+    int inVertex(final int edge) {
+        return this.edges.getInt(16l * this.edgeCount + 4l * edge);
+    }
+
+    private int edgeLabelIndex(final int edge) {
+        return this.edges.getInt(8l * this.edgeCount + 4l * edge);
+    }
+
+    Iterator<Edge> edges(final int vertex, final Direction direction, final String... edgeLabels) {
+        return this.adjacentEdges(vertex, direction, edgeLabels).mapToObj(edge -> (Edge) new TinkerMappedEdge(edge, this)).iterator();
+    }
+
+    Iterator<Vertex> vertices(final int vertex, final Direction direction, final String... edgeLabels) {
+        if (Direction.BOTH == direction)
+            return IntStream.concat(
+                    this.adjacentEdges(vertex, Direction.OUT, edgeLabels).map(this::inVertex),
+                    this.adjacentEdges(vertex, Direction.IN, edgeLabels).map(this::outVertex))
+                    .mapToObj(adjacent -> (Vertex) new TinkerMappedVertex(adjacent, this)).iterator();
+        return this.adjacentEdges(vertex, direction, edgeLabels)
+                .map(Direction.OUT == direction ? this::inVertex : this::outVertex)
+                .mapToObj(adjacent -> (Vertex) new TinkerMappedVertex(adjacent, this)).iterator();
+    }
+
+    private IntStream adjacentEdges(final int vertex, final Direction direction, final String... edgeLabels) {
+        if (Direction.BOTH == direction)
+            return IntStream.concat(this.adjacentEdges(vertex, Direction.OUT, edgeLabels), this.adjacentEdges(vertex, Direction.IN, edgeLabels));
+        final TinkerMappedFile adjacency = Direction.OUT == direction ? this.outAdjacency : this.inAdjacency;
+        final long base = 8l * (this.vertexCount + 1);
+        final IntStream edges = LongStream.range(adjacency.getLong(8l * vertex), adjacency.getLong(8l * (vertex + 1)))
+                .mapToInt(position -> adjacency.getInt(base + 4l * position));
+        if (0 == edgeLabels.length)
+            return edges;
+        final int[] labels = Stream.of(edgeLabels).filter(this.stringIndex::containsKey).mapToInt(this.stringIndex::get).toArray();
+        if (0 == labels.length)
+            return IntStream.empty();
+        return edges.filter(edge -> {
+            final int label = this.edgeLabelIndex(edge);
+            for (final int l : labels) {
+                if (l == label) return true;
+            }
+            return false;
+        });
+    }
+
+    <V> Iterator<VertexProperty<V>> vertexProperties(final TinkerMappedVertex vertex, final String... propertyKeys) {
+        final Stream<String> keys = 0 == propertyKeys.length ? this.vertexProperties.keySet().stream() : Stream.of(propertyKeys).distinct();
+        return keys.filter(this.vertexProperties::containsKey).flatMap(key -> {
+            final TinkerMappedFile column = this.vertexProperties.get(key);
+            final long properties = column.getLong(8l * this.vertexCount);
+            final long idBase = 8l * (this.vertexCount + 1);
+            final long valueBase = idBase + 8l * properties;
+            final long metaPropertiesBase = valueBase + 8l * properties;
+            return LongStream.range(column.getLong(8l * vertex.index), column.getLong(8l * (vertex.index + 1)))
+                    .mapToObj(position -> (VertexProperty<V>) new TinkerMappedVertexProperty<V>(vertex, key,
+                            column.getLong(idBase + 8l * position), column.getLong(valueBase + 8l * position),
+                            column.getLong(metaPropertiesBase + 8l * position)));
+        }).iterator();
+    }
+
+    <V> Iterator<Property<V>> edgeProperties(final TinkerMappedEdge edge, final String... propertyKeys) {
+        final Stream<String> keys = 0 == propertyKeys.length ? this.edgeProperties.keySet().stream() : Stream.of(propertyKeys).distinct();
+        return keys.filter(this.edgeProperties::containsKey)
+                .map(key -> new TinkerMappedProperty<V>(edge, key, this.edgeProperties.get(key).getLong(8l * edge.index)))
+                .filter(property -> NO_VALUE != property.valueRef)
+                .map(property -> (Property<V>) property)
+                .iterator();
+    }
+
+    Object value(final long ref) {
+        final int length = this.values.getInt(ref);
+        return this.kryo.get().readClassAndObject(new Input(this.values.getBytes(ref + 4, length)));
+    }
+
+    /**
+     * Binary search the sorted (hash, position) pairs of an id file for the first pair of the hash of the id and
+     * walk the pairs of that hash to rule out collisions.
+     */
+    private int find(final TinkerMappedFile ids, final int count, final Object id, final IntFunction<Object> idOf) {
+        if (null == id)
+            return -1;
+        final int hash = id.hashCode();
+        final long key = (long) hash << 32;
+        long low = 0, high = count;
+        while (low < high) {
+            final long middle = (low + high) >>> 1;
+            if (ids.getLong(8l * middle) < key)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        for (long i = low; i < count; i++) {
+            final long entry = ids.getLong(8l * i);
+            if ((int) (entry >> 32) != hash)
+                break;
+            if (id.equals(idOf.apply((int) entry)))
+                return (int) entry;
+        }
+        return -1;
+    }
+
+    @Override
+    public Features features() {
+        return new TinkerMappedGraphFeatures();
+    }
+
+    public static class TinkerMappedGraphFeatures implements Features {
+        @Override
+        public GraphFeatures graph() {
+            return new GraphFeatures() {
+                @Override
+                public boolean supportsComputer() {
+                    return false;
+                }
+
+                @Override
+                public boolean supportsTransactions() {
+                    return false;
+                }
+
+                @Override
+                public boolean supportsThreadedTransactions() {
+                    return false;
+                }
+
+                @Override
+                public VariableFeatures variables() {
+                    return new VariableFeatures() {
+                        @Override
+                        public boolean supportsVariables() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsBooleanValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsByteValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsDoubleValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsFloatValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsIntegerValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsLongValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsMapValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsMixedListValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsBooleanArrayValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsByteArrayValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsDoubleArrayValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsFloatArrayValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsIntegerArrayValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsStringArrayValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsLongArrayValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsSerializableValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsStringValues() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsUniformListValues() {
+                            return false;
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public EdgeFeatures edge() {
+            return new EdgeFeatures() {
+                @Override
+                public boolean supportsAddEdges() {
+                    return false;
+                }
+
+                @Override
+                public boolean supportsRemoveEdges() {
+                    return false;
+                }
+
+                @Override
+                public boolean supportsAddProperty() {
+                    return false;
+                }
+
+                @Override
+                public boolean supportsRemoveProperty() {
+                    return false;
+                }
+
+                @Override
+                public boolean supportsCustomIds() {
+                    return false;
+                }
+            };
+        }
+
+        @Override
+        public VertexFeatures vertex() {
+            return new VertexFeatures() {
+                @Override
+                public boolean supportsAddVertices() {
+                    return false;
+                }
+
+                @Override
+                public boolean supportsRemoveVertices() {
+                    return false;
+                }
+
+                @Override
+                public boolean supportsAddProperty() {
+                    return false;
+                }
+
+                @Override
+                public boolean supportsRemoveProperty() {
+                    return false;
+                }
+
+                @Override
+                public boolean supportsCustomIds() {
+                    return false;
+                }
+
+                @Override
+                public VertexPropertyFeatures properties() {
+                    return new VertexPropertyFeatures() {
+                        @Override
+                        public boolean supportsAddProperty() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean supportsRemoveProperty() {
+                            return false;
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            return StringFactory.featureString(this);
+        }
+    }
+
+    private static class TinkerMappedGraphVariables implements Graph.Variables {
+
+        private final Map<String, Object> variables;
+
+        private TinkerMappedGraphVariables(final Map<String, Object> variables) {
+            this.variables = variables;
+        }
+
+        @Override
+        public Set<String> keys() {
+            return this.variables.keySet();
+        }
+
+        @Override
+        public <R> Optional<R> get(final String key) {
+            return Optional.ofNullable((R) this.variables.get(key));
+        }
+
+        @Override
+        public void set(final String key, final Object value) {
+            throw Graph.Exceptions.variablesNotSupported();
+        }
+
+        @Override
+        public void remove(final String key) {
+            throw Graph.Exceptions.variablesNotSupported();
+        }
+
+        @Override
+        public String toString() {
+            return StringFactory.graphVariablesString(this);
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package com.tinkerpop.gremlin.tinkergraph.structure.mapped;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.VertexProperty;
+import com.tinkerpop.gremlin.structure.io.kryo.KryoMapper;
+import com.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
+import com.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the files of a {@link TinkerMappedGraph}.  Vertices and then edges are streamed once into the files: each
+ * column is appended to a scratch file in the directory and the scratch files of a file are concatenated when the
+ * counts are known.  Only the map of vertex id to position and the {@code int} endpoints of the edges, needed for
+ * the adjacency, are held on the heap.  The graph header is written last, so a directory left behind by a failed
+ * write can not be opened.
+ *
+ * @author agent (agent@local)
+ */
+public final class TinkerMappedGraphWriter {
+
+    private static final String EDGES_SCRATCH_FILE = "edges.kryo.tmp";
+
+    private TinkerMappedGraphWriter() {
+    }
+
+    /**
+     * Convert the output of {@link com.tinkerpop.gremlin.structure.io.kryo.KryoWriter#writeGraph} into the files of a
+     * {@link TinkerMappedGraph} in the directory.  The edges of the stream follow their out-vertex, so they are
+     * spooled to a scratch file and written once all the vertices are known.
+     */
+    public static void convert(final InputStream kryoInputStream, final File directory) throws IOException {
+        mkdirs(directory);
+        final KryoMapper mapper = KryoMapper.build().create();
+        final Kryo kryo = mapper.createMapper();
+        final Input input = new Input(kryoInputStream);
+        mapper.getHeaderReader().read(kryo, input);
+
+        final File edgesScratch = new File(directory, EDGES_SCRATCH_FILE);
+        try (final Columns columns = new Columns(directory)) {
+            if (input.readBoolean())
+                columns.variables(kryo.readObject(input, HashMap.class));
+            try (final Output edges = new Output(new FileOutputStream(edgesScratch))) {
+                if (input.readBoolean()) {
+                    while (!input.eof()) {
+                        columns.addVertex((DetachedVertex) kryo.readClassAndObject(input));
+                        final boolean hasDirectionSpecified = input.readBoolean();
+                        if (!hasDirectionSpecified || Direction.OUT != kryo.readObject(input, Direction.class) || Direction.OUT != kryo.readObject(input, Direction.class))
+                            throw new IllegalStateException(String.format("Stream must specify edge direction and that direction must be %s", Direction.OUT));
+                        if (input.readBoolean()) {
+                            // the edges are followed by the edge terminator
+                            Object next = kryo.readClassAndObject(input);
+                            while (next instanceof DetachedEdge) {
+                                kryo.writeClassAndObject(edges, next);
+                                next = kryo.readClassAndObject(input);
+                            }
+                        }
+                        // the vertex terminator
+                        kryo.readClassAndObject(input);
+                    }
+                }
+            }
+            try (final Input edges = new Input(new FileInputStream(edgesScratch))) {
+                while (!edges.eof()) {
+                    columns.addEdge((DetachedEdge) kryo.readClassAndObject(edges));
+                }
+            }
+            columns.finish();
+        } finally {
+            Files.deleteIfExists(edgesScratch.toPath());
+        }
+    }
+
+    /**
+     * Write the graph as the files of a {@link TinkerMappedGraph} in the directory.
+     */
+    public static void write(final Graph graph, final File directory) throws IOException {
+        mkdirs(directory);
+        try (final Columns columns = new Columns(directory)) {
+            if (graph.features().graph().variables().supportsVariables())
+                columns.variables(new HashMap<>(graph.variables().asMap()));
+            final Iterator<Vertex> vertices = graph.iterators().vertexIterator();
+            while (vertices.hasNext()) {
+                columns.addVertex(vertices.next());
+            }
+            final Iterator<Edge> edges = graph.iterators().edgeIterator();
+            while (edges.hasNext()) {
+                columns.addEdge(edges.next());
+            }
+            columns.finish();
+        }
+    }
+
+    private static void mkdirs(final File directory) {
+        if (!directory.exists() && !directory.mkdirs())
+            throw new IllegalArgumentException("The directory could not be created: " + directory);
+    }
+
+    private static DataOutputStream stream(final File file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    }
+
+    /**
+     * The files of a {@link TinkerMappedGraph} being written, with a {@link Column} per column not yet at its place.
+     */
+    private static final class Columns implements AutoCloseable {
+
+        private final File directory;
+        private final ValueWriter values;
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+        private final Map<Object, Integer> vertexIndex = new HashMap<>();
+        private final Map<String, VertexKeyColumns> vertexKeys = new LinkedHashMap<>();
+        private final Map<String, Column> edgeKeys = new LinkedHashMap<>();
+        private final List<AutoCloseable> open = new ArrayList<>();
+
+        private final DataOutputStream vertices;
+        private final Column vertexLabels;
+        private final Column vertexHashes;
+        private final DataOutputStream edges;
+        private final Column edgeLabels;
+        private final Column outVertices;
+        private final Column inVertices;
+        private final Column edgeHashes;
+
+        private int vertexCount = 0;
+        private int edgeCount = 0;
+        private long variablesRef = TinkerMappedGraph.NO_VALUE;
+
+        private Columns(final File directory) throws IOException {
+            this.directory = directory;
+            final File header = new File(directory, TinkerMappedGraph.GRAPH_FILE);
+            if (header.exists() && !header.delete())
+                throw new IOException("Could not delete the existing graph in " + directory);
+            this.values = this.track(new ValueWriter(new File(directory, TinkerMappedGraph.VALUES_FILE)));
+            this.vertices = this.track(stream(new File(directory, TinkerMappedGraph.VERTICES_FILE)));
+            this.vertexLabels = this.column("vertex-labels");
+            this.vertexHashes = this.column("vertex-hashes");
+            this.edges = this.track(stream(new File(directory, TinkerMappedGraph.EDGES_FILE)));
+            this.edgeLabels = this.column("edge-labels");
+            this.outVertices = this.column("out-vertices");
+            this.inVertices = this.column("in-vertices");
+            this.edgeHashes = this.column("edge-hashes");
+        }
+
+        private void variables(final Map<String, Object> variables) throws IOException {
+            this.variablesRef = this.values.write(variables);
+        }
+
+        private void addVertex(final Vertex vertex) throws IOException {
+            final int index = this.vertexCount++;
+            if (null != this.vertexIndex.put(vertex.id(), index))
+                throw new IllegalStateException("The vertex id " + vertex.id() + " is not unique");
+            this.vertices.writeLong(this.values.write(vertex.id()));
+            this.vertexLabels.out.writeInt(this.string(vertex.label()));
+            this.vertexHashes.out.writeLong(hash(vertex.id(), index));
+
+            final Iterator<VertexProperty<Object>> properties = vertex.iterators().propertyIterator();
+            while (properties.hasNext()) {
+                final VertexProperty<Object> property = properties.next();
+                VertexKeyColumns columns = this.vertexKeys.get(property.key());
+                if (null == columns) {
+                    final int key = this.string(property.key());
+                    columns = new VertexKeyColumns(this.column("vertex-" + key + "-offsets"), this.column("vertex-" + key + "-ids"),
+                            this.column("vertex-" + key + "-values"), this.column("vertex-" + key + "-meta"));
+                    this.vertexKeys.put(property.key(), columns);
+                }
+                columns.add(index, this.values.write(property.id()), this.values.write(property.value()), this.metaProperties(property));
+            }
+        }
+
+        private long metaProperties(final VertexProperty<Object> property) throws IOException {
+            final Iterator<Property<Object>> metaProperties = property.iterators().propertyIterator();
+            if (!metaProperties.hasNext())
+                return TinkerMappedGraph.NO_VALUE;
+            final HashMap<String, Object> map = new HashMap<>();
+            metaProperties.forEachRemaining(metaProperty -> map.put(metaProperty.key(), metaProperty.value()));
+            return this.values.write(map);
+        }
+
+        private void addEdge(final Edge edge) throws IOException {
+            final int index = this.edgeCount++;
+            this.edges.writeLong(this.values.write(edge.id()));
+            this.edgeLabels.out.writeInt(this.string(edge.label()));
+            this.outVertices.out.writeInt(this.vertex(edge.iterators().vertexIterator(Direction.OUT).next().id()));
+            this.inVertices.out.writeInt(this.vertex(edge.iterators().vertexIterator(Direction.IN).next().id()));
+            this.edgeHashes.out.writeLong(hash(edge.id(), index));
+
+            final Iterator<? extends Property<Object>> properties = edge.iterators().propertyIterator();
+            while (properties.hasNext()) {
+                final Property<Object> property = properties.next();
+                Column column = this.edgeKeys.get(property.key());
+                if (null == column) {
+                    column = this.column("edge-" + this.string(property.key()));
+                    this.edgeKeys.put(property.key(), column);
+                }
+                column.fill(index, TinkerMappedGraph.NO_VALUE);
+                column.out.writeLong(this.values.write(property.value()));
+                column.count++;
+            }
+        }
+
+        /**
+         * Put every column at its place and write the graph header.
+         */
+        private void finish() throws IOException {
+            this.values.close();
+
+            this.vertexLabels.transferTo(this.vertices);
+            this.vertices.close();
+            final int[] outEdgeVertices = this.outVertices.readInts(this.edgeCount);
+            final int[] inEdgeVertices = this.inVertices.readInts(this.edgeCount);
+            this.edgeLabels.transferTo(this.edges);
+            this.outVertices.transferTo(this.edges);
+            this.inVertices.transferTo(this.edges);
+            this.edges.close();
+
+            writeAdjacency(new File(this.directory, TinkerMappedGraph.OUT_FILE), this.vertexCount, outEdgeVertices);
+            writeAdjacency(new File(this.directory, TinkerMappedGraph.IN_FILE), this.vertexCount, inEdgeVertices);
+            writeIds(new File(this.directory, TinkerMappedGraph.VERTEX_IDS_FILE), this.vertexHashes.readLongs(this.vertexCount));
+            writeIds(new File(this.directory, TinkerMappedGraph.EDGE_IDS_FILE), this.edgeHashes.readLongs(this.edgeCount));
+
+            for (final Map.Entry<String, VertexKeyColumns> entry : this.vertexKeys.entrySet()) {
+                try (final DataOutputStream out = stream(new File(this.directory, "vertex-" + this.strings.get(entry.getKey()) + ".col"))) {
+                    entry.getValue().transferTo(out, this.vertexCount);
+                }
+            }
+            for (final Map.Entry<String, Column> entry : this.edgeKeys.entrySet()) {
+                try (final DataOutputStream out = stream(new File(this.directory, "edge-" + this.strings.get(entry.getKey()) + ".col"))) {
+                    entry.getValue().fill(this.edgeCount, TinkerMappedGraph.NO_VALUE);
+                    entry.getValue().transferTo(out);
+                }
+            }
+
+            try (final DataOutputStream out = stream(new File(this.directory, TinkerMappedGraph.GRAPH_FILE))) {
+                out.writeInt(TinkerMappedGraph.VERSION);
+                out.writeInt(this.vertexCount);
+                out.writeInt(this.edgeCount);
+                out.writeInt(this.strings.size());
+                for (final String string : this.strings.keySet()) {
+                    out.writeUTF(string);
+                }
+                out.writeInt(this.vertexKeys.size());
+                for (final String key : this.vertexKeys.keySet()) {
+                    out.writeInt(this.strings.get(key));
+                }
+                out.writeInt(this.edgeKeys.size());
+                for (final String key : this.edgeKeys.keySet()) {
+                    out.writeInt(this.strings.get(key));
+                }
+                out.writeLong(this.variablesRef);
+            }
+        }
+
+        /**
+         * Close whatever is still open and remove the scratch files.
+         */
+        @Override
+        public void close() throws IOException {
+            IOException exception = null;
+            for (final AutoCloseable closeable : this.open) {
+                try {
+                    closeable.close();
+                } catch (final Exception e) {
+                    if (null == exception)
+                        exception = e instanceof IOException ? (IOException) e : new IOException(e);
+                }
+            }
+            if (null != exception)
+                throw exception;
+        }
+
+        private int vertex(final Object id) {
+            final Integer index = this.vertexIndex.get(id);
+            if (null == index)
+                throw new IllegalStateException("The edge refers to the vertex " + id + " which is not in the graph");
+            return index;
+        }
+
+        private int string(final String string) {
+            return this.strings.computeIfAbsent(string, s -> this.strings.size());
+        }
+
+        private Column column(final String name) throws IOException {
+            return this.track(new Column(new File(this.directory, name + ".tmp")));
+        }
+
+        private <C extends AutoCloseable> C track(final C closeable) {
+            this.open.add(closeable);
+            return closeable;
+        }
+
+        private static long hash(final Object id, final int index) {
+            return ((long) id.hashCode() << 32) | (index & 0xFFFFFFFFl);
+        }
+
+        private static void writeAdjacency(final File file, final int vertexCount, final int[] edgeVertices) throws IOException {
+            final long[] offsets = new long[vertexCount + 1];
+            for (final int vertex : edgeVertices) {
+                offsets[vertex + 1]++;
+            }
+            for (int i = 0; i < vertexCount; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            final int[] adjacency = new int[edgeVertices.length];
+            final long[] next = Arrays.copyOf(offsets, vertexCount);
+            for (int edge = 0; edge < edgeVertices.length; edge++) {
+                adjacency[(int) next[edgeVertices[edge]]++] = edge;
+            }
+            try (final DataOutputStream out = stream(file)) {
+                for (final long offset : offsets) {
+                    out.writeLong(offset);
+                }
+                for (final int edge : adjacency) {
+                    out.writeInt(edge);
+                }
+            }
+        }
+
+        private static void writeIds(final File file, final long[] entries) throws IOException {
+            Arrays.sort(entries);
+            try (final DataOutputStream out = stream(file)) {
+                for (final long entry : entries) {
+                    out.writeLong(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * The offsets, id, value and meta-property columns of a vertex key.  The offsets of the vertices without the
+     * key are filled in when the next vertex with the key, or the end, is reached.
+     */
+    private static final class VertexKeyColumns {
+
+        private final Column offsets;
+        private final Column ids;
+        private final Column values;
+        private final Column metaProperties;
+
+        private VertexKeyColumns(final Column offsets, final Column ids, final Column values, final Column metaProperties) {
+            this.offsets = offsets;
+            this.ids = ids;
+            this.values = values;
+            this.metaProperties = metaProperties;
+        }
+
+        private void add(final int vertex, final long idRef, final long valueRef, final long metaPropertiesRef) throws IOException {
+            this.offsets.fill(vertex + 1, this.ids.count);
+            this.ids.out.writeLong(idRef);
+            this.ids.count++;
+            this.values.out.writeLong(valueRef);
+            this.metaProperties.out.writeLong(metaPropertiesRef);
+        }
+
+        private void transferTo(final DataOutputStream out, final int vertexCount) throws IOException {
+            this.offsets.fill(vertexCount + 1, this.ids.count);
+            this.offsets.transferTo(out);
+            this.ids.transferTo(out);
+            this.values.transferTo(out);
+            this.metaProperties.transferTo(out);
+        }
+    }
+
+    /**
+     * A column appended to a scratch file until it can be copied to its place in a file of the graph.
+     */
+    private static final class Column implements AutoCloseable {
+
+        private final File file;
+        private final DataOutputStream out;
+        private long count = 0l;
+
+        private Column(final File file) throws IOException {
+            this.file = file;
+            this.out = stream(file);
+        }
+
+        /**
+         * Append the value until the column holds the number of entries.
+         */
+        private void fill(final long entries, final long value) throws IOException {
+            for (; this.count < entries; this.count++) {
+                this.out.writeLong(value);
+            }
+        }
+
+        private void transferTo(final DataOutputStream target) throws IOException {
+            this.out.close();
+            target.flush();
+            Files.copy(this.file.toPath(), target);
+        }
+
+        private int[] readInts(final int length) throws IOException {
+            this.out.flush();
+            final int[] ints = new int[length];
+            try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)))) {
+                for (int i = 0; i < length; i++) {
+                    ints[i] = in.readInt();
+                }
+            }
+            return ints;
+        }
+
+        private long[] readLongs(final int length) throws IOException {
+            this.out.flush();
+            final long[] longs = new long[length];
+            try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)))) {
+                for (int i = 0; i < length; i++) {
+                    longs[i] = in.readLong();
+                }
+            }
+            return longs;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.out.close();
+            Files.deleteIfExists(this.file.toPath());
+        }
+    }
+
+    /**
+     * Appends length prefixed Kryo serializations to {@link TinkerMappedGraph#VALUES_FILE} and hands out their offset.
+     */
+    private static final class ValueWriter implements AutoCloseable {
+
+        private final Kryo kryo = KryoMapper.build().create().createMapper();
+        private final Output buffer = new Output(64, -1);
+        private final DataOutputStream out;
+        private long position = 0l;
+
+        private ValueWriter(final File file) throws IOException {
+            this.out = stream(file);
+        }
+
+        private long write(final Object value) throws IOException {
+            this.buffer.clear();
+            this.kryo.writeClassAndObject(this.buffer, value);
+            final long ref = this.position;
+            this.out.writeInt(this.buffer.position());
+            this.out.write(this.buffer.getBuffer(), 0, this.buffer.position());
+            this.position += 4 + this.buffer.position();
+            return ref;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.out.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.tinkerpop.gremlin.tinkergraph.structure.mapped;
+
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.util.ElementHelper;
+import com.tinkerpop.gremlin.structure.util.StringFactory;
+
+/**
+ * A property of a {@link TinkerMappedEdge} whose value is decoded from the mapped files on first use, or a
+ * meta-property of a {@link TinkerMappedVertexProperty} whose value was decoded with its siblings.
+ *
+ * @author agent (agent@local)
+ */
+public class TinkerMappedProperty<V> implements Property<V> {
+
+    protected final Element element;
+    protected final String key;
+    protected final long valueRef;
+    private V value = null;
+
+    protected TinkerMappedProperty(final TinkerMappedEdge edge, final String key, final long valueRef) {
+        this.element = edge;
+        this.key = key;
+        this.valueRef = valueRef;
+    }
+
+    protected TinkerMappedProperty(final TinkerMappedVertexProperty<?> vertexProperty, final String key, final V value) {
+        this.element = vertexProperty;
+        this.key = key;
+        this.valueRef = TinkerMappedGraph.NO_VALUE;
+        this.value = value;
+    }
+
+    @Override
+    public String key() {
+        return this.key;
+    }
+
+    @Override
+    public V value() {
+        if (null == this.value)
+            this.value = (V) ((TinkerMappedGraph) this.element.graph()).value(this.valueRef);
+        return this.value;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return true;
+    }
+
+    @Override
+    public Element element() {
+        return this.element;
+    }
+
+    @Override
+    public void remove() {
+        throw Element.Exceptions.propertyRemovalNotSupported();
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        return ElementHelper.areEqual(this, object);
+    }
+
+    @Override
+    public int hashCode() {
+        return ElementHelper.hashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.propertyString(this);
+    }
+}
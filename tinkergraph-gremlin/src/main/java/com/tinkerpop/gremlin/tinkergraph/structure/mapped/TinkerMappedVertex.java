@@ -0,0 +1,76 @@
+package com.tinkerpop.gremlin.tinkergraph.structure.mapped;
+
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.VertexProperty;
+import com.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Iterator;
+
+/**
+ * A read-only vertex of a {@link TinkerMappedGraph}.  The label is read from {@link TinkerMappedGraph#VERTICES_FILE},
+ * the properties from the vertex key columns and the incident edges from the adjacency of
+ * {@link TinkerMappedGraph#OUT_FILE} and {@link TinkerMappedGraph#IN_FILE}.
+ *
+ * @author agent (agent@local)
+ */
+public class TinkerMappedVertex extends TinkerMappedElement implements Vertex, Vertex.Iterators {
+
+    protected TinkerMappedVertex(final int index, final TinkerMappedGraph graph) {
+        super(index, graph);
+    }
+
+    @Override
+    protected Object readId() {
+        return this.graph.vertexId(this.index);
+    }
+
+    @Override
+    public String label() {
+        return this.graph.vertexLabel(this.index);
+    }
+
+    @Override
+    public <V> VertexProperty<V> property(final String key, final V value) {
+        throw Element.Exceptions.propertyAdditionNotSupported();
+    }
+
+    @Override
+    public Edge addEdge(final String label, final Vertex inVertex, final Object... keyValues) {
+        throw Vertex.Exceptions.edgeAdditionsNotSupported();
+    }
+
+    @Override
+    public void remove() {
+        throw Vertex.Exceptions.vertexRemovalNotSupported();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.vertexString(this);
+    }
+
+    //////////////////////////////////////////////
+
+    @Override
+    public Vertex.Iterators iterators() {
+        return this;
+    }
+
+    @Override
+    public <V> Iterator<VertexProperty<V>> propertyIterator(final String... propertyKeys) {
+        return this.graph.vertexProperties(this, propertyKeys);
+    }
+
+    @Override
+    public Iterator<Edge> edgeIterator(final Direction direction, final String... edgeLabels) {
+        return this.graph.edges(this.index, direction, edgeLabels);
+    }
+
+    @Override
+    public Iterator<Vertex> vertexIterator(final Direction direction, final String... edgeLabels) {
+        return this.graph.vertices(this.index, direction, edgeLabels);
+    }
+}
@@ -0,0 +1,113 @@
+package com.tinkerpop.gremlin.tinkergraph.structure.mapped;
+
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.VertexProperty;
+import com.tinkerpop.gremlin.structure.util.ElementHelper;
+import com.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A property of a {@link TinkerMappedVertex} whose id, value and meta-properties are decoded from the mapped files on
+ * first use.
+ *
+ * @author agent (agent@local)
+ */
+public class TinkerMappedVertexProperty<V> implements VertexProperty<V>, VertexProperty.Iterators {
+
+    protected final TinkerMappedVertex vertex;
+    protected final String key;
+    protected final long idRef;
+    protected final long valueRef;
+    protected final long metaPropertiesRef;
+    private Object id = null;
+    private V value = null;
+    private Map<String, Object> metaProperties = null;
+
+    protected TinkerMappedVertexProperty(final TinkerMappedVertex vertex, final String key, final long idRef,
+                                         final long valueRef, final long metaPropertiesRef) {
+        this.vertex = vertex;
+        this.key = key;
+        this.idRef = idRef;
+        this.valueRef = valueRef;
+        this.metaPropertiesRef = metaPropertiesRef;
+    }
+
+    @Override
+    public Object id() {
+        if (null == this.id)
+            this.id = this.vertex.graph.value(this.idRef);
+        return this.id;
+    }
+
+    @Override
+    public String key() {
+        return this.key;
+    }
+
+    @Override
+    public V value() {
+        if (null == this.value)
+            this.value = (V) this.vertex.graph.value(this.valueRef);
+        return this.value;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return true;
+    }
+
+    @Override
+    public Vertex element() {
+        return this.vertex;
+    }
+
+    @Override
+    public <U> Property<U> property(final String key, final U value) {
+        throw Element.Exceptions.propertyAdditionNotSupported();
+    }
+
+    @Override
+    public void remove() {
+        throw Element.Exceptions.propertyRemovalNotSupported();
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        return ElementHelper.areEqual(this, object);
+    }
+
+    @Override
+    public int hashCode() {
+        return ElementHelper.hashCode((Element) this);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.propertyString(this);
+    }
+
+    //////////////////////////////////////////////
+
+    @Override
+    public VertexProperty.Iterators iterators() {
+        return this;
+    }
+
+    @Override
+    public <U> Iterator<Property<U>> propertyIterator(final String... propertyKeys) {
+        if (TinkerMappedGraph.NO_VALUE == this.metaPropertiesRef)
+            return Collections.emptyIterator();
+        if (null == this.metaProperties)
+            this.metaProperties = (Map<String, Object>) this.vertex.graph.value(this.metaPropertiesRef);
+        final Stream<String> keys = 0 == propertyKeys.length ? this.metaProperties.keySet().stream() : Stream.of(propertyKeys).distinct();
+        return keys.filter(this.metaProperties::containsKey)
+                .map(key -> (Property<U>) new TinkerMappedProperty<>(this, key, (U) this.metaProperties.get(key)))
+                .iterator();
+    }
+}
@@ -0,0 +1,20 @@
+package com.tinkerpop.gremlin.tinkergraph;
+
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+import java.util.Map;
+
+/**
+ * A {@link TinkerGraphGraphProvider} that opens every {@link TinkerGraph} with compact storage enabled.
+ *
+ * @author agent (agent@local)
+ */
+public class TinkerGraphCompactGraphProvider extends TinkerGraphGraphProvider {
+
+    @Override
+    public Map<String, Object> getBaseConfiguration(final String graphName, final Class<?> test, final String testMethodName) {
+        final Map<String, Object> configuration = super.getBaseConfiguration(graphName, test, testMethodName);
+        configuration.put(TinkerGraph.CONFIG_COMPACT_STORAGE, true);
+        return configuration;
+    }
+}
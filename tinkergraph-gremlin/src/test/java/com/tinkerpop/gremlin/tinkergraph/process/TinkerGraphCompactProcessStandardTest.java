@@ -0,0 +1,16 @@
+package com.tinkerpop.gremlin.tinkergraph.process;
+
+import com.tinkerpop.gremlin.process.ProcessStandardSuite;
+import com.tinkerpop.gremlin.tinkergraph.TinkerGraphCompactGraphProvider;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.runner.RunWith;
+
+/**
+ * Executes the Standard Gremlin Process Test Suite using TinkerGraph with compact storage.
+ *
+ * @author agent (agent@local)
+ */
+@RunWith(ProcessStandardSuite.class)
+@ProcessStandardSuite.GraphProviderClass(provider = TinkerGraphCompactGraphProvider.class, graph = TinkerGraph.class)
+public class TinkerGraphCompactProcessStandardTest {
+}
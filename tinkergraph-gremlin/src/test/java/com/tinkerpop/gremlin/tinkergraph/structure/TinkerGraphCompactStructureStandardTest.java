@@ -0,0 +1,17 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.StructureStandardSuite;
+import com.tinkerpop.gremlin.tinkergraph.TinkerGraphCompactGraphProvider;
+import org.junit.runner.RunWith;
+
+
+/**
+ * Executes the Standard Gremlin Structure Test Suite using TinkerGraph with compact storage.
+ *
+ * @author agent (agent@local)
+ */
+@RunWith(StructureStandardSuite.class)
+@StructureStandardSuite.GraphProviderClass(provider = TinkerGraphCompactGraphProvider.class, graph = TinkerGraph.class)
+public class TinkerGraphCompactStructureStandardTest {
+
+}
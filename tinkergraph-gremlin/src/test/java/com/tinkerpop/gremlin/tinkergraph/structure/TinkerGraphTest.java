@@ -3,11 +3,22 @@ package com.tinkerpop.gremlin.tinkergraph.structure;
 import com.tinkerpop.gremlin.AbstractGremlinTest;
 import com.tinkerpop.gremlin.process.T;
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.computer.GraphComputer;
+import com.tinkerpop.gremlin.process.computer.Memory;
+import com.tinkerpop.gremlin.process.computer.MessageCombiner;
+import com.tinkerpop.gremlin.process.computer.MessageScope;
+import com.tinkerpop.gremlin.process.computer.Messenger;
+import com.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import com.tinkerpop.gremlin.process.computer.util.StaticVertexProgram;
 import com.tinkerpop.gremlin.process.graph.GraphTraversal;
+import com.tinkerpop.gremlin.process.graph.util.HasContainer;
+import com.tinkerpop.gremlin.structure.Compare;
+import com.tinkerpop.gremlin.structure.Contains;
 import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Operator;
+import com.tinkerpop.gremlin.structure.Text;
 import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.io.GraphReader;
 import com.tinkerpop.gremlin.structure.io.graphml.GraphMLWriter;
@@ -16,7 +27,11 @@ import com.tinkerpop.gremlin.structure.io.graphson.GraphSONWriter;
 import com.tinkerpop.gremlin.structure.io.kryo.KryoReader;
 import com.tinkerpop.gremlin.structure.io.kryo.KryoWriter;
 import com.tinkerpop.gremlin.structure.strategy.PartitionStrategy;
+import com.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import com.tinkerpop.gremlin.util.StreamFactory;
+import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
 import org.apache.commons.io.FileUtils;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
@@ -27,14 +42,25 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static com.tinkerpop.gremlin.process.graph.AnonymousGraphTraversal.Tokens.__;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -562,6 +588,446 @@ public class TinkerGraphTest {
         }, 0.5).has("oid", "1")).count());
     }
 
+    @Test
+    public void shouldStoreAndRemoveElementsWithCompactStorage() {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_COMPACT_STORAGE, true);
+        final TinkerGraph g = TinkerGraph.open(configuration);
+        assertTrue(g.vertices instanceof TinkerLongMap);
+
+        final Vertex a = g.addVertex(T.id, "a");
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final Vertex v = g.addVertex();
+            a.addEdge(i % 2 == 0 ? "even" : "odd", v);
+            vertices.add(v);
+        }
+        assertEquals(1001, g.V().count().next().intValue());
+        assertEquals(1000, g.E().count().next().intValue());
+        assertEquals(500, a.outE("even").count().next().intValue());
+        assertEquals(a, g.V("a").next());
+
+        for (int i = 0; i < 1000; i = i + 3) {
+            vertices.get(i).remove();
+        }
+        assertEquals(667, g.V().count().next().intValue());
+        assertEquals(666, a.outE().count().next().intValue());
+        vertices.forEach(v -> assertEquals(!((TinkerVertex) v).removed, g.V(v.id()).hasNext()));
+        assertEquals(1, a.outE().next().inV().inE().count().next().intValue());
+        assertTrue(a.outE("even").next().label() == a.outE("even").next().label());
+
+        // removal through the iterators of the map views, with probe sequences that wrap around the table
+        final Random random = new Random(42);
+        for (int run = 0; run < 100; run++) {
+            final TinkerLongMap<Integer> longMap = new TinkerLongMap<>();
+            final Map<Object, Integer> hashMap = new HashMap<>();
+            for (int i = 0; i < 11 + run; i++) {
+                final Object key = i % 10 == 0 ? "key" + i : (Object) (long) random.nextInt(1000);
+                longMap.put(key, i);
+                hashMap.put(key, i);
+            }
+            final Iterator<?> iterator = run % 3 == 0 ? longMap.values().iterator() : run % 3 == 1 ? longMap.keySet().iterator() : longMap.entrySet().iterator();
+            final Set<Object> visited = new HashSet<>();
+            while (iterator.hasNext()) {
+                assertTrue(visited.add(iterator.next()));
+                if (random.nextBoolean())
+                    iterator.remove();
+            }
+            assertEquals(hashMap.size(), visited.size());
+            final Iterator<Map.Entry<Object, Integer>> hashIterator = hashMap.entrySet().iterator();
+            while (hashIterator.hasNext()) {
+                final Map.Entry<Object, Integer> entry = hashIterator.next();
+                if (!longMap.containsKey(entry.getKey()))
+                    hashIterator.remove();
+            }
+            assertEquals(hashMap, longMap);
+            assertEquals(hashMap.size(), longMap.size());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotRemoveTwiceThroughTheIteratorOfACompactMap() {
+        final TinkerLongMap<Integer> longMap = new TinkerLongMap<>();
+        longMap.put(1l, 1);
+        final Iterator<Integer> iterator = longMap.values().iterator();
+        iterator.next();
+        iterator.remove();
+        iterator.remove();
+    }
+
+    @Test
+    public void shouldAllowAdjacencyMutationWhileIteratingEdges() {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_COMPACT_STORAGE, true);
+        for (final TinkerGraph g : Arrays.asList(TinkerGraph.open(), TinkerGraph.open(configuration))) {
+            final Vertex a = g.addVertex();
+            for (int i = 0; i < 100; i++) {
+                a.addEdge("knows", g.addVertex());
+                a.addEdge("likes", g.addVertex());
+            }
+            assertEquals(a.outE("knows").next(), a.iterators().edgeIterator(Direction.OUT, "knows").next());
+            assertEquals(100, IteratorUtils.count(a.iterators().vertexIterator(Direction.OUT, "knows", Graph.Hidden.hide("knows"))));
+
+            final Iterator<Edge> edges = a.iterators().edgeIterator(Direction.OUT);
+            int count = 0;
+            while (edges.hasNext()) {
+                final Edge edge = edges.next();
+                if (edge.label().equals("knows"))
+                    edge.remove();
+                else
+                    a.addEdge("hates", edge.iterators().vertexIterator(Direction.IN).next());
+                count++;
+            }
+            assertTrue(count >= 200);
+            assertEquals(0, a.outE("knows").count().next().intValue());
+            assertEquals(100, a.outE("hates").count().next().intValue());
+            assertEquals(200, a.outE().count().next().intValue());
+        }
+    }
+
+    @Test
+    public void shouldAnswerRangeAndPrefixQueriesWithSortedIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createSortedIndex("age", Vertex.class);
+        g.createIndex("name", Vertex.class);
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27);
+        g.addVertex("name", "josh", "age", 32);
+        g.addVertex("name", "peter", "age", 35);
+        g.addVertex("name", "matthias", "age", "unknown");
+
+        assertTrue(g.getSortedIndexedKeys(Vertex.class).contains("age"));
+        assertEquals(2, TinkerHelper.queryVertexIndex(g, Arrays.asList(new HasContainer("age", Compare.gt, 30))).size());
+        assertEquals(2, g.V().has("age", Compare.gt, 30).count().next().intValue());
+        assertEquals(3, g.V().has("age", Compare.gte, 29).count().next().intValue());
+        assertEquals(1, g.V().has("age", Compare.lt, 29).count().next().intValue());
+        assertEquals(2, g.V().has("age", Compare.lte, 29).count().next().intValue());
+        assertEquals(1, g.V().has("age", Compare.gt, 30).has("age", Compare.lt, 35).count().next().intValue());
+        assertEquals(2, g.V().has("name", Contains.within, Arrays.asList("marko", "josh", "stephen")).count().next().intValue());
+
+        // the sorted index must not break equality lookups and the unsorted index must not answer ranges
+        assertEquals(1, g.V().has("age", "unknown").count().next().intValue());
+        assertEquals(null, TinkerHelper.queryVertexIndex(g, Arrays.asList(new HasContainer("name", Compare.gt, "m"))));
+
+        g.createSortedIndex("name", Vertex.class);
+        assertEquals(2, TinkerHelper.queryVertexIndex(g, Arrays.asList(new HasContainer("name", Text.prefix, "ma"))).size());
+        assertEquals(1, g.V().has("name", Text.prefix, "mat").count().next().intValue());
+
+        g.V().has("name", "vadas").next().property("age").remove();
+        assertEquals(0, g.V().has("age", Compare.lt, 29).count().next().intValue());
+    }
+
+    @Test
+    public void shouldAnswerRangeQueriesOverMixedNumericTypesWithSortedIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createSortedIndex("age", Vertex.class);
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27l);
+        g.addVertex("name", "josh", "age", 32);
+        g.addVertex("name", "peter", "age", 35.5d);
+        g.addVertex("name", "stephen", "age", (short) 30);
+        g.addVertex("name", "daniel", "age", 30l);
+        g.addVertex("name", "matthias", "age", "unknown");
+
+        assertEquals(2, TinkerHelper.queryVertexIndex(g, Arrays.asList(new HasContainer("age", Compare.gt, 30l))).size());
+        assertEquals(4, TinkerHelper.queryVertexIndex(g, Arrays.asList(new HasContainer("age", Compare.gte, 30))).size());
+        assertEquals(2, TinkerHelper.queryVertexIndex(g, Arrays.asList(new HasContainer("age", Compare.lt, 30.0d))).size());
+        assertEquals(4, TinkerHelper.queryVertexIndex(g, Arrays.asList(new HasContainer("age", Compare.lte, (byte) 30))).size());
+        assertEquals(1, TinkerHelper.queryVertexIndex(g, Arrays.asList(new HasContainer("age", Compare.gt, 35))).size());
+        assertEquals(0, TinkerHelper.queryVertexIndex(g, Arrays.asList(new HasContainer("age", Compare.gt, 35.5f))).size());
+
+        // equal numbers of different types are still distinct values for equality lookups
+        assertEquals(1, g.V().has("age", 30l).count().next().intValue());
+        assertEquals(1, g.V().has("age", (short) 30).count().next().intValue());
+        assertEquals(1, g.V().has("age", "unknown").count().next().intValue());
+    }
+
+    @Test
+    public void shouldUseCompositeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex("name", "marko", "location", "santa fe", "status", "active");
+        g.addVertex("name", "marko", "location", "santa cruz", "status", "active");
+        final Vertex v = g.addVertex("name", "stephen", "location", "centreville", "status", "inactive");
+        g.createCompositeIndex(Vertex.class, "name", "location");
+        g.createIndex("status", Vertex.class);
+
+        assertEquals(1, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(1, TinkerHelper.queryVertexIndex(g, Arrays.asList(new HasContainer("name", Compare.eq, "marko"), new HasContainer("location", Compare.eq, "santa fe"), new HasContainer("status", Compare.eq, "active"))).size());
+        assertEquals(1, g.V().has("name", "marko").has("location", "santa cruz").count().next().intValue());
+
+        v.property("location").remove();
+        v.property("location", "dulles");
+        assertEquals(0, g.V().has("name", "stephen").has("location", "centreville").count().next().intValue());
+        assertEquals(1, g.V().has("name", "stephen").has("location", "dulles").count().next().intValue());
+        v.remove();
+        assertEquals(0, TinkerHelper.queryVertexIndex(g, Arrays.asList(new HasContainer("name", Compare.eq, "stephen"), new HasContainer("location", Compare.eq, "dulles"))).size());
+
+        g.dropCompositeIndex(Vertex.class, "name", "location");
+        assertEquals(0, g.getCompositeIndexedKeys(Vertex.class).size());
+    }
+
+    @Test
+    public void shouldMaintainIndexStatistics() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createSortedIndex("age", Vertex.class);
+        g.createIndex("country", Vertex.class);
+        for (int i = 0; i < 1000; i++) {
+            g.addVertex("age", i % 100, "country", i < 990 ? "usa" : "country" + i);
+        }
+
+        final TinkerIndexStatistics ages = g.getIndexStatistics("age", Vertex.class);
+        assertTrue(ages.isSorted());
+        assertEquals(1000, ages.getEntries());
+        assertEquals(100, ages.getDistinctValues());
+        assertEquals(1000, ages.getHistogram().stream().mapToLong(TinkerIndexStatistics.Bucket::getEntries).sum());
+        assertEquals(0, ages.getHistogram().get(0).getLowerBound());
+        assertEquals(99, ages.getHistogram().get(ages.getHistogram().size() - 1).getUpperBound());
+
+        final TinkerIndexStatistics countries = g.getIndexStatistics("country", Vertex.class);
+        assertEquals(11, countries.getDistinctValues());
+        assertEquals("usa", countries.getTopValues().get(0).getValue0());
+        assertEquals(990l, countries.getTopValues().get(0).getValue1().longValue());
+        assertEquals(0, countries.getHistogram().size());
+
+        // "usa" matches 990 vertices while the age range matches 20 so the sorted index must be chosen
+        final List<TinkerVertex> vertices = TinkerHelper.queryVertexIndex(g, Arrays.asList(new HasContainer("country", Compare.eq, "usa"), new HasContainer("age", Compare.lt, 2)));
+        assertEquals(20, vertices.size());
+        assertEquals(20, g.V().has("country", "usa").has("age", Compare.lt, 2).count().next().intValue());
+
+        g.V().has("country", "usa").remove();
+        assertEquals(10, g.getIndexStatistics("country", Vertex.class).getEntries());
+        assertEquals(10, g.getIndexStatistics("age", Vertex.class).getEntries());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotGetStatisticsOfUnindexedKey() {
+        TinkerGraph.open().getIndexStatistics("name", Vertex.class);
+    }
+
+    @Test
+    public void shouldRemoveElementsInBulk() {
+        final BaseConfiguration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_COMPACT_STORAGE, true);
+        for (final TinkerGraph g : Arrays.asList(TinkerGraph.open(), TinkerGraph.open(conf))) {
+            g.createIndex("group", Vertex.class);
+            g.createIndex("weight", Edge.class);
+            final Vertex hub = g.addVertex("group", "hub");
+            for (int i = 0; i < 100; i++) {
+                final Vertex v = g.addVertex("group", i % 2 == 0 ? "even" : "odd");
+                hub.addEdge("link", v, "weight", i % 2);
+            }
+
+            g.removeEdges(g.E().has("weight", 1));
+            assertEquals(50, g.E().count().next().intValue());
+            assertEquals(50, hub.outE("link").count().next().intValue());
+            assertEquals(0, g.E().has("weight", 1).count().next().intValue());
+            assertEquals(50, g.getIndexStatistics("weight", Edge.class).getEntries());
+
+            g.removeVertices(g.V().has("group", "even"));
+            assertEquals(51, g.V().count().next().intValue());
+            assertEquals(0, g.E().count().next().intValue());
+            assertEquals(0, hub.outE().count().next().intValue());
+            assertEquals(0, g.V().has("group", "even").count().next().intValue());
+            assertEquals(50, g.V().has("group", "odd").count().next().intValue());
+            assertEquals(51, g.getIndexStatistics("group", Vertex.class).getEntries());
+            assertEquals(0, g.getIndexStatistics("weight", Edge.class).getEntries());
+        }
+    }
+
+    @Test
+    public void shouldRecoverFromSnapshotAndLog() throws IOException {
+        final File directory = new File(tempPath + "persistence");
+        FileUtils.deleteDirectory(directory);
+        final BaseConfiguration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, directory.getAbsolutePath());
+        conf.setProperty(TinkerGraph.CONFIG_SNAPSHOT_INTERVAL, 25);
+
+        final TinkerGraph g = TinkerGraph.open(conf);
+        assertTrue(g.features().graph().supportsPersistence());
+        TinkerFactory.generateModern(g);
+        final Vertex marko = g.V(1).next();
+        marko.property("location", "santa fe", "startTime", 2005);
+        marko.property("location", "brussels", "startTime", 2010).property("endTime", 2012);
+        g.E().has("weight", 0.2d).next().remove();
+        g.E().has("weight", 1.0d).next().property("weight", 0.9d);
+        g.V().has("name", "peter").next().remove();
+        g.V().has("name", "vadas").next().property("age").remove();
+        g.variables().set("creator", "marko");
+
+        // open a second instance without closing the first one as if the first one had crashed
+        g.persistence.awaitCompaction();
+        final TinkerGraph recovered = TinkerGraph.open(conf);
+        assertEquals(5, recovered.V().count().next().intValue());
+        assertEquals(5, recovered.E().count().next().intValue());
+        assertEquals(0, recovered.E().has("weight", 0.2d).count().next().intValue());
+        assertEquals(1, recovered.E().has("weight", 0.9d).count().next().intValue());
+        assertFalse(recovered.V().has("name", "vadas").next().property("age").isPresent());
+        assertEquals(2, recovered.V(marko.id()).properties("location").count().next().intValue());
+        assertEquals(2012, (int) recovered.V(marko.id()).properties("location").has("startTime", 2010).next().<Integer>value("endTime"));
+        assertEquals("marko", recovered.variables().get("creator").get());
+
+        recovered.V(4).next().addEdge("knows", recovered.V(marko.id()).next(), "weight", 0.5d);
+        recovered.close();
+
+        final TinkerGraph reopened = TinkerGraph.open(conf);
+        assertEquals(5, reopened.V().count().next().intValue());
+        assertEquals(6, reopened.E().count().next().intValue());
+        assertEquals(marko.id(), reopened.V().has("name", "josh").out("knows").id().next());
+        reopened.close();
+    }
+
+    @Test
+    public void shouldComputeWithConfiguredNumberOfWorkers() {
+        final Graph g = TinkerFactory.createModern();
+        final List<Object> expected = g.V().both().both().values("name").toList();
+        Collections.sort((List) expected);
+        for (final int workers : Arrays.asList(1, 3, 16)) {
+            final List<Object> names = g.V().both().both().values("name").submit(((TinkerGraphComputer) g.compute()).workers(workers)).toList();
+            Collections.sort((List) names);
+            assertEquals(expected, names);
+        }
+    }
+
+    @Test
+    public void shouldComputeNestedTraversalsAsInOLTP() {
+        final Graph g = TinkerFactory.createModern();
+        final List<Supplier<Traversal<Vertex, ?>>> traversals = Arrays.asList(
+                () -> g.V().repeat(__.out()).times(2).values("name"),
+                () -> g.V().repeat(__.union(__.out("knows"), __.out("created"))).times(2).path().by(T.id),
+                () -> g.V().repeat(__.both().local(__.outE().limit(1)).inV()).times(2).values("name"),
+                () -> g.V().union(__.repeat(__.out()).times(2), __.local(__.bothE("created").limit(1)).otherV()).values("name"),
+                () -> g.V().local(__.union(__.outE("knows"), __.inE("created"))).otherV().repeat(__.out()).emit().id(),
+                () -> g.V().repeat(__.out().local(__.has("name", Compare.neq, "lop"))).emit().values("name"));
+        for (final Supplier<Traversal<Vertex, ?>> traversal : traversals) {
+            final List<?> expected = traversal.get().toList();
+            for (final int workers : Arrays.asList(1, 4)) {
+                final List<?> results = traversal.get().submit(((TinkerGraphComputer) g.compute()).workers(workers)).toList();
+                assertEquals(expected.size(), results.size());
+                assertEquals(expected.stream().collect(Collectors.groupingBy(Object::toString, Collectors.counting())),
+                        results.stream().collect(Collectors.groupingBy(Object::toString, Collectors.counting())));
+            }
+        }
+    }
+
+    @Test
+    public void shouldComputePageRankWithCombinedMessages() throws Exception {
+        final Graph g = TinkerFactory.createModern();
+        final Graph expected = ((TinkerGraphComputer) g.compute()).workers(1).program(PageRankVertexProgram.build().create()).submit().get().graph();
+        final Graph result = ((TinkerGraphComputer) g.compute()).workers(4).program(PageRankVertexProgram.build().create()).submit().get().graph();
+        expected.V().forEachRemaining(v -> {
+            final double pageRank = v.value(PageRankVertexProgram.PAGE_RANK);
+            assertEquals(pageRank, (double) result.V(v.id()).next().value(PageRankVertexProgram.PAGE_RANK), 0.000001d);
+            assertTrue(pageRank > 0.0d);
+        });
+    }
+
+    @Test
+    public void shouldHoldComputePropertiesInGraphView() {
+        final TinkerGraph g = TinkerFactory.createModern();
+        TinkerHelper.createGraphView(g, GraphComputer.Isolation.BSP, new HashSet<>(Arrays.asList("rank", "cluster")));
+        final Vertex v = g.V(1).next();
+        v.singleProperty("rank", 0.5d);
+        v.singleProperty("rank", 0.25d);
+        assertEquals(0.25d, v.<Double>value("rank"), 0.0d);
+        v.property("cluster", 1l, "weight", 0.5d);
+        assertEquals(1l, (long) v.<Long>value("cluster"));
+        assertEquals(0.5d, v.property("cluster").<Double>value("weight"), 0.0d);
+        v.property("cluster", "a");
+        assertEquals(2, StreamFactory.stream(v.iterators().propertyIterator("cluster")).count());
+        assertEquals("marko", v.value("name"));
+        g.V(2).next().property("rank").ifPresent(p -> fail("The rank is only set on marko"));
+        g.dropGraphView();
+        assertFalse(v.property("rank").isPresent());
+    }
+
+    @Test
+    public void shouldReceiveMessagesWithAndWithoutCombiner() throws Exception {
+        final Graph g = TinkerFactory.createModern();
+        // messages are received along "knows" from the out vertex and along "created" from either vertex
+        final List<List<Object>> expectedLocal = Arrays.asList(
+                Arrays.asList("created:3"),
+                Arrays.asList("knows:1"),
+                Arrays.asList("created:1", "created:4", "created:6"),
+                Arrays.asList("created:3", "created:5", "knows:1"),
+                Arrays.asList("created:4"),
+                Arrays.asList("created:3"));
+        final List<List<Object>> expectedGlobal = Arrays.asList(
+                Arrays.asList(2, 3, 4),
+                Arrays.asList(1),
+                Arrays.asList(1, 4, 6),
+                Arrays.asList(1, 3, 5),
+                Arrays.asList(4),
+                Arrays.asList(3));
+
+        Graph result = g.compute().program(new LocalMessageVertexProgram(Optional.empty())).submit().get().graph();
+        for (int id = 1; id <= 6; id++) {
+            assertEquals(expectedLocal.get(id - 1), result.V(id).next().value(LocalMessageVertexProgram.RECEIVED));
+            assertEquals(expectedGlobal.get(id - 1), result.V(id).next().value(LocalMessageVertexProgram.RECEIVED_GLOBAL));
+        }
+
+        // the ids sent by the adjacent vertices are summed by the combiner
+        result = g.compute().program(new LocalMessageVertexProgram(Optional.of((a, b) -> (int) a + (int) b))).submit().get().graph();
+        for (int id = 1; id <= 6; id++) {
+            final int sum = expectedGlobal.get(id - 1).stream().mapToInt(i -> (int) i).sum();
+            assertEquals(expectedLocal.get(id - 1), result.V(id).next().value(LocalMessageVertexProgram.RECEIVED));
+            assertEquals(Collections.singletonList(sum), result.V(id).next().value(LocalMessageVertexProgram.RECEIVED_GLOBAL));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotComputeWithoutWorkers() {
+        ((TinkerGraphComputer) TinkerGraph.open().compute()).workers(0);
+    }
+
+    @Test
+    public void shouldCompactLogsWhileMutating() throws IOException {
+        final File directory = new File(tempPath + "compaction");
+        FileUtils.deleteDirectory(directory);
+        final BaseConfiguration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, directory.getAbsolutePath());
+        conf.setProperty(TinkerGraph.CONFIG_SNAPSHOT_INTERVAL, 10);
+
+        final TinkerGraph g = TinkerGraph.open(conf);
+        Vertex last = g.addVertex(T.id, 0l);
+        for (long i = 1; i < 500; i++) {
+            final Vertex v = g.addVertex(T.id, i, "name", "v" + i);
+            last.addEdge("next", v);
+            last = v;
+        }
+
+        // a crash leaves the snapshot of the last compaction and the logs after it
+        g.persistence.awaitCompaction();
+        assertTrue(new File(directory, "tinkergraph.kryo").exists());
+        final TinkerGraph recovered = TinkerGraph.open(conf);
+        assertEquals(500, recovered.V().count().next().intValue());
+        assertEquals(499, recovered.E().count().next().intValue());
+        recovered.close();
+
+        final TinkerGraph reopened = TinkerGraph.open(conf);
+        assertEquals(500, reopened.V().count().next().intValue());
+        assertEquals("v499", reopened.V(0l).repeat(__.out()).times(499).values("name").next());
+        reopened.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotMutateClosedPersistentGraph() throws IOException {
+        final File directory = new File(tempPath + "closed");
+        FileUtils.deleteDirectory(directory);
+        final BaseConfiguration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, directory.getAbsolutePath());
+
+        final TinkerGraph g = TinkerGraph.open(conf);
+        g.addVertex();
+        g.close();
+        g.addVertex();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithOneKey() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Vertex.class, "name");
+    }
+
     /**
      * This test helps with data conversions on Grateful Dead.  No Assertions...run as needed. Never read from the
      * GraphML source as it will always use a String identifier.
@@ -635,4 +1101,63 @@ public class TinkerGraphTest {
             file.delete();
         }
     }
+
+    private static class LocalMessageVertexProgram extends StaticVertexProgram<Object> {
+
+        private static final String RECEIVED = "received";
+        private static final String RECEIVED_GLOBAL = "receivedGlobal";
+        private static final MessageScope.Local<Object> KNOWS = MessageScope.Local.of(() -> __.<Vertex>outE("knows"), (message, edge) -> edge.label() + ":" + message);
+        private static final MessageScope.Local<Object> CREATED = MessageScope.Local.of(() -> __.<Vertex>bothE("created"), (message, edge) -> edge.label() + ":" + message);
+        private static final Set<MessageScope> LOCAL_MESSAGE_SCOPES = new HashSet<>(Arrays.asList(KNOWS, CREATED));
+        private static final Set<MessageScope> MESSAGE_SCOPES = new HashSet<>(Arrays.asList(KNOWS, CREATED, MessageScope.Global.instance()));
+
+        private final Optional<MessageCombiner<Object>> combiner;
+
+        private LocalMessageVertexProgram(final Optional<MessageCombiner<Object>> combiner) {
+            this.combiner = combiner;
+        }
+
+        @Override
+        public void setup(final Memory memory) {
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<Object> messenger, final Memory memory) {
+            if (memory.isInitialIteration()) {
+                // the message of the sending vertex is read along the incident edges of both local scopes
+                messenger.sendMessage(KNOWS, vertex.id());
+                messenger.sendMessage(MessageScope.Global.of(vertex.both().toList()), vertex.id());
+            } else {
+                vertex.singleProperty(RECEIVED, sort(messenger.receiveMessages(LOCAL_MESSAGE_SCOPES)));
+                vertex.singleProperty(RECEIVED_GLOBAL, sort(messenger.receiveMessages(MessageScope.Global.instance())));
+            }
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return !memory.isInitialIteration();
+        }
+
+        @Override
+        public Set<MessageScope> getMessageScopes(final Memory memory) {
+            return MESSAGE_SCOPES;
+        }
+
+        @Override
+        public Optional<MessageCombiner<Object>> getMessageCombiner() {
+            return this.combiner;
+        }
+
+        @Override
+        public Set<String> getElementComputeKeys() {
+            return new HashSet<>(Arrays.asList(RECEIVED, RECEIVED_GLOBAL));
+        }
+
+        private static List<Object> sort(final Iterable<Object> messages) {
+            final List<Object> sorted = new ArrayList<>();
+            messages.forEach(sorted::add);
+            Collections.sort((List) sorted);
+            return sorted;
+        }
+    }
 }
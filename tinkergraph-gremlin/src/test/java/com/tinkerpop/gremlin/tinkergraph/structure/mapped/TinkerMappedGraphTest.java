@@ -0,0 +1,143 @@
+package com.tinkerpop.gremlin.tinkergraph.structure.mapped;
+
+import com.tinkerpop.gremlin.TestHelper;
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.VertexProperty;
+import com.tinkerpop.gremlin.structure.io.kryo.KryoWriter;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author agent (agent@local)
+ */
+public class TinkerMappedGraphTest {
+
+    private static TinkerMappedGraph convert(final TinkerGraph source, final String name) throws IOException {
+        final File directory = TestHelper.makeTestDataPath(TinkerMappedGraphTest.class, name);
+        FileUtils.deleteDirectory(directory);
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        KryoWriter.build().create().writeGraph(os, source);
+        TinkerMappedGraphWriter.convert(new ByteArrayInputStream(os.toByteArray()), directory);
+
+        final BaseConfiguration conf = new BaseConfiguration();
+        conf.setProperty(TinkerMappedGraph.CONFIG_DIRECTORY, directory.getAbsolutePath());
+        return TinkerMappedGraph.open(conf);
+    }
+
+    @Test
+    public void shouldReadConvertedGraph() throws IOException {
+        final TinkerGraph source = TinkerFactory.createModern();
+        source.V(1).next().property("location", "santa fe");
+        source.V(1).next().property("location", "brussels");
+        source.variables().set("creator", "marko");
+        final TinkerMappedGraph g = convert(source, "modern");
+
+        assertEquals(6, g.V().count().next().intValue());
+        assertEquals(6, g.E().count().next().intValue());
+        assertEquals("marko", g.V(1).next().value("name"));
+        assertEquals("person", g.V(1).next().label());
+        assertEquals(new HashSet<>(Arrays.asList("santa fe", "brussels")), new HashSet<>(g.V(1).values("location").toList()));
+        assertEquals(new HashSet<>(Arrays.asList("vadas", "josh")), new HashSet<>(g.V(1).out("knows").values("name").toList()));
+        assertEquals(new HashSet<>(Arrays.asList("marko", "josh", "peter")), new HashSet<>(g.V(3).in().values("name").toList()));
+        assertEquals(3, g.V(4).both().count().next().intValue());
+        assertEquals(0.4d, g.E(9).next().value("weight"), 0.0d);
+        assertEquals(g.V(1).next(), g.E(9).next().iterators().vertexIterator(Direction.OUT).next());
+        assertEquals(source.V(1).next(), g.V(1).next());
+        assertFalse(g.V(100).hasNext());
+        assertFalse(g.V(1).next().property("lang").isPresent());
+        assertEquals("marko", g.variables().get("creator").get());
+
+        source.V().forEachRemaining(v -> {
+            final Vertex mapped = g.V(v.id()).next();
+            assertEquals(v.keys(), mapped.keys());
+            assertEquals(v.outE().count().next(), mapped.outE().count().next());
+            assertEquals(v.inE().count().next(), mapped.inE().count().next());
+        });
+        source.E().forEachRemaining(e -> {
+            final Edge mapped = g.E(e.id()).next();
+            assertEquals(e.label(), mapped.label());
+            assertEquals((Object) e.value("weight"), mapped.value("weight"));
+        });
+    }
+
+    @Test
+    public void shouldReadMetaProperties() throws IOException {
+        final TinkerGraph source = TinkerFactory.createModern();
+        source.V(1).next().property("location", "santa fe", "startTime", 1997, "endTime", 2001);
+        source.V(1).next().property("location", "brussels", "startTime", 2004);
+        final TinkerMappedGraph g = convert(source, "meta");
+
+        final VertexProperty<String> santaFe = g.V(1).next().<String>properties("location").toList().stream()
+                .filter(p -> p.value().equals("santa fe")).findAny().get();
+        assertEquals(1997, (int) santaFe.value("startTime"));
+        assertEquals(2001, (int) santaFe.value("endTime"));
+        assertEquals(santaFe, santaFe.iterators().propertyIterator("startTime").next().element());
+        assertEquals(new HashSet<>(Arrays.asList("startTime", "endTime")), santaFe.keys());
+        assertFalse(g.V(1).next().property("name").iterators().propertyIterator().hasNext());
+    }
+
+    @Test
+    public void shouldWriteGraph() throws IOException {
+        final File directory = TestHelper.makeTestDataPath(TinkerMappedGraphTest.class, "write");
+        FileUtils.deleteDirectory(directory);
+        final TinkerGraph source = TinkerFactory.createModern();
+        source.V(6).next().property("location", "santa fe", "startTime", 2005);
+        TinkerMappedGraphWriter.write(source, directory);
+
+        final BaseConfiguration conf = new BaseConfiguration();
+        conf.setProperty(TinkerMappedGraph.CONFIG_DIRECTORY, directory.getAbsolutePath());
+        final TinkerMappedGraph g = TinkerMappedGraph.open(conf);
+        assertEquals(6, g.V().count().next().intValue());
+        assertEquals(new HashSet<>(Arrays.asList("lop", "ripple")), new HashSet<>(g.V(4).out("created").values("name").toList()));
+        assertEquals(1.0d, g.E(8).next().value("weight"), 0.0d);
+        assertEquals(2005, (int) g.V(6).next().property("location").value("startTime"));
+        assertEquals(0, directory.list((dir, name) -> name.endsWith(".tmp")).length);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotReadClosedGraph() throws IOException {
+        final TinkerMappedGraph g = convert(TinkerFactory.createModern(), "closed");
+        final Vertex marko = g.V(1).next();
+        g.close();
+        marko.value("name");
+    }
+
+    @Test
+    public void shouldBeReadOnly() throws IOException {
+        final TinkerMappedGraph g = convert(TinkerFactory.createModern(), "readonly");
+        assertFalse(g.features().vertex().supportsAddVertices());
+        assertFalse(g.features().edge().supportsAddEdges());
+        assertFalse(g.features().graph().variables().supportsVariables());
+        assertTrue(g.features().graph().supportsPersistence());
+        try {
+            g.V(1).next().property("name", "stephen");
+            fail("The graph should be read-only");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            g.variables().set("creator", "stephen");
+            fail("The graph variables should be read-only");
+        } catch (UnsupportedOperationException e) {
+            assertEquals(Graph.Exceptions.variablesNotSupported().getMessage(), e.getMessage());
+        }
+    }
+}